@@ -0,0 +1,113 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark;
+
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticDataset;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End-to-end load benchmark for the Exomiser. Generates a deterministic synthetic genome, data directory and exome and
+ * genome scale VCF files, then times a real Spring context running the full analysis pipeline against them. e.g.
+ * <pre>
+ *     java -jar exomiser-benchmark.jar --generate --run --output-directory /tmp/benchmark
+ * </pre>
+ * The timings are written to {@code benchmark-runs.tsv} and {@code benchmark-steps.tsv} in the output directory. The
+ * {@code --decompression} option compares the serial and parallel VCF readers on the same files, writing
+ * {@code benchmark-decompression.tsv}. Use {@code --run --exomiser.vcf-decompression-threads=4} to run the full
+ * analysis with parallel decompression.
+ *
+ * @since 13.3.0
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class})
+public class BenchmarkApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkApplication.class);
+
+    public static void main(String[] args) {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        if (options.isHelp()) {
+            BenchmarkOptions.printHelp();
+            System.exit(0);
+        }
+        Locale.setDefault(Locale.UK);
+
+        SyntheticDataset dataset;
+        if (options.isGenerate()) {
+            logger.info("Generating synthetic dataset in {}", options.getOutputDirectory());
+            dataset = SyntheticDataset.generate(options.getOutputDirectory(), options.getGenomeAssembly(), options.getGenes(), options.getExomeVariants(), options.getGenomeVariants(), options.getSeed(), options.getScales(), options.getPedigrees());
+        } else {
+            dataset = SyntheticDataset.load(options.getOutputDirectory());
+        }
+
+        if (options.isDecompression()) {
+            new DecompressionBenchmark(dataset, options).run();
+        }
+
+        if (options.isRun()) {
+            run(options, dataset);
+        }
+    }
+
+    private static void run(BenchmarkOptions options, SyntheticDataset dataset) {
+        SpringApplication application = new SpringApplication(BenchmarkApplication.class);
+        application.setDefaultProperties(datasetProperties(dataset));
+
+        long contextStart = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(options.getSpringArgs())) {
+            long contextStartNanos = System.nanoTime() - contextStart;
+            logger.info("Started application context in {} ms", contextStartNanos / 1_000_000);
+
+            Exomiser exomiser = context.getBean(Exomiser.class);
+            List<BenchmarkResult> results = new BenchmarkRunner(exomiser, dataset, options).run();
+            new BenchmarkReportWriter(options.getOutputDirectory()).write(contextStartNanos, results);
+            logger.info("Written benchmark report for {} runs to {}", results.size(), options.getOutputDirectory());
+        }
+    }
+
+    /**
+     * Points the exomiser at the synthetic data directory. These are default properties so any can be overridden on the
+     * command line, in the same way as for the CLI.
+     */
+    private static Map<String, Object> datasetProperties(SyntheticDataset dataset) {
+        String assembly = dataset.getGenomeAssembly().toString();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("exomiser.data-directory", dataset.getDataDirectory().toString());
+        properties.put("exomiser." + assembly + ".data-version", dataset.getDataVersion());
+        properties.put("exomiser." + assembly + ".cadd-snv-path", dataset.getCaddSnvPath());
+        properties.put("exomiser." + assembly + ".cadd-in-del-path", dataset.getCaddInDelPath());
+        properties.put("exomiser.phenotype.data-version", dataset.getDataVersion());
+        properties.put("spring.cache.type", "caffeine");
+        properties.put("spring.cache.caffeine.spec", "maximumSize=300000");
+        properties.put("spring.main.banner-mode", "off");
+        return properties;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark;
+
+import org.apache.commons.cli.*;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticDataset;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticPedigree;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisMode;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.writers.OutputFormat;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Command-line options for the benchmark. Parsing stops at the first unrecognised argument and it, along with all those
+ * following it, are passed through to Spring. For example {@code --run --spring.cache.type=none} can be used to benchmark
+ * the un-cached DAOs.
+ *
+ * @since 13.3.0
+ */
+public class BenchmarkOptions {
+
+    private static final Options options = new Options();
+
+    static {
+        options.addOption(new Option("h", "help", false, "Shows this help"));
+        options.addOption(Option.builder()
+                .longOpt("generate")
+                .desc("Generate the synthetic VCF files and data directory in the output directory.")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("run")
+                .desc("Run the benchmark against a previously generated synthetic dataset in the output directory.")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("decompression")
+                .desc("Compare the serial and parallel BGZF decompression of the synthetic VCF files in a previously generated dataset.")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("output-directory")
+                .desc("Directory for the synthetic dataset and benchmark reports. Default: 'benchmark'")
+                .hasArg()
+                .argName("path")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("assembly")
+                .desc("Genome assembly of the synthetic dataset. Either 'hg19' or 'hg38'. Default: 'hg19'")
+                .hasArg()
+                .argName("assembly")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("genes")
+                .desc("Number of synthetic genes. Default: 5000")
+                .hasArg()
+                .argName("int")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("exome-variants")
+                .desc("Approximate number of variants in the exome VCF files. Default: 30000")
+                .hasArg()
+                .argName("int")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("genome-variants")
+                .desc("Approximate number of variants in the genome VCF files. Default: 4500000")
+                .hasArg()
+                .argName("int")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("seed")
+                .desc("Random seed for the synthetic dataset. Default: 42")
+                .hasArg()
+                .argName("long")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("scales")
+                .desc("Comma-separated list of EXOME, GENOME. Default: EXOME,GENOME")
+                .hasArg()
+                .argName("list")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("pedigrees")
+                .desc("Comma-separated list of SINGLETON, TRIO. Default: SINGLETON,TRIO")
+                .hasArg()
+                .argName("list")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("analysis-modes")
+                .desc("Comma-separated list of PASS_ONLY, FULL. Default: PASS_ONLY,FULL")
+                .hasArg()
+                .argName("list")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("inheritance")
+                .desc("Comma-separated list of inheritance mode settings ALL (the default inheritance modes) and NONE. Default: ALL,NONE")
+                .hasArg()
+                .argName("list")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("output-formats")
+                .desc("Comma-separated list of output formats to write and time. Default: HTML,JSON,TSV_GENE,TSV_VARIANT,VCF")
+                .hasArg()
+                .argName("list")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("iterations")
+                .desc("Number of measured iterations of each configuration. Default: 3")
+                .hasArg()
+                .argName("int")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("warmup")
+                .desc("Number of un-measured warm-up iterations of each configuration. Default: 1")
+                .hasArg()
+                .argName("int")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("decompression-threads")
+                .desc("Comma-separated list of thread counts for the parallel decompression benchmark. Default: 2,4,8")
+                .hasArg()
+                .argName("list")
+                .build());
+    }
+
+    public enum Inheritance {
+        ALL, NONE
+    }
+
+    private final CommandLine commandLine;
+
+    private BenchmarkOptions(CommandLine commandLine) {
+        this.commandLine = commandLine;
+    }
+
+    public static BenchmarkOptions parse(String... args) {
+        CommandLineParser parser = new DefaultParser();
+        try {
+            // stop at the first non-option so that the spring arguments are passed through untouched
+            return new BenchmarkOptions(parser.parse(options, args, true));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    public static void printHelp() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("java -jar exomiser-benchmark.jar --generate --run [options]", options);
+    }
+
+    public boolean isHelp() {
+        return commandLine.hasOption("help") || !(isGenerate() || isRun() || isDecompression());
+    }
+
+    public boolean isGenerate() {
+        return commandLine.hasOption("generate");
+    }
+
+    public boolean isRun() {
+        return commandLine.hasOption("run");
+    }
+
+    public boolean isDecompression() {
+        return commandLine.hasOption("decompression");
+    }
+
+    public Path getOutputDirectory() {
+        return Path.of(commandLine.getOptionValue("output-directory", "benchmark")).toAbsolutePath();
+    }
+
+    public GenomeAssembly getGenomeAssembly() {
+        return GenomeAssembly.parseAssembly(commandLine.getOptionValue("assembly", "hg19"));
+    }
+
+    public int getGenes() {
+        return Integer.parseInt(commandLine.getOptionValue("genes", "5000"));
+    }
+
+    public int getExomeVariants() {
+        return Integer.parseInt(commandLine.getOptionValue("exome-variants", "30000"));
+    }
+
+    public int getGenomeVariants() {
+        return Integer.parseInt(commandLine.getOptionValue("genome-variants", "4500000"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(commandLine.getOptionValue("seed", "42"));
+    }
+
+    public Set<SyntheticDataset.Scale> getScales() {
+        return parseList("scales", "EXOME,GENOME", SyntheticDataset.Scale::valueOf);
+    }
+
+    public Set<SyntheticPedigree> getPedigrees() {
+        return parseList("pedigrees", "SINGLETON,TRIO", SyntheticPedigree::valueOf);
+    }
+
+    public Set<AnalysisMode> getAnalysisModes() {
+        return parseList("analysis-modes", "PASS_ONLY,FULL", AnalysisMode::valueOf);
+    }
+
+    public Set<Inheritance> getInheritance() {
+        return parseList("inheritance", "ALL,NONE", Inheritance::valueOf);
+    }
+
+    public Set<OutputFormat> getOutputFormats() {
+        Set<OutputFormat> outputFormats = parseList("output-formats", "HTML,JSON,TSV_GENE,TSV_VARIANT,VCF", OutputFormat::valueOf);
+        return outputFormats.isEmpty() ? EnumSet.noneOf(OutputFormat.class) : EnumSet.copyOf(outputFormats);
+    }
+
+    public int getIterations() {
+        return Integer.parseInt(commandLine.getOptionValue("iterations", "3"));
+    }
+
+    public int getWarmup() {
+        return Integer.parseInt(commandLine.getOptionValue("warmup", "1"));
+    }
+
+    public List<Integer> getDecompressionThreads() {
+        return new ArrayList<>(parseList("decompression-threads", "2,4,8", Integer::valueOf));
+    }
+
+    /**
+     * @return the arguments which were not recognised as benchmark options
+     */
+    public String[] getSpringArgs() {
+        return commandLine.getArgs();
+    }
+
+    private <T> Set<T> parseList(String option, String defaultValue, Function<String, T> parser) {
+        Set<T> values = new LinkedHashSet<>();
+        for (String value : commandLine.getOptionValue(option, defaultValue).split(",")) {
+            if (!value.isBlank()) {
+                values.add(parser.apply(value.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return values;
+    }
+}
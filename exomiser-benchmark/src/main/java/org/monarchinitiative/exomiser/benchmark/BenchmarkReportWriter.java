@@ -0,0 +1,111 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark;
+
+import org.monarchinitiative.exomiser.benchmark.metrics.ResourceUsage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Writes the benchmark results as two TSV files - one line per iteration in {@code benchmark-runs.tsv} and one line per
+ * analysis step or results writer per iteration in {@code benchmark-steps.tsv}.
+ *
+ * @since 13.3.0
+ */
+public class BenchmarkReportWriter {
+
+    private static final String RUNS_HEADER = "SCALE\tPEDIGREE\tANALYSIS_MODE\tINHERITANCE\tITERATION\tVCF_VARIANTS\tGENES\tCONTEXT_START_MS\tANALYSIS_MS\tWRITE_MS\tVARIANTS_PER_SEC\tPEAK_RSS_MB\tPEAK_RSS_RESET\tPEAK_HEAP_MB\tGC_COUNT\tGC_MS";
+    private static final String STEPS_HEADER = "SCALE\tPEDIGREE\tANALYSIS_MODE\tINHERITANCE\tITERATION\tSTEP\tDURATION_MS";
+
+    private final Path reportDirectory;
+
+    public BenchmarkReportWriter(Path reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
+    public void write(long contextStartNanos, List<BenchmarkResult> results) {
+        try {
+            Files.createDirectories(reportDirectory);
+            try (BufferedWriter writer = Files.newBufferedWriter(reportDirectory.resolve("benchmark-runs.tsv"))) {
+                writer.write(RUNS_HEADER);
+                writer.newLine();
+                for (BenchmarkResult result : results) {
+                    writer.write(runLine(contextStartNanos, result));
+                    writer.newLine();
+                }
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(reportDirectory.resolve("benchmark-steps.tsv"))) {
+                writer.write(STEPS_HEADER);
+                writer.newLine();
+                for (BenchmarkResult result : results) {
+                    for (Map.Entry<String, Long> step : result.getStepNanos().entrySet()) {
+                        writer.write(configurationColumns(result).add(step.getKey()).add(millis(step.getValue())).toString());
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write benchmark report to " + reportDirectory, e);
+        }
+    }
+
+    private static String runLine(long contextStartNanos, BenchmarkResult result) {
+        ResourceUsage resourceUsage = result.getResourceUsage();
+        return configurationColumns(result)
+                .add(String.valueOf(result.getVcfVariants()))
+                .add(String.valueOf(result.getGenes()))
+                .add(millis(contextStartNanos))
+                .add(millis(result.getAnalysisNanos()))
+                .add(millis(result.getWriteNanos()))
+                .add(String.format(Locale.ROOT, "%.1f", result.variantsPerSecond()))
+                .add(resourceUsage.getPeakRssBytes() < 0 ? "." : megabytes(resourceUsage.getPeakRssBytes()))
+                .add(String.valueOf(resourceUsage.isPeakRssReset()))
+                .add(megabytes(resourceUsage.getPeakHeapBytes()))
+                .add(String.valueOf(resourceUsage.getGcCount()))
+                .add(String.valueOf(resourceUsage.getGcTimeMs()))
+                .toString();
+    }
+
+    private static StringJoiner configurationColumns(BenchmarkResult result) {
+        return new StringJoiner("\t")
+                .add(result.getScale().toString())
+                .add(result.getPedigree().toString())
+                .add(result.getAnalysisMode().toString())
+                .add(result.getInheritance().toString())
+                .add(String.valueOf(result.getIteration()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark;
+
+import org.monarchinitiative.exomiser.benchmark.metrics.ResourceUsage;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticDataset;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticPedigree;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisMode;
+
+import java.util.Map;
+
+/**
+ * The measurements for a single iteration of a benchmark configuration.
+ *
+ * @since 13.3.0
+ */
+public class BenchmarkResult {
+
+    private final SyntheticDataset.Scale scale;
+    private final SyntheticPedigree pedigree;
+    private final AnalysisMode analysisMode;
+    private final BenchmarkOptions.Inheritance inheritance;
+    private final int iteration;
+    private final int vcfVariants;
+    private final int genes;
+    private final long analysisNanos;
+    private final long writeNanos;
+    private final Map<String, Long> stepNanos;
+    private final ResourceUsage resourceUsage;
+
+    BenchmarkResult(SyntheticDataset.Scale scale, SyntheticPedigree pedigree, AnalysisMode analysisMode, BenchmarkOptions.Inheritance inheritance, int iteration, int vcfVariants, int genes, long analysisNanos, long writeNanos, Map<String, Long> stepNanos, ResourceUsage resourceUsage) {
+        this.scale = scale;
+        this.pedigree = pedigree;
+        this.analysisMode = analysisMode;
+        this.inheritance = inheritance;
+        this.iteration = iteration;
+        this.vcfVariants = vcfVariants;
+        this.genes = genes;
+        this.analysisNanos = analysisNanos;
+        this.writeNanos = writeNanos;
+        this.stepNanos = stepNanos;
+        this.resourceUsage = resourceUsage;
+    }
+
+    public SyntheticDataset.Scale getScale() {
+        return scale;
+    }
+
+    public SyntheticPedigree getPedigree() {
+        return pedigree;
+    }
+
+    public AnalysisMode getAnalysisMode() {
+        return analysisMode;
+    }
+
+    public BenchmarkOptions.Inheritance getInheritance() {
+        return inheritance;
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public int getVcfVariants() {
+        return vcfVariants;
+    }
+
+    public int getGenes() {
+        return genes;
+    }
+
+    public long getAnalysisNanos() {
+        return analysisNanos;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    /**
+     * @return the analysis step and results writer durations in nanoseconds, in the order in which they ran
+     */
+    public Map<String, Long> getStepNanos() {
+        return stepNanos;
+    }
+
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    public double variantsPerSecond() {
+        return analysisNanos == 0 ? 0 : vcfVariants / (analysisNanos / 1e9);
+    }
+
+    public String configuration() {
+        return scale + "/" + pedigree + "/" + analysisMode + "/inheritance=" + inheritance;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark;
+
+import org.monarchinitiative.exomiser.benchmark.metrics.AnalysisStepTimer;
+import org.monarchinitiative.exomiser.benchmark.metrics.ResourceMonitor;
+import org.monarchinitiative.exomiser.benchmark.metrics.ResourceUsage;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticDataset;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticPedigree;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisMode;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.util.InheritanceModeOptions;
+import org.monarchinitiative.exomiser.core.analysis.util.PedFiles;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
+import org.monarchinitiative.exomiser.core.writers.OutputFormat;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
+import org.monarchinitiative.exomiser.core.writers.ResultsWriterFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Runs each combination of scale, pedigree, analysis mode and inheritance mode setting against the synthetic dataset,
+ * recording the time taken for each analysis step and output format along with the memory and GC figures for each
+ * measured iteration.
+ *
+ * @since 13.3.0
+ */
+public class BenchmarkRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+    private static final Set<PathogenicitySource> PATHOGENICITY_SOURCES = EnumSet.of(PathogenicitySource.REVEL, PathogenicitySource.MVP, PathogenicitySource.CADD);
+    private static final float MAX_FREQUENCY_NO_INHERITANCE = 2.0f;
+
+    private final Exomiser exomiser;
+    private final SyntheticDataset dataset;
+    private final BenchmarkOptions options;
+
+    public BenchmarkRunner(Exomiser exomiser, SyntheticDataset dataset, BenchmarkOptions options) {
+        this.exomiser = exomiser;
+        this.dataset = dataset;
+        this.options = options;
+    }
+
+    public List<BenchmarkResult> run() {
+        try {
+            Files.createDirectories(resultsDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create results directory " + resultsDirectory(), e);
+        }
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (SyntheticDataset.Scale scale : options.getScales()) {
+            for (SyntheticPedigree pedigree : options.getPedigrees()) {
+                if (!dataset.hasSample(scale, pedigree)) {
+                    logger.warn("No {} {} sample in synthetic dataset {} - skipping", scale, pedigree, dataset.getOutputDirectory());
+                    continue;
+                }
+                Sample sample = buildSample(scale, pedigree);
+                for (AnalysisMode analysisMode : options.getAnalysisModes()) {
+                    for (BenchmarkOptions.Inheritance inheritance : options.getInheritance()) {
+                        Analysis analysis = buildAnalysis(analysisMode, inheritance);
+                        results.addAll(runConfiguration(scale, pedigree, sample, analysis, inheritance));
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<BenchmarkResult> runConfiguration(SyntheticDataset.Scale scale, SyntheticPedigree pedigree, Sample sample, Analysis analysis, BenchmarkOptions.Inheritance inheritance) {
+        String configuration = scale + "/" + pedigree + "/" + analysis.getAnalysisMode() + "/inheritance=" + inheritance;
+        for (int i = 1; i <= options.getWarmup(); i++) {
+            logger.info("Warm-up {} of {} for {}", i, options.getWarmup(), configuration);
+            AnalysisResults analysisResults = exomiser.run(sample, analysis);
+            writeResults(analysisResults, scale, pedigree, analysis.getAnalysisMode(), inheritance);
+        }
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (int i = 1; i <= options.getIterations(); i++) {
+            logger.info("Iteration {} of {} for {}", i, options.getIterations(), configuration);
+            ResourceMonitor resourceMonitor = ResourceMonitor.start();
+            AnalysisStepTimer stepTimer = AnalysisStepTimer.attach();
+            long analysisStart = System.nanoTime();
+            AnalysisResults analysisResults;
+            Map<String, Long> stepNanos;
+            try {
+                analysisResults = exomiser.run(sample, analysis);
+            } finally {
+                // the step timer needs detaching even if the analysis failed otherwise it will leak into the next run
+                stepNanos = stepTimer.detach();
+            }
+            long analysisNanos = System.nanoTime() - analysisStart;
+            Map<String, Long> writeNanos = writeResults(analysisResults, scale, pedigree, analysis.getAnalysisMode(), inheritance);
+            ResourceUsage resourceUsage = resourceMonitor.stop();
+
+            long totalWriteNanos = 0;
+            for (Map.Entry<String, Long> entry : writeNanos.entrySet()) {
+                stepNanos.put(entry.getKey(), entry.getValue());
+                totalWriteNanos += entry.getValue();
+            }
+            BenchmarkResult result = new BenchmarkResult(scale, pedigree, analysis.getAnalysisMode(), inheritance, i, dataset.getVariantCount(scale, pedigree), analysisResults.getGenes().size(), analysisNanos, totalWriteNanos, stepNanos, resourceUsage);
+            logger.info("{} iteration {} analysed {} variants in {} ms ({} variants/sec), wrote results in {} ms. {}", configuration, i, result.getVcfVariants(), analysisNanos / 1_000_000, (long) result.variantsPerSecond(), totalWriteNanos / 1_000_000, resourceUsage);
+            results.add(result);
+        }
+        return results;
+    }
+
+    private Map<String, Long> writeResults(AnalysisResults analysisResults, SyntheticDataset.Scale scale, SyntheticPedigree pedigree, AnalysisMode analysisMode, BenchmarkOptions.Inheritance inheritance) {
+        Path resultsDirectory = resultsDirectory();
+        String outputFileName = String.join("-", scale.toString(), pedigree.toString(), analysisMode.toString(), inheritance.toString()).toLowerCase(Locale.ROOT);
+        Map<String, Long> writeNanos = new LinkedHashMap<>();
+        for (OutputFormat outputFormat : options.getOutputFormats()) {
+            OutputSettings outputSettings = OutputSettings.builder()
+                    .outputDirectory(resultsDirectory)
+                    .outputFileName(outputFileName)
+                    .outputFormats(EnumSet.of(outputFormat))
+                    .build();
+            long start = System.nanoTime();
+            ResultsWriterFactory.getResultsWriter(outputFormat).writeFile(analysisResults, outputSettings);
+            writeNanos.put("write:" + outputFormat, System.nanoTime() - start);
+        }
+        return writeNanos;
+    }
+
+    private Path resultsDirectory() {
+        return options.getOutputDirectory().resolve("results");
+    }
+
+    private Sample buildSample(SyntheticDataset.Scale scale, SyntheticPedigree pedigree) {
+        return Sample.builder()
+                .genomeAssembly(dataset.getGenomeAssembly())
+                .vcfPath(dataset.getVcfPath(scale, pedigree))
+                .probandSampleName(pedigree.getProbandId())
+                .pedigree(PedFiles.readPedigree(dataset.getPedPath(scale, pedigree)))
+                .hpoIds(dataset.getHpoIds())
+                .build();
+    }
+
+    private Analysis buildAnalysis(AnalysisMode analysisMode, BenchmarkOptions.Inheritance inheritance) {
+        var analysisBuilder = exomiser.getAnalysisBuilder()
+                .analysisMode(analysisMode)
+                .inheritanceModes(inheritance == BenchmarkOptions.Inheritance.ALL ? InheritanceModeOptions.defaults() : InheritanceModeOptions.empty())
+                .frequencySources(FrequencySource.ALL_EXTERNAL_FREQ_SOURCES)
+                .pathogenicitySources(PATHOGENICITY_SOURCES)
+                .addFailedVariantFilter();
+        if (inheritance == BenchmarkOptions.Inheritance.ALL) {
+            analysisBuilder.addFrequencyFilter()
+                    .addPathogenicityFilter(true)
+                    .addInheritanceFilter();
+        } else {
+            // without any inheritance modes there are no mode-specific frequency cut-offs to fall back on
+            analysisBuilder.addFrequencyFilter(MAX_FREQUENCY_NO_INHERITANCE)
+                    .addPathogenicityFilter(true);
+        }
+        return analysisBuilder
+                .addOmimPrioritiser()
+                .addHiPhivePrioritiser()
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark;
+
+import htsjdk.samtools.util.BlockCompressedInputStream;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticDataset;
+import org.monarchinitiative.exomiser.benchmark.synthetic.SyntheticPedigree;
+import org.monarchinitiative.exomiser.core.genome.ParallelBgzfInputStream;
+import org.monarchinitiative.exomiser.core.genome.VcfFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * Times reading each synthetic VCF file with the existing single-threaded htsjdk readers against the
+ * {@link ParallelBgzfInputStream}, both as raw decompressed bytes and as fully decoded VariantContexts. No Spring
+ * context is needed. The results are written to {@code benchmark-decompression.tsv} in the output directory.
+ *
+ * @since 13.3.0
+ */
+public class DecompressionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecompressionBenchmark.class);
+
+    private static final String HEADER = "SCALE\tPEDIGREE\tREADER\tTHREADS\tITERATION\tBYTES\tVARIANTS\tDURATION_MS\tMB_PER_SEC";
+
+    private final SyntheticDataset dataset;
+    private final BenchmarkOptions options;
+
+    public DecompressionBenchmark(SyntheticDataset dataset, BenchmarkOptions options) {
+        this.dataset = dataset;
+        this.options = options;
+    }
+
+    public void run() {
+        List<String> lines = new ArrayList<>();
+        for (SyntheticDataset.Scale scale : options.getScales()) {
+            for (SyntheticPedigree pedigree : options.getPedigrees()) {
+                if (!dataset.hasSample(scale, pedigree)) {
+                    logger.warn("No {} {} sample in synthetic dataset {} - skipping", scale, pedigree, dataset.getOutputDirectory());
+                    continue;
+                }
+                Path vcfPath = dataset.getVcfPath(scale, pedigree);
+                lines.addAll(time(scale, pedigree, "bytes", 1, () -> new long[]{countBytes(new BlockCompressedInputStream(vcfPath.toFile())), 0}));
+                lines.addAll(time(scale, pedigree, "variants", 1, () -> new long[]{Files.size(vcfPath), countVariants(vcfPath, 1)}));
+                for (int threads : options.getDecompressionThreads()) {
+                    lines.addAll(time(scale, pedigree, "bytes", threads, () -> new long[]{countBytes(new ParallelBgzfInputStream(new BufferedInputStream(Files.newInputStream(vcfPath), 1 << 17), threads)), 0}));
+                    lines.addAll(time(scale, pedigree, "variants", threads, () -> new long[]{Files.size(vcfPath), countVariants(vcfPath, threads)}));
+                }
+            }
+        }
+        Path reportPath = options.getOutputDirectory().resolve("benchmark-decompression.tsv");
+        try (BufferedWriter writer = Files.newBufferedWriter(reportPath)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write decompression benchmark report to " + reportPath, e);
+        }
+        logger.info("Written decompression benchmark report to {}", reportPath);
+    }
+
+    private interface Measurement {
+        /**
+         * @return the number of bytes and variants read
+         */
+        long[] measure() throws IOException;
+    }
+
+    private List<String> time(SyntheticDataset.Scale scale, SyntheticPedigree pedigree, String reader, int threads, Measurement measurement) {
+        try {
+            for (int i = 0; i < options.getWarmup(); i++) {
+                measurement.measure();
+            }
+            List<String> lines = new ArrayList<>();
+            for (int i = 1; i <= options.getIterations(); i++) {
+                long start = System.nanoTime();
+                long[] counts = measurement.measure();
+                long nanos = System.nanoTime() - start;
+                double mbPerSec = (counts[0] / (1024.0 * 1024.0)) / (nanos / 1e9);
+                logger.info("{}/{} {} threads={} iteration {} read {} bytes {} variants in {} ms ({} MB/sec)", scale, pedigree, reader, threads, i, counts[0], counts[1], nanos / 1_000_000, String.format(Locale.ROOT, "%.1f", mbPerSec));
+                lines.add(new StringJoiner("\t")
+                        .add(scale.toString())
+                        .add(pedigree.toString())
+                        .add(reader)
+                        .add(String.valueOf(threads))
+                        .add(String.valueOf(i))
+                        .add(String.valueOf(counts[0]))
+                        .add(String.valueOf(counts[1]))
+                        .add(String.format(Locale.ROOT, "%.1f", nanos / 1e6))
+                        .add(String.format(Locale.ROOT, "%.1f", mbPerSec))
+                        .toString());
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long countBytes(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            byte[] buffer = new byte[1 << 16];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    private static long countVariants(Path vcfPath, int threads) {
+        // a single thread uses the original htsjdk VCFFileReader
+        try (Stream<?> variantContexts = threads > 1 ? VcfFiles.readVariantContexts(vcfPath, threads) : VcfFiles.readVariantContexts(vcfPath)) {
+            return variantContexts.count();
+        }
+    }
+}
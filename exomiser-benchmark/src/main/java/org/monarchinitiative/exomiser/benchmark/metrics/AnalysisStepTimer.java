@@ -0,0 +1,141 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Times the individual steps of an analysis by listening to the progress messages logged by the analysis runner. Each
+ * recognised message marks the end of the previous step and the start of the next, so the durations of all the steps
+ * add up to the time between the start of variant loading and the sample having been analysed.
+ *
+ * @since 13.3.0
+ */
+public class AnalysisStepTimer extends AppenderBase<ILoggingEvent> {
+
+    private static final String ANALYSIS_RUNNER_LOGGER = "org.monarchinitiative.exomiser.core.analysis.AbstractAnalysisRunner";
+
+    private final Map<String, Long> stepNanos = new LinkedHashMap<>();
+    private String currentStep = null;
+    private long currentStepStart = 0;
+
+    private Logger analysisRunnerLogger;
+    private Level originalLevel;
+
+    /**
+     * Creates a new timer and attaches it to the analysis runner logger.
+     */
+    public static AnalysisStepTimer attach() {
+        AnalysisStepTimer analysisStepTimer = new AnalysisStepTimer();
+        Logger logger = (Logger) LoggerFactory.getLogger(ANALYSIS_RUNNER_LOGGER);
+        analysisStepTimer.analysisRunnerLogger = logger;
+        analysisStepTimer.originalLevel = logger.getLevel();
+        // the step messages are all logged at INFO
+        if (!logger.isInfoEnabled()) {
+            logger.setLevel(Level.INFO);
+        }
+        analysisStepTimer.setContext(logger.getLoggerContext());
+        analysisStepTimer.setName("benchmark-step-timer");
+        analysisStepTimer.start();
+        logger.addAppender(analysisStepTimer);
+        return analysisStepTimer;
+    }
+
+    /**
+     * Detaches the timer from the logger and returns the step durations in nanoseconds, in the order in which they ran.
+     */
+    public synchronized Map<String, Long> detach() {
+        endCurrentStep(System.nanoTime());
+        analysisRunnerLogger.detachAppender(this);
+        analysisRunnerLogger.setLevel(originalLevel);
+        stop();
+        return new LinkedHashMap<>(stepNanos);
+    }
+
+    @Override
+    protected synchronized void append(ILoggingEvent event) {
+        long now = System.nanoTime();
+        String stepName = stepName(event);
+        if (stepName == null) {
+            return;
+        }
+        endCurrentStep(now);
+        if (!stepName.isEmpty()) {
+            currentStep = stepName;
+            currentStepStart = now;
+        }
+    }
+
+    private void endCurrentStep(long now) {
+        if (currentStep != null) {
+            stepNanos.merge(currentStep, now - currentStepStart, Long::sum);
+            currentStep = null;
+        }
+    }
+
+    /**
+     * Returns the name of the step starting with this event, an empty string if the event marks the end of the last step
+     * or null if it is not a step boundary.
+     */
+    static String stepName(ILoggingEvent event) {
+        String message = event.getMessage();
+        if (message == null) {
+            return null;
+        }
+        if (message.startsWith("Filtering variants with")) {
+            return "load-annotate-filter";
+        }
+        if (message.startsWith("Running VariantFilter:")) {
+            return "VariantFilter:" + firstArgumentName(event);
+        }
+        if (message.startsWith("Running GeneFilter:")) {
+            return "GeneFilter:" + firstArgumentName(event);
+        }
+        if (message.startsWith("Running Prioritiser:")) {
+            return "Prioritiser:" + firstArgumentName(event);
+        }
+        if (message.startsWith("Checking inheritance mode compatibility")) {
+            return "inheritance-modes";
+        }
+        if (message.startsWith("Scoring genes")) {
+            return "scoring";
+        }
+        if (message.startsWith("Analysed sample")) {
+            return "";
+        }
+        return null;
+    }
+
+    private static String firstArgumentName(ILoggingEvent event) {
+        Object[] arguments = event.getArgumentArray();
+        if (arguments == null || arguments.length == 0 || arguments[0] == null) {
+            return "unknown";
+        }
+        return arguments[0].getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures the peak memory and garbage collection activity of the JVM between calls to {@link #start()} and
+ * {@link #stop()}. On Linux the peak resident set size is read from {@code /proc/self/status} (VmHWM), which is reset at
+ * the start of each measurement where the kernel allows it. Elsewhere only the JVM heap peak is available.
+ *
+ * @since 13.3.0
+ */
+public class ResourceMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceMonitor.class);
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+    private static final Path PROC_CLEAR_REFS = Path.of("/proc/self/clear_refs");
+
+    private long startGcCount;
+    private long startGcTimeMs;
+    private boolean rssPeakReset;
+
+    private ResourceMonitor() {
+    }
+
+    public static ResourceMonitor start() {
+        ResourceMonitor resourceMonitor = new ResourceMonitor();
+        resourceMonitor.reset();
+        return resourceMonitor;
+    }
+
+    private void reset() {
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            memoryPool.resetPeakUsage();
+        }
+        rssPeakReset = resetPeakRss();
+        startGcCount = totalGcCount();
+        startGcTimeMs = totalGcTimeMs();
+    }
+
+    public ResourceUsage stop() {
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                peakHeapBytes += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        return new ResourceUsage(readPeakRssBytes(), rssPeakReset, peakHeapBytes, totalGcCount() - startGcCount, totalGcTimeMs() - startGcTimeMs);
+    }
+
+    private static boolean resetPeakRss() {
+        // writing 5 to clear_refs resets the peak RSS (VmHWM) to the current RSS - available since Linux 4.0
+        if (!Files.isWritable(PROC_CLEAR_REFS)) {
+            return false;
+        }
+        try {
+            Files.writeString(PROC_CLEAR_REFS, "5");
+            return true;
+        } catch (IOException e) {
+            logger.debug("Unable to reset peak RSS", e);
+            return false;
+        }
+    }
+
+    private static long readPeakRssBytes() {
+        if (!Files.isReadable(PROC_STATUS)) {
+            return -1;
+        }
+        try {
+            List<String> lines = Files.readAllLines(PROC_STATUS);
+            for (String line : lines) {
+                // VmHWM:   123456 kB
+                if (line.startsWith("VmHWM:")) {
+                    String value = line.substring("VmHWM:".length()).replace("kB", "").trim();
+                    return Long.parseLong(value) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Unable to read peak RSS", e);
+        }
+        return -1;
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, garbageCollector.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.metrics;
+
+/**
+ * Memory and GC figures collected by a {@link ResourceMonitor}.
+ *
+ * @since 13.3.0
+ */
+public class ResourceUsage {
+
+    private final long peakRssBytes;
+    private final boolean peakRssReset;
+    private final long peakHeapBytes;
+    private final long gcCount;
+    private final long gcTimeMs;
+
+    ResourceUsage(long peakRssBytes, boolean peakRssReset, long peakHeapBytes, long gcCount, long gcTimeMs) {
+        this.peakRssBytes = peakRssBytes;
+        this.peakRssReset = peakRssReset;
+        this.peakHeapBytes = peakHeapBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMs = gcTimeMs;
+    }
+
+    /**
+     * @return the peak resident set size in bytes or -1 if this is not available on the current platform
+     */
+    public long getPeakRssBytes() {
+        return peakRssBytes;
+    }
+
+    /**
+     * @return true if the peak RSS was reset at the start of the measurement. If false the peak RSS is that of the
+     * process lifetime up to the end of the measurement.
+     */
+    public boolean isPeakRssReset() {
+        return peakRssReset;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMs() {
+        return gcTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceUsage{" +
+                "peakRssBytes=" + peakRssBytes +
+                ", peakRssReset=" + peakRssReset +
+                ", peakHeapBytes=" + peakHeapBytes +
+                ", gcCount=" + gcCount +
+                ", gcTimeMs=" + gcTimeMs +
+                '}';
+    }
+}
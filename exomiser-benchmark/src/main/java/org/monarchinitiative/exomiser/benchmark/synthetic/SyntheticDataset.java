@@ -0,0 +1,197 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * A generated set of synthetic VCF files together with the miniature Exomiser data directory required to analyse them.
+ * The dataset is described by a {@code synthetic-dataset.properties} manifest in the output directory so that it can
+ * be generated once and then re-used by any number of benchmark runs.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticDataset {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataset.class);
+
+    public static final String DATA_VERSION = "synthetic";
+    static final String MANIFEST_FILE_NAME = "synthetic-dataset.properties";
+
+    public enum Scale {
+        EXOME, GENOME
+    }
+
+    private final Path outputDirectory;
+    private final GenomeAssembly genomeAssembly;
+    private final List<String> hpoIds;
+    private final String caddSnvPath;
+    private final String caddInDelPath;
+    private final Map<String, Integer> vcfVariantCounts;
+
+    private SyntheticDataset(Path outputDirectory, GenomeAssembly genomeAssembly, List<String> hpoIds, String caddSnvPath, String caddInDelPath, Map<String, Integer> vcfVariantCounts) {
+        this.outputDirectory = outputDirectory;
+        this.genomeAssembly = genomeAssembly;
+        this.hpoIds = hpoIds;
+        this.caddSnvPath = caddSnvPath;
+        this.caddInDelPath = caddInDelPath;
+        this.vcfVariantCounts = vcfVariantCounts;
+    }
+
+    /**
+     * Generates the data directory and a VCF and PED file for each combination of scale and pedigree.
+     */
+    public static SyntheticDataset generate(Path outputDirectory, GenomeAssembly genomeAssembly, int numGenes, int exomeVariants, int genomeVariants, long seed, Set<Scale> scales, Set<SyntheticPedigree> pedigrees) {
+        Instant start = Instant.now();
+        try {
+            Files.createDirectories(outputDirectory.resolve("vcf"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Generating synthetic {} genome with {} genes (seed={})", genomeAssembly, numGenes, seed);
+        SyntheticGenome genome = SyntheticGenome.generate(genomeAssembly, numGenes, seed);
+        SyntheticVariantGenerator variantGenerator = new SyntheticVariantGenerator(genome, genomeVariants, exomeVariants, 50);
+
+        Path dataDirectory = outputDirectory.resolve("data");
+        SyntheticGenomeDataWriter genomeDataWriter = new SyntheticGenomeDataWriter(variantGenerator, DATA_VERSION);
+        genomeDataWriter.write(dataDirectory);
+        SyntheticPhenotypeDataWriter phenotypeDataWriter = new SyntheticPhenotypeDataWriter(genome, DATA_VERSION, 2_000);
+        phenotypeDataWriter.write(dataDirectory);
+
+        SyntheticVcfWriter vcfWriter = new SyntheticVcfWriter(variantGenerator);
+        Map<String, Integer> vcfVariantCounts = new LinkedHashMap<>();
+        for (Scale scale : scales) {
+            for (SyntheticPedigree pedigree : pedigrees) {
+                String sampleName = sampleName(scale, pedigree);
+                int written = vcfWriter.write(outputDirectory.resolve("vcf").resolve(sampleName + ".vcf.gz"), pedigree, scale == Scale.EXOME);
+                pedigree.writePedFile(outputDirectory.resolve("vcf").resolve(sampleName + ".ped"));
+                vcfVariantCounts.put(sampleName, written);
+            }
+        }
+
+        SyntheticDataset dataset = new SyntheticDataset(outputDirectory, genomeAssembly, phenotypeDataWriter.probandHpoIds(), genomeDataWriter.caddSnvFileName(), genomeDataWriter.caddInDelFileName(), vcfVariantCounts);
+        dataset.writeManifest(seed, numGenes);
+        logger.info("Generated synthetic dataset in {} in {} sec", outputDirectory, Duration.between(start, Instant.now()).toSeconds());
+        return dataset;
+    }
+
+    private static String sampleName(Scale scale, SyntheticPedigree pedigree) {
+        return scale.toString().toLowerCase(Locale.ROOT) + "-" + pedigree.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private void writeManifest(long seed, int numGenes) {
+        Properties properties = new Properties();
+        properties.setProperty("assembly", genomeAssembly.toString());
+        properties.setProperty("data-version", DATA_VERSION);
+        properties.setProperty("seed", String.valueOf(seed));
+        properties.setProperty("genes", String.valueOf(numGenes));
+        properties.setProperty("hpo-ids", String.join(",", hpoIds));
+        properties.setProperty("cadd-snv-path", caddSnvPath);
+        properties.setProperty("cadd-indel-path", caddInDelPath);
+        vcfVariantCounts.forEach((sampleName, count) -> properties.setProperty("vcf." + sampleName, String.valueOf(count)));
+        try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve(MANIFEST_FILE_NAME))) {
+            properties.store(writer, "exomiser-benchmark synthetic dataset");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads a previously generated dataset from the manifest in the output directory.
+     */
+    public static SyntheticDataset load(Path outputDirectory) {
+        Path manifestPath = outputDirectory.resolve(MANIFEST_FILE_NAME);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifestPath)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read synthetic dataset manifest " + manifestPath + " - has the dataset been generated?", e);
+        }
+        Map<String, Integer> vcfVariantCounts = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("vcf.")) {
+                vcfVariantCounts.put(key.substring(4), Integer.parseInt(properties.getProperty(key)));
+            }
+        }
+        return new SyntheticDataset(outputDirectory,
+                GenomeAssembly.parseAssembly(properties.getProperty("assembly")),
+                List.of(properties.getProperty("hpo-ids").split(",")),
+                properties.getProperty("cadd-snv-path"),
+                properties.getProperty("cadd-indel-path"),
+                vcfVariantCounts);
+    }
+
+    public Path getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public Path getDataDirectory() {
+        return outputDirectory.resolve("data");
+    }
+
+    public GenomeAssembly getGenomeAssembly() {
+        return genomeAssembly;
+    }
+
+    public String getDataVersion() {
+        return DATA_VERSION;
+    }
+
+    public List<String> getHpoIds() {
+        return hpoIds;
+    }
+
+    public String getCaddSnvPath() {
+        return caddSnvPath;
+    }
+
+    public String getCaddInDelPath() {
+        return caddInDelPath;
+    }
+
+    public boolean hasSample(Scale scale, SyntheticPedigree pedigree) {
+        return vcfVariantCounts.containsKey(sampleName(scale, pedigree));
+    }
+
+    public int getVariantCount(Scale scale, SyntheticPedigree pedigree) {
+        return vcfVariantCounts.getOrDefault(sampleName(scale, pedigree), 0);
+    }
+
+    public Path getVcfPath(Scale scale, SyntheticPedigree pedigree) {
+        return outputDirectory.resolve("vcf").resolve(sampleName(scale, pedigree) + ".vcf.gz");
+    }
+
+    public Path getPedPath(Scale scale, SyntheticPedigree pedigree) {
+        return outputDirectory.resolve("vcf").resolve(sampleName(scale, pedigree) + ".ped");
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import de.charite.compbio.jannovar.data.ReferenceDictionary;
+import de.charite.compbio.jannovar.reference.*;
+
+/**
+ * A single-transcript protein-coding gene laid out on a synthetic reference. All coordinates are 1-based, fully-closed
+ * and on the forward strand. The mRNA sequence is held in transcript orientation and always contains a complete ORF
+ * (ATG...stop) with no internal stop codons so that Jannovar produces realistic coding annotations.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticGene {
+
+    private final int index;
+    private final int contigId;
+    private final Strand strand;
+    private final int[] exonStarts;
+    private final int[] exonEnds;
+    private final int cdsStart;
+    private final int cdsEnd;
+    private final String mRna;
+
+    SyntheticGene(int index, int contigId, Strand strand, int[] exonStarts, int[] exonEnds, int cdsStart, int cdsEnd, String mRna) {
+        this.index = index;
+        this.contigId = contigId;
+        this.strand = strand;
+        this.exonStarts = exonStarts;
+        this.exonEnds = exonEnds;
+        this.cdsStart = cdsStart;
+        this.cdsEnd = cdsEnd;
+        this.mRna = mRna;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getGeneSymbol() {
+        return "SYN" + index;
+    }
+
+    public int getEntrezId() {
+        // well clear of the range of real human gene ids
+        return 900_000_000 + index;
+    }
+
+    public String getEnsemblId() {
+        return String.format("ENSG9%010d", index);
+    }
+
+    public String getTranscriptAccession() {
+        return String.format("ENST9%010d", index);
+    }
+
+    public int getContigId() {
+        return contigId;
+    }
+
+    public Strand getStrand() {
+        return strand;
+    }
+
+    public int getStart() {
+        return exonStarts[0];
+    }
+
+    public int getEnd() {
+        return exonEnds[exonEnds.length - 1];
+    }
+
+    public int getCdsStart() {
+        return cdsStart;
+    }
+
+    public int getCdsEnd() {
+        return cdsEnd;
+    }
+
+    public int numExons() {
+        return exonStarts.length;
+    }
+
+    public int getExonStart(int exon) {
+        return exonStarts[exon];
+    }
+
+    public int getExonEnd(int exon) {
+        return exonEnds[exon];
+    }
+
+    public String getMRna() {
+        return mRna;
+    }
+
+    /**
+     * Returns the coding sequence of the mRNA, in transcript orientation, from the start codon to the stop codon
+     * inclusive.
+     */
+    public String getCodingSequence() {
+        int cdsFirstOffset = exonicOffset(cdsStart);
+        int cdsLastOffset = exonicOffset(cdsEnd);
+        if (strand == Strand.FWD) {
+            return mRna.substring(cdsFirstOffset, cdsLastOffset + 1);
+        }
+        return mRna.substring(mRna.length() - 1 - cdsLastOffset, mRna.length() - cdsFirstOffset);
+    }
+
+    private int exonicOffset(int pos) {
+        int offset = 0;
+        for (int i = 0; i < exonStarts.length; i++) {
+            if (pos >= exonStarts[i] && pos <= exonEnds[i]) {
+                return offset + pos - exonStarts[i];
+            }
+            offset += exonEnds[i] - exonStarts[i] + 1;
+        }
+        throw new IllegalArgumentException("Position " + pos + " is not exonic in " + this);
+    }
+
+    /**
+     * Returns the forward-strand reference base at the given position if it lies within an exon of this gene or
+     * {@code 0} if the position is intronic or outside the gene.
+     */
+    public char exonicBaseAt(int pos) {
+        int offset = 0;
+        for (int i = 0; i < exonStarts.length; i++) {
+            if (pos < exonStarts[i]) {
+                return 0;
+            }
+            if (pos <= exonEnds[i]) {
+                offset += pos - exonStarts[i];
+                if (strand == Strand.FWD) {
+                    return mRna.charAt(offset);
+                }
+                return complement(mRna.charAt(mRna.length() - 1 - offset));
+            }
+            offset += exonEnds[i] - exonStarts[i] + 1;
+        }
+        return 0;
+    }
+
+    static char complement(char base) {
+        switch (base) {
+            case 'A':
+                return 'T';
+            case 'C':
+                return 'G';
+            case 'G':
+                return 'C';
+            case 'T':
+                return 'A';
+            default:
+                return 'N';
+        }
+    }
+
+    public TranscriptModel toTranscriptModel(ReferenceDictionary referenceDictionary) {
+        TranscriptModelBuilder builder = new TranscriptModelBuilder();
+        builder.setGeneSymbol(getGeneSymbol());
+        builder.setGeneID(getEnsemblId());
+        builder.setAccession(getTranscriptAccession());
+        builder.setStrand(strand);
+        builder.setSequence(mRna);
+        builder.setTranscriptSupportLevel(1);
+        builder.setTXRegion(fwdInterval(referenceDictionary, getStart(), getEnd()));
+        builder.setCDSRegion(fwdInterval(referenceDictionary, cdsStart, cdsEnd));
+        for (int i = 0; i < exonStarts.length; i++) {
+            builder.addExonRegion(fwdInterval(referenceDictionary, exonStarts[i], exonEnds[i]));
+        }
+        builder.getAltGeneIDs().put("ENTREZ_ID", String.valueOf(getEntrezId()));
+        builder.getAltGeneIDs().put("HGNC_SYMBOL", getGeneSymbol());
+        builder.getAltGeneIDs().put("ENSEMBL_GENE_ID", getEnsemblId());
+        return builder.build();
+    }
+
+    private GenomeInterval fwdInterval(ReferenceDictionary referenceDictionary, int start, int end) {
+        // convert from 1-based fully-closed to 0-based half-open
+        return new GenomeInterval(referenceDictionary, Strand.FWD, contigId, start - 1, end, PositionType.ZERO_BASED);
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticGene{" +
+                "symbol=" + getGeneSymbol() +
+                ", contigId=" + contigId +
+                ", strand=" + strand +
+                ", start=" + getStart() +
+                ", end=" + getEnd() +
+                ", cdsStart=" + cdsStart +
+                ", cdsEnd=" + cdsEnd +
+                ", exons=" + exonStarts.length +
+                '}';
+    }
+}
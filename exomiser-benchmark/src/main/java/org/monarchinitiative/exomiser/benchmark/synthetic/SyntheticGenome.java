@@ -0,0 +1,302 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import com.google.common.collect.ImmutableList;
+import de.charite.compbio.jannovar.data.JannovarData;
+import de.charite.compbio.jannovar.data.ReferenceDictionary;
+import de.charite.compbio.jannovar.data.ReferenceDictionaryBuilder;
+import de.charite.compbio.jannovar.reference.Strand;
+import de.charite.compbio.jannovar.reference.TranscriptModel;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.svart.Contig;
+
+import java.util.*;
+
+/**
+ * A deterministic synthetic genome comprising the autosomes and chromosome X of a {@link GenomeAssembly} populated with
+ * a fixed number of protein-coding genes. The reference sequence is never stored - intergenic and intronic bases are
+ * derived from a hash of the position and exonic bases from the gene mRNA, so that identical VCF files, transcript and
+ * variant data can be re-created from the same seed without the need for a FASTA file.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticGenome {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+    private static final String[] STOP_CODONS = {"TAA", "TAG", "TGA"};
+
+    // chromosomes 1-22 and X, leaving Y and MT empty as these are of little interest for a load test
+    private static final int MAX_CONTIG_ID = 23;
+    // keep clear of the telomeres and the end of the contig
+    private static final int CONTIG_MARGIN = 10_000;
+
+    private final GenomeAssembly genomeAssembly;
+    private final long seed;
+    private final List<Contig> contigs;
+    private final ReferenceDictionary referenceDictionary;
+    private final List<SyntheticGene> genes;
+    private final Map<Integer, List<SyntheticGene>> genesByContig;
+
+    private SyntheticGenome(GenomeAssembly genomeAssembly, long seed, List<Contig> contigs, List<SyntheticGene> genes) {
+        this.genomeAssembly = genomeAssembly;
+        this.seed = seed;
+        this.contigs = contigs;
+        this.referenceDictionary = buildReferenceDictionary(genomeAssembly);
+        this.genes = genes;
+        Map<Integer, List<SyntheticGene>> byContig = new LinkedHashMap<>();
+        for (Contig contig : contigs) {
+            byContig.put(contig.id(), new ArrayList<>());
+        }
+        genes.forEach(gene -> byContig.get(gene.getContigId()).add(gene));
+        this.genesByContig = byContig;
+    }
+
+    /**
+     * Lays out {@code numGenes} genes across the contigs of the assembly in proportion to the contig lengths.
+     *
+     * @param genomeAssembly the assembly providing the contig names and lengths
+     * @param numGenes       the total number of genes to create
+     * @param seed           seed for the random number generator - the same seed will always produce the same genome
+     * @return a new {@link SyntheticGenome}
+     */
+    public static SyntheticGenome generate(GenomeAssembly genomeAssembly, int numGenes, long seed) {
+        List<Contig> contigs = new ArrayList<>();
+        long totalLength = 0;
+        for (Contig contig : genomeAssembly.contigs()) {
+            if (contig.id() > 0 && contig.id() <= MAX_CONTIG_ID) {
+                contigs.add(contig);
+                totalLength += contig.length();
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<SyntheticGene> genes = new ArrayList<>(numGenes);
+        int geneIndex = 1;
+        int remaining = numGenes;
+        for (int i = 0; i < contigs.size(); i++) {
+            Contig contig = contigs.get(i);
+            int contigGenes = (i == contigs.size() - 1) ? remaining : (int) Math.round((double) numGenes * contig.length() / totalLength);
+            contigGenes = Math.min(contigGenes, remaining);
+            remaining -= contigGenes;
+            if (contigGenes == 0) {
+                continue;
+            }
+            // each gene gets an equal slot on the contig and sits somewhere inside it
+            int slotLength = (contig.length() - 2 * CONTIG_MARGIN) / contigGenes;
+            for (int slot = 0; slot < contigGenes; slot++) {
+                int slotStart = CONTIG_MARGIN + slot * slotLength;
+                genes.add(createGene(random, geneIndex++, contig.id(), slotStart, slotLength));
+            }
+        }
+        return new SyntheticGenome(genomeAssembly, seed, List.copyOf(contigs), List.copyOf(genes));
+    }
+
+    private static SyntheticGene createGene(SplittableRandom random, int geneIndex, int contigId, int slotStart, int slotLength) {
+        int numExons = random.nextInt(3, 13);
+        int[] exonLengths = new int[numExons];
+        int[] intronLengths = new int[numExons - 1];
+        int exonicLength = 0;
+        int geneLength = 0;
+        for (int i = 0; i < numExons; i++) {
+            exonLengths[i] = random.nextInt(80, 300);
+            exonicLength += exonLengths[i];
+            geneLength += exonLengths[i];
+            if (i < numExons - 1) {
+                intronLengths[i] = random.nextInt(500, 5_000);
+                geneLength += intronLengths[i];
+            }
+        }
+        // scale the introns down for very dense layouts so that genes never overlap their neighbours
+        int maxGeneLength = slotLength / 2;
+        if (geneLength > maxGeneLength) {
+            for (int i = 0; i < intronLengths.length; i++) {
+                intronLengths[i] = Math.max(50, (int) ((long) intronLengths[i] * maxGeneLength / geneLength));
+            }
+        }
+        int geneStart = slotStart + random.nextInt(Math.max(1, slotLength / 4));
+
+        int[] exonStarts = new int[numExons];
+        int[] exonEnds = new int[numExons];
+        int pos = geneStart;
+        for (int i = 0; i < numExons; i++) {
+            exonStarts[i] = pos;
+            exonEnds[i] = pos + exonLengths[i] - 1;
+            pos = exonEnds[i] + 1 + (i < numExons - 1 ? intronLengths[i] : 0);
+        }
+
+        int utr5Length = random.nextInt(10, 60);
+        int utr3Length = random.nextInt(10, 100);
+        int cdsLength = ((exonicLength - utr5Length - utr3Length) / 3) * 3;
+        utr3Length = exonicLength - utr5Length - cdsLength;
+        String mRna = randomBases(random, utr5Length) + randomOrf(random, cdsLength) + randomBases(random, utr3Length);
+
+        Strand strand = random.nextBoolean() ? Strand.FWD : Strand.REV;
+        // the CDS start and end offsets in forward-strand exonic coordinates
+        int cdsFirstOffset = strand == Strand.FWD ? utr5Length : utr3Length;
+        int cdsLastOffset = cdsFirstOffset + cdsLength - 1;
+        int cdsStart = exonicOffsetToPosition(exonStarts, exonEnds, cdsFirstOffset);
+        int cdsEnd = exonicOffsetToPosition(exonStarts, exonEnds, cdsLastOffset);
+
+        return new SyntheticGene(geneIndex, contigId, strand, exonStarts, exonEnds, cdsStart, cdsEnd, mRna);
+    }
+
+    private static int exonicOffsetToPosition(int[] exonStarts, int[] exonEnds, int offset) {
+        int remaining = offset;
+        for (int i = 0; i < exonStarts.length; i++) {
+            int exonLength = exonEnds[i] - exonStarts[i] + 1;
+            if (remaining < exonLength) {
+                return exonStarts[i] + remaining;
+            }
+            remaining -= exonLength;
+        }
+        throw new IllegalArgumentException("Offset " + offset + " is beyond the end of the exons");
+    }
+
+    private static String randomBases(SplittableRandom random, int length) {
+        StringBuilder stringBuilder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            stringBuilder.append(BASES[random.nextInt(4)]);
+        }
+        return stringBuilder.toString();
+    }
+
+    private static String randomOrf(SplittableRandom random, int length) {
+        StringBuilder stringBuilder = new StringBuilder(length);
+        stringBuilder.append("ATG");
+        while (stringBuilder.length() < length - 3) {
+            String codon = randomBases(random, 3);
+            if (!isStopCodon(codon)) {
+                stringBuilder.append(codon);
+            }
+        }
+        stringBuilder.append(STOP_CODONS[random.nextInt(STOP_CODONS.length)]);
+        return stringBuilder.toString();
+    }
+
+    static boolean isStopCodon(String codon) {
+        for (String stopCodon : STOP_CODONS) {
+            if (stopCodon.equals(codon)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ReferenceDictionary buildReferenceDictionary(GenomeAssembly genomeAssembly) {
+        ReferenceDictionaryBuilder builder = new ReferenceDictionaryBuilder();
+        for (Contig contig : genomeAssembly.contigs()) {
+            if (contig.id() == 0) {
+                continue;
+            }
+            builder.putContigID(contig.name(), contig.id());
+            builder.putContigID("chr" + contig.name(), contig.id());
+            builder.putContigID(contig.ucscName(), contig.id());
+            builder.putContigName(contig.id(), contig.name());
+            builder.putContigLength(contig.id(), contig.length());
+        }
+        return builder.build();
+    }
+
+    public GenomeAssembly getGenomeAssembly() {
+        return genomeAssembly;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Contig> getContigs() {
+        return contigs;
+    }
+
+    public ReferenceDictionary getReferenceDictionary() {
+        return referenceDictionary;
+    }
+
+    public List<SyntheticGene> getGenes() {
+        return genes;
+    }
+
+    public List<SyntheticGene> getGenesOnContig(int contigId) {
+        return genesByContig.getOrDefault(contigId, List.of());
+    }
+
+    /**
+     * Returns the gene overlapping the position, or null if the position is intergenic.
+     */
+    public SyntheticGene geneAt(int contigId, int pos) {
+        List<SyntheticGene> contigGenes = getGenesOnContig(contigId);
+        int low = 0;
+        int high = contigGenes.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            SyntheticGene gene = contigGenes.get(mid);
+            if (pos < gene.getStart()) {
+                high = mid - 1;
+            } else if (pos > gene.getEnd()) {
+                low = mid + 1;
+            } else {
+                return gene;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the forward-strand reference base at the 1-based position on the contig.
+     */
+    public char referenceBase(int contigId, int pos) {
+        SyntheticGene gene = geneAt(contigId, pos);
+        if (gene != null) {
+            char exonicBase = gene.exonicBaseAt(pos);
+            if (exonicBase != 0) {
+                return exonicBase;
+            }
+        }
+        return BASES[(int) (mix(seed ^ ((long) contigId << 32 | pos)) >>> 62)];
+    }
+
+    public String referenceBases(int contigId, int pos, int length) {
+        StringBuilder stringBuilder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            stringBuilder.append(referenceBase(contigId, pos + i));
+        }
+        return stringBuilder.toString();
+    }
+
+    public JannovarData toJannovarData() {
+        ImmutableList.Builder<TranscriptModel> transcriptModels = ImmutableList.builder();
+        for (SyntheticGene gene : genes) {
+            transcriptModels.add(gene.toTranscriptModel(referenceDictionary));
+        }
+        return new JannovarData(referenceDictionary, transcriptModels.build());
+    }
+
+    /**
+     * Stafford variant 13 of the 64-bit MurmurHash3 finaliser as used by {@link SplittableRandom}.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
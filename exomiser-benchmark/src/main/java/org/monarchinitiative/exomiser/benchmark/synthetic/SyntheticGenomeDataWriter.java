@@ -0,0 +1,262 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import htsjdk.tribble.index.IndexFactory;
+import htsjdk.tribble.index.tabix.TabixIndex;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.genome.jannovar.JannovarDataProtoSerialiser;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.svart.Contig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Writes the genome assembly data resources (transcripts, variants MVStore, genome database and CADD tabix files) for
+ * the synthetic genome in the layout expected by the exomiser-spring-boot-autoconfigure module.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticGenomeDataWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticGenomeDataWriter.class);
+
+    private final SyntheticVariantGenerator variantGenerator;
+    private final String dataVersion;
+
+    public SyntheticGenomeDataWriter(SyntheticVariantGenerator variantGenerator, String dataVersion) {
+        this.variantGenerator = variantGenerator;
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * @param exomiserDataDirectory the root Exomiser data directory. The assembly data will be written to a
+     *                              {@code {version}_{assembly}} sub-directory of this.
+     * @return the assembly data directory
+     */
+    public Path write(Path exomiserDataDirectory) {
+        SyntheticGenome genome = variantGenerator.getGenome();
+        String versionAssemblyPrefix = versionAssemblyPrefix();
+        Path assemblyDirectory = exomiserDataDirectory.resolve(versionAssemblyPrefix);
+        try {
+            Files.createDirectories(assemblyDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Path transcriptsPath = assemblyDirectory.resolve(versionAssemblyPrefix + "_transcripts_ensembl.ser");
+        logger.info("Writing {} synthetic transcripts to {}", genome.getGenes().size(), transcriptsPath);
+        JannovarDataProtoSerialiser.save(transcriptsPath, genome.toJannovarData());
+
+        writeGenomeDatabase(assemblyDirectory.resolve(versionAssemblyPrefix + "_genome"));
+        writeVariantData(assemblyDirectory);
+        return assemblyDirectory;
+    }
+
+    public String versionAssemblyPrefix() {
+        return dataVersion + "_" + variantGenerator.getGenome().getGenomeAssembly();
+    }
+
+    public String caddSnvFileName() {
+        return versionAssemblyPrefix() + "_cadd_snvs.tsv.gz";
+    }
+
+    public String caddInDelFileName() {
+        return versionAssemblyPrefix() + "_cadd_indels.tsv.gz";
+    }
+
+    private void writeVariantData(Path assemblyDirectory) {
+        Path mvStorePath = assemblyDirectory.resolve(versionAssemblyPrefix() + "_variants.mv.db");
+        Path caddSnvPath = assemblyDirectory.resolve(caddSnvFileName());
+        Path caddInDelPath = assemblyDirectory.resolve(caddInDelFileName());
+        logger.info("Writing synthetic variant data to {}", mvStorePath);
+        try {
+            Files.deleteIfExists(mvStorePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(mvStorePath.toString())
+                .compress()
+                .open();
+        int alleles = 0;
+        try (BufferedWriter caddSnvWriter = caddWriter(caddSnvPath);
+             BufferedWriter caddInDelWriter = caddWriter(caddInDelPath)) {
+            MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(mvStore);
+            for (Contig contig : variantGenerator.getGenome().getContigs()) {
+                for (SyntheticVariant variant : variantGenerator.variantsOnContig(contig)) {
+                    AlleleProperties alleleProperties = toAlleleProperties(variant);
+                    if (!alleleProperties.equals(AlleleProperties.getDefaultInstance())) {
+                        alleleMap.put(toAlleleKey(variant), alleleProperties);
+                        alleles++;
+                    }
+                    writeCaddLine(variant.isSnv() ? caddSnvWriter : caddInDelWriter, contig, variant);
+                }
+                mvStore.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write CADD data", e);
+        } finally {
+            mvStore.close();
+        }
+        logger.info("Wrote {} alleles to {}", alleles, mvStorePath);
+        writeTabixIndex(caddSnvPath);
+        writeTabixIndex(caddInDelPath);
+    }
+
+    private static AlleleKey toAlleleKey(SyntheticVariant variant) {
+        return AlleleKey.newBuilder()
+                .setChr(variant.getContigId())
+                .setPosition(variant.getPos())
+                .setRef(variant.getRef())
+                .setAlt(variant.getAlt())
+                .build();
+    }
+
+    private static AlleleProperties toAlleleProperties(SyntheticVariant variant) {
+        AlleleProperties.Builder builder = AlleleProperties.newBuilder();
+        if (!variant.isNovel()) {
+            float frequency = variant.getFrequency();
+            builder.setRsId("rs" + (variant.getPos() + (long) variant.getContigId() * 1_000_000_000L));
+            if (variant.isTargeted()) {
+                builder.putProperties("GNOMAD_E_NFE", frequency);
+                builder.putProperties("GNOMAD_E_AFR", frequency * 0.8f);
+            }
+            builder.putProperties("GNOMAD_G_NFE", frequency * 0.9f);
+            builder.putProperties("TOPMED", frequency * 1.1f);
+        }
+        if (!Float.isNaN(variant.getRevel())) {
+            builder.putProperties("REVEL", variant.getRevel());
+            builder.putProperties("MVP", Math.min(1f, variant.getRevel() * 1.2f));
+        }
+        return builder.build();
+    }
+
+    private static BufferedWriter caddWriter(Path caddPath) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new BlockCompressedOutputStream(caddPath.toFile(), 6), StandardCharsets.UTF_8));
+        writer.write("#Chrom\tPos\tRef\tAlt\tRawScore\tPHRED\n");
+        return writer;
+    }
+
+    private static void writeCaddLine(BufferedWriter writer, Contig contig, SyntheticVariant variant) throws IOException {
+        float phred = variant.getCaddPhred();
+        writer.write(contig.name());
+        writer.write('\t');
+        writer.write(Integer.toString(variant.getPos()));
+        writer.write('\t');
+        writer.write(variant.getRef());
+        writer.write('\t');
+        writer.write(variant.getAlt());
+        writer.write('\t');
+        writer.write(String.format(Locale.ROOT, "%.6f", phred / 10f - 1f));
+        writer.write('\t');
+        writer.write(String.format(Locale.ROOT, "%.3f", phred));
+        writer.write('\n');
+    }
+
+    private static void writeTabixIndex(Path tabixPath) {
+        Path indexPath = tabixPath.resolveSibling(tabixPath.getFileName() + ".tbi");
+        try {
+            TabixIndex index = IndexFactory.createTabixIndex(tabixPath.toFile(), new SyntheticTabixCodec(), null);
+            Files.deleteIfExists(indexPath);
+            index.write(indexPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write tabix index for " + tabixPath, e);
+        }
+    }
+
+    private void writeGenomeDatabase(Path genomeDbPath) {
+        logger.info("Writing synthetic genome database to {}", genomeDbPath);
+        deleteH2Database(genomeDbPath);
+        String url = "jdbc:h2:file:" + genomeDbPath.toAbsolutePath() + ";MODE=PostgreSQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("synthetic/genome-schema.sql"));
+            insertTads(connection);
+            insertRegulatoryRegions(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to write genome database " + genomeDbPath, e);
+        }
+    }
+
+    private void insertTads(Connection connection) throws SQLException {
+        // one TAD per gene, extending 20kb either side
+        String insert = "INSERT INTO exomiser.tad (chromosome, start, \"end\", entrezid, symbol) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insert)) {
+            for (SyntheticGene gene : variantGenerator.getGenome().getGenes()) {
+                preparedStatement.setInt(1, gene.getContigId());
+                preparedStatement.setInt(2, Math.max(1, gene.getStart() - 20_000));
+                preparedStatement.setInt(3, gene.getEnd() + 20_000);
+                preparedStatement.setInt(4, gene.getEntrezId());
+                preparedStatement.setString(5, gene.getGeneSymbol());
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private void insertRegulatoryRegions(Connection connection) throws SQLException {
+        // an enhancer upstream and a promoter flanking each gene
+        String insert = "INSERT INTO exomiser.regulatory_regions (chromosome, start, \"end\", feature_type) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insert)) {
+            for (SyntheticGene gene : variantGenerator.getGenome().getGenes()) {
+                addRegulatoryRegion(preparedStatement, gene.getContigId(), gene.getStart() - 8_000, gene.getStart() - 6_000, "ENHANCER");
+                addRegulatoryRegion(preparedStatement, gene.getContigId(), gene.getStart() - 1_000, gene.getStart() + 200, "PROMOTER");
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private static void addRegulatoryRegion(PreparedStatement preparedStatement, int contigId, int start, int end, String featureType) throws SQLException {
+        preparedStatement.setInt(1, contigId);
+        preparedStatement.setInt(2, Math.max(1, start));
+        preparedStatement.setInt(3, Math.max(1, end));
+        preparedStatement.setString(4, featureType);
+        preparedStatement.addBatch();
+    }
+
+    static void deleteH2Database(Path dbPath) {
+        try {
+            Files.deleteIfExists(dbPath.resolveSibling(dbPath.getFileName() + ".mv.db"));
+            Files.deleteIfExists(dbPath.resolveSibling(dbPath.getFileName() + ".trace.db"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
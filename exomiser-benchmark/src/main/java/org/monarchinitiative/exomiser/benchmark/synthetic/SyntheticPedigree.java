@@ -0,0 +1,113 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The family structures for which synthetic VCF files can be written.
+ *
+ * @since 13.3.0
+ */
+public enum SyntheticPedigree {
+
+    SINGLETON(List.of(SyntheticPedigree.PROBAND)),
+    TRIO(List.of(SyntheticPedigree.PROBAND, SyntheticPedigree.MOTHER, SyntheticPedigree.FATHER));
+
+    static final String PROBAND = "PROBAND";
+    static final String MOTHER = "MOTHER";
+    static final String FATHER = "FATHER";
+    private static final String FAMILY = "FAM1";
+
+    private final List<String> sampleIds;
+
+    SyntheticPedigree(List<String> sampleIds) {
+        this.sampleIds = sampleIds;
+    }
+
+    public List<String> getSampleIds() {
+        return sampleIds;
+    }
+
+    public String getProbandId() {
+        return PROBAND;
+    }
+
+    /**
+     * Returns the genotype calls, in sample order, for the variant. At least one sample will carry the alt allele and
+     * for a trio the proband will have received exactly one haplotype from each parent.
+     */
+    List<String> genotypes(SplittableRandom random, SyntheticVariant variant) {
+        // the chance of any one haplotype carrying the allele, given that it has been seen in the family
+        double carrierRate = variant.isNovel() ? 0.05 : Math.min(0.6, Math.max(0.05, variant.getFrequency() / 100.0));
+        if (this == SINGLETON) {
+            boolean[] haplotypes = haplotypes(random, carrierRate, 2);
+            return List.of(genotype(haplotypes[0], haplotypes[1]));
+        }
+        // mother 0,1 father 2,3
+        boolean[] haplotypes = haplotypes(random, carrierRate, 4);
+        boolean maternal = haplotypes[random.nextInt(2)];
+        boolean paternal = haplotypes[2 + random.nextInt(2)];
+        return List.of(genotype(maternal, paternal), genotype(haplotypes[0], haplotypes[1]), genotype(haplotypes[2], haplotypes[3]));
+    }
+
+    private static boolean[] haplotypes(SplittableRandom random, double carrierRate, int n) {
+        boolean[] haplotypes = new boolean[n];
+        boolean anyAlt = false;
+        for (int i = 0; i < n; i++) {
+            haplotypes[i] = random.nextDouble() < carrierRate;
+            anyAlt |= haplotypes[i];
+        }
+        if (!anyAlt) {
+            haplotypes[random.nextInt(n)] = true;
+        }
+        return haplotypes;
+    }
+
+    private static String genotype(boolean first, boolean second) {
+        if (first && second) {
+            return "1/1";
+        }
+        return first || second ? "0/1" : "0/0";
+    }
+
+    public void writePedFile(Path pedPath) {
+        StringBuilder ped = new StringBuilder();
+        // Family ID, Individual ID, Paternal ID, Maternal ID, Sex (1=male; 2=female), Phenotype (1=unaffected; 2=affected)
+        if (this == SINGLETON) {
+            ped.append(String.join("\t", FAMILY, PROBAND, "0", "0", "1", "2")).append('\n');
+        } else {
+            ped.append(String.join("\t", FAMILY, PROBAND, FATHER, MOTHER, "1", "2")).append('\n');
+            ped.append(String.join("\t", FAMILY, MOTHER, "0", "0", "2", "1")).append('\n');
+            ped.append(String.join("\t", FAMILY, FATHER, "0", "0", "1", "1")).append('\n');
+        }
+        try {
+            Files.writeString(pedPath, ped);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write PED file " + pedPath, e);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Writes a phenotype database and random-walk matrix for the genes of a {@link SyntheticGenome}. The database contains
+ * synthetic HPO, MPO and ZPO terms with cross-species phenodigm mappings, disease-gene associations and mouse and fish
+ * models for a proportion of the genes in the layout expected by the exomiser-spring-boot-autoconfigure module.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticPhenotypeDataWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticPhenotypeDataWriter.class);
+
+    private static final int TERM_ID_OFFSET = 3_000_000;
+    private static final int HITS_PER_TERM = 15;
+    private static final int MAX_PPI_GENES = 2_000;
+    private static final String[] INHERITANCE_CODES = {"D", "R", "B", "X"};
+
+    private final SyntheticGenome genome;
+    private final String dataVersion;
+    private final int numTerms;
+
+    private final Map<SyntheticGene, List<String>> diseasePhenotypes = new LinkedHashMap<>();
+    private final Map<SyntheticGene, List<List<String>>> mouseModels = new LinkedHashMap<>();
+    private final Map<SyntheticGene, List<List<String>>> fishModels = new LinkedHashMap<>();
+
+    /**
+     * @param genome      the genome for which to create the gene-phenotype associations
+     * @param dataVersion the phenotype data version
+     * @param numTerms    the number of terms in each of the synthetic ontologies
+     */
+    public SyntheticPhenotypeDataWriter(SyntheticGenome genome, String dataVersion, int numTerms) {
+        this.genome = genome;
+        this.dataVersion = dataVersion;
+        this.numTerms = numTerms;
+        createModels();
+    }
+
+    private void createModels() {
+        SplittableRandom random = new SplittableRandom(genome.getSeed() + 1);
+        for (SyntheticGene gene : genome.getGenes()) {
+            if (random.nextDouble() < 0.35) {
+                diseasePhenotypes.put(gene, randomTerms(random, "HP"));
+            }
+            if (random.nextDouble() < 0.6) {
+                mouseModels.put(gene, randomModels(random, "MP"));
+            }
+            if (random.nextDouble() < 0.4) {
+                fishModels.put(gene, randomModels(random, "ZP"));
+            }
+        }
+    }
+
+    private List<List<String>> randomModels(SplittableRandom random, String prefix) {
+        int numModels = random.nextInt(1, 4);
+        List<List<String>> models = new ArrayList<>(numModels);
+        for (int i = 0; i < numModels; i++) {
+            models.add(randomTerms(random, prefix));
+        }
+        return models;
+    }
+
+    private List<String> randomTerms(SplittableRandom random, String prefix) {
+        int numPhenotypes = random.nextInt(5, 16);
+        Set<String> terms = new LinkedHashSet<>();
+        while (terms.size() < numPhenotypes) {
+            terms.add(termId(prefix, random.nextInt(1, numTerms + 1)));
+        }
+        return List.copyOf(terms);
+    }
+
+    private static String termId(String prefix, int index) {
+        return String.format("%s:%07d", prefix, TERM_ID_OFFSET + index);
+    }
+
+    /**
+     * Returns a set of phenotypes for the proband taken from one of the synthetic diseases so that the phenotype
+     * prioritisers have something to find.
+     */
+    public List<String> probandHpoIds() {
+        List<List<String>> allDiseasePhenotypes = new ArrayList<>(diseasePhenotypes.values());
+        if (allDiseasePhenotypes.isEmpty()) {
+            return List.of(termId("HP", 1));
+        }
+        List<String> phenotypes = allDiseasePhenotypes.get(new SplittableRandom(genome.getSeed() + 2).nextInt(allDiseasePhenotypes.size()));
+        return phenotypes.subList(0, Math.min(5, phenotypes.size()));
+    }
+
+    /**
+     * @param exomiserDataDirectory the root Exomiser data directory. The phenotype data will be written to a
+     *                              {@code {version}_phenotype} sub-directory of this.
+     * @return the phenotype data directory
+     */
+    public Path write(Path exomiserDataDirectory) {
+        Path phenotypeDirectory = exomiserDataDirectory.resolve(dataVersion + "_phenotype");
+        try {
+            Files.createDirectories(phenotypeDirectory.resolve("phenix"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writePhenotypeDatabase(phenotypeDirectory.resolve(dataVersion + "_phenotype"));
+        writeRandomWalkMatrix(phenotypeDirectory.resolve("rw_string_10.mv"));
+        return phenotypeDirectory;
+    }
+
+    private void writePhenotypeDatabase(Path dbPath) {
+        logger.info("Writing synthetic phenotype database to {}", dbPath);
+        SyntheticGenomeDataWriter.deleteH2Database(dbPath);
+        String url = "jdbc:h2:file:" + dbPath.toAbsolutePath() + ";MODE=PostgreSQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("synthetic/phenotype-schema.sql"));
+            insertTerms(connection, "INSERT INTO exomiser.hpo (id, lcname) VALUES (?, ?)", "HP");
+            insertTerms(connection, "INSERT INTO exomiser.mp (mp_id, mp_term) VALUES (?, ?)", "MP");
+            insertTerms(connection, "INSERT INTO exomiser.zp (zp_id, zp_term) VALUES (?, ?)", "ZP");
+            insertAltIds(connection);
+            SplittableRandom random = new SplittableRandom(genome.getSeed() + 3);
+            insertMappings(connection, random, "hp_hp_mappings (mapping_id, hp_id, hp_term, hp_id_hit, hp_hit_term, simj, ic, score, lcs_id, lcs_term)", "HP");
+            insertMappings(connection, random, "hp_mp_mappings (mapping_id, hp_id, hp_term, mp_id, mp_term, simj, ic, score, lcs_id, lcs_term)", "MP");
+            insertMappings(connection, random, "hp_zp_mappings (mapping_id, hp_id, hp_term, zp_id, zp_term, simj, ic, score, lcs_id, lcs_term)", "ZP");
+            insertGenes(connection);
+            insertDiseases(connection);
+            insertModels(connection, mouseModels, "human2mouse_orthologs (mgi_gene_id, mgi_gene_symbol, human_gene_symbol, entrez_id)", "mgi_mp (mgi_gene_id, mgi_gene_symbol, mouse_model_id, mp_id)", "MGI:9%06d");
+            insertModels(connection, fishModels, "human2fish_orthologs (zfin_gene_id, zfin_gene_symbol, human_gene_symbol, entrez_id)", "zfin_zp (zfin_gene_id, zfin_gene_symbol, zfin_model_id, zp_id)", "ZDB-GENE-9%06d");
+            try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO exomiser.metadata (resource, version) VALUES (?, ?)")) {
+                preparedStatement.setString(1, "synthetic");
+                preparedStatement.setString(2, dataVersion);
+                preparedStatement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to write phenotype database " + dbPath, e);
+        }
+    }
+
+    private void insertTerms(Connection connection, String insert, String prefix) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insert)) {
+            for (int i = 1; i <= numTerms; i++) {
+                preparedStatement.setString(1, termId(prefix, i));
+                preparedStatement.setString(2, termLabel(prefix, i));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private static String termLabel(String prefix, int index) {
+        return "Synthetic " + prefix + " phenotype " + index;
+    }
+
+    private void insertAltIds(Connection connection) throws SQLException {
+        // a handful of obsolete ids for the HpoIdChecker to resolve
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO exomiser.hp_alt_ids (alt_id, primary_id) VALUES (?, ?)")) {
+            for (int i = 1; i <= Math.min(50, numTerms); i++) {
+                preparedStatement.setString(1, termId("HP", numTerms + i));
+                preparedStatement.setString(2, termId("HP", i));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private void insertMappings(Connection connection, SplittableRandom random, String table, String hitPrefix) throws SQLException {
+        String insert = "INSERT INTO exomiser." + table + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int mappingId = 0;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insert)) {
+            for (int i = 1; i <= numTerms; i++) {
+                Set<Integer> hits = new LinkedHashSet<>();
+                // an exact match for same-species mappings
+                if (hitPrefix.equals("HP")) {
+                    hits.add(i);
+                }
+                while (hits.size() < HITS_PER_TERM) {
+                    hits.add(random.nextInt(1, numTerms + 1));
+                }
+                for (int hit : hits) {
+                    boolean exact = hitPrefix.equals("HP") && hit == i;
+                    double simJ = exact ? 1.0 : 0.1 + random.nextDouble() * 0.8;
+                    double ic = exact ? 4 + random.nextDouble() * 6 : 0.5 + random.nextDouble() * 6;
+                    int lcs = exact ? i : random.nextInt(1, numTerms + 1);
+                    preparedStatement.setInt(1, ++mappingId);
+                    preparedStatement.setString(2, termId("HP", i));
+                    preparedStatement.setString(3, termLabel("HP", i));
+                    preparedStatement.setString(4, termId(hitPrefix, hit));
+                    preparedStatement.setString(5, termLabel(hitPrefix, hit));
+                    preparedStatement.setDouble(6, simJ);
+                    preparedStatement.setDouble(7, ic);
+                    preparedStatement.setDouble(8, Math.sqrt(simJ * ic));
+                    preparedStatement.setString(9, termId("HP", lcs));
+                    preparedStatement.setString(10, termLabel("HP", lcs));
+                    preparedStatement.addBatch();
+                }
+                if (i % 500 == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private void insertGenes(Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO exomiser.entrez2sym (entrezid, symbol) VALUES (?, ?)")) {
+            for (SyntheticGene gene : genome.getGenes()) {
+                preparedStatement.setInt(1, gene.getEntrezId());
+                preparedStatement.setString(2, gene.getGeneSymbol());
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private void insertDiseases(Connection connection) throws SQLException {
+        String diseaseInsert = "INSERT INTO exomiser.disease (disease_id, omim_gene_id, diseasename, gene_id, type, inheritance) VALUES (?, ?, ?, ?, ?, ?)";
+        String diseaseHpInsert = "INSERT INTO exomiser.disease_hp (disease_id, hp_id) VALUES (?, ?)";
+        try (PreparedStatement diseaseStatement = connection.prepareStatement(diseaseInsert);
+             PreparedStatement diseaseHpStatement = connection.prepareStatement(diseaseHpInsert)) {
+            for (Map.Entry<SyntheticGene, List<String>> entry : diseasePhenotypes.entrySet()) {
+                SyntheticGene gene = entry.getKey();
+                String diseaseId = "OMIM:9" + String.format("%06d", gene.getIndex());
+                diseaseStatement.setString(1, diseaseId);
+                diseaseStatement.setString(2, "OMIM:8" + String.format("%06d", gene.getIndex()));
+                diseaseStatement.setString(3, "Synthetic disease " + gene.getIndex());
+                diseaseStatement.setInt(4, gene.getEntrezId());
+                diseaseStatement.setString(5, "D");
+                diseaseStatement.setString(6, INHERITANCE_CODES[gene.getIndex() % INHERITANCE_CODES.length]);
+                diseaseStatement.addBatch();
+
+                diseaseHpStatement.setString(1, diseaseId);
+                diseaseHpStatement.setString(2, String.join(",", entry.getValue()));
+                diseaseHpStatement.addBatch();
+            }
+            diseaseStatement.executeBatch();
+            diseaseHpStatement.executeBatch();
+        }
+    }
+
+    private void insertModels(Connection connection, Map<SyntheticGene, List<List<String>>> models, String orthologTable, String modelTable, String modelGeneIdFormat) throws SQLException {
+        try (PreparedStatement orthologStatement = connection.prepareStatement("INSERT INTO exomiser." + orthologTable + " VALUES (?, ?, ?, ?)");
+             PreparedStatement modelStatement = connection.prepareStatement("INSERT INTO exomiser." + modelTable + " VALUES (?, ?, ?, ?)")) {
+            for (Map.Entry<SyntheticGene, List<List<String>>> entry : models.entrySet()) {
+                SyntheticGene gene = entry.getKey();
+                String modelGeneId = String.format(modelGeneIdFormat, gene.getIndex());
+                String modelGeneSymbol = "Syn" + gene.getIndex();
+                orthologStatement.setString(1, modelGeneId);
+                orthologStatement.setString(2, modelGeneSymbol);
+                orthologStatement.setString(3, gene.getGeneSymbol());
+                // the fish ortholog table uses a varchar for the entrez id
+                orthologStatement.setObject(4, gene.getEntrezId());
+                orthologStatement.addBatch();
+
+                List<List<String>> modelPhenotypes = entry.getValue();
+                for (int i = 0; i < modelPhenotypes.size(); i++) {
+                    modelStatement.setString(1, modelGeneId);
+                    modelStatement.setString(2, modelGeneSymbol);
+                    modelStatement.setString(3, modelGeneId + "_" + i);
+                    modelStatement.setString(4, String.join(",", modelPhenotypes.get(i)));
+                    modelStatement.addBatch();
+                }
+            }
+            orthologStatement.executeBatch();
+            modelStatement.executeBatch();
+        }
+    }
+
+    private void writeRandomWalkMatrix(Path randomWalkPath) {
+        List<SyntheticGene> genes = genome.getGenes();
+        int numPpiGenes = Math.min(MAX_PPI_GENES, genes.size());
+        logger.info("Writing synthetic {}x{} random-walk matrix to {}", numPpiGenes, numPpiGenes, randomWalkPath);
+        try {
+            Files.deleteIfExists(randomWalkPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        SplittableRandom random = new SplittableRandom(genome.getSeed() + 4);
+        // genes are spread evenly over the genome so striding through them gives a representative sample
+        int stride = genes.size() / numPpiGenes;
+        MVStore mvStore = MVStore.open(randomWalkPath.toAbsolutePath().toString());
+        try {
+            MVMap<Integer, Integer> rowIndex = mvStore.openMap("gene_id_row_index");
+            MVMap<Integer, float[]> columns = mvStore.openMap("columns");
+            for (int i = 0; i < numPpiGenes; i++) {
+                rowIndex.put(genes.get(i * stride).getEntrezId(), i);
+            }
+            for (int i = 0; i < numPpiGenes; i++) {
+                float[] column = new float[numPpiGenes];
+                for (int j = 0; j < numPpiGenes; j++) {
+                    column[j] = i == j ? 1f : (float) (Math.pow(random.nextDouble(), 8) * 0.01);
+                }
+                columns.put(genes.get(i * stride).getEntrezId(), column);
+            }
+            mvStore.commit();
+        } finally {
+            mvStore.close();
+        }
+    }
+}
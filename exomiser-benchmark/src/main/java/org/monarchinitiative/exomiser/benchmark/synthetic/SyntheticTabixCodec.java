@@ -0,0 +1,89 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import htsjdk.tribble.AsciiFeatureCodec;
+import htsjdk.tribble.Feature;
+import htsjdk.tribble.index.tabix.TabixFormat;
+import htsjdk.tribble.readers.LineIterator;
+
+/**
+ * Codec for indexing the chr, pos, ref, alt... formatted files written for the synthetic CADD data. This is equivalent
+ * to {@code tabix -s 1 -b 2 -e 2 -c# file.tsv.gz}.
+ *
+ * @since 13.3.0
+ */
+class SyntheticTabixCodec extends AsciiFeatureCodec<SyntheticTabixCodec.PositionFeature> {
+
+    SyntheticTabixCodec() {
+        super(PositionFeature.class);
+    }
+
+    @Override
+    public PositionFeature decode(String line) {
+        if (line.startsWith("#")) {
+            return null;
+        }
+        int firstTab = line.indexOf('\t');
+        int secondTab = line.indexOf('\t', firstTab + 1);
+        return new PositionFeature(line.substring(0, firstTab), Integer.parseInt(line.substring(firstTab + 1, secondTab)));
+    }
+
+    @Override
+    public Object readActualHeader(LineIterator reader) {
+        return null;
+    }
+
+    @Override
+    public TabixFormat getTabixFormat() {
+        return new TabixFormat(TabixFormat.GENERIC_FLAGS, 1, 2, 2, '#', 0);
+    }
+
+    @Override
+    public boolean canDecode(String path) {
+        return true;
+    }
+
+    static class PositionFeature implements Feature {
+        private final String contig;
+        private final int pos;
+
+        private PositionFeature(String contig, int pos) {
+            this.contig = contig;
+            this.pos = pos;
+        }
+
+        @Override
+        public String getContig() {
+            return contig;
+        }
+
+        @Override
+        public int getStart() {
+            return pos;
+        }
+
+        @Override
+        public int getEnd() {
+            return pos;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+/**
+ * A single synthetic VCF-style allele together with the population frequency and pathogenicity values which are
+ * written to the data resources for it.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticVariant {
+
+    private final int contigId;
+    private final int pos;
+    private final String ref;
+    private final String alt;
+    private final boolean targeted;
+    // allele frequency as a percentage, or NaN if the allele is novel
+    private final float frequency;
+    private final float caddPhred;
+    private final float revel;
+
+    SyntheticVariant(int contigId, int pos, String ref, String alt, boolean targeted, float frequency, float caddPhred, float revel) {
+        this.contigId = contigId;
+        this.pos = pos;
+        this.ref = ref;
+        this.alt = alt;
+        this.targeted = targeted;
+        this.frequency = frequency;
+        this.caddPhred = caddPhred;
+        this.revel = revel;
+    }
+
+    public int getContigId() {
+        return contigId;
+    }
+
+    public int getPos() {
+        return pos;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public String getAlt() {
+        return alt;
+    }
+
+    public boolean isSnv() {
+        return ref.length() == 1 && alt.length() == 1;
+    }
+
+    /**
+     * @return true if the variant lies within the padded exome target regions
+     */
+    public boolean isTargeted() {
+        return targeted;
+    }
+
+    public boolean isNovel() {
+        return Float.isNaN(frequency);
+    }
+
+    public float getFrequency() {
+        return frequency;
+    }
+
+    public float getCaddPhred() {
+        return caddPhred;
+    }
+
+    /**
+     * @return the REVEL score for targeted SNVs or NaN for all others
+     */
+    public float getRevel() {
+        return revel;
+    }
+
+    @Override
+    public String toString() {
+        return contigId + "-" + pos + "-" + ref + "-" + alt;
+    }
+}
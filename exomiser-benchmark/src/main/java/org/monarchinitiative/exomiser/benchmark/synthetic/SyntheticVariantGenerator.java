@@ -0,0 +1,219 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import org.monarchinitiative.svart.Contig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the set of variant sites for a {@link SyntheticGenome}. The sites comprise a uniform genome-wide background
+ * and a denser set of sites in the exons (plus padding) of the synthetic genes, the latter being the 'exome' subset. Sites
+ * are produced one contig at a time, in position order and are re-created identically from the seed, so the VCF writer
+ * and the data resource writers can each stream over them independently.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticVariantGenerator {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+    private static final int MAX_INDEL_LENGTH = 6;
+
+    private final SyntheticGenome genome;
+    private final int genomeVariants;
+    private final int exomeVariants;
+    private final int targetPadding;
+
+    private final long totalLength;
+    private final long totalTargetLength;
+
+    /**
+     * @param genome         the genome on which to place the variants
+     * @param genomeVariants approximate total number of variants across the genome, including the exome subset
+     * @param exomeVariants  approximate number of variants within the exome target regions
+     * @param targetPadding  number of intronic bases either side of an exon considered to be part of the target region
+     */
+    public SyntheticVariantGenerator(SyntheticGenome genome, int genomeVariants, int exomeVariants, int targetPadding) {
+        this.genome = genome;
+        this.genomeVariants = genomeVariants;
+        this.exomeVariants = exomeVariants;
+        this.targetPadding = targetPadding;
+        this.totalLength = genome.getContigs().stream().mapToLong(Contig::length).sum();
+        this.totalTargetLength = genome.getContigs().stream().mapToLong(contig -> targetLength(contig.id())).sum();
+    }
+
+    public SyntheticGenome getGenome() {
+        return genome;
+    }
+
+    public int getTargetPadding() {
+        return targetPadding;
+    }
+
+    private long targetLength(int contigId) {
+        long length = 0;
+        for (SyntheticGene gene : genome.getGenesOnContig(contigId)) {
+            for (int i = 0; i < gene.numExons(); i++) {
+                length += gene.getExonEnd(i) - gene.getExonStart(i) + 1 + 2L * targetPadding;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the variants on the contig, sorted by position. Each position carries at most one variant.
+     */
+    public List<SyntheticVariant> variantsOnContig(Contig contig) {
+        int contigId = contig.id();
+        long contigTargetLength = targetLength(contigId);
+        int numTargeted = totalTargetLength == 0 ? 0 : (int) Math.round((double) exomeVariants * contigTargetLength / totalTargetLength);
+        int numContigVariants = (int) Math.round((double) genomeVariants * contig.length() / totalLength);
+        int numBackground = Math.max(0, numContigVariants - numTargeted);
+
+        SplittableRandom random = new SplittableRandom(genome.getSeed() * 31 + contigId);
+        int[] positions = new int[numTargeted + numBackground];
+        int n = 0;
+        // leave room at the end of the contig for the deletions
+        int maxPos = contig.length() - MAX_INDEL_LENGTH - 1;
+        for (int i = 0; i < numBackground; i++) {
+            positions[n++] = random.nextInt(1, maxPos);
+        }
+        if (numTargeted > 0) {
+            List<SyntheticGene> genes = genome.getGenesOnContig(contigId);
+            for (int i = 0; i < numTargeted; i++) {
+                positions[n++] = randomTargetedPosition(random, genes, contigTargetLength);
+            }
+        }
+        Arrays.sort(positions);
+
+        List<SyntheticVariant> variants = new ArrayList<>(positions.length);
+        int previous = 0;
+        for (int pos : positions) {
+            if (pos != previous) {
+                variants.add(createVariant(contigId, pos));
+                previous = pos;
+            }
+        }
+        return variants;
+    }
+
+    private int randomTargetedPosition(SplittableRandom random, List<SyntheticGene> genes, long contigTargetLength) {
+        long offset = random.nextLong(contigTargetLength);
+        for (SyntheticGene gene : genes) {
+            for (int i = 0; i < gene.numExons(); i++) {
+                int paddedStart = gene.getExonStart(i) - targetPadding;
+                int paddedLength = gene.getExonEnd(i) + targetPadding - paddedStart + 1;
+                if (offset < paddedLength) {
+                    return paddedStart + (int) offset;
+                }
+                offset -= paddedLength;
+            }
+        }
+        throw new IllegalStateException("Target offset beyond end of target regions");
+    }
+
+    public boolean isTargeted(int contigId, int pos) {
+        SyntheticGene gene = genome.geneAt(contigId, pos);
+        if (gene == null) {
+            // could be within the padding either side of the gene
+            gene = genome.geneAt(contigId, pos + targetPadding);
+            if (gene == null) {
+                gene = genome.geneAt(contigId, pos - targetPadding);
+            }
+            if (gene == null) {
+                return false;
+            }
+        }
+        for (int i = 0; i < gene.numExons(); i++) {
+            if (pos >= gene.getExonStart(i) - targetPadding && pos <= gene.getExonEnd(i) + targetPadding) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SyntheticVariant createVariant(int contigId, int pos) {
+        // seeded from the position so that the variant at a site does not depend on the sites preceding it
+        SplittableRandom random = new SplittableRandom(SyntheticGenome.mix(genome.getSeed() ^ ((long) contigId << 32 | pos)));
+        char refBase = genome.referenceBase(contigId, pos);
+        String ref;
+        String alt;
+        double type = random.nextDouble();
+        if (type < 0.85) {
+            ref = String.valueOf(refBase);
+            alt = String.valueOf(otherBase(random, refBase));
+        } else if (type < 0.93) {
+            int length = random.nextInt(1, MAX_INDEL_LENGTH + 1);
+            ref = genome.referenceBases(contigId, pos, length + 1);
+            alt = String.valueOf(refBase);
+        } else {
+            int length = random.nextInt(1, MAX_INDEL_LENGTH + 1);
+            StringBuilder inserted = new StringBuilder(length);
+            for (int i = 0; i < length - 1; i++) {
+                inserted.append(BASES[random.nextInt(4)]);
+            }
+            // avoid inserting a repeat of the anchor base which would leave the allele un-normalised
+            inserted.append(otherBase(random, refBase));
+            ref = String.valueOf(refBase);
+            alt = refBase + inserted.toString();
+        }
+
+        boolean targeted = isTargeted(contigId, pos);
+        float frequency = randomFrequency(random);
+        // coding variants are more likely to be deleterious than those in the background
+        double caddScale = targeted ? 40 : 20;
+        float caddPhred = (float) (Math.pow(random.nextDouble(), 2) * caddScale);
+        float revel = targeted && ref.length() == 1 && alt.length() == 1 ? (float) random.nextDouble() : Float.NaN;
+        return new SyntheticVariant(contigId, pos, ref, alt, targeted, frequency, caddPhred, revel);
+    }
+
+    private static char otherBase(SplittableRandom random, char base) {
+        char other = base;
+        while (other == base) {
+            other = BASES[random.nextInt(4)];
+        }
+        return other;
+    }
+
+    /**
+     * Returns a population allele frequency (as a percentage) following the rough distribution seen in a typical sample
+     * i.e. the majority of variants are common with a small proportion being rare or not previously observed.
+     */
+    private static float randomFrequency(SplittableRandom random) {
+        double frequencyClass = random.nextDouble();
+        if (frequencyClass < 0.03) {
+            return Float.NaN;
+        }
+        if (frequencyClass < 0.10) {
+            // rare: 0.001 - 0.1%
+            return (float) (0.001 + random.nextDouble() * 0.099);
+        }
+        if (frequencyClass < 0.20) {
+            // low-frequency: 0.1 - 1%
+            return (float) (0.1 + random.nextDouble() * 0.9);
+        }
+        // common: 1 - 60%
+        return (float) (1 + random.nextDouble() * 59);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import htsjdk.tribble.index.IndexFactory;
+import htsjdk.tribble.index.tabix.TabixFormat;
+import htsjdk.tribble.index.tabix.TabixIndex;
+import htsjdk.variant.vcf.VCFCodec;
+import org.monarchinitiative.svart.Contig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a bgzipped and tabix-indexed VCF file of the variants from a {@link SyntheticVariantGenerator} for either a
+ * singleton or a trio. Trio genotypes are Mendelian-consistent with the proband inheriting one allele from each parent.
+ *
+ * @since 13.3.0
+ */
+public class SyntheticVcfWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticVcfWriter.class);
+
+    private final SyntheticVariantGenerator variantGenerator;
+
+    public SyntheticVcfWriter(SyntheticVariantGenerator variantGenerator) {
+        this.variantGenerator = variantGenerator;
+    }
+
+    /**
+     * @param vcfPath      path of the .vcf.gz file to be written. An index will be written alongside this with a .tbi
+     *                     extension.
+     * @param pedigree     the samples to write genotypes for
+     * @param targetedOnly only write variants in the exome target regions if true
+     * @return the number of variant records written
+     */
+    public int write(Path vcfPath, SyntheticPedigree pedigree, boolean targetedOnly) {
+        SyntheticGenome genome = variantGenerator.getGenome();
+        int written = 0;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new BlockCompressedOutputStream(vcfPath.toFile(), 6), StandardCharsets.UTF_8))) {
+            writeHeader(writer, genome, pedigree.getSampleIds());
+            for (Contig contig : genome.getContigs()) {
+                for (SyntheticVariant variant : variantGenerator.variantsOnContig(contig)) {
+                    if (targetedOnly && !variant.isTargeted()) {
+                        continue;
+                    }
+                    writeRecord(writer, contig, variant, pedigree, genome.getSeed());
+                    written++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write VCF " + vcfPath, e);
+        }
+        writeIndex(vcfPath);
+        logger.info("Wrote {} {} variants for {} to {}", written, targetedOnly ? "exome" : "genome", pedigree.getSampleIds(), vcfPath);
+        return written;
+    }
+
+    private void writeHeader(BufferedWriter writer, SyntheticGenome genome, List<String> sampleIds) throws IOException {
+        writer.write("##fileformat=VCFv4.2\n");
+        writer.write("##FILTER=<ID=PASS,Description=\"All filters passed\">\n");
+        writer.write("##FILTER=<ID=LowQual,Description=\"Low quality\">\n");
+        writer.write("##FORMAT=<ID=GT,Number=1,Type=String,Description=\"Genotype\">\n");
+        writer.write("##FORMAT=<ID=DP,Number=1,Type=Integer,Description=\"Approximate read depth\">\n");
+        writer.write("##FORMAT=<ID=GQ,Number=1,Type=Integer,Description=\"Genotype Quality\">\n");
+        for (Contig contig : genome.getContigs()) {
+            writer.write("##contig=<ID=" + contig.name() + ",length=" + contig.length() + ",assembly=" + genome.getGenomeAssembly().toGrcString() + ">\n");
+        }
+        writer.write("##source=exomiser-benchmark seed=" + genome.getSeed() + "\n");
+        writer.write("#CHROM\tPOS\tID\tREF\tALT\tQUAL\tFILTER\tINFO\tFORMAT");
+        for (String sampleId : sampleIds) {
+            writer.write('\t');
+            writer.write(sampleId);
+        }
+        writer.write('\n');
+    }
+
+    private void writeRecord(BufferedWriter writer, Contig contig, SyntheticVariant variant, SyntheticPedigree pedigree, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(SyntheticGenome.mix(seed * 17 + ((long) variant.getContigId() << 32 | variant.getPos())));
+        boolean lowQual = random.nextDouble() < 0.05;
+        int qual = lowQual ? random.nextInt(5, 30) : random.nextInt(30, 2000);
+
+        writer.write(contig.name());
+        writer.write('\t');
+        writer.write(Integer.toString(variant.getPos()));
+        writer.write("\t.\t");
+        writer.write(variant.getRef());
+        writer.write('\t');
+        writer.write(variant.getAlt());
+        writer.write('\t');
+        writer.write(Integer.toString(qual));
+        writer.write('\t');
+        writer.write(lowQual ? "LowQual" : "PASS");
+        writer.write("\t.\tGT:DP:GQ");
+        for (String genotype : pedigree.genotypes(random, variant)) {
+            writer.write('\t');
+            writer.write(genotype);
+            writer.write(':');
+            writer.write(Integer.toString(random.nextInt(8, 60)));
+            writer.write(':');
+            writer.write(Integer.toString(lowQual ? random.nextInt(1, 20) : random.nextInt(20, 100)));
+        }
+        writer.write('\n');
+    }
+
+    private void writeIndex(Path vcfPath) {
+        Path indexPath = vcfPath.resolveSibling(vcfPath.getFileName() + ".tbi");
+        try {
+            TabixIndex index = IndexFactory.createTabixIndex(vcfPath.toFile(), new VCFCodec(), TabixFormat.VCF, null);
+            Files.deleteIfExists(indexPath);
+            index.write(indexPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write tabix index for " + vcfPath, e);
+        }
+    }
+}
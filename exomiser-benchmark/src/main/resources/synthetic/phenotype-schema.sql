@@ -0,0 +1,161 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2021 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+-- Minimal copy of the exomiser-data-phenotype schema used by the synthetic benchmark data
+CREATE SCHEMA IF NOT EXISTS exomiser;
+SET SCHEMA exomiser;
+
+CREATE TABLE hpo
+(
+    id     CHAR(10) PRIMARY KEY,
+    lcname VARCHAR(256)
+);
+
+CREATE TABLE hp_alt_ids
+(
+    alt_id     CHAR(10) PRIMARY KEY,
+    primary_id CHAR(10)
+);
+
+CREATE TABLE mp
+(
+    mp_id   CHAR(10),
+    mp_term VARCHAR(256)
+);
+
+CREATE TABLE zp
+(
+    zp_id   CHAR(10),
+    zp_term VARCHAR(256)
+);
+
+CREATE TABLE hp_hp_mappings
+(
+    mapping_id  INTEGER,
+    hp_id       CHARACTER VARYING(10),
+    hp_term     CHARACTER VARYING(200),
+    hp_id_hit   CHARACTER VARYING(10),
+    hp_hit_term CHARACTER VARYING(200),
+    simj        DOUBLE PRECISION,
+    ic          DOUBLE PRECISION,
+    score       DOUBLE PRECISION,
+    lcs_id      CHARACTER VARYING(20),
+    lcs_term    CHARACTER VARYING(150)
+);
+
+CREATE TABLE hp_mp_mappings
+(
+    mapping_id INTEGER,
+    hp_id      CHARACTER VARYING(10),
+    hp_term    CHARACTER VARYING(200),
+    mp_id      CHARACTER VARYING(10),
+    mp_term    CHARACTER VARYING(200),
+    simj       DOUBLE PRECISION,
+    ic         DOUBLE PRECISION,
+    score      DOUBLE PRECISION,
+    lcs_id     CHARACTER VARYING(20),
+    lcs_term   CHARACTER VARYING(150)
+);
+
+CREATE TABLE hp_zp_mappings
+(
+    mapping_id INTEGER,
+    hp_id      CHARACTER VARYING(10),
+    hp_term    CHARACTER VARYING(200),
+    zp_id      CHARACTER VARYING(10),
+    zp_term    CHARACTER VARYING(200),
+    simj       DOUBLE PRECISION,
+    ic         DOUBLE PRECISION,
+    score      DOUBLE PRECISION,
+    lcs_id     CHARACTER VARYING(40),
+    lcs_term   CHARACTER VARYING(150)
+);
+
+CREATE TABLE disease
+(
+    disease_id   VARCHAR(20) NOT NULL,
+    omim_gene_id VARCHAR(20),
+    diseasename  CHARACTER VARYING(2056),
+    gene_id      INTEGER     NOT NULL,
+    type         CHARACTER(1),
+    inheritance  CHARACTER VARYING(2)
+);
+
+CREATE TABLE disease_hp
+(
+    disease_id CHARACTER VARYING(20),
+    hp_id      CHARACTER VARYING(3000)
+);
+
+CREATE TABLE entrez2sym
+(
+    entrezid INTEGER PRIMARY KEY,
+    symbol   VARCHAR(100)
+);
+
+CREATE TABLE human2mouse_orthologs
+(
+    mgi_gene_id       CHARACTER VARYING(20),
+    mgi_gene_symbol   CHARACTER VARYING(100),
+    human_gene_symbol CHARACTER VARYING(40),
+    entrez_id         INTEGER
+);
+
+CREATE TABLE mgi_mp
+(
+    mgi_gene_id     CHARACTER VARYING(20),
+    mgi_gene_symbol CHARACTER VARYING(200),
+    mouse_model_id  CHARACTER VARYING(200),
+    mp_id           CHARACTER VARYING(3000)
+);
+
+CREATE TABLE human2fish_orthologs
+(
+    zfin_gene_id      CHARACTER VARYING(40),
+    zfin_gene_symbol  CHARACTER VARYING(100),
+    human_gene_symbol CHARACTER VARYING(40),
+    entrez_id         CHARACTER VARYING(20)
+);
+
+CREATE TABLE zfin_zp
+(
+    zfin_gene_id     CHARACTER VARYING(40),
+    zfin_gene_symbol CHARACTER VARYING(200),
+    zfin_model_id    CHARACTER VARYING(200),
+    zp_id            CHARACTER VARYING(3000)
+);
+
+CREATE TABLE metadata
+(
+    resource VARCHAR(1024),
+    version  VARCHAR(1024)
+);
+
+CREATE INDEX hp_id ON hp_mp_mappings (hp_id);
+CREATE INDEX hp_id2 ON hp_hp_mappings (hp_id);
+CREATE INDEX hp_id3 ON hp_zp_mappings (hp_id);
+CREATE INDEX disease1 ON disease (gene_id, disease_id);
+CREATE INDEX disease_id_3 ON disease_hp (disease_id);
+CREATE INDEX entrez_id ON human2mouse_orthologs (entrez_id);
+CREATE INDEX mgi_gene_id ON human2mouse_orthologs (mgi_gene_id);
+CREATE INDEX mgi_gene_id_4 ON mgi_mp (mgi_gene_id);
+CREATE INDEX entrez_id_2 ON human2fish_orthologs (entrez_id);
+CREATE INDEX zfin_gene_id ON human2fish_orthologs (zfin_gene_id);
+CREATE INDEX zfin_gene_id_4 ON zfin_zp (zfin_gene_id);
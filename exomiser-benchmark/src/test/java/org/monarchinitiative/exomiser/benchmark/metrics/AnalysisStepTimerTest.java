@@ -0,0 +1,61 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.filters.FrequencyFilter;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class AnalysisStepTimerTest {
+
+    private final Logger logger = new LoggerContext().getLogger("test");
+
+    private LoggingEvent event(String message, Object... args) {
+        return new LoggingEvent(AnalysisStepTimerTest.class.getName(), logger, Level.INFO, message, null, args);
+    }
+
+    @Test
+    void stepNameLoadAnnotateFilter() {
+        assertThat(AnalysisStepTimer.stepName(event("Filtering variants with:")), equalTo("load-annotate-filter"));
+    }
+
+    @Test
+    void stepNameVariantFilter() {
+        assertThat(AnalysisStepTimer.stepName(event("Running VariantFilter: {}", new FrequencyFilter(0.1f))), equalTo("VariantFilter:FrequencyFilter"));
+    }
+
+    @Test
+    void stepNameEndOfAnalysis() {
+        assertThat(AnalysisStepTimer.stepName(event("Analysed sample {} with {} genes containing {} filtered variants")), equalTo(""));
+    }
+
+    @Test
+    void stepNameNotAStep() {
+        assertThat(AnalysisStepTimer.stepName(event("Some other message")), nullValue());
+    }
+}
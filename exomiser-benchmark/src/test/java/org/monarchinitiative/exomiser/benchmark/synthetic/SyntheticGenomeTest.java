@@ -0,0 +1,87 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class SyntheticGenomeTest {
+
+    private final SyntheticGenome instance = SyntheticGenome.generate(GenomeAssembly.HG19, 200, 42);
+
+    @Test
+    void generatesRequestedNumberOfGenes() {
+        assertThat(instance.getGenes().size(), equalTo(200));
+    }
+
+    @Test
+    void isDeterministicForSeed() {
+        SyntheticGenome other = SyntheticGenome.generate(GenomeAssembly.HG19, 200, 42);
+        assertThat(toStrings(other.getGenes()), equalTo(toStrings(instance.getGenes())));
+    }
+
+    @Test
+    void differentSeedProducesDifferentGenes() {
+        SyntheticGenome other = SyntheticGenome.generate(GenomeAssembly.HG19, 200, 43);
+        assertThat(toStrings(other.getGenes()).equals(toStrings(instance.getGenes())), is(false));
+    }
+
+    @Test
+    void codingSequencesAreValidOpenReadingFrames() {
+        for (SyntheticGene gene : instance.getGenes()) {
+            String mRna = gene.getCodingSequence();
+            assertThat(gene.toString(), mRna.length() % 3, equalTo(0));
+            assertThat(gene.toString(), mRna.substring(0, 3), equalTo("ATG"));
+            assertThat(gene.toString(), SyntheticGenome.isStopCodon(mRna.substring(mRna.length() - 3)), is(true));
+            for (int i = 3; i < mRna.length() - 3; i += 3) {
+                assertThat(gene.toString(), SyntheticGenome.isStopCodon(mRna.substring(i, i + 3)), is(false));
+            }
+        }
+    }
+
+    @Test
+    void geneAtFindsGeneForExonicPositions() {
+        for (SyntheticGene gene : instance.getGenes()) {
+            assertThat(instance.geneAt(gene.getContigId(), gene.getExonStart(0)), equalTo(gene));
+            assertThat(instance.geneAt(gene.getContigId(), gene.getEnd()), equalTo(gene));
+        }
+    }
+
+    @Test
+    void referenceBasesMatchTranscriptOnForwardStrand() {
+        for (SyntheticGene gene : instance.getGenes()) {
+            int cdsStart = gene.getCdsStart();
+            char refBase = instance.referenceBase(gene.getContigId(), cdsStart);
+            assertThat(refBase, equalTo(gene.exonicBaseAt(cdsStart)));
+        }
+    }
+
+    private static List<String> toStrings(List<SyntheticGene> genes) {
+        return genes.stream().map(gene -> gene + gene.getMRna()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.benchmark.synthetic;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.svart.Contig;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class SyntheticVariantGeneratorTest {
+
+    private final SyntheticGenome genome = SyntheticGenome.generate(GenomeAssembly.HG19, 200, 42);
+    private final SyntheticVariantGenerator instance = new SyntheticVariantGenerator(genome, 20_000, 2_000, 50);
+    private final Contig chr1 = genome.getContigs().get(0);
+
+    @Test
+    void variantsAreSortedAndUnique() {
+        List<SyntheticVariant> variants = instance.variantsOnContig(chr1);
+        for (int i = 1; i < variants.size(); i++) {
+            assertThat(variants.get(i - 1).getPos() < variants.get(i).getPos(), is(true));
+        }
+    }
+
+    @Test
+    void isDeterministic() {
+        List<String> first = instance.variantsOnContig(chr1).stream().map(SyntheticVariant::toString).collect(Collectors.toList());
+        List<String> second = new SyntheticVariantGenerator(genome, 20_000, 2_000, 50).variantsOnContig(chr1).stream().map(SyntheticVariant::toString).collect(Collectors.toList());
+        assertThat(second, equalTo(first));
+    }
+
+    @Test
+    void refAllelesMatchReferenceGenome() {
+        for (SyntheticVariant variant : instance.variantsOnContig(chr1)) {
+            String expected = genome.referenceBases(variant.getContigId(), variant.getPos(), variant.getRef().length());
+            assertThat(variant.toString(), variant.getRef(), equalTo(expected));
+            assertThat(variant.toString(), variant.getAlt().equals(variant.getRef()), is(false));
+        }
+    }
+
+    @Test
+    void targetedVariantsAreWithinPaddedExons() {
+        List<SyntheticVariant> variants = instance.variantsOnContig(chr1);
+        long targeted = variants.stream().filter(SyntheticVariant::isTargeted).count();
+        assertThat(targeted > 0, is(true));
+        for (SyntheticVariant variant : variants) {
+            assertThat(variant.toString(), instance.isTargeted(variant.getContigId(), variant.getPos()), equalTo(variant.isTargeted()));
+        }
+    }
+}
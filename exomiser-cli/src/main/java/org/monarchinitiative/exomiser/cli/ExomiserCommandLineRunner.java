@@ -23,16 +23,23 @@
 import org.apache.commons.cli.CommandLine;
 import org.monarchinitiative.exomiser.api.v1.JobProto;
 import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisParser;
 import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
 import org.monarchinitiative.exomiser.core.writers.AnalysisResultsWriter;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
@@ -43,9 +50,11 @@ public class ExomiserCommandLineRunner implements CommandLineRunner {
     private static final Logger logger = LoggerFactory.getLogger(ExomiserCommandLineRunner.class);
 
     private final Exomiser exomiser;
+    private final boolean jointAnalysis;
 
-    public ExomiserCommandLineRunner(Exomiser exomiser) {
+    public ExomiserCommandLineRunner(Exomiser exomiser, @Value("${exomiser.joint-analysis:false}") boolean jointAnalysis) {
         this.exomiser = exomiser;
+        this.jointAnalysis = jointAnalysis;
     }
 
     @Override
@@ -63,11 +72,15 @@ private void runJobs(List<JobProto.Job> jobs) {
         }
         if (jobs.size() > 1) {
             Instant timeStart = Instant.now();
-            //this *could* be run in parallel using parallelStream() at the expense of RAM in order to hold all the variants in memory.
-            //HOWEVER there may be threading issues so this needs investigation.
-            for (int i = 0; i < jobs.size(); i++) {
-                logger.info("Running job {} of {}", i + 1, jobs.size());
-                runJob(jobs.get(i));
+            if (jointAnalysis) {
+                runJointJobs(jobs);
+            } else {
+                //this *could* be run in parallel using parallelStream() at the expense of RAM in order to hold all the variants in memory.
+                //HOWEVER there may be threading issues so this needs investigation.
+                for (int i = 0; i < jobs.size(); i++) {
+                    logger.info("Running job {} of {}", i + 1, jobs.size());
+                    runJob(jobs.get(i));
+                }
             }
             Duration duration = Duration.between(timeStart, Instant.now());
             long ms = duration.toMillis();
@@ -80,4 +93,63 @@ private void runJob(JobProto.Job job) {
         logger.info("Writing results...");
         AnalysisResultsWriter.writeToFile(analysisResults, job.getOutputOptions());
     }
+
+    /**
+     * Groups the jobs analysing different probands from the same VCF file with the same analysis so that the VCF is
+     * only read, annotated and filtered once for each group. Jobs are otherwise run in the order they were given.
+     */
+    private void runJointJobs(List<JobProto.Job> jobs) {
+        AnalysisParser analysisParser = exomiser.getAnalysisParser();
+        Map<JointAnalysisKey, List<JobProto.Job>> jobGroups = new LinkedHashMap<>();
+        Map<JobProto.Job, Sample> jobSamples = new HashMap<>();
+        for (JobProto.Job job : jobs) {
+            Sample sample = analysisParser.parseSample(job);
+            Analysis analysis = analysisParser.parseAnalysis(job);
+            jobSamples.put(job, sample);
+            JointAnalysisKey key = new JointAnalysisKey(sample, analysis);
+            jobGroups.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+        }
+        int groupNum = 1;
+        for (Map.Entry<JointAnalysisKey, List<JobProto.Job>> jobGroup : jobGroups.entrySet()) {
+            List<JobProto.Job> groupJobs = jobGroup.getValue();
+            List<Sample> samples = new ArrayList<>(groupJobs.size());
+            List<OutputSettings> outputSettings = new ArrayList<>(groupJobs.size());
+            for (JobProto.Job job : groupJobs) {
+                samples.add(jobSamples.get(job));
+                outputSettings.add(analysisParser.parseOutputSettings(job));
+            }
+            logger.info("Running job group {} of {} with {} samples", groupNum++, jobGroups.size(), samples.size());
+            // write the results of each proband as soon as it has been analysed rather than holding them all in memory
+            exomiser.run(samples, jobGroup.getKey().analysis, outputSettings, (analysisResults, sampleIndex) -> {
+                logger.info("Writing results...");
+                AnalysisResultsWriter.writeToFile(analysisResults, groupJobs.get(sampleIndex).getOutputOptions());
+            });
+        }
+    }
+
+    private static class JointAnalysisKey {
+
+        private final Path vcfPath;
+        private final GenomeAssembly genomeAssembly;
+        private final Analysis analysis;
+
+        private JointAnalysisKey(Sample sample, Analysis analysis) {
+            this.vcfPath = sample.getVcfPath();
+            this.genomeAssembly = sample.getGenomeAssembly();
+            this.analysis = analysis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            JointAnalysisKey that = (JointAnalysisKey) o;
+            return Objects.equals(vcfPath, that.vcfPath) && genomeAssembly == that.genomeAssembly && analysis.equals(that.analysis);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vcfPath, genomeAssembly, analysis);
+        }
+    }
 }
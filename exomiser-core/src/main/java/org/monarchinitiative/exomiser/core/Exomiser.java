@@ -29,11 +29,17 @@
 import org.monarchinitiative.exomiser.core.analysis.*;
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
 /**
  * This is the main entry point for analysing data using the Exomiser. An {@link Analysis}
  * should be built with an {@link AnalysisParser} or programmatically using the {@link AnalysisBuilder}. The {@link JobProto}
@@ -57,6 +63,14 @@ public AnalysisBuilder getAnalysisBuilder() {
         return analysisFactory.getAnalysisBuilder();
     }
 
+    /**
+     * @return an {@link AnalysisParser} for reading the {@link Sample} and {@link Analysis} from a {@link JobProto.Job}
+     * @since 13.3.0
+     */
+    public AnalysisParser getAnalysisParser() {
+        return analysisFactory.getAnalysisParser();
+    }
+
     /**
      * @param job a {@link JobProto.Job} specifying how Exomiser should analyse the sample
      * @return an {@link AnalysisResults} instance
@@ -66,7 +80,8 @@ public AnalysisResults run(JobProto.Job job) {
         AnalysisParser analysisParser = analysisFactory.getAnalysisParser();
         Sample sample = analysisParser.parseSample(job);
         Analysis analysis = analysisParser.parseAnalysis(job);
-        return run(sample, analysis);
+        OutputSettings outputSettings = analysisParser.parseOutputSettings(job);
+        return run(sample, analysis, outputSettings);
     }
 
     /**
@@ -76,10 +91,88 @@ public AnalysisResults run(JobProto.Job job) {
      * @since 13.0.0
      */
     public AnalysisResults run(Sample sample, Analysis analysis) {
+        return run(sample, analysis, OutputSettings.defaults());
+    }
+
+    /**
+     * @param sample         The {@link Sample} representing the proband and possibly the proband's family to be analysed
+     * @param analysis       The {@link Analysis} through which a {@link Sample} is to be run.
+     * @param outputSettings The {@link OutputSettings} with which the results will be written
+     * @return an {@link AnalysisResults} instance
+     * @since 13.3.0
+     */
+    public AnalysisResults run(Sample sample, Analysis analysis, OutputSettings outputSettings) {
         GenomeAssembly genomeAssembly = sample.getGenomeAssembly();
         AnalysisMode analysisMode = analysis.getAnalysisMode();
         logger.info("Running analysis using {} assembly with mode: {}", genomeAssembly, analysisMode);
         AnalysisRunner analysisRunner = analysisFactory.getAnalysisRunner(genomeAssembly, analysisMode);
-        return analysisRunner.run(sample, analysis);
+        return analysisRunner.run(sample, analysis, outputSettings);
+    }
+
+    /**
+     * Runs the same analysis for several samples. Where these are all probands from the same multi-sample VCF file, the
+     * VCF is only read, annotated and filtered once rather than once for each sample.
+     *
+     * @param samples  The {@link Sample}s to be analysed, usually different probands from the same VCF file
+     * @param analysis The {@link Analysis} through which each {@link Sample} is to be run.
+     * @return the {@link AnalysisResults} for each sample, in the same order as the samples
+     * @since 13.3.0
+     */
+    public List<AnalysisResults> run(List<Sample> samples, Analysis analysis) {
+        return run(samples, analysis, Collections.nCopies(samples.size(), OutputSettings.defaults()));
+    }
+
+    /**
+     * Runs the same analysis for several samples, each of whose results will be written using the
+     * {@link OutputSettings} at the same index. Where these are all probands from the same multi-sample VCF file, the
+     * VCF is only read, annotated and filtered once rather than once for each sample. All the results are held in memory
+     * until every sample has been analysed, so callers writing the results should prefer
+     * {@link #run(List, Analysis, List, ObjIntConsumer)}.
+     *
+     * @param samples        The {@link Sample}s to be analysed, usually different probands from the same VCF file
+     * @param analysis       The {@link Analysis} through which each {@link Sample} is to be run.
+     * @param outputSettings The {@link OutputSettings} with which the results of each {@link Sample} will be written
+     * @return the {@link AnalysisResults} for each sample, in the same order as the samples
+     * @throws IllegalArgumentException if there are not the same number of samples and output settings
+     * @since 13.3.0
+     */
+    public List<AnalysisResults> run(List<Sample> samples, Analysis analysis, List<OutputSettings> outputSettings) {
+        AnalysisResults[] analysisResults = new AnalysisResults[samples.size()];
+        run(samples, analysis, outputSettings, (sampleResults, sampleIndex) -> analysisResults[sampleIndex] = sampleResults);
+        return Arrays.asList(analysisResults);
+    }
+
+    /**
+     * Runs the same analysis for several samples, each of whose results will be written using the
+     * {@link OutputSettings} at the same index. Where these are all probands from the same multi-sample VCF file, the
+     * VCF is only read, annotated and filtered once rather than once for each sample. The results of each sample are
+     * passed to the consumer, along with the index of the sample, as soon as that sample has been analysed so that they
+     * can be written and released before the next sample is analysed.
+     *
+     * @param samples         The {@link Sample}s to be analysed, usually different probands from the same VCF file
+     * @param analysis        The {@link Analysis} through which each {@link Sample} is to be run.
+     * @param outputSettings  The {@link OutputSettings} with which the results of each {@link Sample} will be written
+     * @param resultsConsumer Accepts the {@link AnalysisResults} and the index of the {@link Sample} they are for
+     * @throws IllegalArgumentException if there are not the same number of samples and output settings
+     * @since 13.3.0
+     */
+    public void run(List<Sample> samples, Analysis analysis, List<OutputSettings> outputSettings, ObjIntConsumer<AnalysisResults> resultsConsumer) {
+        if (samples.size() != outputSettings.size()) {
+            throw new IllegalArgumentException("Expected " + samples.size() + " output settings for " + samples.size() + " samples, but got " + outputSettings.size());
+        }
+        if (samples.isEmpty()) {
+            return;
+        }
+        GenomeAssembly genomeAssembly = samples.get(0).getGenomeAssembly();
+        if (samples.stream().anyMatch(sample -> sample.getGenomeAssembly() != genomeAssembly)) {
+            for (int i = 0; i < samples.size(); i++) {
+                resultsConsumer.accept(run(samples.get(i), analysis, outputSettings.get(i)), i);
+            }
+            return;
+        }
+        AnalysisMode analysisMode = analysis.getAnalysisMode();
+        logger.info("Running analysis of {} samples using {} assembly with mode: {}", samples.size(), genomeAssembly, analysisMode);
+        AnalysisRunner analysisRunner = analysisFactory.getAnalysisRunner(genomeAssembly, analysisMode);
+        analysisRunner.run(samples, analysis, outputSettings, resultsConsumer);
     }
 }
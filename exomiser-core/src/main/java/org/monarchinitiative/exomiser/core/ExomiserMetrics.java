@@ -0,0 +1,104 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.noop.NoopTimer;
+
+/**
+ * Names of the Micrometer meters recorded by the Exomiser. The analysis meters are registered with the
+ * {@link MeterRegistry} given to the {@link org.monarchinitiative.exomiser.core.analysis.AnalysisFactory}, or with the
+ * {@link io.micrometer.core.instrument.Metrics#globalRegistry} if none is given. The DAO timers are registered with the
+ * {@link MeterRegistry} set on each DAO and are not recorded until one is. Spring injects its {@link MeterRegistry} bean
+ * into both.
+ *
+ * @since 13.3.0
+ */
+public final class ExomiserMetrics {
+
+    /**
+     * Timer for a complete analysis, tagged with the analysis {@code mode}.
+     */
+    public static final String ANALYSIS = "exomiser.analysis";
+    /**
+     * Timer for each {@link org.monarchinitiative.exomiser.core.analysis.AnalysisStep}, tagged with the step
+     * {@code type} and {@code name}.
+     */
+    public static final String ANALYSIS_STEP = "exomiser.analysis.step";
+    /**
+     * Counter of the variants read from the VCF.
+     */
+    public static final String VARIANTS_LOADED = "exomiser.variants.loaded";
+    /**
+     * Counter of the variants run through the variant filters, tagged with the {@code result} of either {@code pass} or
+     * {@code fail}.
+     */
+    public static final String VARIANTS_FILTERED = "exomiser.variants.filtered";
+    /**
+     * Timer for the data access calls, tagged with the {@code dao} and {@code operation}.
+     */
+    public static final String DAO = "exomiser.dao";
+    /**
+     * Gauge of the number of entries in a cache, tagged with the {@code cache} name.
+     */
+    public static final String CACHE_SIZE = "exomiser.cache.size";
+
+    private static final String DAO_DESCRIPTION = "Latency of the Exomiser data access calls";
+
+    private ExomiserMetrics() {
+        // static utility class
+    }
+
+    /**
+     * Returns a timer with a percentile histogram for the given data access operation.
+     *
+     * @param meterRegistry the registry with which to register the timer
+     * @param daoClass      the class of the DAO
+     * @param operation     name of the operation being timed
+     * @return a {@link Timer} registered with the given registry
+     */
+    public static Timer daoTimer(MeterRegistry meterRegistry, Class<?> daoClass, String operation) {
+        return Timer.builder(DAO)
+                .description(DAO_DESCRIPTION)
+                .tags(daoTags(daoClass, operation))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a timer for the given data access operation which records nothing, for use by DAOs which have not been
+     * given a {@link MeterRegistry}.
+     *
+     * @param daoClass  the class of the DAO
+     * @param operation name of the operation being timed
+     * @return a no-op {@link Timer}
+     */
+    public static Timer noopDaoTimer(Class<?> daoClass, String operation) {
+        return new NoopTimer(new Meter.Id(DAO, daoTags(daoClass, operation), null, DAO_DESCRIPTION, Meter.Type.TIMER));
+    }
+
+    private static Tags daoTags(Class<?> daoClass, String operation) {
+        return Tags.of("dao", daoClass.getSimpleName(), "operation", operation);
+    }
+}
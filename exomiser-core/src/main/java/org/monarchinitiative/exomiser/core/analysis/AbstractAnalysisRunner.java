@@ -20,17 +20,26 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import io.micrometer.core.instrument.Timer;
 import org.monarchinitiative.exomiser.core.analysis.sample.PedigreeSampleValidator;
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
 import org.monarchinitiative.exomiser.core.analysis.util.*;
 import org.monarchinitiative.exomiser.core.filters.*;
 import org.monarchinitiative.exomiser.core.genome.*;
+import org.monarchinitiative.exomiser.core.jfr.AnalysisStepEvent;
+import org.monarchinitiative.exomiser.core.jfr.GeneScoringEvent;
+import org.monarchinitiative.exomiser.core.jfr.InheritanceModeAnalysisEvent;
+import org.monarchinitiative.exomiser.core.jfr.VcfLoadChunkEvent;
 import org.monarchinitiative.exomiser.core.model.*;
 import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
@@ -38,6 +47,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -52,33 +62,175 @@ abstract class AbstractAnalysisRunner implements AnalysisRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractAnalysisRunner.class);
 
+    private static final Consumer<VariantEvaluation> NO_OP_CONSUMER = variantEvaluation -> {
+    };
+
+    // distance either side of a gene within which variants can still be annotated as upstream or downstream of it
+    private static final int GENE_REGION_FLANK = 5_000;
+
     private final GenomeAnalysisService genomeAnalysisService;
 
     protected final VariantFilterRunner variantFilterRunner;
     private final GeneFilterRunner geneFilterRunner;
 
+    private final VcfReaderFactory vcfReaderFactory;
+    // null unless re-analysis has been enabled in the AnalysisRunnerOptions
+    @Nullable
+    private final ReanalysisStore reanalysisStore;
+    // null unless gene evaluation threads have been set in the AnalysisRunnerOptions
+    @Nullable
+    private final GeneEvaluationExecutor geneEvaluationExecutor;
+    private final AnalysisMetrics analysisMetrics;
+
     protected AbstractAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VariantFilterRunner variantFilterRunner, GeneFilterRunner geneFilterRunner) {
+        this(genomeAnalysisService, variantFilterRunner, geneFilterRunner, new VcfReaderFactory());
+    }
+
+    protected AbstractAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VariantFilterRunner variantFilterRunner, GeneFilterRunner geneFilterRunner, VcfReaderFactory vcfReaderFactory) {
+        this(genomeAnalysisService, variantFilterRunner, geneFilterRunner, vcfReaderFactory, AnalysisRunnerOptions.defaults());
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    protected AbstractAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VariantFilterRunner variantFilterRunner, GeneFilterRunner geneFilterRunner, VcfReaderFactory vcfReaderFactory, AnalysisRunnerOptions analysisRunnerOptions) {
+        this(genomeAnalysisService, variantFilterRunner, geneFilterRunner, vcfReaderFactory, analysisRunnerOptions, sharedGeneEvaluationExecutor(analysisRunnerOptions), AnalysisMetrics.global());
+    }
+
+    /**
+     * @param geneEvaluationExecutor a {@link GeneEvaluationExecutor}, usually shared between runners, with which to
+     *                               evaluate the genes or null to use the defaults
+     * @param analysisMetrics        the {@link AnalysisMetrics}, usually shared between runners, with which to record
+     *                               the analysis timings and variant counts
+     * @since 13.3.0
+     */
+    protected AbstractAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VariantFilterRunner variantFilterRunner, GeneFilterRunner geneFilterRunner, VcfReaderFactory vcfReaderFactory, AnalysisRunnerOptions analysisRunnerOptions, @Nullable GeneEvaluationExecutor geneEvaluationExecutor, AnalysisMetrics analysisMetrics) {
         this.genomeAnalysisService = genomeAnalysisService;
 
         this.variantFilterRunner = variantFilterRunner;
         this.geneFilterRunner = geneFilterRunner;
+        this.vcfReaderFactory = vcfReaderFactory;
+        Path reanalysisDirectory = analysisRunnerOptions.getReanalysisDirectory();
+        this.reanalysisStore = reanalysisDirectory == null ? null : new ReanalysisStore(reanalysisDirectory);
+        this.geneEvaluationExecutor = geneEvaluationExecutor;
+        this.analysisMetrics = Objects.requireNonNull(analysisMetrics);
+    }
+
+    /**
+     * @return the shared {@link GeneEvaluationExecutor} with the gene evaluation threads of the options, or null if
+     * these have not been set
+     * @since 13.3.0
+     */
+    @Nullable
+    static GeneEvaluationExecutor sharedGeneEvaluationExecutor(AnalysisRunnerOptions analysisRunnerOptions) {
+        int geneEvaluationThreads = analysisRunnerOptions.getGeneEvaluationThreads();
+        return geneEvaluationThreads > 0 ? GeneEvaluationExecutor.shared(geneEvaluationThreads) : null;
     }
 
     @Override
     public AnalysisResults run(Sample sample, Analysis analysis) {
+        return run(sample, analysis, OutputSettings.defaults());
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    @Override
+    public AnalysisResults run(Sample sample, Analysis analysis, OutputSettings outputSettings) {
         // This is a critical step. It will validate that all the relevant information is present for the specified steps.
         AnalysisSampleValidator.validate(sample, analysis);
 
         logger.info("Validating sample input data");
         // all the sample-related bits, might be worth encapsulating
         Path vcfPath = sample.getVcfPath();
-        VcfReader vcfReader = vcfPath == null ? new NoOpVcfReader() : new VcfFileReader(vcfPath);
+        VcfReader vcfReader = vcfReaderFactory.createVcfReader(vcfPath);
         // n.b. this next block will safely handle a null VCF file
         VariantFactory variantFactory = new VariantFactoryImpl(genomeAnalysisService.getVariantAnnotator(), vcfReader);
 
         List<String> sampleNames = vcfReader.readSampleIdentifiers();
         String probandIdentifier = SampleIdentifiers.checkProbandIdentifier(sample.getProbandSampleName(), sampleNames);
         Pedigree validatedPedigree = PedigreeSampleValidator.validate(sample.getPedigree(), probandIdentifier, sampleNames);
+
+        VariantLoader variantLoader = (allGenes, analysisGroup, isFirstGroup, filterStats) -> {
+            // The loaded variants can only be re-used when no gene steps have been run beforehand, as these can
+            //  change which variants are loaded.
+            if (reanalysisStore != null && sample.hasVcf() && isFirstGroup) {
+                return loadAndFilterVariantsForReanalysis(sample, variantFactory, sampleNames, probandIdentifier, allGenes, analysisGroup, analysis, filterStats);
+            }
+            return loadAndFilterVariants(variantFactory, probandIdentifier, isObservedInProband(probandIdentifier), allGenes, analysisGroup, analysis, filterStats, NO_OP_CONSUMER);
+        };
+        return analyseSample(sample, analysis, outputSettings, sampleNames, probandIdentifier, validatedPedigree, variantLoader);
+    }
+
+    /**
+     * Analyses samples from the same multi-sample VCF file together, loading, annotating and filtering the variants
+     * observed in any of the probands in a single pass over the VCF. Each proband is then given its own copy of the
+     * variants it has an ALT allele for and analysed as normal from there on, so the results are the same as analysing
+     * each sample separately. This is only possible when the variant filters are the first steps of the analysis, as
+     * otherwise the variants loaded depend on the gene-level steps run for each proband. Samples which can't be
+     * analysed together are analysed one after another. When re-analysis is enabled, the stored variants of each
+     * proband are used where present and the VCF is only read if any proband has none. The results of each proband
+     * are passed to the consumer as soon as they are ready, so only the shared variants and the results of the proband
+     * being analysed are held in memory.
+     *
+     * @since 13.3.0
+     */
+    @Override
+    public void run(List<Sample> samples, Analysis analysis, List<OutputSettings> outputSettings, ObjIntConsumer<AnalysisResults> resultsConsumer) {
+        if (samples.size() != outputSettings.size()) {
+            throw new IllegalArgumentException("Expected " + samples.size() + " output settings for " + samples.size() + " samples, but got " + outputSettings.size());
+        }
+        if (!canAnalyseJointly(samples, analysis)) {
+            AnalysisRunner.super.run(samples, analysis, outputSettings, resultsConsumer);
+            return;
+        }
+        for (Sample sample : samples) {
+            AnalysisSampleValidator.validate(sample, analysis);
+        }
+        Path vcfPath = samples.get(0).getVcfPath();
+        VcfReader vcfReader = vcfReaderFactory.createVcfReader(vcfPath);
+        VariantFactory variantFactory = new VariantFactoryImpl(genomeAnalysisService.getVariantAnnotator(), vcfReader);
+        List<String> sampleNames = vcfReader.readSampleIdentifiers();
+
+        // check all the samples before loading anything so that a bad pedigree doesn't waste a full pass of the VCF
+        List<String> probandIdentifiers = new ArrayList<>(samples.size());
+        List<Pedigree> validatedPedigrees = new ArrayList<>(samples.size());
+        for (Sample sample : samples) {
+            String probandIdentifier = SampleIdentifiers.checkProbandIdentifier(sample.getProbandSampleName(), sampleNames);
+            probandIdentifiers.add(probandIdentifier);
+            validatedPedigrees.add(PedigreeSampleValidator.validate(sample.getPedigree(), probandIdentifier, sampleNames));
+        }
+        logger.info("Running joint analysis of probands {} from {}", probandIdentifiers, vcfPath);
+
+        JointVariantLoader jointVariantLoader = new JointVariantLoader(variantFactory, sampleNames, probandIdentifiers, analysis);
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            String probandIdentifier = probandIdentifiers.get(i);
+            VariantLoader variantLoader = (allGenes, analysisGroup, isFirstGroup, filterStats) -> jointVariantLoader.getVariants(sample, probandIdentifier, allGenes, analysisGroup, filterStats);
+            resultsConsumer.accept(analyseSample(sample, analysis, outputSettings.get(i), sampleNames, probandIdentifier, validatedPedigrees.get(i), variantLoader), i);
+        }
+    }
+
+    private boolean canAnalyseJointly(List<Sample> samples, Analysis analysis) {
+        if (samples.size() < 2) {
+            return false;
+        }
+        Sample firstSample = samples.get(0);
+        for (Sample sample : samples) {
+            if (!sample.hasVcf() || !sample.getVcfPath().equals(firstSample.getVcfPath()) || sample.getGenomeAssembly() != firstSample.getGenomeAssembly()) {
+                logger.info("Samples do not share the same VCF file and genome assembly - analysing each sample separately");
+                return false;
+            }
+        }
+        List<AnalysisGroup> analysisStepGroups = AnalysisGroup.groupAnalysisSteps(analysis.getAnalysisSteps());
+        if (analysisStepGroups.isEmpty() || !analysisStepGroups.get(0).isVariantFilterGroup()) {
+            logger.info("Analysis does not start with variant filters - analysing each sample separately");
+            return false;
+        }
+        return true;
+    }
+
+    private AnalysisResults analyseSample(Sample sample, Analysis analysis, OutputSettings outputSettings, List<String> sampleNames, String probandIdentifier, Pedigree validatedPedigree, VariantLoader variantLoader) {
         InheritanceModeOptions inheritanceModeOptions = analysis.getInheritanceModeOptions();
 
         InheritanceModeAnnotator inheritanceModeAnnotator = new InheritanceModeAnnotator(validatedPedigree, inheritanceModeOptions);
@@ -110,13 +262,14 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
                 // Variants take up 99% of all the memory in an analysis - this scales approximately linearly with the
                 //  sample size so for whole genomes this is best run as a stream to filter out the unwanted variants
                 //  with as many filters as possible in one go
-                variantEvaluations = loadAndFilterVariants(variantFactory, probandIdentifier, allGenes, analysisGroup, analysis, filterStats);
+                boolean isFirstGroup = analysisGroup == analysisStepGroups.get(0);
+                variantEvaluations = variantLoader.loadAndFilterVariants(allGenes, analysisGroup, isFirstGroup, filterStats);
                 // This is done here as there are GeneFilter steps which may require Variants in the genes, or the
                 //  InheritanceModeDependent steps which definitely need them...
                 assignVariantsToGenes(variantEvaluations, allGenes);
                 variantsLoaded = true;
             } else {
-                runSteps(analysisGroup, sample.getHpoIds(), new ArrayList<>(allGenes.values()), inheritanceModeAnnotator, filterStats);
+                runSteps(probandIdentifier, analysisGroup, sample.getHpoIds(), new ArrayList<>(allGenes.values()), inheritanceModeAnnotator, filterStats);
             }
         }
 
@@ -130,10 +283,13 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
         List<Gene> genesToScore = variantsLoaded ? getGenesWithVariants(allGenes) : allGenes.values().stream().filter(genesToScore()).collect(Collectors.toUnmodifiableList());
         // Temporarily add a new PValueGeneScorer so as not to break semver will revert to RawScoreGeneScorer in 14.0.0
         CombinedScorePvalueCalculator combinedScorePvalueCalculator = buildCombinedScorePvalueCalculator(sample, analysis, genesToScore.size());
-        GeneScorer geneScorer = new PvalueGeneScorer(probandIdentifier, sample.getSex(), inheritanceModeAnnotator, combinedScorePvalueCalculator);
+        PvalueGeneScorer geneScorer = new PvalueGeneScorer(probandIdentifier, sample.getSex(), inheritanceModeAnnotator, combinedScorePvalueCalculator, geneEvaluationExecutor);
 
         logger.info("Scoring genes");
-        List<Gene> genes = geneScorer.scoreGenes(genesToScore);
+        GeneScoringEvent geneScoringEvent = new GeneScoringEvent(probandIdentifier, genesToScore.size());
+        geneScoringEvent.begin();
+        List<Gene> genes = scoreOutputGenesOnly() ? geneScorer.scoreTopGenes(genesToScore, outputSettings.getNumberOfGenesToShow(), outputSettings.getMinExomiserGeneScore()) : geneScorer.scoreGenes(genesToScore);
+        geneScoringEvent.commit();
         List<VariantEvaluation> variants = variantsLoaded ? getFinalVariantList(variantEvaluations) : List.of();
 
         logger.info("Analysed sample {} with {} genes containing {} filtered variants", probandIdentifier, genes.size(), variants.size());
@@ -147,6 +303,7 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
                 .build();
 
         Duration duration = Duration.between(timeStart, Instant.now());
+        analysisMetrics.recordAnalysis(analysis.getAnalysisMode(), duration);
         long ms = duration.toMillis();
         int hoursPart = duration.toHoursPart();
         if (hoursPart > 0) {
@@ -190,28 +347,100 @@ private Map<String, Gene> makeKnownGenes() {
                 .collect(toConcurrentMap(Gene::getGeneSymbol, Function.identity()));
     }
 
-    private List<VariantEvaluation> loadAndFilterVariants(VariantFactory variantFactory, String probandIdentifier, Map<String, Gene> allGenes, AnalysisGroup analysisGroup, Analysis analysis, FilterStats filterStats) {
+    private List<VariantEvaluation> loadAndFilterVariantsForReanalysis(Sample sample, VariantFactory variantFactory, List<String> sampleNames, String probandIdentifier, Map<String, Gene> allGenes, AnalysisGroup analysisGroup, Analysis analysis, FilterStats filterStats) {
+        String reanalysisKey = reanalysisKey(sample, probandIdentifier, analysisGroup, analysis);
+        if (reanalysisKey == null) {
+            return loadAndFilterVariants(variantFactory, probandIdentifier, isObservedInProband(probandIdentifier), allGenes, analysisGroup, analysis, filterStats, NO_OP_CONSUMER);
+        }
+        Optional<List<VariantEvaluation>> storedVariants = reanalysisStore.read(reanalysisKey, filterStats);
+        if (storedVariants.isPresent()) {
+            logger.info("Re-using {} previously loaded and filtered variants from {}", storedVariants.get().size(), reanalysisStore.getDirectory());
+            return storedVariants.get();
+        }
+        // collected separately so that the stored counts are only those of this group
+        FilterStats loadFilterStats = new FilterStats();
+        List<VariantEvaluation> variantEvaluations = loadAndFilterVariants(variantFactory, probandIdentifier, isObservedInProband(probandIdentifier), allGenes, analysisGroup, analysis, loadFilterStats, NO_OP_CONSUMER);
+        List<FilterStats.FilterCount> filterCounts = loadFilterStats.getFilterCounts();
+        filterCounts.forEach(filterCount -> filterStats.addCounts(filterCount.getFilterType(), filterCount.getPassCount(), filterCount.getFailCount()));
+        reanalysisStore.write(reanalysisKey, sampleNames, filterCounts, variantEvaluations);
+        return variantEvaluations;
+    }
+
+    /**
+     * Identifies everything the loaded and filtered variants depend on - the runner, the VCF file, the genomic data, and
+     * the settings of the analysis used when loading them. Anything else, such as the phenotypes, can change between
+     * analyses without affecting the variants.
+     *
+     * @return the key or null if the VCF file attributes couldn't be read
+     */
+    @Nullable
+    private String reanalysisKey(Sample sample, String probandIdentifier, AnalysisGroup analysisGroup, Analysis analysis) {
+        Path vcfPath = sample.getVcfPath().toAbsolutePath();
+        StringJoiner keyJoiner = new StringJoiner("\n")
+                .add(this.getClass().getName())
+                .add(sample.getGenomeAssembly().toString())
+                .add(genomeAnalysisService.getDataVersion())
+                .add(vcfPath.toString())
+                .add(probandIdentifier)
+                // the GeneReassigner uses the main prioritiser to decide whether to re-assign non-coding variants
+                .add(String.valueOf(analysis.getMainPrioritiserType()))
+                .add(analysis.getFrequencySources().toString())
+                .add(analysis.getPathogenicitySources().toString());
+        try {
+            keyJoiner.add(Files.size(vcfPath) + ":" + Files.getLastModifiedTime(vcfPath).toMillis());
+        } catch (IOException e) {
+            // unlikely, given the VCF has just been read, but without these a changed VCF can't be detected
+            logger.warn("Unable to read attributes of {} - re-analysis disabled", vcfPath, e);
+            return null;
+        }
+        analysisGroup.getAnalysisSteps().forEach(analysisStep -> keyJoiner.add(analysisStep.toString()));
+        // reading the gene regions will miss any distant intergenic variants otherwise assigned to the genes
+        List<VariantFilter> variantFilters = analysisGroup.getAnalysisSteps().stream()
+                .filter(VariantFilter.class::isInstance)
+                .map(VariantFilter.class::cast)
+                .collect(Collectors.toList());
+        keyJoiner.add("readRegions=" + !selectRegionVariantFilters(variantFilters).isEmpty());
+        return keyJoiner.toString();
+    }
+
+    /**
+     * @param isObserved           selects the alleles to be loaded, i.e. those observed in the proband(s)
+     * @param filteredVariantConsumer called with every variant once it has been through the variant filters, whether it
+     *                             passed or not
+     */
+    private List<VariantEvaluation> loadAndFilterVariants(VariantFactory variantFactory, String probandIdentifier, Predicate<VariantEvaluation> isObserved, Map<String, Gene> allGenes, AnalysisGroup analysisGroup, Analysis analysis, FilterStats filterStats, Consumer<VariantEvaluation> filteredVariantConsumer) {
         GeneReassigner geneReassigner = createNonCodingVariantGeneReassigner(analysis, allGenes);
         List<VariantFilter> variantFilters = prepareVariantFilterSteps(analysis, analysisGroup);
+        Predicate<VariantEvaluation> variantFilter = runVariantFilters(variantFilters, filterStats);
 
         List<VariantEvaluation> filteredVariants;
-        VariantLogger variantLogger = new VariantLogger();
+        VariantLogger variantLogger = new VariantLogger(probandIdentifier);
+        Timer.Sample loadAndFilterSample = analysisMetrics.startTimer();
 
         // this can be done using parallel which dramatically reduces runtime at the expense of RAM and
         //  inability to scale past one job running on one machine
-        try (Stream<VariantEvaluation> variantStream = variantFactory.createVariantEvaluations()) {
+        // alleles not observed in the proband or failing the pre-annotation filters are never annotated or loaded
+        Predicate<VariantEvaluation> preAnnotationFilter = createPreAnnotationFilter(isObserved, variantFilters);
+        // when the VCF is indexed only the regions able to pass the filters are read
+        List<ChromosomalRegion> readRegions = selectVariantReadRegions(variantFilters);
+        try (Stream<VariantEvaluation> variantStream = variantFactory.createVariantEvaluations(readRegions, preAnnotationFilter)) {
                     filteredVariants = variantStream
 //                        .parallel()
                         .peek(variantLogger.logLoadedAndPassedVariants())
-                        .filter(isObservedInProband(probandIdentifier))
                         .map(geneReassigner::reassignRegulatoryAndNonCodingVariantAnnotations)
                         .map(flagWhiteListedVariants())
                         .filter(isAssociatedWithKnownGene(allGenes))
-                        .filter(runVariantFilters(variantFilters, filterStats))
+                        .filter(variantEvaluation -> {
+                            boolean passed = variantFilter.test(variantEvaluation);
+                            filteredVariantConsumer.accept(variantEvaluation);
+                            return passed;
+                        })
                         .peek(variantLogger.countPassedVariant())
                         .collect(Collectors.toUnmodifiableList());
         }
+        loadAndFilterSample.stop(analysisMetrics.loadAndFilterVariantsTimer());
         variantLogger.logResults();
+        variantLogger.recordMetrics(analysisMetrics);
         return filteredVariants;
     }
 
@@ -248,6 +477,93 @@ private VariantFilter wrapWithFilterDataProvider(VariantFilter variantFilter, An
         return variantFilter;
     }
 
+    private Predicate<VariantEvaluation> createPreAnnotationFilter(Predicate<VariantEvaluation> observedInProband, List<VariantFilter> variantFilters) {
+        List<VariantFilter> preAnnotationFilters = selectPreAnnotationVariantFilters(variantFilters);
+        if (preAnnotationFilters.isEmpty()) {
+            return observedInProband;
+        }
+        logger.info("Running {} before variant annotation", preAnnotationFilters.stream()
+                .map(VariantFilter::getFilterType)
+                .collect(Collectors.toList()));
+        return observedInProband.and(variantEvaluation -> {
+            for (VariantFilter variantFilter : preAnnotationFilters) {
+                // n.b. this runs the filter directly, so the result isn't added to the un-annotated variant
+                if (!variantFilter.runFilter(variantEvaluation).passed()) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Selects the variant filters, from those to be run when loading the variants, which can also be run on a variant
+     * before it has been annotated so that failing alleles can be discarded without annotating them. These are run in
+     * addition to, not instead of, the variant filters. By default none are selected as this is only safe when the
+     * failed variants are not reported.
+     *
+     * @param variantFilters the variant filters to be run when loading the variants
+     * @return the variant filters which can be run before annotation
+     * @since 13.3.0
+     */
+    protected List<VariantFilter> selectPreAnnotationVariantFilters(List<VariantFilter> variantFilters) {
+        return List.of();
+    }
+
+    /**
+     * Selects the {@link IntervalFilter} or {@link GeneSymbolFilter}, from those to be run when loading the variants,
+     * whose regions should be used to read only the matching records from an indexed VCF file. By default none are
+     * selected as this is only safe when the failed variants are not reported.
+     *
+     * @param variantFilters the variant filters to be run when loading the variants
+     * @return the variant filters whose regions can be used to restrict the records read
+     * @since 13.3.0
+     */
+    protected List<VariantFilter> selectRegionVariantFilters(List<VariantFilter> variantFilters) {
+        return List.of();
+    }
+
+    /**
+     * Whether only the genes which will be written out, according to the number of genes to show and minimum gene score
+     * of the {@link OutputSettings}, need to be fully scored. The other genes are returned without any scores. By
+     * default all genes are scored as this is only safe when the genes which failed the filters are not reported.
+     *
+     * @return true if only the genes to be written out need to be scored
+     * @since 13.3.0
+     */
+    protected boolean scoreOutputGenesOnly() {
+        return false;
+    }
+
+    /**
+     * @return the regions to read from the VCF file, or an empty list if the whole file is to be read
+     */
+    private List<ChromosomalRegion> selectVariantReadRegions(List<VariantFilter> variantFilters) {
+        // a variant has to pass all the filters, so the regions of any one of them will do. The intervals are exact,
+        //  so are preferred to the genes
+        List<VariantFilter> regionFilters = selectRegionVariantFilters(variantFilters);
+        for (VariantFilter variantFilter : regionFilters) {
+            if (variantFilter instanceof IntervalFilter) {
+                List<ChromosomalRegion> intervals = ((IntervalFilter) variantFilter).getChromosomalRegions();
+                logger.info("Reading variants in {} intervals", intervals.size());
+                return intervals;
+            }
+        }
+        for (VariantFilter variantFilter : regionFilters) {
+            if (variantFilter instanceof GeneSymbolFilter) {
+                Set<String> geneSymbols = ((GeneSymbolFilter) variantFilter).getGeneSymbols();
+                List<ChromosomalRegion> geneRegions = genomeAnalysisService.getGeneRegions(geneSymbols).stream()
+                        .map(geneRegion -> new GeneticInterval(geneRegion.contigId(), Math.max(1, geneRegion.start() - GENE_REGION_FLANK), geneRegion.end() + GENE_REGION_FLANK))
+                        .collect(Collectors.toUnmodifiableList());
+                if (!geneRegions.isEmpty()) {
+                    logger.info("Reading variants in the regions of {} genes", geneSymbols.size());
+                    return geneRegions;
+                }
+            }
+        }
+        return List.of();
+    }
+
     private Predicate<VariantEvaluation> isObservedInProband(String probandId) {
         // gnomAD high quality criteria: (GQ >= 20, DP >= 10, and have now added: allele balance > 0.2 for heterozygote genotypes)
         return variantEvaluation -> {
@@ -311,15 +627,27 @@ protected List<Gene> getGenesWithVariants(Map<String, Gene> allGenes) {
     abstract List<VariantEvaluation> getFinalVariantList(List<VariantEvaluation> variants);
 
     //might this be a nascent class waiting to get out here?
-    private void runSteps(AnalysisGroup analysisGroup, List<String> hpoIds, List<Gene> genes, InheritanceModeAnnotator inheritanceModeAnnotator, FilterStats filterStats) {
+    private void runSteps(String probandIdentifier, AnalysisGroup analysisGroup, List<String> hpoIds, List<Gene> genes, InheritanceModeAnnotator inheritanceModeAnnotator, FilterStats filterStats) {
         boolean inheritanceModesCalculated = false;
         for (AnalysisStep analysisStep : analysisGroup.getAnalysisSteps()) {
             if (!inheritanceModesCalculated && analysisStep.isInheritanceModeDependent()) {
-                analyseGeneCompatibilityWithInheritanceMode(genes, inheritanceModeAnnotator);
+                analyseGeneCompatibilityWithInheritanceMode(probandIdentifier, genes, inheritanceModeAnnotator);
                 inheritanceModesCalculated = true;
             }
 
+            String stepType = stepType(analysisStep);
+            String stepName = analysisStep.getClass().getSimpleName();
+            AnalysisStepEvent stepEvent = new AnalysisStepEvent(probandIdentifier, stepType, stepName);
+            stepEvent.begin();
+            Timer.Sample stepSample = analysisMetrics.startTimer();
             runStep(analysisStep, hpoIds, genes);
+            stepSample.stop(analysisMetrics.stepTimer(stepType, stepName));
+            stepEvent.end();
+            if (stepEvent.shouldCommit()) {
+                stepEvent.setGenes(genes.size());
+                stepEvent.setPassedGenes((int) genes.stream().filter(Gene::passedFilters).count());
+                stepEvent.commit();
+            }
 
             if (analysisStep instanceof Filter<?>) {
                 collectFilterStatsForFilter((Filter<?>) analysisStep, genes, filterStats);
@@ -327,11 +655,19 @@ private void runSteps(AnalysisGroup analysisGroup, List<String> hpoIds, List<Gen
         }
     }
 
-    private void analyseGeneCompatibilityWithInheritanceMode(List<Gene> genes, InheritanceModeAnnotator inheritanceModeAnnotator) {
+    private void analyseGeneCompatibilityWithInheritanceMode(String probandIdentifier, List<Gene> genes, InheritanceModeAnnotator inheritanceModeAnnotator) {
         logger.info("Checking inheritance mode compatibility with {} for genes which passed filters", inheritanceModeAnnotator
                 .getDefinedModes());
+        InheritanceModeAnalysisEvent inheritanceModeAnalysisEvent = new InheritanceModeAnalysisEvent(probandIdentifier, inheritanceModeAnnotator
+                .getDefinedModes().toString(), genes.size());
+        inheritanceModeAnalysisEvent.begin();
         InheritanceModeAnalyser inheritanceModeAnalyser = new InheritanceModeAnalyser(inheritanceModeAnnotator);
-        inheritanceModeAnalyser.analyseInheritanceModes(genes);
+        if (geneEvaluationExecutor != null) {
+            geneEvaluationExecutor.forEach(genes, inheritanceModeAnalyser.analyseInheritanceModes());
+        } else {
+            inheritanceModeAnalyser.analyseInheritanceModes(genes);
+        }
+        inheritanceModeAnalysisEvent.commit();
     }
 
     private void runStep(AnalysisStep analysisStep, List<String> hpoIds, List<Gene> genes) {
@@ -359,6 +695,19 @@ private void runStep(AnalysisStep analysisStep, List<String> hpoIds, List<Gene>
         }
     }
 
+    private static String stepType(AnalysisStep analysisStep) {
+        if (analysisStep instanceof VariantFilter) {
+            return "variant_filter";
+        }
+        if (analysisStep instanceof GeneFilter) {
+            return "gene_filter";
+        }
+        if (analysisStep instanceof Prioritiser) {
+            return "prioritiser";
+        }
+        return "other";
+    }
+
     private void collectFilterStatsForFilter(Filter<?> filter, List<Gene> genes, FilterStats filterStats) {
         FilterType filterType = filter.getFilterType();
         FilterResult passFilterResult = FilterResult.pass(filterType);
@@ -380,14 +729,124 @@ private void collectFilterStatsForFilter(Filter<?> filter, List<Gene> genes, Fil
     }
 
     /**
-     * Utility class for logging numbers of processed and passed variants.
+     * Loads the variants observed in any of the probands from a multi-sample VCF the first time they are requested, then
+     * hands out copies of these to each proband. The shared variants are never assigned to genes, so each proband's
+     * copies start with only the results of the variant filters. When re-analysis is enabled, a proband's stored
+     * variants are returned instead and the variants of the probands without any are stored once loaded.
+     */
+    private class JointVariantLoader {
+
+        private final VariantFactory variantFactory;
+        private final List<String> sampleNames;
+        private final List<String> probandIdentifiers;
+        private final Analysis analysis;
+        private final Map<String, FilterStats> probandFilterStats = new HashMap<>();
+        // the results of the shared load, from which the variant filter order is optimised
+        private final FilterStats sharedFilterStats = new FilterStats();
+
+        private List<VariantEvaluation> sharedVariants;
+
+        private JointVariantLoader(VariantFactory variantFactory, List<String> sampleNames, List<String> probandIdentifiers, Analysis analysis) {
+            this.variantFactory = variantFactory;
+            this.sampleNames = sampleNames;
+            this.probandIdentifiers = probandIdentifiers;
+            this.analysis = analysis;
+            probandIdentifiers.forEach(probandIdentifier -> probandFilterStats.put(probandIdentifier, new FilterStats()));
+        }
+
+        private List<VariantEvaluation> getVariants(Sample sample, String probandIdentifier, Map<String, Gene> allGenes, AnalysisGroup analysisGroup, FilterStats filterStats) {
+            // the joint analysis is only run when the variant filters are the first group, so these can always be re-used
+            String reanalysisKey = reanalysisStore == null ? null : reanalysisKey(sample, probandIdentifier, analysisGroup, analysis);
+            if (reanalysisKey != null) {
+                Optional<List<VariantEvaluation>> storedVariants = reanalysisStore.read(reanalysisKey, filterStats);
+                if (storedVariants.isPresent()) {
+                    logger.info("Re-using {} previously loaded and filtered variants from {}", storedVariants.get().size(), reanalysisStore.getDirectory());
+                    return storedVariants.get();
+                }
+            }
+            if (sharedVariants == null) {
+                // no gene steps have been run at this point, so the genes of whichever proband is first are as good as any
+                sharedVariants = loadSharedVariants(allGenes, analysisGroup);
+            }
+            List<FilterStats.FilterCount> filterCounts = probandFilterStats.get(probandIdentifier).getFilterCounts();
+            filterCounts.forEach(filterCount -> filterStats.addCounts(filterCount.getFilterType(), filterCount.getPassCount(), filterCount.getFailCount()));
+            Predicate<VariantEvaluation> observedInProband = isObservedInProband(probandIdentifier);
+            List<VariantEvaluation> probandVariants = sharedVariants.stream()
+                    .filter(observedInProband)
+                    .map(variantEvaluation -> variantEvaluation.toBuilder().build())
+                    .collect(Collectors.toUnmodifiableList());
+            if (reanalysisKey != null) {
+                reanalysisStore.write(reanalysisKey, sampleNames, filterCounts, probandVariants);
+            }
+            return probandVariants;
+        }
+
+        private List<VariantEvaluation> loadSharedVariants(Map<String, Gene> allGenes, AnalysisGroup analysisGroup) {
+            List<FilterType> filterTypes = analysisGroup.getAnalysisSteps().stream()
+                    .filter(VariantFilter.class::isInstance)
+                    .map(analysisStep -> ((VariantFilter) analysisStep).getFilterType())
+                    .collect(Collectors.toUnmodifiableList());
+            Map<String, Predicate<VariantEvaluation>> probandObservations = new LinkedHashMap<>();
+            probandIdentifiers.forEach(probandIdentifier -> probandObservations.put(probandIdentifier, isObservedInProband(probandIdentifier)));
+            Predicate<VariantEvaluation> observedInAnyProband = variantEvaluation -> probandObservations.values().stream().anyMatch(observed -> observed.test(variantEvaluation));
+            // The filter counts are collected per-proband from the results of each variant, as these would be when
+            //  running each proband separately
+            Consumer<VariantEvaluation> probandFilterStatsCollector = variantEvaluation -> probandObservations.forEach((probandIdentifier, observed) -> {
+                if (observed.test(variantEvaluation)) {
+                    addFilterResults(variantEvaluation, filterTypes, probandFilterStats.get(probandIdentifier));
+                }
+            });
+            String loggingIdentifier = String.join(",", probandIdentifiers);
+            List<VariantEvaluation> variantEvaluations = loadAndFilterVariants(variantFactory, loggingIdentifier, observedInAnyProband, allGenes, analysisGroup, analysis, sharedFilterStats, probandFilterStatsCollector);
+            logger.debug("Variant filter results for probands {}: {}", loggingIdentifier, sharedFilterStats.getFilterCounts());
+            return variantEvaluations;
+        }
+
+        private void addFilterResults(VariantEvaluation variantEvaluation, List<FilterType> filterTypes, FilterStats filterStats) {
+            for (FilterType filterType : filterTypes) {
+                if (variantEvaluation.passedFilter(filterType)) {
+                    filterStats.addResult(FilterResult.pass(filterType));
+                } else if (variantEvaluation.getFailedFilterTypes().contains(filterType)) {
+                    filterStats.addResult(FilterResult.fail(filterType));
+                }
+            }
+        }
+    }
+
+    /**
+     * Provides the variants for the initial variant filter group of an analysis.
+     */
+    @FunctionalInterface
+    private interface VariantLoader {
+        List<VariantEvaluation> loadAndFilterVariants(Map<String, Gene> allGenes, AnalysisGroup analysisGroup, boolean isFirstGroup, FilterStats filterStats);
+    }
+
+    /**
+     * Utility class for logging numbers of processed and passed variants. Also records a {@link VcfLoadChunkEvent} for
+     * every {@link VcfLoadChunkEvent#CHUNK_SIZE} variants loaded. This relies on the variant stream being sequential.
      */
     private static class VariantLogger {
+        private final String probandIdentifier;
         private final AtomicInteger loaded = new AtomicInteger();
         private final AtomicInteger passed = new AtomicInteger();
 
+        private int chunk = 0;
+        private VcfLoadChunkEvent chunkEvent;
+
+        private VariantLogger(String probandIdentifier) {
+            this.probandIdentifier = probandIdentifier;
+        }
+
         private Consumer<VariantEvaluation> logLoadedAndPassedVariants() {
             return variantEvaluation -> {
+                // the chunk is only committed once the next variant is loaded so that the final variant of the chunk
+                // has been through the filters and counted as passed or not
+                if (chunkEvent == null || chunkEvent.isFull()) {
+                    commitChunkEvent();
+                    chunkEvent = new VcfLoadChunkEvent(probandIdentifier, chunk++);
+                    chunkEvent.begin();
+                }
+                chunkEvent.incrementLoaded();
                 loaded.incrementAndGet();
                 if (loaded.get() % 100000 == 0) {
                     logger.info("Loaded {} variants - {} passed variant filters...", loaded.get(), passed.get());
@@ -399,12 +858,25 @@ private Consumer<VariantEvaluation> countPassedVariant() {
             return variantEvaluation -> {
                 if (variantEvaluation.passedFilters()) {
                     passed.incrementAndGet();
+                    chunkEvent.incrementPassed();
                 }
             };
         }
 
+        private void commitChunkEvent() {
+            if (chunkEvent != null) {
+                chunkEvent.commit();
+                chunkEvent = null;
+            }
+        }
+
         void logResults() {
+            commitChunkEvent();
             logger.info("Loaded {} variants - {} passed variant filters", loaded.get(), passed.get());
         }
+
+        void recordMetrics(AnalysisMetrics analysisMetrics) {
+            analysisMetrics.recordVariantsFiltered(loaded.get(), passed.get());
+        }
     }
 }
@@ -209,7 +209,7 @@ public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Analysis analysis = (Analysis) o;
         return analysisMode == analysis.analysisMode &&
-                inheritanceModeOptions == analysis.inheritanceModeOptions &&
+                Objects.equals(inheritanceModeOptions, analysis.inheritanceModeOptions) &&
                 Objects.equals(frequencySources, analysis.frequencySources) &&
                 Objects.equals(pathogenicitySources, analysis.pathogenicitySources) &&
                 Objects.equals(analysisSteps, analysis.analysisSteps);
@@ -20,10 +20,13 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.util.GeneEvaluationExecutor;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisServiceProvider;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.monarchinitiative.exomiser.core.phenotype.service.OntologyService;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityFactory;
 import org.slf4j.Logger;
@@ -31,6 +34,8 @@
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
+
 /**
  * High-level factory for creating an {@link Analysis} and {@link AnalysisRunner}. This is
  * pretty much all that's needed to run an analysis with.
@@ -50,6 +55,15 @@ public class AnalysisFactory {
     private final PriorityFactory priorityFactory;
     private final OntologyService ontologyService;
 
+    private VcfReaderFactory vcfReaderFactory = new VcfReaderFactory();
+    private AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.defaults();
+    // shared by all the runners so that each analysis doesn't start a new pool of threads
+    @Nullable
+    private GeneEvaluationExecutor geneEvaluationExecutor = null;
+    // true if the executor was created by this factory, rather than provided, so needs shutting down when replaced
+    private boolean ownsGeneEvaluationExecutor = false;
+    private AnalysisMetrics analysisMetrics = AnalysisMetrics.global();
+
     @Autowired
     public AnalysisFactory(GenomeAnalysisServiceProvider genomeAnalysisServiceProvider, PriorityFactory priorityFactory, OntologyService ontologyService) {
         this.genomeAnalysisServiceProvider = genomeAnalysisServiceProvider;
@@ -57,6 +71,68 @@ public AnalysisFactory(GenomeAnalysisServiceProvider genomeAnalysisServiceProvid
         this.ontologyService = ontologyService;
     }
 
+    /**
+     * Optionally replaces the default {@link VcfReaderFactory} used by the {@link AnalysisRunner} to read the sample VCF.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setVcfReaderFactory(VcfReaderFactory vcfReaderFactory) {
+        this.vcfReaderFactory = vcfReaderFactory;
+    }
+
+    /**
+     * Optionally replaces the default {@link AnalysisRunnerOptions} used when creating an {@link AnalysisRunner}.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setAnalysisRunnerOptions(AnalysisRunnerOptions analysisRunnerOptions) {
+        this.analysisRunnerOptions = analysisRunnerOptions;
+        int geneEvaluationThreads = analysisRunnerOptions.getGeneEvaluationThreads();
+        int currentThreads = geneEvaluationExecutor == null ? 0 : geneEvaluationExecutor.getThreads();
+        if (geneEvaluationThreads == currentThreads) {
+            return;
+        }
+        replaceGeneEvaluationExecutor(geneEvaluationThreads > 0 ? new GeneEvaluationExecutor(geneEvaluationThreads) : null, true);
+    }
+
+    /**
+     * Optionally provides the {@link GeneEvaluationExecutor} shared by the {@link AnalysisRunner}, rather than having
+     * the factory create one from the {@link AnalysisRunnerOptions}. The provider is responsible for shutting it down.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setGeneEvaluationExecutor(GeneEvaluationExecutor geneEvaluationExecutor) {
+        replaceGeneEvaluationExecutor(geneEvaluationExecutor, false);
+    }
+
+    private void replaceGeneEvaluationExecutor(@Nullable GeneEvaluationExecutor replacement, boolean ownsReplacement) {
+        if (ownsGeneEvaluationExecutor && geneEvaluationExecutor != null) {
+            geneEvaluationExecutor.shutdown();
+        }
+        logger.debug("Using {}", replacement);
+        this.geneEvaluationExecutor = replacement;
+        this.ownsGeneEvaluationExecutor = ownsReplacement;
+    }
+
+    /**
+     * Optionally replaces the Micrometer global registry as the {@link MeterRegistry} with which the
+     * {@link AnalysisRunner} record their metrics.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.analysisMetrics = new AnalysisMetrics(meterRegistry);
+    }
+
+    @Nullable
+    GeneEvaluationExecutor getGeneEvaluationExecutor() {
+        return geneEvaluationExecutor;
+    }
+
     public AnalysisRunner getAnalysisRunner(GenomeAssembly genomeAssembly, AnalysisMode analysisMode) {
         //This class primarily exists as an external interface for the Exomiser class to be able to create and run analyses
         //without having to expose too much of the Analysis package implementation. e.g. the AnalysisRunner implementations
@@ -65,11 +141,11 @@ public AnalysisRunner getAnalysisRunner(GenomeAssembly genomeAssembly, AnalysisM
 
         switch (analysisMode) {
             case FULL:
-                return new SimpleAnalysisRunner(genomeAnalysisService);
+                return new SimpleAnalysisRunner(genomeAnalysisService, vcfReaderFactory, analysisRunnerOptions, geneEvaluationExecutor, analysisMetrics);
             case PASS_ONLY:
             default:
                 //this guy takes up the least RAM
-                return new PassOnlyAnalysisRunner(genomeAnalysisService);
+                return new PassOnlyAnalysisRunner(genomeAnalysisService, vcfReaderFactory, analysisRunnerOptions, geneEvaluationExecutor, analysisMetrics);
         }
     }
 
@@ -0,0 +1,124 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link ExomiserMetrics} meters recorded by the {@link AnalysisRunner}, registered once with a
+ * {@link MeterRegistry} and shared by all the runners created by an {@link AnalysisFactory}. The analysis step timers
+ * are registered the first time each step is run, as the steps are only known at runtime.
+ *
+ * @since 13.3.0
+ */
+class AnalysisMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<AnalysisMode, Timer> analysisTimers = new EnumMap<>(AnalysisMode.class);
+    private final Map<StepKey, Timer> stepTimers = new ConcurrentHashMap<>();
+    private final Timer loadAndFilterVariantsTimer;
+    private final Counter variantsLoaded;
+    private final Counter variantsPassed;
+    private final Counter variantsFailed;
+
+    AnalysisMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        for (AnalysisMode analysisMode : AnalysisMode.values()) {
+            analysisTimers.put(analysisMode, Timer.builder(ExomiserMetrics.ANALYSIS)
+                    .tag("mode", analysisMode.toString())
+                    .register(meterRegistry));
+        }
+        this.loadAndFilterVariantsTimer = stepTimer("variants", "loadAndFilterVariants");
+        this.variantsLoaded = meterRegistry.counter(ExomiserMetrics.VARIANTS_LOADED);
+        this.variantsPassed = meterRegistry.counter(ExomiserMetrics.VARIANTS_FILTERED, "result", "pass");
+        this.variantsFailed = meterRegistry.counter(ExomiserMetrics.VARIANTS_FILTERED, "result", "fail");
+    }
+
+    /**
+     * @return metrics recorded against the Micrometer global registry, for runners created without a registry
+     */
+    static AnalysisMetrics global() {
+        return GlobalHolder.INSTANCE;
+    }
+
+    Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    void recordAnalysis(AnalysisMode analysisMode, Duration duration) {
+        analysisTimers.get(analysisMode).record(duration);
+    }
+
+    Timer stepTimer(String type, String name) {
+        return stepTimers.computeIfAbsent(new StepKey(type, name), key -> Timer.builder(ExomiserMetrics.ANALYSIS_STEP)
+                .tag("type", key.type)
+                .tag("name", key.name)
+                .register(meterRegistry));
+    }
+
+    Timer loadAndFilterVariantsTimer() {
+        return loadAndFilterVariantsTimer;
+    }
+
+    void recordVariantsFiltered(long loaded, long passed) {
+        variantsLoaded.increment(loaded);
+        variantsPassed.increment(passed);
+        variantsFailed.increment((double) loaded - passed);
+    }
+
+    private static class GlobalHolder {
+        private static final AnalysisMetrics INSTANCE = new AnalysisMetrics(Metrics.globalRegistry);
+    }
+
+    private static class StepKey {
+        private final String type;
+        private final String name;
+
+        private StepKey(String type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StepKey stepKey = (StepKey) o;
+            return type.equals(stepKey.type) && name.equals(stepKey.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, name);
+        }
+    }
+}
@@ -21,6 +21,12 @@
 package org.monarchinitiative.exomiser.core.analysis;
 
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 /**
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
@@ -35,4 +41,75 @@ public interface AnalysisRunner {
      * @since 13.0.0
      */
     public AnalysisResults run(Sample sample, Analysis analysis);
+
+    /**
+     * Runs the {@link Analysis} for a {@link Sample} whose results will be written using the given
+     * {@link OutputSettings}. Implementations may use these to avoid fully scoring genes which will not be written, in
+     * which case only the genes meeting the output settings are guaranteed to be the same as those from
+     * {@link #run(Sample, Analysis)}.
+     *
+     * @param sample         The {@link Sample} data detailing the phenotypes and genome source data.
+     * @param analysis       The {@link Analysis} settings to be run on the {@link Sample}
+     * @param outputSettings The {@link OutputSettings} with which the results will be written
+     * @return The results of the {@link Analysis} having been run on the {@link Sample}
+     * @since 13.3.0
+     */
+    public default AnalysisResults run(Sample sample, Analysis analysis, OutputSettings outputSettings) {
+        return run(sample, analysis);
+    }
+
+    /**
+     * Runs the same {@link Analysis} for each of the samples. Implementations may analyse samples from the same
+     * multi-sample VCF file together so that the VCF is only read and annotated once, but the results will be the same
+     * as running each sample separately.
+     *
+     * @param samples  The {@link Sample}s to be analysed.
+     * @param analysis The {@link Analysis} settings to be run on each {@link Sample}
+     * @return The results of the {@link Analysis} for each {@link Sample}, in the same order as the samples
+     * @since 13.3.0
+     */
+    public default List<AnalysisResults> run(List<Sample> samples, Analysis analysis) {
+        return run(samples, analysis, Collections.nCopies(samples.size(), OutputSettings.defaults()));
+    }
+
+    /**
+     * Runs the same {@link Analysis} for each of the samples, whose results will be written using the
+     * {@link OutputSettings} at the same index. All the results are held in memory until every sample has been
+     * analysed, so callers writing the results should prefer
+     * {@link #run(List, Analysis, List, ObjIntConsumer)}.
+     *
+     * @param samples        The {@link Sample}s to be analysed.
+     * @param analysis       The {@link Analysis} settings to be run on each {@link Sample}
+     * @param outputSettings The {@link OutputSettings} with which the results of each {@link Sample} will be written
+     * @return The results of the {@link Analysis} for each {@link Sample}, in the same order as the samples
+     * @throws IllegalArgumentException if there are not the same number of samples and output settings
+     * @since 13.3.0
+     */
+    public default List<AnalysisResults> run(List<Sample> samples, Analysis analysis, List<OutputSettings> outputSettings) {
+        AnalysisResults[] analysisResults = new AnalysisResults[samples.size()];
+        run(samples, analysis, outputSettings, (sampleResults, sampleIndex) -> analysisResults[sampleIndex] = sampleResults);
+        return Arrays.asList(analysisResults);
+    }
+
+    /**
+     * Runs the same {@link Analysis} for each of the samples, whose results will be written using the
+     * {@link OutputSettings} at the same index. The results of each sample are passed to the consumer, along with the
+     * index of the sample, as soon as that sample has been analysed and are not retained by the runner. This allows
+     * the results of each sample to be written and released before the next sample is analysed.
+     *
+     * @param samples         The {@link Sample}s to be analysed.
+     * @param analysis        The {@link Analysis} settings to be run on each {@link Sample}
+     * @param outputSettings  The {@link OutputSettings} with which the results of each {@link Sample} will be written
+     * @param resultsConsumer Accepts the results of the {@link Analysis} and the index of the {@link Sample} they are for
+     * @throws IllegalArgumentException if there are not the same number of samples and output settings
+     * @since 13.3.0
+     */
+    public default void run(List<Sample> samples, Analysis analysis, List<OutputSettings> outputSettings, ObjIntConsumer<AnalysisResults> resultsConsumer) {
+        if (samples.size() != outputSettings.size()) {
+            throw new IllegalArgumentException("Expected " + samples.size() + " output settings for " + samples.size() + " samples, but got " + outputSettings.size());
+        }
+        for (int i = 0; i < samples.size(); i++) {
+            resultsConsumer.accept(run(samples.get(i), analysis, outputSettings.get(i)), i);
+        }
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Process-wide settings for the {@link AnalysisRunner} implementations created by the {@link AnalysisFactory}. Unlike
+ * the {@link Analysis} these do not change the results of an analysis, only how they are computed.
+ *
+ * @since 13.3.0
+ */
+public class AnalysisRunnerOptions {
+
+    private static final AnalysisRunnerOptions DEFAULTS = builder().build();
+
+    private final boolean optimiseVariantFilterOrder;
+    private final boolean indexedRegionReads;
+    private final boolean preAnnotationFilters;
+    private final boolean scoreOutputGenesOnly;
+    private final int geneEvaluationThreads;
+    @Nullable
+    private final Path reanalysisDirectory;
+
+    private AnalysisRunnerOptions(Builder builder) {
+        this.optimiseVariantFilterOrder = builder.optimiseVariantFilterOrder;
+        this.indexedRegionReads = builder.indexedRegionReads;
+        this.preAnnotationFilters = builder.preAnnotationFilters;
+        this.scoreOutputGenesOnly = builder.scoreOutputGenesOnly;
+        this.geneEvaluationThreads = builder.geneEvaluationThreads;
+        this.reanalysisDirectory = builder.reanalysisDirectory;
+    }
+
+    public static AnalysisRunnerOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return true if a PASS_ONLY analysis should run the cheapest and most selective variant filters first, rather than
+     * in the order they are specified in the analysis.
+     */
+    public boolean isOptimiseVariantFilterOrder() {
+        return optimiseVariantFilterOrder;
+    }
+
+    /**
+     * @return true if a PASS_ONLY analysis with an interval or gene symbol filter should only read the regions of an
+     * indexed VCF file which can pass these filters.
+     */
+    public boolean isIndexedRegionReads() {
+        return indexedRegionReads;
+    }
+
+    /**
+     * @return true if a PASS_ONLY analysis should run the quality, interval and failed variant filters before the
+     * variants are annotated.
+     */
+    public boolean isPreAnnotationFilters() {
+        return preAnnotationFilters;
+    }
+
+    /**
+     * @return true if a PASS_ONLY analysis should only fully score the genes which will be written out according to the
+     * output settings of the analysis.
+     */
+    public boolean isScoreOutputGenesOnly() {
+        return scoreOutputGenesOnly;
+    }
+
+    /**
+     * @return the number of threads with which to analyse the inheritance modes of, and score, the genes or 0 to analyse
+     * the inheritance modes on a single thread and score the genes using the common pool.
+     */
+    public int getGeneEvaluationThreads() {
+        return geneEvaluationThreads;
+    }
+
+    /**
+     * @return the directory in which the loaded and filtered variants of a sample are stored for re-use when the same
+     * sample is re-analysed, or null if re-analysis is not enabled.
+     */
+    @Nullable
+    public Path getReanalysisDirectory() {
+        return reanalysisDirectory;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnalysisRunnerOptions that = (AnalysisRunnerOptions) o;
+        return optimiseVariantFilterOrder == that.optimiseVariantFilterOrder &&
+                indexedRegionReads == that.indexedRegionReads &&
+                preAnnotationFilters == that.preAnnotationFilters &&
+                scoreOutputGenesOnly == that.scoreOutputGenesOnly &&
+                geneEvaluationThreads == that.geneEvaluationThreads &&
+                Objects.equals(reanalysisDirectory, that.reanalysisDirectory);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(optimiseVariantFilterOrder, indexedRegionReads, preAnnotationFilters, scoreOutputGenesOnly, geneEvaluationThreads, reanalysisDirectory);
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisRunnerOptions{" +
+                "optimiseVariantFilterOrder=" + optimiseVariantFilterOrder +
+                ", indexedRegionReads=" + indexedRegionReads +
+                ", preAnnotationFilters=" + preAnnotationFilters +
+                ", scoreOutputGenesOnly=" + scoreOutputGenesOnly +
+                ", geneEvaluationThreads=" + geneEvaluationThreads +
+                ", reanalysisDirectory=" + reanalysisDirectory +
+                '}';
+    }
+
+    public static class Builder {
+
+        private boolean optimiseVariantFilterOrder = false;
+        private boolean indexedRegionReads = false;
+        private boolean preAnnotationFilters = false;
+        private boolean scoreOutputGenesOnly = false;
+        private int geneEvaluationThreads = 0;
+        private Path reanalysisDirectory = null;
+
+        private Builder() {
+        }
+
+        public Builder optimiseVariantFilterOrder(boolean optimiseVariantFilterOrder) {
+            this.optimiseVariantFilterOrder = optimiseVariantFilterOrder;
+            return this;
+        }
+
+        /**
+         * Enables reading only the parts of a tabix-indexed VCF file overlapping the intervals of an
+         * {@link org.monarchinitiative.exomiser.core.filters.IntervalFilter}, or the genes of a
+         * {@link org.monarchinitiative.exomiser.core.filters.GeneSymbolFilter}, in a PASS_ONLY analysis. VCF files
+         * without an index are read in full. Interval reads give the same results as a full read. Gene reads include
+         * 5 kb either side of each gene, so intergenic variants further away which would have been annotated with one
+         * of the genes are not loaded.
+         */
+        public Builder indexedRegionReads(boolean indexedRegionReads) {
+            this.indexedRegionReads = indexedRegionReads;
+            return this;
+        }
+
+        /**
+         * Enables running the {@link org.monarchinitiative.exomiser.core.filters.QualityFilter},
+         * {@link org.monarchinitiative.exomiser.core.filters.IntervalFilter} and
+         * {@link org.monarchinitiative.exomiser.core.filters.FailedVariantFilter} of a PASS_ONLY analysis before the
+         * variants are annotated, so that the variants failing them are never annotated. The genes and variants
+         * returned are the same, however the discarded variants are not counted in the filter results or in the number
+         * of variants loaded.
+         */
+        public Builder preAnnotationFilters(boolean preAnnotationFilters) {
+            this.preAnnotationFilters = preAnnotationFilters;
+            return this;
+        }
+
+        /**
+         * Enables scoring only the genes which will be written out in a PASS_ONLY analysis, i.e. the top genes within
+         * the number of genes to show and minimum gene score of the output settings. The contributing alleles, ACMG
+         * classifications and p-values are only calculated for genes whose best possible combined score can still
+         * place them amongst these, the others are returned unscored. The written results are the same as when all the
+         * genes are scored.
+         */
+        public Builder scoreOutputGenesOnly(boolean scoreOutputGenesOnly) {
+            this.scoreOutputGenesOnly = scoreOutputGenesOnly;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads of a dedicated pool with which to analyse the inheritance modes of, and score, the
+         * genes. The genes are shared between the threads in work units of similar numbers of variants. Values less than
+         * 1 analyse the inheritance modes on a single thread and score the genes using the common pool. The results are
+         * the same however many threads are used.
+         */
+        public Builder geneEvaluationThreads(int geneEvaluationThreads) {
+            this.geneEvaluationThreads = Math.max(0, geneEvaluationThreads);
+            return this;
+        }
+
+        /**
+         * Enables re-analysis. The variants loaded, annotated and filtered by the first variant filter steps of an
+         * analysis are written to this directory and re-used by later analyses of the same VCF file with the same
+         * variant filter settings and data, so that only the phenotype and gene-level steps are re-run.
+         *
+         * @param reanalysisDirectory the directory in which to store the variants or null to disable re-analysis
+         */
+        public Builder reanalysisDirectory(@Nullable Path reanalysisDirectory) {
+            this.reanalysisDirectory = reanalysisDirectory;
+            return this;
+        }
+
+        public AnalysisRunnerOptions build() {
+            return new AnalysisRunnerOptions(this);
+        }
+    }
+}
@@ -49,6 +49,18 @@ public synchronized void addResult(FilterResult result) {
         filterCounters.put(filterType, counter);
     }
 
+    /**
+     * Adds previously collected counts for a filter, e.g. those restored from a {@link ReanalysisStore}.
+     *
+     * @since 13.3.0
+     */
+    synchronized void addCounts(FilterType filterType, int passCount, int failCount) {
+        filtersRun.add(filterType);
+        FilterCounter counter = filterCounters.computeIfAbsent(filterType, key -> new FilterCounter());
+        counter.passCount += passCount;
+        counter.failCount += failCount;
+    }
+
     public int getPassCountForFilter(FilterType filterType) {
         FilterCounter filterCounter = filterCounters.get(filterType);
         return filterCounter == null ? 0 : filterCounter.getPassCount();
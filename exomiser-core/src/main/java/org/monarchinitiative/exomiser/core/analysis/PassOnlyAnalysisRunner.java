@@ -20,14 +20,21 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import org.monarchinitiative.exomiser.core.analysis.util.GeneEvaluationExecutor;
+import org.monarchinitiative.exomiser.core.filters.FailedVariantFilter;
 import org.monarchinitiative.exomiser.core.filters.FilterResult;
+import org.monarchinitiative.exomiser.core.filters.GeneSymbolFilter;
+import org.monarchinitiative.exomiser.core.filters.IntervalFilter;
+import org.monarchinitiative.exomiser.core.filters.QualityFilter;
 import org.monarchinitiative.exomiser.core.filters.SimpleGeneFilterRunner;
 import org.monarchinitiative.exomiser.core.filters.SparseVariantFilterRunner;
 import org.monarchinitiative.exomiser.core.filters.VariantFilter;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -40,8 +47,44 @@
  */
 class PassOnlyAnalysisRunner extends AbstractAnalysisRunner {
 
+    private final boolean optimiseVariantFilterOrder;
+    private final boolean indexedRegionReads;
+    private final boolean preAnnotationFilters;
+    private final boolean scoreOutputGenesOnly;
+
     PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService) {
-        super(genomeAnalysisService, new SparseVariantFilterRunner(), new SimpleGeneFilterRunner());
+        this(genomeAnalysisService, new VcfReaderFactory());
+    }
+
+    PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory) {
+        this(genomeAnalysisService, vcfReaderFactory, false);
+    }
+
+    /**
+     * @param optimiseVariantFilterOrder run the variant filters in the order chosen by a {@link VariantFilterOrderOptimiser}
+     *                                   rather than the order specified in the analysis
+     * @since 13.3.0
+     */
+    PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory, boolean optimiseVariantFilterOrder) {
+        this(genomeAnalysisService, vcfReaderFactory, AnalysisRunnerOptions.builder().optimiseVariantFilterOrder(optimiseVariantFilterOrder).build());
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory, AnalysisRunnerOptions analysisRunnerOptions) {
+        this(genomeAnalysisService, vcfReaderFactory, analysisRunnerOptions, sharedGeneEvaluationExecutor(analysisRunnerOptions), AnalysisMetrics.global());
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory, AnalysisRunnerOptions analysisRunnerOptions, @Nullable GeneEvaluationExecutor geneEvaluationExecutor, AnalysisMetrics analysisMetrics) {
+        super(genomeAnalysisService, new SparseVariantFilterRunner(), new SimpleGeneFilterRunner(), vcfReaderFactory, analysisRunnerOptions, geneEvaluationExecutor, analysisMetrics);
+        this.optimiseVariantFilterOrder = analysisRunnerOptions.isOptimiseVariantFilterOrder();
+        this.indexedRegionReads = analysisRunnerOptions.isIndexedRegionReads();
+        this.preAnnotationFilters = analysisRunnerOptions.isPreAnnotationFilters();
+        this.scoreOutputGenesOnly = analysisRunnerOptions.isScoreOutputGenesOnly();
     }
 
     @Override
@@ -56,6 +99,9 @@ protected Predicate<VariantEvaluation> isAssociatedWithKnownGene(Map<String, Gen
 
     @Override
     protected Predicate<VariantEvaluation> runVariantFilters(List<VariantFilter> variantFilters, FilterStats filterStats) {
+        if (optimiseVariantFilterOrder) {
+            return runOptimisedVariantFilters(new VariantFilterOrderOptimiser(variantFilters, filterStats), filterStats);
+        }
         return variantEvaluation -> {
             //loop through the filters and only run if the variantEvaluation has passed all prior filters
             for (VariantFilter filter : variantFilters) {
@@ -68,6 +114,57 @@ protected Predicate<VariantEvaluation> runVariantFilters(List<VariantFilter> var
         };
     }
 
+    private Predicate<VariantEvaluation> runOptimisedVariantFilters(VariantFilterOrderOptimiser filterOrderOptimiser, FilterStats filterStats) {
+        return variantEvaluation -> {
+            for (VariantFilter filter : filterOrderOptimiser.getVariantFilters()) {
+                if (!variantEvaluation.passedFilters()) {
+                    break;
+                }
+                FilterResult result = variantFilterRunner.run(filter, variantEvaluation);
+                filterStats.addResult(result);
+            }
+            filterOrderOptimiser.variantFiltered();
+            return variantEvaluation.passedFilters();
+        };
+    }
+
+    /**
+     * Variants failing any filter are discarded, so the filters which only need the position, quality or FILTER status
+     * of the VCF record can be run before annotation. These filters only use data which is the same before and after
+     * annotation so will give the same result when they are run again after annotation. The discarded variants are not
+     * counted in the filter results, so this is only done when enabled by the {@link AnalysisRunnerOptions}.
+     */
+    @Override
+    protected List<VariantFilter> selectPreAnnotationVariantFilters(List<VariantFilter> variantFilters) {
+        if (!preAnnotationFilters) {
+            return List.of();
+        }
+        return variantFilters.stream()
+                .filter(filter -> filter instanceof QualityFilter || filter instanceof IntervalFilter || filter instanceof FailedVariantFilter)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Variants outside the intervals or genes of these filters will fail, so don't need to be read from the VCF file.
+     */
+    @Override
+    protected List<VariantFilter> selectRegionVariantFilters(List<VariantFilter> variantFilters) {
+        if (!indexedRegionReads) {
+            return List.of();
+        }
+        return variantFilters.stream()
+                .filter(filter -> filter instanceof IntervalFilter || filter instanceof GeneSymbolFilter)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * All the genes returned have passed the filters, so the top genes are exactly those which will be written out.
+     */
+    @Override
+    protected boolean scoreOutputGenesOnly() {
+        return scoreOutputGenesOnly;
+    }
+
     @Override
     protected List<Gene> getGenesWithVariants(Map<String, Gene> allGenes) {
         return allGenes.values()
@@ -0,0 +1,337 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.analysis;
+
+import com.google.common.hash.Hashing;
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.vcf.VCFCodec;
+import htsjdk.variant.vcf.VCFEncoder;
+import org.monarchinitiative.exomiser.core.filters.FilterResult;
+import org.monarchinitiative.exomiser.core.filters.FilterType;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.VariantDataSerialiser;
+import org.monarchinitiative.exomiser.core.genome.VcfCodecs;
+import org.monarchinitiative.exomiser.core.model.*;
+import org.monarchinitiative.svart.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the variants of a sample after they have been loaded, annotated, enriched with frequency and pathogenicity
+ * data and run through the initial variant filters, so that re-analysing the same sample with different phenotypes or
+ * gene-level settings can skip straight to the prioritisers. Each set of variants is stored in its own gzipped binary
+ * file named after a hash of the key, which should capture everything the variants depend on. The full key is also
+ * stored in the file and checked on reading so a hash collision can't return the wrong variants.
+ * <p>
+ * Any failure to read or write a file is logged and treated as a miss - the variants will simply be loaded from the VCF
+ * as normal.
+ *
+ * @since 13.3.0
+ */
+class ReanalysisStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReanalysisStore.class);
+
+    // bump this whenever the file format changes
+    private static final int FORMAT_VERSION = 2;
+    private static final String FILE_EXTENSION = ".variants";
+
+    private final Path directory;
+
+    ReanalysisStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Reads the variants stored under the key, adding the counts of the variant filters run when they were originally
+     * loaded to the filterStats.
+     *
+     * @return the stored variants or an empty optional if there are none, or they couldn't be read
+     */
+    Optional<List<VariantEvaluation>> read(String key, FilterStats filterStats) {
+        Path path = pathForKey(key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != FORMAT_VERSION || in.readInt() != VariantDataSerialiser.FORMAT_VERSION || !key.equals(readString(in))) {
+                logger.info("Ignoring out of date or mismatched re-analysis file {}", path);
+                return Optional.empty();
+            }
+            List<String> sampleNames = readStrings(in);
+            Map<FilterType, int[]> filterCounts = new LinkedHashMap<>();
+            int numFilterCounts = in.readInt();
+            for (int i = 0; i < numFilterCounts; i++) {
+                filterCounts.put(FilterType.valueOf(in.readUTF()), new int[]{in.readInt(), in.readInt()});
+            }
+            List<VariantEvaluation> variantEvaluations = readVariantEvaluations(in, sampleNames);
+            // only add these once everything has been read successfully, otherwise the stats would be counted twice
+            filterCounts.forEach((filterType, counts) -> filterStats.addCounts(filterType, counts[0], counts[1]));
+            logger.info("Read {} variants from re-analysis file {}", variantEvaluations.size(), path);
+            return Optional.of(variantEvaluations);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read re-analysis file {} - variants will be re-loaded from the VCF", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the variants under the key, replacing any previously stored under it. The file is written to a temporary
+     * file first and then moved into place so that concurrent analyses of the same sample never read a partial file.
+     */
+    void write(String key, List<String> sampleNames, List<FilterStats.FilterCount> filterCounts, List<VariantEvaluation> variantEvaluations) {
+        Path path = pathForKey(key);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(VariantDataSerialiser.FORMAT_VERSION);
+                writeString(out, key);
+                writeStrings(out, sampleNames);
+                out.writeInt(filterCounts.size());
+                for (FilterStats.FilterCount filterCount : filterCounts) {
+                    out.writeUTF(filterCount.getFilterType().name());
+                    out.writeInt(filterCount.getPassCount());
+                    out.writeInt(filterCount.getFailCount());
+                }
+                writeVariantEvaluations(out, sampleNames, variantEvaluations);
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Written {} variants to re-analysis file {}", variantEvaluations.size(), path);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to write re-analysis file {}", path, e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private Path pathForKey(String key) {
+        return directory.resolve(Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + FILE_EXTENSION);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Unable to delete {}", path, e);
+        }
+    }
+
+    private static void writeVariantEvaluations(DataOutput out, List<String> sampleNames, List<VariantEvaluation> variantEvaluations) throws IOException {
+        VCFEncoder vcfEncoder = VcfCodecs.encoder(sampleNames);
+        out.writeInt(variantEvaluations.size());
+        // the alleles of a multi-allelic site share the same VariantContext so this only needs writing once
+        VariantContext previousContext = null;
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            VariantContext variantContext = variantEvaluation.getVariantContext();
+            boolean sameContext = variantContext == previousContext;
+            out.writeBoolean(sameContext);
+            if (!sameContext) {
+                writeString(out, vcfEncoder.encode(variantContext));
+                previousContext = variantContext;
+            }
+            writeVariantEvaluation(out, variantEvaluation);
+        }
+    }
+
+    private static void writeVariantEvaluation(DataOutput out, VariantEvaluation variantEvaluation) throws IOException {
+        out.writeUTF(variantEvaluation.getGenomeAssembly().name());
+        out.writeInt(variantEvaluation.contigId());
+        out.writeUTF(variantEvaluation.id());
+        out.writeUTF(variantEvaluation.strand().name());
+        out.writeUTF(variantEvaluation.coordinateSystem().name());
+        writePosition(out, variantEvaluation.startPosition());
+        writePosition(out, variantEvaluation.endPosition());
+        writeString(out, variantEvaluation.ref());
+        writeString(out, variantEvaluation.alt());
+        out.writeInt(variantEvaluation.changeLength());
+
+        out.writeInt(variantEvaluation.getAltAlleleId());
+        out.writeDouble(variantEvaluation.getPhredScore());
+        writeSampleGenotypes(out, variantEvaluation.getSampleGenotypes());
+
+        out.writeUTF(variantEvaluation.getGeneSymbol());
+        out.writeUTF(variantEvaluation.getGeneId());
+        out.writeUTF(variantEvaluation.getVariantEffect().name());
+        VariantDataSerialiser.writeTranscriptAnnotations(out, variantEvaluation.getTranscriptAnnotations());
+
+        out.writeBoolean(variantEvaluation.isWhiteListed());
+        VariantDataSerialiser.writeFrequencyData(out, variantEvaluation.getFrequencyData());
+        VariantDataSerialiser.writePathogenicityData(out, variantEvaluation.getPathogenicityData());
+        writeFilterTypes(out, variantEvaluation.getPassedFilterTypes());
+        writeFilterTypes(out, variantEvaluation.getFailedFilterTypes());
+    }
+
+    private static List<VariantEvaluation> readVariantEvaluations(DataInput in, List<String> sampleNames) throws IOException {
+        VCFCodec vcfCodec = VcfCodecs.decoder(sampleNames);
+        int numVariants = in.readInt();
+        List<VariantEvaluation> variantEvaluations = new ArrayList<>(numVariants);
+        VariantContext variantContext = null;
+        for (int i = 0; i < numVariants; i++) {
+            boolean sameContext = in.readBoolean();
+            if (!sameContext) {
+                variantContext = vcfCodec.decode(readString(in));
+            }
+            variantEvaluations.add(readVariantEvaluation(in, variantContext));
+        }
+        return variantEvaluations;
+    }
+
+    private static VariantEvaluation readVariantEvaluation(DataInput in, VariantContext variantContext) throws IOException {
+        GenomeAssembly genomeAssembly = GenomeAssembly.valueOf(in.readUTF());
+        Contig contig = genomeAssembly.getContigById(in.readInt());
+        String id = in.readUTF();
+        Strand strand = Strand.valueOf(in.readUTF());
+        CoordinateSystem coordinateSystem = CoordinateSystem.valueOf(in.readUTF());
+        Position start = readPosition(in);
+        Position end = readPosition(in);
+        String ref = readString(in);
+        String alt = readString(in);
+        int changeLength = in.readInt();
+
+        VariantEvaluation.Builder builder = VariantEvaluation.builder()
+                .with(contig, id, strand, coordinateSystem, start, end, ref, alt, changeLength)
+                .genomeAssembly(genomeAssembly)
+                .variantContext(Objects.requireNonNull(variantContext))
+                .altAlleleId(in.readInt())
+                .quality(in.readDouble())
+                .sampleGenotypes(readSampleGenotypes(in))
+                .geneSymbol(in.readUTF())
+                .geneId(in.readUTF())
+                .variantEffect(VariantEffect.valueOf(in.readUTF()))
+                .annotations(VariantDataSerialiser.readTranscriptAnnotations(in))
+                .whiteListed(in.readBoolean())
+                .frequencyData(VariantDataSerialiser.readFrequencyData(in))
+                .pathogenicityData(VariantDataSerialiser.readPathogenicityData(in));
+        for (FilterType filterType : readFilterTypes(in)) {
+            builder.filterResults(FilterResult.pass(filterType));
+        }
+        for (FilterType filterType : readFilterTypes(in)) {
+            builder.filterResults(FilterResult.fail(filterType));
+        }
+        return builder.build();
+    }
+
+    private static void writePosition(DataOutput out, Position position) throws IOException {
+        out.writeInt(position.pos());
+        ConfidenceInterval confidenceInterval = position.confidenceInterval();
+        out.writeInt(confidenceInterval.lowerBound());
+        out.writeInt(confidenceInterval.upperBound());
+    }
+
+    private static Position readPosition(DataInput in) throws IOException {
+        int pos = in.readInt();
+        return Position.of(pos, ConfidenceInterval.of(in.readInt(), in.readInt()));
+    }
+
+    private static void writeSampleGenotypes(DataOutput out, SampleGenotypes sampleGenotypes) throws IOException {
+        out.writeInt(sampleGenotypes.size());
+        for (SampleData sampleData : sampleGenotypes) {
+            out.writeUTF(sampleData.getId());
+            SampleGenotype sampleGenotype = sampleData.getSampleGenotype();
+            out.writeBoolean(sampleGenotype.isPhased());
+            List<AlleleCall> calls = sampleGenotype.getCalls();
+            out.writeInt(calls.size());
+            for (AlleleCall alleleCall : calls) {
+                out.writeUTF(alleleCall.name());
+            }
+            out.writeInt(sampleData.getCopyNumber().copies());
+        }
+    }
+
+    private static SampleGenotypes readSampleGenotypes(DataInput in) throws IOException {
+        int numSamples = in.readInt();
+        List<SampleData> sampleData = new ArrayList<>(numSamples);
+        for (int i = 0; i < numSamples; i++) {
+            String sampleId = in.readUTF();
+            boolean phased = in.readBoolean();
+            AlleleCall[] alleleCalls = new AlleleCall[in.readInt()];
+            for (int j = 0; j < alleleCalls.length; j++) {
+                alleleCalls[j] = AlleleCall.valueOf(in.readUTF());
+            }
+            SampleGenotype sampleGenotype = phased ? SampleGenotype.phased(alleleCalls) : SampleGenotype.of(alleleCalls);
+            sampleData.add(SampleData.of(sampleId, sampleGenotype, CopyNumber.of(in.readInt())));
+        }
+        return SampleGenotypes.of(sampleData);
+    }
+
+    private static void writeFilterTypes(DataOutput out, Set<FilterType> filterTypes) throws IOException {
+        out.writeInt(filterTypes.size());
+        for (FilterType filterType : filterTypes) {
+            out.writeUTF(filterType.name());
+        }
+    }
+
+    private static List<FilterType> readFilterTypes(DataInput in) throws IOException {
+        int numFilterTypes = in.readInt();
+        List<FilterType> filterTypes = new ArrayList<>(numFilterTypes);
+        for (int i = 0; i < numFilterTypes; i++) {
+            filterTypes.add(FilterType.valueOf(in.readUTF()));
+        }
+        return filterTypes;
+    }
+
+    private static void writeStrings(DataOutput out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    private static List<String> readStrings(DataInput in) throws IOException {
+        int numStrings = in.readInt();
+        List<String> strings = new ArrayList<>(numStrings);
+        for (int i = 0; i < numStrings; i++) {
+            strings.add(readString(in));
+        }
+        return strings;
+    }
+
+    // DataOutput.writeUTF is limited to 64KB which a multi-sample VCF line or a large indel can easily exceed
+    private static void writeString(DataOutput out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
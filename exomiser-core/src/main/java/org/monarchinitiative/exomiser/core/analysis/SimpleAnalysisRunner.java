@@ -20,14 +20,17 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import org.monarchinitiative.exomiser.core.analysis.util.GeneEvaluationExecutor;
 import org.monarchinitiative.exomiser.core.filters.FilterResult;
 import org.monarchinitiative.exomiser.core.filters.SimpleGeneFilterRunner;
 import org.monarchinitiative.exomiser.core.filters.SimpleVariantFilterRunner;
 import org.monarchinitiative.exomiser.core.filters.VariantFilter;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -43,6 +46,24 @@ class SimpleAnalysisRunner extends AbstractAnalysisRunner {
         super(genomeAnalysisService, new SimpleVariantFilterRunner(), new SimpleGeneFilterRunner());
     }
 
+    SimpleAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory) {
+        super(genomeAnalysisService, new SimpleVariantFilterRunner(), new SimpleGeneFilterRunner(), vcfReaderFactory);
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    SimpleAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory, AnalysisRunnerOptions analysisRunnerOptions) {
+        this(genomeAnalysisService, vcfReaderFactory, analysisRunnerOptions, sharedGeneEvaluationExecutor(analysisRunnerOptions), AnalysisMetrics.global());
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    SimpleAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VcfReaderFactory vcfReaderFactory, AnalysisRunnerOptions analysisRunnerOptions, @Nullable GeneEvaluationExecutor geneEvaluationExecutor, AnalysisMetrics analysisMetrics) {
+        super(genomeAnalysisService, new SimpleVariantFilterRunner(), new SimpleGeneFilterRunner(), vcfReaderFactory, analysisRunnerOptions, geneEvaluationExecutor, analysisMetrics);
+    }
+
     @Override
     protected Predicate<VariantEvaluation> isAssociatedWithKnownGene(Map<String, Gene> genes) {
         return variantEvaluation -> genes.containsKey(variantEvaluation.getGeneSymbol());
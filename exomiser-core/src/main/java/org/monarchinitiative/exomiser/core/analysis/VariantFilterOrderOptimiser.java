@@ -0,0 +1,118 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis;
+
+import org.monarchinitiative.exomiser.core.filters.FilterType;
+import org.monarchinitiative.exomiser.core.filters.VariantFilter;
+import org.monarchinitiative.exomiser.core.filters.VariantFilterDataProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Orders the variant filters of a PASS_ONLY analysis so that the cheapest and most selective filters are run first.
+ * Filters which need to fetch data for a variant, i.e. those wrapped by a {@link VariantFilterDataProvider}, are always
+ * run after the filters which only use the data already held by the variant. Within each cost class the filters are
+ * ordered by their observed pass rate in the {@link FilterStats}, lowest first, with ties keeping the order in which
+ * they were specified in the analysis. The pass rates are re-checked every {@link #REORDER_INTERVAL} variants.
+ * <p>
+ * This is only safe for the sparse, pass-only filtering where a variant passes if, and only if, it passes every filter.
+ * None of the filters read data written by another filter, so the set of passing variants and the data provided to them
+ * is the same whatever the order. Only the failed variants, which are discarded, and the filter counts differ.
+ *
+ * @since 13.3.0
+ */
+class VariantFilterOrderOptimiser {
+
+    private static final Logger logger = LoggerFactory.getLogger(VariantFilterOrderOptimiser.class);
+
+    static final int REORDER_INTERVAL = 10_000;
+
+    private final List<VariantFilter> variantFilters;
+    private final FilterStats filterStats;
+
+    private volatile List<VariantFilter> currentOrder;
+    private int variantsSinceReorder = 0;
+
+    VariantFilterOrderOptimiser(List<VariantFilter> variantFilters, FilterStats filterStats) {
+        this.variantFilters = List.copyOf(variantFilters);
+        this.filterStats = filterStats;
+        this.currentOrder = sortFilters();
+        if (!currentOrder.equals(this.variantFilters)) {
+            logger.info("Optimised variant filter order from {} to {}", filterTypes(this.variantFilters), filterTypes(currentOrder));
+        }
+    }
+
+    /**
+     * @return the variant filters in the order in which they should be run
+     */
+    List<VariantFilter> getVariantFilters() {
+        return currentOrder;
+    }
+
+    /**
+     * Records that a variant has been run through the filters, re-ordering them using the current filter stats once
+     * every {@link #REORDER_INTERVAL} variants.
+     */
+    synchronized void variantFiltered() {
+        if (++variantsSinceReorder < REORDER_INTERVAL) {
+            return;
+        }
+        variantsSinceReorder = 0;
+        List<VariantFilter> reordered = sortFilters();
+        if (!reordered.equals(currentOrder)) {
+            logger.info("Re-ordered variant filters by observed pass rate from {} to {}", filterTypes(currentOrder), filterTypes(reordered));
+            currentOrder = reordered;
+        }
+    }
+
+    private List<VariantFilter> sortFilters() {
+        List<VariantFilter> sorted = new ArrayList<>(variantFilters);
+        // List.sort is stable, so filters with equal cost and pass rate remain in the user-specified order
+        sorted.sort(Comparator.comparingInt(VariantFilterOrderOptimiser::costClass)
+                .thenComparingDouble(this::passRate));
+        return List.copyOf(sorted);
+    }
+
+    private static int costClass(VariantFilter variantFilter) {
+        return variantFilter instanceof VariantFilterDataProvider ? 1 : 0;
+    }
+
+    /**
+     * Returns the proportion of variants run through the filter which passed it, or 1 if the filter has not yet been
+     * run. Note that as this is taken from sparse filtering, this is the pass rate of the variants which had already
+     * passed the preceding filters.
+     */
+    private double passRate(VariantFilter variantFilter) {
+        FilterType filterType = variantFilter.getFilterType();
+        int passed = filterStats.getPassCountForFilter(filterType);
+        int total = passed + filterStats.getFailCountForFilter(filterType);
+        return total == 0 ? 1.0 : (double) passed / total;
+    }
+
+    private static List<FilterType> filterTypes(List<VariantFilter> variantFilters) {
+        return variantFilters.stream().map(VariantFilter::getFilterType).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis.util;
+
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the independent per-gene steps of an analysis, such as the inheritance mode analysis and gene scoring, on a
+ * dedicated pool of threads. The genes are split into work units of roughly equal numbers of variants so that a gene
+ * with many variants, such as TTN in a genome, is started first and evaluated while the smaller genes are shared out
+ * between the other threads, rather than being left to run alone at the end. The action for each gene must only change
+ * that gene and its variants, so the results are the same whichever thread a gene is evaluated on.
+ * <p>
+ * An executor created with the constructor belongs to its creator, which should {@link #shutdown()} it once finished
+ * with. Those returned by {@link #shared(int)} live for the lifetime of the JVM and must not be shut down.
+ *
+ * @since 13.3.0
+ */
+public class GeneEvaluationExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneEvaluationExecutor.class);
+
+    // more units than threads so that a thread finishing early can take on more of the work
+    private static final int UNITS_PER_THREAD = 4;
+
+    private static final Map<Integer, GeneEvaluationExecutor> SHARED_EXECUTORS = new ConcurrentHashMap<>();
+
+    private final int threads;
+    private final ExecutorService executorService;
+
+    /**
+     * @param threads the number of threads with which to evaluate the genes
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     */
+    public GeneEvaluationExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be greater than 0");
+        }
+        this.threads = threads;
+        this.executorService = newGeneEvaluationPool(threads);
+    }
+
+    /**
+     * Returns the executor with the given number of threads shared by everything requesting this number, so that
+     * repeatedly creating analysis runners doesn't create a new pool each time. The threads of the pool stop when idle.
+     *
+     * @param threads the number of threads with which to evaluate the genes
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     */
+    public static GeneEvaluationExecutor shared(int threads) {
+        return SHARED_EXECUTORS.computeIfAbsent(threads, GeneEvaluationExecutor::new);
+    }
+
+    private static ExecutorService newGeneEvaluationPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "gene-evaluator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the executor can outlive many analyses, so let the workers die between them
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Applies the action to each of the genes, returning once all of them have been evaluated.
+     *
+     * @param genes  the genes to evaluate
+     * @param action the action to apply to each gene
+     * @throws RuntimeException the first exception thrown by the action
+     */
+    public void forEach(Collection<Gene> genes, Consumer<Gene> action) {
+        if (threads == 1 || genes.size() < 2) {
+            genes.forEach(action);
+            return;
+        }
+        List<List<Gene>> workUnits = partitionByVariantCount(genes, threads * UNITS_PER_THREAD);
+        logger.debug("Evaluating {} genes in {} work units using {} threads", genes.size(), workUnits.size(), threads);
+        List<Future<?>> futures = new ArrayList<>(workUnits.size());
+        for (List<Gene> workUnit : workUnits) {
+            futures.add(executorService.submit(() -> workUnit.forEach(action)));
+        }
+        awaitAll(futures);
+    }
+
+    /**
+     * Stops the threads of this executor once any genes being evaluated have finished. Genes can't be evaluated by the
+     * executor after this has been called.
+     */
+    public void shutdown() {
+        logger.debug("Shutting down {}", this);
+        executorService.shutdown();
+    }
+
+    public boolean isShutdown() {
+        return executorService.isShutdown();
+    }
+
+    /**
+     * Splits the genes into work units of roughly equal weight, where the weight of a gene is the number of variants it
+     * contains. Genes heavier than a unit are given a unit of their own. The units are returned heaviest first so that
+     * the longest running are started first.
+     */
+    static List<List<Gene>> partitionByVariantCount(Collection<Gene> genes, int numUnits) {
+        List<Gene> genesByWeight = new ArrayList<>(genes);
+        // stable sort, so genes of the same weight stay in their original order
+        genesByWeight.sort(Comparator.comparingInt(GeneEvaluationExecutor::weight).reversed());
+        long totalWeight = genesByWeight.stream().mapToLong(GeneEvaluationExecutor::weight).sum();
+        long unitWeight = Math.max(1, (totalWeight + numUnits - 1) / numUnits);
+
+        List<List<Gene>> workUnits = new ArrayList<>();
+        List<Gene> workUnit = new ArrayList<>();
+        long workUnitWeight = 0;
+        for (Gene gene : genesByWeight) {
+            workUnit.add(gene);
+            workUnitWeight += weight(gene);
+            if (workUnitWeight >= unitWeight) {
+                workUnits.add(workUnit);
+                workUnit = new ArrayList<>();
+                workUnitWeight = 0;
+            }
+        }
+        if (!workUnit.isEmpty()) {
+            workUnits.add(workUnit);
+        }
+        return workUnits;
+    }
+
+    private static int weight(Gene gene) {
+        // a gene without variants still needs scoring
+        return gene.getNumberOfVariants() + 1;
+    }
+
+    private void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating genes", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Unable to evaluate genes", cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GeneEvaluationExecutor{" +
+                "threads=" + threads +
+                '}';
+    }
+}
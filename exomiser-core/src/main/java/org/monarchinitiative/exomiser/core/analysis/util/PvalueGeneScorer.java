@@ -11,7 +11,9 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -22,6 +24,8 @@ public class PvalueGeneScorer implements GeneScorer {
 
     private static final Logger logger = LoggerFactory.getLogger(PvalueGeneScorer.class);
     private static final EnumSet<ModeOfInheritance> JUST_ANY = EnumSet.of(ModeOfInheritance.ANY);
+    // number of genes scored in parallel before checking whether the remaining genes can still be in the top genes
+    private static final int SCORING_BATCH_SIZE = 64;
 
     private final Set<ModeOfInheritance> inheritanceModes;
 
@@ -29,6 +33,9 @@ public class PvalueGeneScorer implements GeneScorer {
     private final GenePriorityScoreCalculator genePriorityScoreCalculator;
     private final CombinedScorePvalueCalculator pValueCalculator;
     private final AcmgAssignmentCalculator acmgAssignmentCalculator;
+    // null to score the genes using a parallel stream on the common pool
+    @Nullable
+    private final GeneEvaluationExecutor geneEvaluationExecutor;
 
     /**
      * @param probandId                Sample id of the proband in the VCF.
@@ -37,6 +44,18 @@ public class PvalueGeneScorer implements GeneScorer {
      * @since 10.0.0
      */
     public PvalueGeneScorer(String probandId, Pedigree.Individual.Sex probandSex, InheritanceModeAnnotator inheritanceModeAnnotator, CombinedScorePvalueCalculator pValueCalculator) {
+        this(probandId, probandSex, inheritanceModeAnnotator, pValueCalculator, null);
+    }
+
+    /**
+     * @param probandId                Sample id of the proband in the VCF.
+     * @param inheritanceModeAnnotator An {@code InheritanceModeAnnotator} for the pedigree related to the proband.
+     * @param geneEvaluationExecutor   The {@link GeneEvaluationExecutor} with which to score the genes, or null to use
+     *                                 the common pool.
+     * @throws NullPointerException if any input arguments, other than the executor, are null.
+     * @since 13.3.0
+     */
+    public PvalueGeneScorer(String probandId, Pedigree.Individual.Sex probandSex, InheritanceModeAnnotator inheritanceModeAnnotator, CombinedScorePvalueCalculator pValueCalculator, @Nullable GeneEvaluationExecutor geneEvaluationExecutor) {
         Objects.requireNonNull(probandId);
         Objects.requireNonNull(inheritanceModeAnnotator);
         this.inheritanceModes = inheritanceModeAnnotator.getDefinedModes();
@@ -46,12 +65,19 @@ public PvalueGeneScorer(String probandId, Pedigree.Individual.Sex probandSex, In
         AcmgEvidenceAssigner acmgEvidenceAssigner = new Acmg2015EvidenceAssigner(probandId, inheritanceModeAnnotator.getPedigree());
         AcmgEvidenceClassifier acmgEvidenceClassifier = new Acmg2020PointsBasedClassifier();
         this.acmgAssignmentCalculator = new AcmgAssignmentCalculator(acmgEvidenceAssigner, acmgEvidenceClassifier);
+        this.geneEvaluationExecutor = geneEvaluationExecutor;
     }
 
     @Override
     public List<Gene> scoreGenes(List<Gene> genes) {
         // TODO: v14.0.0 - return stream().toList() can't do this here as it breaks the sorting for the
         //  MOI-dependent writers. These will be removed in v14.0.0.
+        if (geneEvaluationExecutor != null) {
+            geneEvaluationExecutor.forEach(genes, addGeneScores());
+            return genes.stream()
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
         return genes.stream()
                 .parallel()
                 .map(gene -> {
@@ -63,6 +89,88 @@ public List<Gene> scoreGenes(List<Gene> genes) {
                 .collect(Collectors.toList());
     }
 
+    private Consumer<Gene> addGeneScores() {
+        Function<Gene, List<GeneScore>> geneScorer = scoreGene();
+        return gene -> gene.addGeneScores(geneScorer.apply(gene));
+    }
+
+    /**
+     * Scores only the genes which could be amongst the top {@code numberOfGenes} genes with a combined score of at
+     * least {@code minCombinedScore}, i.e. those which will be written out. An upper bound on the combined score of each
+     * gene is first calculated from its priority score and the score of its best passed variant. The genes are then
+     * fully scored in order of this bound until no remaining gene can beat the combined score of the last of the top
+     * genes. The remaining genes are returned without any {@link GeneScore}, after the scored genes, so the top genes
+     * and their scores are the same as those returned by {@link #scoreGenes(List)}.
+     *
+     * @param genes            the genes to score
+     * @param numberOfGenes    the number of top genes required, or 0 for all of them
+     * @param minCombinedScore the minimum combined score of the required genes
+     * @return all the input genes, sorted by their scores
+     * @since 13.3.0
+     */
+    public List<Gene> scoreTopGenes(List<Gene> genes, int numberOfGenes, double minCombinedScore) {
+        if (numberOfGenes <= 0 && minCombinedScore <= 0) {
+            return scoreGenes(genes);
+        }
+        List<GeneScoreBound> geneScoreBounds = genes.stream()
+                .parallel()
+                .map(gene -> new GeneScoreBound(gene, calculateCombinedScoreBound(gene)))
+                .sorted(Comparator.comparingDouble(GeneScoreBound::getCombinedScore).reversed())
+                .collect(Collectors.toList());
+
+        // min-heap of the combined scores of the best genes scored so far, the smallest of which is the score to beat
+        PriorityQueue<Double> topCombinedScores = new PriorityQueue<>();
+        double threshold = minCombinedScore;
+        int numScored = 0;
+        while (numScored < geneScoreBounds.size() && geneScoreBounds.get(numScored).getCombinedScore() >= threshold) {
+            List<Gene> batch = new ArrayList<>(SCORING_BATCH_SIZE);
+            while (batch.size() < SCORING_BATCH_SIZE && numScored < geneScoreBounds.size() && geneScoreBounds.get(numScored).getCombinedScore() >= threshold) {
+                batch.add(geneScoreBounds.get(numScored++).getGene());
+            }
+            if (geneEvaluationExecutor != null) {
+                geneEvaluationExecutor.forEach(batch, addGeneScores());
+            } else {
+                batch.stream()
+                        .parallel()
+                        .forEach(addGeneScores());
+            }
+            for (Gene gene : batch) {
+                topCombinedScores.add(gene.getCombinedScore());
+                if (numberOfGenes > 0 && topCombinedScores.size() > numberOfGenes) {
+                    topCombinedScores.poll();
+                }
+            }
+            if (numberOfGenes > 0 && topCombinedScores.size() == numberOfGenes) {
+                threshold = Math.max(minCombinedScore, topCombinedScores.peek());
+            }
+        }
+        logger.info("Scored {} of {} genes which could be in the top {} genes with a combined score of at least {}", numScored, genes.size(), numberOfGenes, minCombinedScore);
+        // the unscored genes have a combined score of zero so will be sorted after the scored genes. This only matters
+        //  when the threshold is above zero, otherwise all the genes will have been scored.
+        return genes.stream()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The combined score is never lower for a higher variant or priority score and the variant score is the average of
+     * the scores of the contributing variants. The score of the best passed variant together with the priority score
+     * for each mode therefore gives the highest possible combined score of the gene.
+     */
+    private double calculateCombinedScoreBound(Gene gene) {
+        double maxVariantScore = gene.getPassedVariantEvaluations().stream()
+                .mapToDouble(VariantEvaluation::getVariantScore)
+                .max()
+                .orElse(0);
+        Set<ModeOfInheritance> modesToScore = inheritanceModes.isEmpty() || inheritanceModes.equals(JUST_ANY) ? JUST_ANY : inheritanceModes;
+        double maxCombinedScore = 0;
+        for (ModeOfInheritance modeOfInheritance : modesToScore) {
+            double priorityScore = genePriorityScoreCalculator.calculateGenePriorityScore(gene, modeOfInheritance).getScore();
+            maxCombinedScore = Math.max(maxCombinedScore, GeneScorer.calculateCombinedScore(maxVariantScore, priorityScore, gene.getPriorityResults().keySet()));
+        }
+        return maxCombinedScore;
+    }
+
     /**
      * Calculates the final ranks of all genes that have survived the filtering
      * and prioritising steps. The strategy is that for autosomal dominant
@@ -135,4 +243,22 @@ private GeneScore calculateGeneScore(Gene gene, ModeOfInheritance modeOfInherita
                 .build();
     }
 
+    private static class GeneScoreBound {
+        private final Gene gene;
+        private final double combinedScore;
+
+        private GeneScoreBound(Gene gene, double combinedScore) {
+            this.gene = gene;
+            this.combinedScore = combinedScore;
+        }
+
+        Gene getGene() {
+            return gene;
+        }
+
+        double getCombinedScore() {
+            return combinedScore;
+        }
+    }
+
 }
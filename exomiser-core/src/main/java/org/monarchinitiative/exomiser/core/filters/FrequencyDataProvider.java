@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.core.filters;
 
 import org.monarchinitiative.exomiser.core.genome.VariantDataService;
+import org.monarchinitiative.exomiser.core.jfr.VariantDataLookupEvent;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
@@ -53,8 +54,16 @@ public void provideVariantData(VariantEvaluation variantEvaluation) {
         //check there are no frequencies first - this may be genuine, or possibly the variant hasn't yet had the data added
         //this will cut down on trips to the database if multiple filters require frequency data.
         if (!variantEvaluation.getFrequencyData().hasKnownFrequency()) {
+            VariantDataLookupEvent lookupEvent = new VariantDataLookupEvent("FREQUENCY", frequencySources.size());
+            lookupEvent.begin();
             FrequencyData frequencyData = variantDataService.getVariantFrequencyData(variantEvaluation, frequencySources);
             variantEvaluation.setFrequencyData(frequencyData);
+            lookupEvent.end();
+            if (lookupEvent.shouldCommit()) {
+                lookupEvent.setVariant(variantEvaluation.toGnomad());
+                lookupEvent.setFound(!frequencyData.isEmpty());
+                lookupEvent.commit();
+            }
         }
     }
 
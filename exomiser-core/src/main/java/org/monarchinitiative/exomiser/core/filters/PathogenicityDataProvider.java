@@ -26,6 +26,7 @@
 package org.monarchinitiative.exomiser.core.filters;
 
 import org.monarchinitiative.exomiser.core.genome.VariantDataService;
+import org.monarchinitiative.exomiser.core.jfr.VariantDataLookupEvent;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
@@ -54,8 +55,16 @@ public PathogenicityDataProvider(VariantDataService variantDataService, Set<Path
     @Override
     public void provideVariantData(VariantEvaluation variantEvaluation) {
         if (variantEvaluation.getPathogenicityData().isEmpty()) {
+            VariantDataLookupEvent lookupEvent = new VariantDataLookupEvent("PATHOGENICITY", pathogenicitySources.size());
+            lookupEvent.begin();
             PathogenicityData pathData = variantDataService.getVariantPathogenicityData(variantEvaluation, pathogenicitySources);
             variantEvaluation.setPathogenicityData(pathData);
+            lookupEvent.end();
+            if (lookupEvent.shouldCommit()) {
+                lookupEvent.setVariant(variantEvaluation.toGnomad());
+                lookupEvent.setFound(!pathData.isEmpty());
+                lookupEvent.commit();
+            }
         }
     }
 
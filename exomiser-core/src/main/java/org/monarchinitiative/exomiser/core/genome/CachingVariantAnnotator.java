@@ -0,0 +1,59 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
+import org.monarchinitiative.svart.Variant;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link VariantAnnotator} which returns previously computed annotations from a {@link PersistentVariantCache},
+ * delegating to the wrapped annotator for any alleles not yet seen.
+ *
+ * @since 13.3.0
+ */
+public class CachingVariantAnnotator implements VariantAnnotator {
+
+    private final VariantAnnotator variantAnnotator;
+    private final PersistentVariantCache variantCache;
+
+    public CachingVariantAnnotator(VariantAnnotator variantAnnotator, PersistentVariantCache variantCache) {
+        this.variantAnnotator = Objects.requireNonNull(variantAnnotator);
+        this.variantCache = Objects.requireNonNull(variantCache);
+    }
+
+    @Override
+    public GenomeAssembly genomeAssembly() {
+        return variantAnnotator.genomeAssembly();
+    }
+
+    @Override
+    public List<VariantAnnotation> annotate(@Nullable Variant variant) {
+        String alleleKey = PersistentVariantCache.alleleKey(variant);
+        if (alleleKey == null) {
+            return variantAnnotator.annotate(variant);
+        }
+        return variantCache.getVariantAnnotations(alleleKey, () -> variantAnnotator.annotate(variant));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link VariantDataService} which returns previously computed frequency and pathogenicity data from a
+ * {@link PersistentVariantCache}, delegating to the wrapped service for any alleles or combinations of sources not yet
+ * seen. The whitelist is always checked against the wrapped service.
+ *
+ * @since 13.3.0
+ */
+public class CachingVariantDataService implements VariantDataService {
+
+    private final VariantDataService variantDataService;
+    private final PersistentVariantCache variantCache;
+
+    public CachingVariantDataService(VariantDataService variantDataService, PersistentVariantCache variantCache) {
+        this.variantDataService = Objects.requireNonNull(variantDataService);
+        this.variantCache = Objects.requireNonNull(variantCache);
+    }
+
+    @Override
+    public boolean variantIsWhiteListed(Variant variant) {
+        return variantDataService.variantIsWhiteListed(variant);
+    }
+
+    @Override
+    public FrequencyData getVariantFrequencyData(Variant variant, Set<FrequencySource> frequencySources) {
+        String alleleKey = PersistentVariantCache.alleleKey(variant);
+        if (alleleKey == null) {
+            return variantDataService.getVariantFrequencyData(variant, frequencySources);
+        }
+        String key = alleleKey + ":" + PersistentVariantCache.sourcesKey(frequencySources);
+        return variantCache.getFrequencyData(key, () -> variantDataService.getVariantFrequencyData(variant, frequencySources));
+    }
+
+    @Override
+    public PathogenicityData getVariantPathogenicityData(Variant variant, Set<PathogenicitySource> pathogenicitySources) {
+        String alleleKey = PersistentVariantCache.alleleKey(variant);
+        if (alleleKey == null) {
+            return variantDataService.getVariantPathogenicityData(variant, pathogenicitySources);
+        }
+        // the scores returned depend on the variant effect, e.g. REMM is only used for non-coding variants
+        String key = alleleKey + ":" + PersistentVariantCache.sourcesKey(pathogenicitySources) + ":" + variant.getVariantEffect();
+        return variantCache.getPathogenicityData(key, () -> variantDataService.getVariantPathogenicityData(variant, pathogenicitySources));
+    }
+}
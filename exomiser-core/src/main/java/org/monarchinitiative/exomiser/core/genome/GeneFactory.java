@@ -27,9 +27,13 @@
 
 import com.google.common.collect.ImmutableSet;
 import de.charite.compbio.jannovar.data.JannovarData;
+import de.charite.compbio.jannovar.reference.GenomeInterval;
+import de.charite.compbio.jannovar.reference.Strand;
 import de.charite.compbio.jannovar.reference.TranscriptModel;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
+import org.monarchinitiative.exomiser.core.model.GeneticInterval;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -105,6 +109,35 @@ private Set<GeneIdentifier> createKnownGeneIds() {
         return geneIdentifiers;
     }
 
+    /**
+     * Returns the regions spanned by the transcripts of each of the genes, for the genes with transcripts on one of the
+     * chromosomes 1-22, X, Y or MT. Genes with transcripts on more than one contig, e.g. in the pseudo-autosomal
+     * regions, will have a region for each contig.
+     *
+     * @param geneSymbols the symbols of the genes
+     * @return the one-based, fully-closed regions spanned by the transcripts of the genes
+     * @since 13.3.0
+     */
+    public List<ChromosomalRegion> getGeneRegions(Collection<String> geneSymbols) {
+        List<ChromosomalRegion> geneRegions = new ArrayList<>();
+        for (String geneSymbol : geneSymbols) {
+            Map<Integer, GeneticInterval> contigRegions = new TreeMap<>();
+            for (TranscriptModel transcriptModel : jannovarData.getTmByGeneSymbol().get(geneSymbol)) {
+                GenomeInterval txRegion = transcriptModel.getTXRegion().withStrand(Strand.FWD);
+                int contigId = txRegion.getChr();
+                if (contigId < 1 || contigId > 25) {
+                    continue;
+                }
+                // Jannovar positions are zero-based, half-open
+                int start = txRegion.getBeginPos() + 1;
+                int end = txRegion.getEndPos();
+                contigRegions.merge(contigId, new GeneticInterval(contigId, start, end), (a, b) -> new GeneticInterval(contigId, Math.min(a.start(), b.start()), Math.max(a.end(), b.end())));
+            }
+            geneRegions.addAll(contigRegions.values());
+        }
+        return geneRegions;
+    }
+
     private Function<TranscriptModel, GeneIdentifier> toGeneIdentifier() {
         //logger.info("{} {} {} {}", transcriptModel.getGeneSymbol(), transcriptModel.getGeneID(), transcriptModel.getAccession(), transcriptModel.getAltGeneIDs());
         //Using ucsc_hg19: LMOD1 ENTREZ25802 uc010ppu.2 null (pre-jannovar 0.19)
@@ -31,4 +31,15 @@ public interface GenomeAnalysisService extends VariantDataService, GenomeDataSer
 
     public VariantAnnotator getVariantAnnotator();
 
+    /**
+     * Returns an identifier for the data used by this service which will differ whenever any of the underlying data
+     * differs. This can be used to check that results computed in an earlier analysis are still valid.
+     *
+     * @return an identifier for the data used by this service, or an empty string if this is unknown
+     * @since 13.3.0
+     */
+    public default String getDataVersion() {
+        return "";
+    }
+
 }
@@ -26,7 +26,9 @@
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -40,11 +42,22 @@ public class GenomeAnalysisServiceImpl implements GenomeAnalysisService {
     private final VariantDataService variantDataService;
     private final VariantAnnotator variantAnnotator;
 
+    private final String dataVersion;
+
     public GenomeAnalysisServiceImpl(GenomeAssembly genomeAssembly, GenomeDataService genomeDataService, VariantDataService variantDataService, VariantAnnotator variantAnnotator) {
+        this(genomeAssembly, genomeDataService, variantDataService, variantAnnotator, "");
+    }
+
+    /**
+     * @param dataVersion an identifier for the data backing the services, see {@link GenomeAnalysisService#getDataVersion()}
+     * @since 13.3.0
+     */
+    public GenomeAnalysisServiceImpl(GenomeAssembly genomeAssembly, GenomeDataService genomeDataService, VariantDataService variantDataService, VariantAnnotator variantAnnotator, String dataVersion) {
         this.genomeAssembly = genomeAssembly;
         this.genomeDataService = genomeDataService;
         this.variantDataService = variantDataService;
         this.variantAnnotator = variantAnnotator;
+        this.dataVersion = Objects.requireNonNull(dataVersion);
     }
 
     @Override
@@ -57,6 +70,11 @@ public VariantAnnotator getVariantAnnotator() {
         return variantAnnotator;
     }
 
+    @Override
+    public String getDataVersion() {
+        return dataVersion;
+    }
+
     @Override
     public List<Gene> getKnownGenes() {
         return genomeDataService.getKnownGenes();
@@ -67,6 +85,11 @@ public Set<GeneIdentifier> getKnownGeneIdentifiers() {
         return genomeDataService.getKnownGeneIdentifiers();
     }
 
+    @Override
+    public List<ChromosomalRegion> getGeneRegions(Collection<String> geneSymbols) {
+        return genomeDataService.getGeneRegions(geneSymbols);
+    }
+
     @Override
     public List<RegulatoryFeature> getRegulatoryFeatures() {
         return genomeDataService.getRegulatoryFeatures();
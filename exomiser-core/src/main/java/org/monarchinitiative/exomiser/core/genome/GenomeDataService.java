@@ -22,6 +22,7 @@
 
 import org.monarchinitiative.exomiser.core.model.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -34,6 +35,17 @@ public interface GenomeDataService {
 
     public Set<GeneIdentifier> getKnownGeneIdentifiers();
 
+    /**
+     * Returns the regions spanned by the transcripts of the given genes. Unknown genes have no region.
+     *
+     * @param geneSymbols the symbols of the genes
+     * @return the regions spanned by the genes, or an empty list if these are not known by this service
+     * @since 13.3.0
+     */
+    public default List<ChromosomalRegion> getGeneRegions(Collection<String> geneSymbols) {
+        return List.of();
+    }
+
     public List<RegulatoryFeature> getRegulatoryFeatures();
 
     public default ChromosomalRegionIndex<RegulatoryFeature> getRegulatoryRegionIndex() {
@@ -22,11 +22,13 @@
 
 import org.monarchinitiative.exomiser.core.genome.dao.RegulatoryFeatureDao;
 import org.monarchinitiative.exomiser.core.genome.dao.TadDao;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
 import org.monarchinitiative.exomiser.core.model.RegulatoryFeature;
 import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -55,6 +57,11 @@ public Set<GeneIdentifier> getKnownGeneIdentifiers() {
         return geneFactory.getGeneIdentifiers();
     }
 
+    @Override
+    public List<ChromosomalRegion> getGeneRegions(Collection<String> geneSymbols) {
+        return geneFactory.getGeneRegions(geneSymbols);
+    }
+
     @Override
     public List<RegulatoryFeature> getRegulatoryFeatures() {
         return regulatoryFeatureDao.getRegulatoryFeatures();
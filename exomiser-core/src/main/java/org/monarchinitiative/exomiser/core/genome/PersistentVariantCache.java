@@ -0,0 +1,217 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+import org.monarchinitiative.svart.CoordinateSystem;
+import org.monarchinitiative.svart.Strand;
+import org.monarchinitiative.svart.Variant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * On-disk cache of fully resolved {@link VariantAnnotation}, {@link FrequencyData} and {@link PathogenicityData} for
+ * small variants, shared between analyses and JVM runs. Entries are keyed by allele and the cache is tied to a
+ * fingerprint of the data it was built from - opening the cache with a different fingerprint clears it, so a change
+ * of data release, transcript source or tabix file, or of the {@link VariantDataSerialiser#FORMAT_VERSION}, will never
+ * return stale values.
+ * <p>
+ * Only precise, forward-strand variants below the structural variant size cut-off are cached, everything else is
+ * always computed. Entries which can't be read or written are removed and the value is computed instead.
+ * <p>
+ * Storing the annotations of an allele resolves the HGVS strings of all of its transcripts, so a cache miss loses the
+ * saving of formatting these only when they are written out. This is a one-off cost per allele, as a cache hit doesn't
+ * call Jannovar at all.
+ *
+ * @since 13.3.0
+ */
+public class PersistentVariantCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentVariantCache.class);
+
+    private static final String FINGERPRINT_KEY = "fingerprint";
+
+    private final MVStore mvStore;
+    private final MVMap<String, byte[]> annotations;
+    private final MVMap<String, byte[]> frequencies;
+    private final MVMap<String, byte[]> pathogenicities;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param mvStore         an open, writable, {@link MVStore}
+     * @param dataFingerprint a value identifying the data the cached values are derived from
+     */
+    public PersistentVariantCache(MVStore mvStore, String dataFingerprint) {
+        this.mvStore = Objects.requireNonNull(mvStore);
+        this.annotations = mvStore.openMap("annotations");
+        this.frequencies = mvStore.openMap("frequencies");
+        this.pathogenicities = mvStore.openMap("pathogenicities");
+        checkFingerprint(VariantDataSerialiser.FORMAT_VERSION + ":" + Objects.requireNonNull(dataFingerprint));
+    }
+
+    /**
+     * Opens, or creates, a cache file at the given path.
+     */
+    public static PersistentVariantCache open(Path cachePath, String dataFingerprint) {
+        logger.info("Opening persistent variant cache {}", cachePath);
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(cachePath.toAbsolutePath().toString())
+                .compress()
+                .open();
+        return new PersistentVariantCache(mvStore, dataFingerprint);
+    }
+
+    private void checkFingerprint(String fingerprint) {
+        MVMap<String, String> info = mvStore.openMap("info");
+        String storedFingerprint = info.get(FINGERPRINT_KEY);
+        if (!fingerprint.equals(storedFingerprint)) {
+            if (storedFingerprint != null) {
+                logger.info("Data has changed since the variant cache was written - clearing {} cached alleles", annotations.size());
+            }
+            annotations.clear();
+            frequencies.clear();
+            pathogenicities.clear();
+            info.put(FINGERPRINT_KEY, fingerprint);
+            mvStore.commit();
+        }
+    }
+
+    /**
+     * Returns the key for the variant or null if the variant is not cacheable.
+     */
+    @Nullable
+    static String alleleKey(@Nullable Variant variant) {
+        if (variant == null || variant.isSymbolic() || variant.strand() != Strand.POSITIVE || Math.abs(variant.changeLength()) >= 1000) {
+            return null;
+        }
+        int start = variant.startOnStrandWithCoordinateSystem(Strand.POSITIVE, CoordinateSystem.oneBased());
+        return variant.contigId() + "-" + start + "-" + variant.ref() + "-" + variant.alt();
+    }
+
+    /**
+     * Returns a stable key component for a set of enum values. The sorted names are used rather than the ordinals so that
+     * adding or re-ordering the enum constants doesn't change the key of an existing set.
+     */
+    static String sourcesKey(Set<? extends Enum<?>> sources) {
+        return sources.stream()
+                .map(Enum::name)
+                .sorted()
+                .collect(Collectors.joining("."));
+    }
+
+    public List<VariantAnnotation> getVariantAnnotations(String key, Supplier<List<VariantAnnotation>> loader) {
+        return getOrLoad(annotations, key, loader, VariantDataSerialiser::writeVariantAnnotations, VariantDataSerialiser::readVariantAnnotations);
+    }
+
+    public FrequencyData getFrequencyData(String key, Supplier<FrequencyData> loader) {
+        return getOrLoad(frequencies, key, loader, VariantDataSerialiser::writeFrequencyData, VariantDataSerialiser::readFrequencyData);
+    }
+
+    public PathogenicityData getPathogenicityData(String key, Supplier<PathogenicityData> loader) {
+        return getOrLoad(pathogenicities, key, loader, VariantDataSerialiser::writePathogenicityData, VariantDataSerialiser::readPathogenicityData);
+    }
+
+    private <T> T getOrLoad(MVMap<String, byte[]> map, String key, Supplier<T> loader, Writer<T> writer, Reader<T> reader) {
+        byte[] bytes = map.get(key);
+        if (bytes != null) {
+            try {
+                T value = decode(bytes, reader);
+                hits.increment();
+                return value;
+            } catch (RuntimeException e) {
+                logger.warn("Unable to read cached value for {} - removing it from the cache", key, e);
+                map.remove(key);
+            }
+        }
+        misses.increment();
+        T value = loader.get();
+        try {
+            map.put(key, encode(value, writer));
+        } catch (RuntimeException e) {
+            // e.g. a string longer than the 64 KB limit of DataOutput.writeUTF
+            logger.warn("Unable to cache value for {}", key, e);
+        }
+        return value;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of alleles with cached annotations
+     */
+    public long size() {
+        return annotations.sizeAsLong();
+    }
+
+    @Override
+    public void close() {
+        if (!mvStore.isClosed()) {
+            logger.info("Closing persistent variant cache - {} hits, {} misses, {} alleles", hitCount(), missCount(), size());
+            mvStore.close();
+        }
+    }
+
+    private interface Writer<T> {
+        void write(DataOutput out, T value) throws IOException;
+    }
+
+    private interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    private static <T> byte[] encode(T value, Writer<T> writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> T decode(byte[] bytes, Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
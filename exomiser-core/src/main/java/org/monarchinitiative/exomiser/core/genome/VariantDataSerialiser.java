@@ -0,0 +1,186 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.monarchinitiative.exomiser.core.model.TranscriptAnnotation;
+import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
+import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityScore;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compact binary serialisation of the variant annotations and data used for persisting them between analyses.
+ * <p>
+ * Enum values are written by name rather than ordinal so that a re-ordering of an enum can't silently corrupt any
+ * stored data. An unknown name will throw an {@link IllegalArgumentException} on reading, in which case the
+ * {@link #FORMAT_VERSION} needs bumping.
+ *
+ * @since 13.3.0
+ */
+public class VariantDataSerialiser {
+
+    /**
+     * The version of the format written by this class, bump this whenever the serialised format changes.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private VariantDataSerialiser() {
+        //un-instantiable utility class
+    }
+
+    public static void writeVariantAnnotations(DataOutput out, List<VariantAnnotation> variantAnnotations) throws IOException {
+        out.writeInt(variantAnnotations.size());
+        for (VariantAnnotation variantAnnotation : variantAnnotations) {
+            out.writeUTF(variantAnnotation.getGeneSymbol());
+            out.writeUTF(variantAnnotation.getGeneId());
+            out.writeUTF(variantAnnotation.getVariantEffect().name());
+            writeTranscriptAnnotations(out, variantAnnotation.getTranscriptAnnotations());
+        }
+    }
+
+    /**
+     * Writes the transcript annotations with their HGVS strings fully resolved.
+     */
+    public static void writeTranscriptAnnotations(DataOutput out, List<TranscriptAnnotation> transcriptAnnotations) throws IOException {
+        out.writeInt(transcriptAnnotations.size());
+        for (TranscriptAnnotation transcriptAnnotation : transcriptAnnotations) {
+            out.writeUTF(transcriptAnnotation.getVariantEffect().name());
+            out.writeUTF(transcriptAnnotation.getGeneSymbol());
+            out.writeUTF(transcriptAnnotation.getAccession());
+            out.writeUTF(transcriptAnnotation.getHgvsGenomic());
+            out.writeUTF(transcriptAnnotation.getHgvsCdna());
+            out.writeUTF(transcriptAnnotation.getHgvsProtein());
+            out.writeUTF(transcriptAnnotation.getRankType().name());
+            out.writeInt(transcriptAnnotation.getRank());
+            out.writeInt(transcriptAnnotation.getRankTotal());
+            out.writeInt(transcriptAnnotation.getDistanceFromNearestGene());
+        }
+    }
+
+    public static List<VariantAnnotation> readVariantAnnotations(DataInput in) throws IOException {
+        int numAnnotations = in.readInt();
+        List<VariantAnnotation> variantAnnotations = new ArrayList<>(numAnnotations);
+        for (int i = 0; i < numAnnotations; i++) {
+            String geneSymbol = in.readUTF();
+            String geneId = in.readUTF();
+            VariantEffect variantEffect = VariantEffect.valueOf(in.readUTF());
+            variantAnnotations.add(VariantAnnotation.of(geneSymbol, geneId, variantEffect, readTranscriptAnnotations(in)));
+        }
+        return variantAnnotations;
+    }
+
+    public static List<TranscriptAnnotation> readTranscriptAnnotations(DataInput in) throws IOException {
+        int numTranscripts = in.readInt();
+        List<TranscriptAnnotation> transcriptAnnotations = new ArrayList<>(numTranscripts);
+        for (int i = 0; i < numTranscripts; i++) {
+            transcriptAnnotations.add(TranscriptAnnotation.builder()
+                    .variantEffect(VariantEffect.valueOf(in.readUTF()))
+                    .geneSymbol(in.readUTF())
+                    .accession(in.readUTF())
+                    .hgvsGenomic(in.readUTF())
+                    .hgvsCdna(in.readUTF())
+                    .hgvsProtein(in.readUTF())
+                    .rankType(TranscriptAnnotation.RankType.valueOf(in.readUTF()))
+                    .rank(in.readInt())
+                    .rankTotal(in.readInt())
+                    .distanceFromNearestGene(in.readInt())
+                    .build());
+        }
+        return transcriptAnnotations;
+    }
+
+    public static void writeFrequencyData(DataOutput out, FrequencyData frequencyData) throws IOException {
+        out.writeUTF(frequencyData.getRsId());
+        List<Frequency> knownFrequencies = frequencyData.getKnownFrequencies();
+        out.writeInt(knownFrequencies.size());
+        for (Frequency frequency : knownFrequencies) {
+            out.writeUTF(frequency.getSource().name());
+            out.writeFloat(frequency.getFrequency());
+        }
+    }
+
+    public static FrequencyData readFrequencyData(DataInput in) throws IOException {
+        String rsId = in.readUTF();
+        int numFrequencies = in.readInt();
+        List<Frequency> frequencies = new ArrayList<>(numFrequencies);
+        for (int i = 0; i < numFrequencies; i++) {
+            frequencies.add(Frequency.of(FrequencySource.valueOf(in.readUTF()), in.readFloat()));
+        }
+        return FrequencyData.of(rsId, frequencies);
+    }
+
+    public static void writePathogenicityData(DataOutput out, PathogenicityData pathogenicityData) throws IOException {
+        ClinVarData clinVarData = pathogenicityData.getClinVarData();
+        out.writeUTF(clinVarData.getAlleleId());
+        out.writeUTF(clinVarData.getPrimaryInterpretation().name());
+        out.writeInt(clinVarData.getSecondaryInterpretations().size());
+        for (ClinVarData.ClinSig clinSig : clinVarData.getSecondaryInterpretations()) {
+            out.writeUTF(clinSig.name());
+        }
+        out.writeUTF(clinVarData.getReviewStatus());
+        out.writeInt(clinVarData.getIncludedAlleles().size());
+        for (Map.Entry<String, ClinVarData.ClinSig> includedAllele : clinVarData.getIncludedAlleles().entrySet()) {
+            out.writeUTF(includedAllele.getKey());
+            out.writeUTF(includedAllele.getValue().name());
+        }
+        List<PathogenicityScore> scores = pathogenicityData.getPredictedPathogenicityScores();
+        out.writeInt(scores.size());
+        for (PathogenicityScore score : scores) {
+            out.writeUTF(score.getSource().name());
+            out.writeFloat(score.getRawScore());
+        }
+    }
+
+    public static PathogenicityData readPathogenicityData(DataInput in) throws IOException {
+        ClinVarData.Builder clinVarBuilder = ClinVarData.builder()
+                .alleleId(in.readUTF())
+                .primaryInterpretation(ClinVarData.ClinSig.valueOf(in.readUTF()));
+        int numSecondary = in.readInt();
+        Set<ClinVarData.ClinSig> secondaryInterpretations = EnumSet.noneOf(ClinVarData.ClinSig.class);
+        for (int i = 0; i < numSecondary; i++) {
+            secondaryInterpretations.add(ClinVarData.ClinSig.valueOf(in.readUTF()));
+        }
+        clinVarBuilder.secondaryInterpretations(secondaryInterpretations)
+                .reviewStatus(in.readUTF());
+        int numIncluded = in.readInt();
+        Map<String, ClinVarData.ClinSig> includedAlleles = new LinkedHashMap<>();
+        for (int i = 0; i < numIncluded; i++) {
+            includedAlleles.put(in.readUTF(), ClinVarData.ClinSig.valueOf(in.readUTF()));
+        }
+        clinVarBuilder.includedAlleles(includedAlleles);
+        int numScores = in.readInt();
+        List<PathogenicityScore> scores = new ArrayList<>(numScores);
+        for (int i = 0; i < numScores; i++) {
+            scores.add(PathogenicityScore.of(PathogenicitySource.valueOf(in.readUTF()), in.readFloat()));
+        }
+        return PathogenicityData.of(clinVarBuilder.build(), scores);
+    }
+}
@@ -21,8 +21,11 @@
 package org.monarchinitiative.exomiser.core.genome;
 
 import htsjdk.variant.variantcontext.VariantContext;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 
+import java.util.Collection;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -40,4 +43,33 @@ public interface VariantFactory {
      */
     public Stream<VariantEvaluation> createVariantEvaluations();
 
+    /**
+     * Creates the {@link VariantEvaluation} only for the alleles which satisfy the {@code preAnnotationFilter}.
+     * Implementations are expected to test the filter against an un-annotated {@link VariantEvaluation} so that alleles
+     * which would be discarded by the analysis, e.g. those not called in the proband, do not have to be annotated. As
+     * such the filter must only use the position, quality, VCF record and sample genotypes of the variant and must not
+     * modify it.
+     * <p>
+     * The default implementation simply filters the output of {@link #createVariantEvaluations()}.
+     *
+     * @param preAnnotationFilter predicate which the un-annotated variant must satisfy to be annotated
+     * @since 13.3.0
+     */
+    default Stream<VariantEvaluation> createVariantEvaluations(Predicate<VariantEvaluation> preAnnotationFilter) {
+        return createVariantEvaluations().filter(preAnnotationFilter);
+    }
+
+    /**
+     * As {@link #createVariantEvaluations(Predicate)}, but only the records overlapping the {@code regions} need to be
+     * read. Implementations which are unable to restrict the records they read may return variants outside of these
+     * regions, as the default implementation does, so these will still need filtering by the caller.
+     *
+     * @param regions             regions of interest, or an empty collection to read all the variants
+     * @param preAnnotationFilter predicate which the un-annotated variant must satisfy to be annotated
+     * @since 13.3.0
+     */
+    default Stream<VariantEvaluation> createVariantEvaluations(Collection<? extends ChromosomalRegion> regions, Predicate<VariantEvaluation> preAnnotationFilter) {
+        return createVariantEvaluations(preAnnotationFilter);
+    }
+
 }
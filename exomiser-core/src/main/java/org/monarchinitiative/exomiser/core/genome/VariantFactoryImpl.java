@@ -29,6 +29,8 @@
 import htsjdk.variant.variantcontext.Genotype;
 import htsjdk.variant.variantcontext.GenotypesContext;
 import htsjdk.variant.variantcontext.VariantContext;
+import org.monarchinitiative.exomiser.core.jfr.VariantAnnotationEvent;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
 import org.monarchinitiative.exomiser.core.model.SampleGenotypes;
 import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
@@ -49,6 +51,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -60,6 +63,9 @@ public class VariantFactoryImpl implements VariantFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(VariantFactoryImpl.class);
 
+    // saves building an un-annotated VariantEvaluation for every allele when there is nothing to test
+    private static final Predicate<VariantEvaluation> ACCEPT_ALL = variantEvaluation -> true;
+
     private final GenomeAssembly genomeAssembly;
     private final VariantAnnotator variantAnnotator;
     private final VariantContextConverter variantContextConverter;
@@ -81,11 +87,33 @@ public VariantFactoryImpl(VariantAnnotator variantAnnotator, VcfReader vcfReader
 
     @Override
     public Stream<VariantEvaluation> createVariantEvaluations() {
+        return createVariantEvaluations(ACCEPT_ALL);
+    }
+
+    /**
+     * The {@code preAnnotationFilter} is tested against a {@link VariantEvaluation} built from the VCF record, the
+     * normalised alt allele and its sample genotypes, before the allele is annotated with any gene or transcript data.
+     * Alleles which fail are skipped without being annotated.
+     */
+    @Override
+    public Stream<VariantEvaluation> createVariantEvaluations(Predicate<VariantEvaluation> preAnnotationFilter) {
+        return createVariantEvaluations(List.of(), preAnnotationFilter);
+    }
+
+    /**
+     * Only the records overlapping the {@code regions} are read when the {@link VcfReader} is able to use an index of
+     * the VCF file, otherwise all records are read.
+     */
+    @Override
+    public Stream<VariantEvaluation> createVariantEvaluations(Collection<? extends ChromosomalRegion> regions, Predicate<VariantEvaluation> preAnnotationFilter) {
+        Objects.requireNonNull(regions);
+        Objects.requireNonNull(preAnnotationFilter);
         logger.info("Annotating variant records, trimming sequences and normalising positions...");
         VariantCounter counter = new VariantCounter();
-        return vcfReader.readVariantContexts()
+        Stream<VariantContext> variantContexts = regions.isEmpty() ? vcfReader.readVariantContexts() : vcfReader.readVariantContexts(regions);
+        return variantContexts
                 .peek(counter.countVariantContext())
-                .flatMap(toVariantEvaluations())
+                .flatMap(toVariantEvaluations(preAnnotationFilter, counter))
                 .peek(counter.countAnnotatedVariant())
                 .onClose(counter::logCount);
     }
@@ -95,13 +123,13 @@ public Stream<VariantEvaluation> createVariantEvaluations() {
      * This means that a multi allele Variant record in a VCF can result in several VariantEvaluations - one for each
      * alternate allele.
      */
-    private Function<VariantContext, Stream<VariantEvaluation>> toVariantEvaluations() {
+    private Function<VariantContext, Stream<VariantEvaluation>> toVariantEvaluations(Predicate<VariantEvaluation> preAnnotationFilter, VariantCounter counter) {
         return variantContext -> variantContext.getAlternateAlleles().stream()
-                .map(buildAlleleVariantEvaluations(variantContext))
+                .map(buildAlleleVariantEvaluations(variantContext, preAnnotationFilter, counter))
                 .flatMap(Collection::stream);
     }
 
-    private Function<Allele, List<VariantEvaluation>> buildAlleleVariantEvaluations(VariantContext variantContext) {
+    private Function<Allele, List<VariantEvaluation>> buildAlleleVariantEvaluations(VariantContext variantContext, Predicate<VariantEvaluation> preAnnotationFilter, VariantCounter counter) {
         return altAllele -> {
             // Itererating by alleleId here this is less clean, but faster
             // alternate Alleles are always after the reference allele, which is 0
@@ -109,7 +137,7 @@ private Function<Allele, List<VariantEvaluation>> buildAlleleVariantEvaluations(
             GenotypesContext genotypes = variantContext.getGenotypes();
             // n.b. samples with no genotypes (e.g. ./. or .) will return no variants
             if (alleleIsObservedInGenotypes(altAllele, genotypes) || hasCopyNumber(altAllele, genotypes)) {
-                return buildVariantEvaluations(variantContext, altAlleleId, altAllele);
+                return buildVariantEvaluations(variantContext, altAlleleId, altAllele, preAnnotationFilter, counter);
             }
             logger.debug("Skipping allele {} - has no genotype or copy-number", altAllele);
             return List.of();
@@ -146,7 +174,7 @@ private boolean hasCopyNumber(Allele allele, GenotypesContext genotypesContext)
      * Creates a VariantEvaluation made from all the relevant bits of the
      * VariantContext and VariantAnnotations for a given alternative allele.
      */
-    private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantContext, int altAlleleId, Allele altAllele) {
+    private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantContext, int altAlleleId, Allele altAllele, Predicate<VariantEvaluation> preAnnotationFilter, VariantCounter counter) {
         // It is possible for a variant to overlap two or more genes (see issue https://github.com/exomiser/Exomiser/issues/294)
         // so we're expecting a single gene per variant annotation which might have different variant consequences and different
         // phenotypes for each gene
@@ -166,7 +194,20 @@ private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantCo
             return List.of();
         }
         VariantEvaluation.Builder variantBuilder = createVariantBuilder(variantContext, altAlleleId, variant);
+        if (preAnnotationFilter != ACCEPT_ALL && !preAnnotationFilter.test(variantBuilder.build())) {
+            logger.trace("Skipping annotation of {} - failed pre-annotation filter", variant);
+            counter.countSkippedAllele();
+            return List.of();
+        }
+        VariantAnnotationEvent annotationEvent = new VariantAnnotationEvent();
+        annotationEvent.begin();
         List<VariantAnnotation> variantAnnotations = variantAnnotator.annotate(variant);
+        annotationEvent.end();
+        if (annotationEvent.shouldCommit()) {
+            annotationEvent.setVariant(variant.contigName() + '-' + variant.start() + '-' + variant.ref() + '-' + variant.alt());
+            annotationEvent.setAnnotations(variantAnnotations.size());
+            annotationEvent.commit();
+        }
         // now we have a list of variant annotations - one per gene including affected transcripts and regulatory regions
         List<VariantEvaluation> variantEvaluations = new ArrayList<>(variantAnnotations.size());
         for (VariantAnnotation variantAnnotation : variantAnnotations) {
@@ -207,12 +248,17 @@ private static class VariantCounter {
         final AtomicInteger structuralVariants = new AtomicInteger(0);
         final AtomicInteger unannotatedVariants = new AtomicInteger(0);
         final AtomicInteger annotatedVariants = new AtomicInteger(0);
+        final AtomicInteger skippedAlleles = new AtomicInteger(0);
         final Instant start = Instant.now();
 
         Consumer<VariantContext> countVariantContext() {
             return variantContext -> variantRecords.incrementAndGet();
         }
 
+        void countSkippedAllele() {
+            skippedAlleles.incrementAndGet();
+        }
+
         Consumer<VariantEvaluation> countAnnotatedVariant() {
             return variantEvaluation -> {
                 // This does add a few seconds overhead over 4 mill variants
@@ -235,6 +281,9 @@ void logCount() {
                 logger.info("Processed {} variant records into {} single allele variants (including {} structural variants)",
                         variantRecords.get(), annotatedVariants.get(), structuralVariants.get());
             }
+            if (skippedAlleles.get() > 0) {
+                logger.info("Skipped annotation of {} alleles which failed the pre-annotation filters", skippedAlleles.get());
+            }
             Duration duration = Duration.between(start, Instant.now());
             int hoursPart = duration.toHoursPart();
             if (hoursPart > 0) {
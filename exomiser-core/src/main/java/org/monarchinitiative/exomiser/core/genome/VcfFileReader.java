@@ -21,10 +21,12 @@
 package org.monarchinitiative.exomiser.core.genome;
 
 import htsjdk.variant.variantcontext.VariantContext;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -37,9 +39,21 @@ public class VcfFileReader implements VcfReader {
     private static final Logger logger = LoggerFactory.getLogger(VcfFileReader.class);
 
     private final Path vcfPath;
+    private final int decompressionThreads;
 
     public VcfFileReader(Path vcfPath) {
+        this(vcfPath, 0);
+    }
+
+    /**
+     * @param vcfPath              path of the VCF file
+     * @param decompressionThreads number of threads with which to decompress a bgzipped VCF file. Values less than 2
+     *                             use the standard htsjdk reader.
+     * @since 13.3.0
+     */
+    public VcfFileReader(Path vcfPath, int decompressionThreads) {
         this.vcfPath = Objects.requireNonNull(vcfPath, "Cannot read from null vcfPath");
+        this.decompressionThreads = decompressionThreads;
     }
 
     @Override
@@ -49,6 +63,18 @@ public List<String> readSampleIdentifiers() {
 
     @Override
     public Stream<VariantContext> readVariantContexts() {
-        return VcfFiles.readVariantContexts(vcfPath);
+        return VcfFiles.readVariantContexts(vcfPath, decompressionThreads);
+    }
+
+    /**
+     * Uses the tabix index of a bgzipped VCF file to only read the blocks containing records overlapping the regions.
+     * Files without an index are read in full.
+     */
+    @Override
+    public Stream<VariantContext> readVariantContexts(Collection<? extends ChromosomalRegion> regions) {
+        if (regions.isEmpty() || !VcfFiles.isQueryable(vcfPath)) {
+            return readVariantContexts();
+        }
+        return VcfFiles.readVariantContexts(vcfPath, regions);
     }
 }
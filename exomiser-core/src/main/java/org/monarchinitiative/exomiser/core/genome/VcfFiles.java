@@ -20,17 +20,30 @@
 
 package org.monarchinitiative.exomiser.core.genome;
 
+import htsjdk.samtools.util.IOUtil;
+import htsjdk.tribble.readers.AsciiLineReader;
+import htsjdk.tribble.readers.AsciiLineReaderIterator;
+import htsjdk.samtools.util.CloseableIterator;
+import htsjdk.tribble.readers.PositionalBufferedStream;
 import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.vcf.VCFCodec;
+import htsjdk.variant.vcf.VCFContigHeaderLine;
 import htsjdk.variant.vcf.VCFFileReader;
 import htsjdk.variant.vcf.VCFHeader;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
+import org.monarchinitiative.exomiser.core.model.GeneticInterval;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for providing access to VCF files.
@@ -59,6 +72,199 @@ public static Stream<VariantContext> readVariantContexts(Path vcfPath) {
         }
     }
 
+    /**
+     * Creates a {@code Stream} of {@code VariantContext} from the indicated VCF file. If the file is bgzipped and more
+     * than one decompression thread is requested, the file will be decompressed in parallel using a
+     * {@link ParallelBgzfInputStream}, otherwise this is the same as {@link #readVariantContexts(Path)}. The returned
+     * stream should be closed after use in order to release the decompression threads.
+     *
+     * @param vcfPath              path of the VCF file
+     * @param decompressionThreads number of threads with which to decompress the file
+     * @return a {@code Stream} of {@code VariantContext}
+     * @since 13.3.0
+     */
+    public static Stream<VariantContext> readVariantContexts(Path vcfPath, int decompressionThreads) {
+        Objects.requireNonNull(vcfPath, "Cannot read from null vcfPath");
+        if (decompressionThreads < 2 || !isBlockCompressed(vcfPath)) {
+            return readVariantContexts(vcfPath);
+        }
+        logger.debug("Reading variants from VCF file {} using {} decompression threads", vcfPath, decompressionThreads);
+        try {
+            BufferedInputStream compressedInputStream = new BufferedInputStream(Files.newInputStream(vcfPath), 1 << 17);
+            AsciiLineReaderIterator lineIterator = new AsciiLineReaderIterator(AsciiLineReader.from(new PositionalBufferedStream(new ParallelBgzfInputStream(compressedInputStream, decompressionThreads))));
+            VCFCodec vcfCodec = new VCFCodec();
+            vcfCodec.readActualHeader(lineIterator);
+            Iterator<VariantContext> variantContextIterator = new VariantContextIterator(vcfCodec, lineIterator);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(variantContextIterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> closeQuietly(lineIterator, vcfPath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read VCF file " + vcfPath, e);
+        }
+    }
+
+    /**
+     * @param vcfPath path of the VCF file
+     * @return true if the VCF file has an index which can be used to read only the records in a region
+     * @since 13.3.0
+     */
+    public static boolean isQueryable(Path vcfPath) {
+        Objects.requireNonNull(vcfPath, "Cannot read from null vcfPath");
+        try (VCFFileReader vcfReader = new VCFFileReader(vcfPath, false)) {
+            return vcfReader.isQueryable();
+        } catch (Exception e) {
+            logger.debug("Unable to check for an index of {}", vcfPath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Creates a {@code Stream} of the {@code VariantContext} overlapping the given regions from an indexed VCF file, so
+     * that only the parts of the file containing these are read. Overlapping regions are merged and each record is
+     * returned once, in the order of the regions sorted by contig and position. Where the VCF header has no contig lines
+     * the contigs are queried using both the plain and 'chr'-prefixed names. The returned stream should be closed after
+     * use in order to close the file.
+     *
+     * @param vcfPath path of the VCF file, which must have a tabix or tribble index
+     * @param regions regions of interest
+     * @return a {@code Stream} of the {@code VariantContext} overlapping the regions
+     * @throws htsjdk.tribble.TribbleException if the file has no index
+     * @since 13.3.0
+     */
+    public static Stream<VariantContext> readVariantContexts(Path vcfPath, Collection<? extends ChromosomalRegion> regions) {
+        Objects.requireNonNull(vcfPath, "Cannot read from null vcfPath");
+        Objects.requireNonNull(regions);
+        VCFFileReader vcfReader = new VCFFileReader(vcfPath, true);
+        Map<Integer, List<String>> contigNames = readContigNames(vcfReader.getFileHeader());
+        List<ChromosomalRegion> mergedRegions = mergeRegions(regions);
+        logger.debug("Reading variants in {} regions from VCF file {}", mergedRegions.size(), vcfPath);
+        List<Stream<VariantContext>> regionStreams = new ArrayList<>(mergedRegions.size());
+        ChromosomalRegion previous = null;
+        for (ChromosomalRegion region : mergedRegions) {
+            // records spanning the gap between two regions on the same contig will have been read with the first
+            int readUpTo = previous != null && previous.contigId() == region.contigId() ? previous.end() : 0;
+            for (String contigName : contigNames.getOrDefault(region.contigId(), defaultContigNames(region.contigId()))) {
+                regionStreams.add(queryRegion(vcfReader, contigName, region, readUpTo));
+            }
+            previous = region;
+        }
+        return regionStreams.stream()
+                .flatMap(regionStream -> regionStream)
+                .onClose(vcfReader::close);
+    }
+
+    // lazily queries the region so that only one iterator is open at a time
+    private static Stream<VariantContext> queryRegion(VCFFileReader vcfReader, String contigName, ChromosomalRegion region, int readUpTo) {
+        return Stream.of(region)
+                .flatMap(queryRegion -> {
+                    CloseableIterator<VariantContext> iterator = vcfReader.query(contigName, queryRegion.start(), queryRegion.end());
+                    return iterator.stream().onClose(iterator::close);
+                })
+                .filter(variantContext -> variantContext.getStart() > readUpTo);
+    }
+
+    private static List<ChromosomalRegion> mergeRegions(Collection<? extends ChromosomalRegion> regions) {
+        List<ChromosomalRegion> sortedRegions = new ArrayList<>(regions);
+        sortedRegions.sort(ChromosomalRegion::compare);
+        List<ChromosomalRegion> mergedRegions = new ArrayList<>();
+        ChromosomalRegion current = null;
+        for (ChromosomalRegion region : sortedRegions) {
+            if (region.contigId() == 0) {
+                // unplaced contigs can't be queried by name
+                continue;
+            }
+            if (current != null && current.contigId() == region.contigId() && region.start() <= current.end() + 1) {
+                current = new GeneticInterval(current.contigId(), current.start(), Math.max(current.end(), region.end()));
+            } else {
+                if (current != null) {
+                    mergedRegions.add(current);
+                }
+                current = new GeneticInterval(region.contigId(), Math.max(1, region.start()), region.end());
+            }
+        }
+        if (current != null) {
+            mergedRegions.add(current);
+        }
+        return mergedRegions;
+    }
+
+    private static Map<Integer, List<String>> readContigNames(VCFHeader vcfHeader) {
+        Map<Integer, List<String>> contigNames = new HashMap<>();
+        for (VCFContigHeaderLine contigHeaderLine : vcfHeader.getContigLines()) {
+            int contigId = Contigs.parseId(contigHeaderLine.getID());
+            if (contigId != 0) {
+                contigNames.computeIfAbsent(contigId, id -> new ArrayList<>()).add(contigHeaderLine.getID());
+            }
+        }
+        return contigNames;
+    }
+
+    // querying a contig missing from the index returns nothing, so it's safe to try both
+    private static List<String> defaultContigNames(int contigId) {
+        if (contigId == 25) {
+            return List.of("MT", "chrM");
+        }
+        String contigName = Contigs.toString(contigId);
+        return List.of(contigName, "chr" + contigName);
+    }
+
+    private static boolean isBlockCompressed(Path vcfPath) {
+        try {
+            return IOUtil.isBlockCompressed(vcfPath);
+        } catch (IOException e) {
+            logger.debug("Unable to check compression of {}", vcfPath, e);
+            return false;
+        }
+    }
+
+    private static void closeQuietly(AsciiLineReaderIterator lineIterator, Path vcfPath) {
+        try {
+            lineIterator.close();
+        } catch (IOException e) {
+            logger.warn("Unable to close VCF file {}", vcfPath, e);
+        }
+    }
+
+    /**
+     * Decodes the variant lines following the header in the same way as the htsjdk {@link VCFFileReader} iterator.
+     */
+    private static class VariantContextIterator implements Iterator<VariantContext> {
+
+        private final VCFCodec vcfCodec;
+        private final AsciiLineReaderIterator lineIterator;
+        private VariantContext next;
+
+        private VariantContextIterator(VCFCodec vcfCodec, AsciiLineReaderIterator lineIterator) {
+            this.vcfCodec = vcfCodec;
+            this.lineIterator = lineIterator;
+            this.next = advance();
+        }
+
+        private VariantContext advance() {
+            while (lineIterator.hasNext()) {
+                VariantContext variantContext = vcfCodec.decode(lineIterator.next());
+                if (variantContext != null) {
+                    return variantContext;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public VariantContext next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            VariantContext current = next;
+            next = advance();
+            return current;
+        }
+    }
+
     /**
      * Reads the header of the provided VCF file and returns a {@code VCFHeader}.
      *
@@ -21,7 +21,9 @@
 package org.monarchinitiative.exomiser.core.genome;
 
 import htsjdk.variant.variantcontext.VariantContext;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegion;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -30,4 +32,17 @@ public interface VcfReader {
     List<String> readSampleIdentifiers();
 
     Stream<VariantContext> readVariantContexts();
+
+    /**
+     * Reads the records overlapping the given regions. Implementations able to use an index of the VCF file will only
+     * read the parts of the file containing these records, otherwise this can return all the records in the file, as
+     * the default implementation does. Callers are therefore still expected to filter the records by region.
+     *
+     * @param regions the regions of interest. If empty, all the records are returned.
+     * @return a {@code Stream} of the records overlapping the regions, possibly along with other records
+     * @since 13.3.0
+     */
+    default Stream<VariantContext> readVariantContexts(Collection<? extends ChromosomalRegion> regions) {
+        return readVariantContexts();
+    }
 }
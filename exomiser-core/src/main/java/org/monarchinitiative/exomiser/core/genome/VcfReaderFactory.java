@@ -0,0 +1,68 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+
+/**
+ * Creates the {@link VcfReader} for a sample. By default bgzipped VCF files are read using htsjdk on a single thread,
+ * specifying more than one decompression thread will have the compressed blocks inflated in parallel by a
+ * {@link ParallelBgzfInputStream}, which can help with genome-sized VCF files once the rest of the analysis is no
+ * longer the bottleneck.
+ *
+ * @since 13.3.0
+ */
+public class VcfReaderFactory {
+
+    private final int decompressionThreads;
+
+    public VcfReaderFactory() {
+        this(0);
+    }
+
+    /**
+     * @param decompressionThreads the number of threads with which to decompress a bgzipped VCF file. Values less than
+     *                             2 will use the standard htsjdk reader.
+     */
+    public VcfReaderFactory(int decompressionThreads) {
+        this.decompressionThreads = Math.max(0, decompressionThreads);
+    }
+
+    public int getDecompressionThreads() {
+        return decompressionThreads;
+    }
+
+    /**
+     * @param vcfPath the path of the VCF file, which may be null
+     * @return a {@link VcfReader} for the path or a {@link NoOpVcfReader} if the path is null
+     */
+    public VcfReader createVcfReader(@Nullable Path vcfPath) {
+        return vcfPath == null ? new NoOpVcfReader() : new VcfFileReader(vcfPath, decompressionThreads);
+    }
+
+    @Override
+    public String toString() {
+        return "VcfReaderFactory{" +
+                "decompressionThreads=" + decompressionThreads +
+                '}';
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.PrimitiveSink;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bloom filter over all the {@link AlleleKey} in an allele store. A negative result from {@link #mightContain(AlleleKey)}
+ * means the key is definitely not in the store, so the store does not need to be queried. At a 1% false-positive rate
+ * the filter takes about 1.2 bytes per allele.
+ * <p>
+ * Alleles which can be packed by the {@link AlleleKeyPacker} are hashed by their packed {@code long} key, whichever map
+ * of the store they came from, so they can be looked up from a {@link org.monarchinitiative.exomiser.core.model.Variant}
+ * without building an {@link AlleleKey}. Only the remaining alleles are hashed by their {@link AlleleKey} fields.
+ *
+ * @since 13.3.0
+ */
+public class AlleleKeyBloomFilter {
+
+    // written ahead of the filter as filters hashed with a different funnel would silently report false negatives
+    private static final int FORMAT_VERSION = 2;
+
+    private final BloomFilter<Object> bloomFilter;
+
+    private AlleleKeyBloomFilter(BloomFilter<Object> bloomFilter) {
+        this.bloomFilter = bloomFilter;
+    }
+
+    /**
+     * @param expectedAlleles      the number of alleles which will be added to the filter
+     * @param falsePositiveRate    the desired false-positive rate once all the expected alleles have been added
+     */
+    public static AlleleKeyBloomFilter create(long expectedAlleles, double falsePositiveRate) {
+        return new AlleleKeyBloomFilter(BloomFilter.create(AlleleFunnel.INSTANCE, expectedAlleles, falsePositiveRate));
+    }
+
+    public static AlleleKeyBloomFilter readFrom(Path path) {
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int formatVersion = inputStream.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalStateException("Allele key bloom filter " + path + " has format version " + formatVersion + " but version " + FORMAT_VERSION + " is required - rebuild the filter from the variant store");
+            }
+            return new AlleleKeyBloomFilter(BloomFilter.readFrom(inputStream, AlleleFunnel.INSTANCE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read allele key bloom filter " + path, e);
+        }
+    }
+
+    public void writeTo(Path path) {
+        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            outputStream.writeInt(FORMAT_VERSION);
+            bloomFilter.writeTo(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write allele key bloom filter " + path, e);
+        }
+    }
+
+    public void put(AlleleKey alleleKey) {
+        long packedKey = AlleleKeyPacker.pack(alleleKey);
+        if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+            bloomFilter.put(alleleKey);
+        } else {
+            put(packedKey);
+        }
+    }
+
+    /**
+     * @param packedKey an allele key packed by the {@link AlleleKeyPacker}
+     */
+    public void put(long packedKey) {
+        bloomFilter.put(packedKey);
+    }
+
+    /**
+     * @return false if the key is definitely not present, true if it might be present
+     */
+    public boolean mightContain(AlleleKey alleleKey) {
+        long packedKey = AlleleKeyPacker.pack(alleleKey);
+        if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+            return bloomFilter.mightContain(alleleKey);
+        }
+        return mightContain(packedKey);
+    }
+
+    /**
+     * @param packedKey an allele key packed by the {@link AlleleKeyPacker}
+     * @return false if the key is definitely not present, true if it might be present
+     */
+    public boolean mightContain(long packedKey) {
+        return bloomFilter.mightContain(packedKey);
+    }
+
+    public long approximateAlleleCount() {
+        return bloomFilter.approximateElementCount();
+    }
+
+    public double expectedFalsePositiveRate() {
+        return bloomFilter.expectedFpp();
+    }
+
+    /**
+     * Funnels either a packed {@code long} key or an unpackable {@link AlleleKey}.
+     */
+    private enum AlleleFunnel implements Funnel<Object> {
+        INSTANCE;
+
+        @Override
+        public void funnel(Object allele, PrimitiveSink into) {
+            if (allele instanceof Long) {
+                into.putLong((Long) allele);
+                return;
+            }
+            AlleleKey alleleKey = (AlleleKey) allele;
+            String ref = alleleKey.getRef();
+            // the length of the ref is included so that, for example, A>CG and AC>G hash differently
+            into.putInt(alleleKey.getChr())
+                    .putInt(alleleKey.getPosition())
+                    .putInt(ref.length())
+                    .putString(ref, StandardCharsets.UTF_8)
+                    .putString(alleleKey.getAlt(), StandardCharsets.UTF_8);
+        }
+    }
+}
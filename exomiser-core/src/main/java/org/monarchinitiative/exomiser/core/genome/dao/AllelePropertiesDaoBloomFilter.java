@@ -0,0 +1,71 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+
+/**
+ * {@link AllelePropertiesDao} which checks an {@link AlleleKeyBloomFilter} before delegating to the allele store. Alleles
+ * which are definitely absent from the store, typically the majority of the private and rare variants in a genome, are
+ * returned as empty {@link AlleleProto.AlleleProperties} without a store lookup. This should wrap the cached DAO so that
+ * these misses are not added to the cache either.
+ *
+ * @since 13.3.0
+ */
+public class AllelePropertiesDaoBloomFilter implements AllelePropertiesDao {
+
+    private final AlleleKeyBloomFilter alleleKeyBloomFilter;
+    private final AllelePropertiesDao allelePropertiesDao;
+
+    public AllelePropertiesDaoBloomFilter(AlleleKeyBloomFilter alleleKeyBloomFilter, AllelePropertiesDao allelePropertiesDao) {
+        this.alleleKeyBloomFilter = alleleKeyBloomFilter;
+        this.allelePropertiesDao = allelePropertiesDao;
+    }
+
+    @Override
+    public AlleleProto.AlleleProperties getAlleleProperties(AlleleProto.AlleleKey alleleKey, GenomeAssembly genomeAssembly) {
+        if (alleleKeyBloomFilter.mightContain(alleleKey)) {
+            return allelePropertiesDao.getAlleleProperties(alleleKey, genomeAssembly);
+        }
+        return AlleleProto.AlleleProperties.getDefaultInstance();
+    }
+
+    @Override
+    public AlleleProto.AlleleProperties getAlleleProperties(Variant variant) {
+        if (mightContain(variant)) {
+            return allelePropertiesDao.getAlleleProperties(variant);
+        }
+        return AlleleProto.AlleleProperties.getDefaultInstance();
+    }
+
+    private boolean mightContain(Variant variant) {
+        // most variants are SNVs or short indels, which are checked without building an AlleleKey
+        long packedKey = AlleleKeyPacker.pack(variant);
+        if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+            return alleleKeyBloomFilter.mightContain(AlleleProtoAdaptor.toAlleleKey(variant));
+        }
+        return alleleKeyBloomFilter.mightContain(packedKey);
+    }
+}
@@ -20,18 +20,25 @@
 
 package org.monarchinitiative.exomiser.core.genome.dao;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
 import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
 import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 
+import javax.annotation.Nullable;
+
 /**
  * MVStore implementation of the {@link AllelePropertiesDao}
  *
@@ -44,9 +51,25 @@ public class AllelePropertiesDaoMvStore implements AllelePropertiesDao {
     private static final Logger logger = LoggerFactory.getLogger(AllelePropertiesDaoMvStore.class);
 
     private final MVMap<AlleleProto.AlleleKey, AlleleProto.AlleleProperties> map;
+    // only present in stores built with packed keys, in which case the packable alleles are only found in this map
+    @Nullable
+    private final MVMap<Long, AlleleProto.AlleleProperties> longKeyMap;
+    private Timer getAllelePropertiesTimer = ExomiserMetrics.noopDaoTimer(AllelePropertiesDaoMvStore.class, "getAlleleProperties");
 
     public AllelePropertiesDaoMvStore(MVStore mvStore) {
+        MvStoreUtil.checkAlleleFormatVersion(mvStore);
         map = MvStoreUtil.openAlleleMVMap(mvStore);
+        longKeyMap = MvStoreUtil.hasLongKeyAlleleMap(mvStore) ? MvStoreUtil.openLongKeyAlleleMVMap(mvStore) : null;
+    }
+
+    /**
+     * Sets the {@link MeterRegistry} with which the data access calls are timed. Without one they are not recorded.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        getAllelePropertiesTimer = ExomiserMetrics.daoTimer(meterRegistry, AllelePropertiesDaoMvStore.class, "getAlleleProperties");
     }
 
     @Caching(cacheable = {
@@ -55,7 +78,8 @@ public AllelePropertiesDaoMvStore(MVStore mvStore) {
     })
     @Override
     public AlleleProto.AlleleProperties getAlleleProperties(AlleleProto.AlleleKey alleleKey, GenomeAssembly genomeAssembly) {
-        AlleleProto.AlleleProperties alleleProperties = map.getOrDefault(alleleKey, AlleleProto.AlleleProperties.getDefaultInstance());
+        long packedKey = longKeyMap == null ? AlleleKeyPacker.NOT_PACKABLE : AlleleKeyPacker.pack(alleleKey);
+        AlleleProto.AlleleProperties alleleProperties = getAllelePropertiesTimer.record(() -> lookup(packedKey, alleleKey));
         logger.debug("{} {}", alleleKey, alleleProperties);
         return alleleProperties;
     }
@@ -66,8 +90,24 @@ public AlleleProto.AlleleProperties getAlleleProperties(AlleleProto.AlleleKey al
     })
     @Override
     public AlleleProto.AlleleProperties getAlleleProperties(Variant variant) {
+        if (longKeyMap != null) {
+            // avoid creating the AlleleKey for the common case of SNVs and short indels
+            long packedKey = AlleleKeyPacker.pack(variant);
+            if (packedKey != AlleleKeyPacker.NOT_PACKABLE) {
+                AlleleProto.AlleleProperties alleleProperties = getAllelePropertiesTimer.record(() -> lookup(packedKey, null));
+                logger.debug("{} {}", variant, alleleProperties);
+                return alleleProperties;
+            }
+        }
         AlleleProto.AlleleKey alleleKey = AlleleProtoAdaptor.toAlleleKey(variant);
         return getAlleleProperties(alleleKey, variant.getGenomeAssembly());
     }
 
+    private AlleleProto.AlleleProperties lookup(long packedKey, AlleleProto.AlleleKey alleleKey) {
+        if (packedKey != AlleleKeyPacker.NOT_PACKABLE) {
+            return longKeyMap.getOrDefault(packedKey, AlleleProto.AlleleProperties.getDefaultInstance());
+        }
+        return map.getOrDefault(alleleKey, AlleleProto.AlleleProperties.getDefaultInstance());
+    }
+
 }
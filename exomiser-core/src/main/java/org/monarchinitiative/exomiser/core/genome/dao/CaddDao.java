@@ -26,12 +26,16 @@
 package org.monarchinitiative.exomiser.core.genome.dao;
 
 import htsjdk.tribble.readers.TabixReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.CaddScore;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 import org.monarchinitiative.svart.VariantType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 
@@ -47,12 +51,23 @@ public class CaddDao implements PathogenicityDao {
 
     private final TabixDataSource caddInDelTabixDataSource;
     private final TabixDataSource caddSnvTabixDataSource;
+    private Timer getPathogenicityDataTimer = ExomiserMetrics.noopDaoTimer(CaddDao.class, "getPathogenicityData");
 
     public CaddDao(TabixDataSource caddInDelTabixDataSource, TabixDataSource caddSnvTabixDataSource) {
         this.caddInDelTabixDataSource = caddInDelTabixDataSource;
         this.caddSnvTabixDataSource = caddSnvTabixDataSource;
     }
 
+    /**
+     * Sets the {@link MeterRegistry} with which the data access calls are timed. Without one they are not recorded.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        getPathogenicityDataTimer = ExomiserMetrics.daoTimer(meterRegistry, CaddDao.class, "getPathogenicityData");
+    }
+
     @Caching(cacheable = {
             @Cacheable(cacheNames = "hg19.cadd", keyGenerator = "variantKeyGenerator", condition = "#variant.genomeAssembly == T(org.monarchinitiative.exomiser.core.genome.GenomeAssembly).HG19"),
             @Cacheable(cacheNames = "hg38.cadd", keyGenerator = "variantKeyGenerator", condition = "#variant.genomeAssembly == T(org.monarchinitiative.exomiser.core.genome.GenomeAssembly).HG38"),
@@ -60,7 +75,7 @@ public CaddDao(TabixDataSource caddInDelTabixDataSource, TabixDataSource caddSnv
     @Override
     public PathogenicityData getPathogenicityData(Variant variant) {
         logger.debug("Getting CADD data for {}", variant);
-        return processResults(variant);
+        return getPathogenicityDataTimer.record(() -> processResults(variant));
     }
 
     private PathogenicityData processResults(Variant variant) {
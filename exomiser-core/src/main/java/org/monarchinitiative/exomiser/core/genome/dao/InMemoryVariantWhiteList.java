@@ -20,24 +20,31 @@
 
 package org.monarchinitiative.exomiser.core.genome.dao;
 
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
 import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 /**
- * An in-memory implementation of the {@link VariantWhiteList}
+ * An in-memory implementation of the {@link VariantWhiteList}. The SNVs and short indels, which make up nearly all of
+ * the whitelist, are held as a sorted array of the {@code long} keys created by the {@link AlleleKeyPacker} so checking
+ * a variant is an allocation-free binary search. As the packed keys are a lossless encoding of the allele no further
+ * verification of a match is required. The few alleles too long to be packed are held as {@link AlleleProto.AlleleKey}.
+ *
  * @since 12.0.0
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
  */
 public class InMemoryVariantWhiteList implements VariantWhiteList {
 
-    private static final VariantWhiteList EMPTY = new EmptyVariantWhiteList();
-
-    private final Set<AlleleProto.AlleleKey> whiteList;
+    private static final InMemoryVariantWhiteList EMPTY = new InMemoryVariantWhiteList(new long[0], Set.of());
 
+    private final long[] packedKeys;
+    private final Set<AlleleProto.AlleleKey> unpackableKeys;
 
     public static VariantWhiteList empty() {
         return EMPTY;
@@ -49,23 +56,45 @@ public static VariantWhiteList of(Set<AlleleProto.AlleleKey> whiteList) {
         if (whiteList.isEmpty()) {
             return EMPTY;
         }
-        return new InMemoryVariantWhiteList(whiteList);
+        Builder builder = builder();
+        whiteList.forEach(builder::add);
+        return builder.build();
     }
 
-    private InMemoryVariantWhiteList(Set<AlleleProto.AlleleKey> whiteList) {
-        this.whiteList = Set.copyOf(whiteList);
+    /**
+     * @since 13.3.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private InMemoryVariantWhiteList(long[] packedKeys, Set<AlleleProto.AlleleKey> unpackableKeys) {
+        this.packedKeys = packedKeys;
+        this.unpackableKeys = Set.copyOf(unpackableKeys);
     }
 
     @Override
     public boolean contains(Variant variant) {
-        AlleleProto.AlleleKey alleleKey = AlleleProtoAdaptor.toAlleleKey(variant);
-        return whiteList.contains(alleleKey);
+        long packedKey = AlleleKeyPacker.pack(variant);
+        if (packedKey != AlleleKeyPacker.NOT_PACKABLE) {
+            return Arrays.binarySearch(packedKeys, packedKey) >= 0;
+        }
+        return !unpackableKeys.isEmpty() && unpackableKeys.contains(AlleleProtoAdaptor.toAlleleKey(variant));
+    }
+
+    /**
+     * @return the number of distinct alleles in the whitelist
+     * @since 13.3.0
+     */
+    public int size() {
+        return packedKeys.length + unpackableKeys.size();
     }
 
     @Override
     public String toString() {
         return "InMemoryVariantWhiteList{" +
-                "whiteList=" + whiteList +
+                "packedKeys=" + packedKeys.length +
+                ", unpackableKeys=" + unpackableKeys +
                 '}';
     }
 
@@ -74,20 +103,80 @@ public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof InMemoryVariantWhiteList)) return false;
         InMemoryVariantWhiteList that = (InMemoryVariantWhiteList) o;
-        return whiteList.equals(that.whiteList);
+        return Arrays.equals(packedKeys, that.packedKeys) && unpackableKeys.equals(that.unpackableKeys);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(whiteList);
+        return 31 * Arrays.hashCode(packedKeys) + unpackableKeys.hashCode();
     }
 
-    private static class EmptyVariantWhiteList implements VariantWhiteList {
+    /**
+     * Collects the whitelisted alleles without creating an {@link AlleleProto.AlleleKey} for those which can be packed.
+     *
+     * @since 13.3.0
+     */
+    public static class Builder {
+
+        private long[] packedKeys = new long[1024];
+        private int packedKeyCount = 0;
+        private final Set<AlleleProto.AlleleKey> unpackableKeys = new HashSet<>();
 
-        @Override
-        public boolean contains(Variant variant) {
-            return false;
+        private Builder() {
         }
-    }
 
+        public Builder add(int chr, int position, String ref, String alt) {
+            long packedKey = AlleleKeyPacker.pack(chr, position, ref, alt);
+            if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+                unpackableKeys.add(AlleleProto.AlleleKey.newBuilder()
+                        .setChr(chr)
+                        .setPosition(position)
+                        .setRef(ref)
+                        .setAlt(alt)
+                        .build());
+            } else {
+                addPackedKey(packedKey);
+            }
+            return this;
+        }
+
+        public Builder add(AlleleProto.AlleleKey alleleKey) {
+            long packedKey = AlleleKeyPacker.pack(alleleKey);
+            if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+                unpackableKeys.add(alleleKey);
+            } else {
+                addPackedKey(packedKey);
+            }
+            return this;
+        }
+
+        private void addPackedKey(long packedKey) {
+            if (packedKeyCount == packedKeys.length) {
+                packedKeys = Arrays.copyOf(packedKeys, packedKeys.length * 2);
+            }
+            packedKeys[packedKeyCount++] = packedKey;
+        }
+
+        public InMemoryVariantWhiteList build() {
+            if (packedKeyCount == 0 && unpackableKeys.isEmpty()) {
+                return EMPTY;
+            }
+            long[] sortedKeys = Arrays.copyOf(packedKeys, packedKeyCount);
+            Arrays.sort(sortedKeys);
+            return new InMemoryVariantWhiteList(distinct(sortedKeys), unpackableKeys);
+        }
+
+        private static long[] distinct(long[] sortedKeys) {
+            if (sortedKeys.length == 0) {
+                return sortedKeys;
+            }
+            int distinct = 1;
+            for (int i = 1; i < sortedKeys.length; i++) {
+                if (sortedKeys[i] != sortedKeys[distinct - 1]) {
+                    sortedKeys[distinct++] = sortedKeys[i];
+                }
+            }
+            return distinct == sortedKeys.length ? sortedKeys : Arrays.copyOf(sortedKeys, distinct);
+        }
+    }
 }
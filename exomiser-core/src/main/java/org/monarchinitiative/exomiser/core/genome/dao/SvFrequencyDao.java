@@ -20,6 +20,9 @@
 
 package org.monarchinitiative.exomiser.core.genome.dao;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.model.SvMetaType;
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
@@ -28,6 +31,7 @@
 import org.monarchinitiative.svart.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 
@@ -51,11 +55,22 @@ public class SvFrequencyDao implements FrequencyDao {
 
     private final DataSource svDataSource;
     private final double minSimilarity = 0.80;
+    private Timer runQueryTimer = ExomiserMetrics.noopDaoTimer(SvFrequencyDao.class, "getFrequencyData");
 
     public SvFrequencyDao(DataSource svDataSource) {
         this.svDataSource = svDataSource;
     }
 
+    /**
+     * Sets the {@link MeterRegistry} with which the data access calls are timed. Without one they are not recorded.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        runQueryTimer = ExomiserMetrics.daoTimer(meterRegistry, SvFrequencyDao.class, "getFrequencyData");
+    }
+
     @Caching(cacheable = {
             @Cacheable(cacheNames = "hg19.sv.freq", keyGenerator = "variantKeyGenerator", condition = "#variant.genomeAssembly == T(org.monarchinitiative.exomiser.core.genome.GenomeAssembly).HG19"),
             @Cacheable(cacheNames = "hg38.sv.freq", keyGenerator = "variantKeyGenerator", condition = "#variant.genomeAssembly == T(org.monarchinitiative.exomiser.core.genome.GenomeAssembly).HG38"),
@@ -63,7 +78,7 @@ public SvFrequencyDao(DataSource svDataSource) {
     @Override
     public FrequencyData getFrequencyData(Variant variant) {
         logger.debug("{}", variant);
-        List<SvResult> results = runQuery(variant);
+        List<SvResult> results = runQueryTimer.record(() -> runQuery(variant));
         results.forEach(svResult -> logger.debug("{}, jaccard={}, jaccardChangeLength={}, score={}", svResult, SvDaoUtil.jaccard(variant, svResult), SvDaoUtil.jaccard(variant.changeLength(), svResult.changeLength()), score(variant).apply(svResult)));
 
         Map<Double, List<SvResult>> resultsByScore = results.stream()
@@ -20,9 +20,7 @@
 
 package org.monarchinitiative.exomiser.core.genome.dao;
 
-import com.google.common.collect.ImmutableSet;
 import org.monarchinitiative.exomiser.core.genome.Contigs;
-import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,8 +48,9 @@ private VariantWhiteListLoader() {
     }
 
     /**
-     * Loads variant whitelist data from the given path into an in-memory instance of a {@link VariantWhiteList}. It is
-     * assumed that the whitelist will only contain a few tens of thousand variants.
+     * Loads variant whitelist data from the given path into an in-memory instance of a {@link VariantWhiteList}. The
+     * alleles are held as packed {@code long} keys where possible, so even a whitelist of several hundred thousand
+     * variants only requires a few megabytes.
      * <p>
      * The whitelist should be a gzipped TSV file containing a single allele on each line where the fields are as follows:
      * #CHR    POS REF ALT
@@ -66,7 +65,7 @@ public static VariantWhiteList loadVariantWhiteList(Path whiteListPath) {
         Objects.requireNonNull(whiteListPath);
         logger.info("Loading variant whitelist from: {}", whiteListPath);
         // this should be a tabix-indexed gzip file
-        ImmutableSet.Builder<AlleleProto.AlleleKey> whiteListBuilder = new ImmutableSet.Builder<>();
+        InMemoryVariantWhiteList.Builder whiteListBuilder = InMemoryVariantWhiteList.builder();
         try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(whiteListPath)), StandardCharsets.UTF_8))) {
             String line;
             while ((line = bufferedReader.readLine()) != null) {
@@ -80,21 +79,15 @@ public static VariantWhiteList loadVariantWhiteList(Path whiteListPath) {
                     continue;
                 }
                 // Exomiser - simple VCF format
-                AlleleProto.AlleleKey alleleKey = AlleleProto.AlleleKey.newBuilder()
-                        .setChr(Contigs.parseId(tokens[0]))
-                        .setPosition(Integer.parseInt(tokens[1]))
-                        .setRef(tokens[2])
-                        .setAlt(tokens[3])
-                        .build();
-                whiteListBuilder.add(alleleKey);
+                whiteListBuilder.add(Contigs.parseId(tokens[0]), Integer.parseInt(tokens[1]), tokens[2], tokens[3]);
             }
         } catch (IOException e) {
             logger.error("AAARRRGH!", e);
             throw new RuntimeException("Unable to load variant whitelist", e);
         }
 
-        ImmutableSet<AlleleProto.AlleleKey> whiteList = whiteListBuilder.build();
+        InMemoryVariantWhiteList whiteList = whiteListBuilder.build();
         logger.info("Loaded {} variants into whitelist", whiteList.size());
-        return InMemoryVariantWhiteList.of(whiteList);
+        return whiteList;
     }
 }
@@ -25,6 +25,7 @@
 import org.h2.mvstore.WriteBuffer;
 import org.h2.mvstore.type.DataType;
 import org.h2.util.Utils;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
 
 import java.nio.ByteBuffer;
@@ -37,7 +38,24 @@
  */
 public class AllelePropertiesDataType implements DataType {
 
-    public static final AllelePropertiesDataType INSTANCE = new AllelePropertiesDataType();
+    public static final AllelePropertiesDataType INSTANCE = new AllelePropertiesDataType(false);
+
+    /**
+     * Writes the {@link AlleleProperties} in the packed format, regardless of the format they were supplied in. Reading
+     * is identical to the {@link #INSTANCE} and returns the properties in the format they were stored in.
+     * <p>
+     * Readers before 13.3.0 drop the packed fields and see empty properties, so this is only used by opt-in packed
+     * builds, which record their format with {@link MvStoreUtil#writeAlleleFormatVersion}.
+     *
+     * @since 13.3.0
+     */
+    public static final AllelePropertiesDataType PACKED = new AllelePropertiesDataType(true);
+
+    private final boolean packOnWrite;
+
+    private AllelePropertiesDataType(boolean packOnWrite) {
+        this.packOnWrite = packOnWrite;
+    }
 
     @Override
     public int compare(Object a, Object b) {
@@ -78,7 +96,7 @@ public void write(WriteBuffer buff, Object[] obj, int len, boolean key) {
 
     @Override
     public void write(WriteBuffer buff, Object obj) {
-        AlleleProperties props = (AlleleProperties) obj;
+        AlleleProperties props = packOnWrite ? AllelePropertiesPacker.pack((AlleleProperties) obj) : (AlleleProperties) obj;
         byte[] data = props.toByteArray();
         buff.putVarInt(data.length).put(data);
     }
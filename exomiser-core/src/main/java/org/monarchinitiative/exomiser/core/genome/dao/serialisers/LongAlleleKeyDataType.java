@@ -0,0 +1,73 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.genome.dao.serialisers;
+
+import org.h2.mvstore.DataUtils;
+import org.h2.mvstore.WriteBuffer;
+import org.h2.mvstore.type.DataType;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Specialised {@link DataType} for the {@code long} allele keys created by the {@link AlleleKeyPacker}. These sort in
+ * the same order as the {@link org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey} they represent.
+ *
+ * @since 13.3.0
+ */
+public class LongAlleleKeyDataType implements DataType {
+
+    public static final LongAlleleKeyDataType INSTANCE = new LongAlleleKeyDataType();
+
+    @Override
+    public int compare(Object a, Object b) {
+        return Long.compare((Long) a, (Long) b);
+    }
+
+    @Override
+    public int getMemory(Object obj) {
+        // boxed Long
+        return 16;
+    }
+
+    @Override
+    public void read(ByteBuffer buff, Object[] obj, int len, boolean key) {
+        for (int i = 0; i < len; i++) {
+            obj[i] = read(buff);
+        }
+    }
+
+    @Override
+    public void write(WriteBuffer buff, Object[] obj, int len, boolean key) {
+        for (int i = 0; i < len; i++) {
+            write(buff, obj[i]);
+        }
+    }
+
+    @Override
+    public Long read(ByteBuffer buff) {
+        return DataUtils.readVarLong(buff);
+    }
+
+    @Override
+    public void write(WriteBuffer buff, Object obj) {
+        buff.putVarLong((Long) obj);
+    }
+}
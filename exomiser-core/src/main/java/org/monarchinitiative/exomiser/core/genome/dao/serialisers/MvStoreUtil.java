@@ -22,6 +22,7 @@
 
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
 import org.slf4j.Logger;
@@ -39,6 +40,9 @@ public class MvStoreUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(MvStoreUtil.class);
     private static final String ALLELE_MAP_NAME = "alleles";
+    private static final String LONG_KEY_ALLELE_MAP_NAME = "alleles_long_key";
+    private static final String FORMAT_MAP_NAME = "format";
+    private static final String ALLELE_FORMAT_VERSION_KEY = "allele_format_version";
 
     private MvStoreUtil() {
         //static utility class - not instantiable
@@ -53,20 +57,127 @@ private MvStoreUtil() {
      * @since 10.1.0
      */
     public static MVMap<AlleleKey, AlleleProperties> openAlleleMVMap(MVStore mvStore) {
+        return openAlleleMVMap(mvStore, alleleMapBuilder());
+    }
+
+    /**
+     * Opens the 'alleles' map from the {@link MVStore} for writing {@link AlleleProperties} in the packed format. Values
+     * are returned in the format they were stored in, so any read-modify-write should use
+     * {@link org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker#unpack(AlleleProperties)} before merging.
+     *
+     * @param mvStore The {@code MVStore} to be used for the 'alleles' {@link MVMap}
+     * @return an instance of the {@link MVMap}. This map may be empty.
+     * @since 13.3.0
+     */
+    public static MVMap<AlleleKey, AlleleProperties> openPackedAlleleMVMap(MVStore mvStore) {
+        return openAlleleMVMap(mvStore, packedAlleleMapBuilder());
+    }
+
+    private static MVMap<AlleleKey, AlleleProperties> openAlleleMVMap(MVStore mvStore, MVMap.Builder<AlleleKey, AlleleProperties> mapBuilder) {
         Objects.requireNonNull(mvStore);
         if (!mvStore.hasMap(ALLELE_MAP_NAME)) {
             logger.warn("MVStore does not contain map '{}' - creating new map instance.", ALLELE_MAP_NAME);
         }
-        MVMap<AlleleKey, AlleleProperties> map = mvStore.openMap(ALLELE_MAP_NAME, MvStoreUtil.alleleMapBuilder());
+        MVMap<AlleleKey, AlleleProperties> map = mvStore.openMap(ALLELE_MAP_NAME, mapBuilder);
         if (!map.isEmpty()) {
             logger.debug("MVMap '{}' opened with {} entries", ALLELE_MAP_NAME, map.size());
         }
         return map;
     }
 
+    /**
+     * @return true if the store was built with the packable alleles held separately in the 'alleles_long_key' map.
+     * @since 13.3.0
+     */
+    public static boolean hasLongKeyAlleleMap(MVStore mvStore) {
+        return mvStore.hasMap(LONG_KEY_ALLELE_MAP_NAME);
+    }
+
+    /**
+     * Opens the 'alleles_long_key' map from the {@link MVStore}, creating it if it does not already exist. This holds
+     * the alleles which can be packed into a {@code long} by the
+     * {@link org.monarchinitiative.exomiser.core.model.AlleleKeyPacker}, with the remainder in the 'alleles' map. The
+     * {@link AlleleProperties} are written in the packed format.
+     *
+     * @param mvStore The {@code MVStore} to be used for the 'alleles_long_key' {@link MVMap}
+     * @return an instance of the {@link MVMap}. This map may be empty.
+     * @since 13.3.0
+     */
+    public static MVMap<Long, AlleleProperties> openLongKeyAlleleMVMap(MVStore mvStore) {
+        Objects.requireNonNull(mvStore);
+        MVMap<Long, AlleleProperties> map = mvStore.openMap(LONG_KEY_ALLELE_MAP_NAME, longKeyAlleleMapBuilder());
+        if (!map.isEmpty()) {
+            logger.debug("MVMap '{}' opened with {} entries", LONG_KEY_ALLELE_MAP_NAME, map.size());
+        }
+        return map;
+    }
+
+    /**
+     * Records the {@link AllelePropertiesPacker} format version the alleles in the {@link MVStore} were written in, so
+     * that readers can reject stores written in a format newer than they understand rather than silently returning
+     * incomplete {@link AlleleProperties}. Only stores built in the opt-in packed format need this.
+     *
+     * @since 13.3.0
+     */
+    public static void writeAlleleFormatVersion(MVStore mvStore, int formatVersion) {
+        Objects.requireNonNull(mvStore);
+        MVMap<String, Integer> formatMap = mvStore.openMap(FORMAT_MAP_NAME);
+        formatMap.put(ALLELE_FORMAT_VERSION_KEY, formatVersion);
+    }
+
+    /**
+     * Returns the {@link AllelePropertiesPacker} format version of the alleles in the {@link MVStore}. Stores with no
+     * recorded version are in the legacy format, unless they contain the 'alleles_long_key' map which is only ever
+     * written in the packed format.
+     *
+     * @since 13.3.0
+     */
+    public static int readAlleleFormatVersion(MVStore mvStore) {
+        Objects.requireNonNull(mvStore);
+        if (mvStore.hasMap(FORMAT_MAP_NAME)) {
+            MVMap<String, Integer> formatMap = mvStore.openMap(FORMAT_MAP_NAME);
+            Integer formatVersion = formatMap.get(ALLELE_FORMAT_VERSION_KEY);
+            if (formatVersion != null) {
+                return formatVersion;
+            }
+        }
+        return hasLongKeyAlleleMap(mvStore) ? AllelePropertiesPacker.PACKED_FORMAT_VERSION : AllelePropertiesPacker.LEGACY_FORMAT_VERSION;
+    }
+
+    /**
+     * Checks the alleles in the {@link MVStore} can be read by this version of Exomiser.
+     *
+     * @throws IllegalStateException if the store was written in a newer format than this version can read.
+     * @since 13.3.0
+     */
+    public static void checkAlleleFormatVersion(MVStore mvStore) {
+        int formatVersion = readAlleleFormatVersion(mvStore);
+        if (formatVersion > AllelePropertiesPacker.PACKED_FORMAT_VERSION) {
+            throw new IllegalStateException("Variant store allele format version " + formatVersion + " is not supported by this version of Exomiser, which reads up to version " + AllelePropertiesPacker.PACKED_FORMAT_VERSION + ". Use a newer version of Exomiser or a variant database built in the legacy format.");
+        }
+    }
+
     public static MVMap.Builder<AlleleKey, AlleleProperties> alleleMapBuilder() {
         return new MVMap.Builder<AlleleKey, AlleleProperties>()
                 .keyType(AlleleKeyDataType.INSTANCE)
                 .valueType(AllelePropertiesDataType.INSTANCE);
     }
+
+    /**
+     * @since 13.3.0
+     */
+    public static MVMap.Builder<AlleleKey, AlleleProperties> packedAlleleMapBuilder() {
+        return new MVMap.Builder<AlleleKey, AlleleProperties>()
+                .keyType(AlleleKeyDataType.INSTANCE)
+                .valueType(AllelePropertiesDataType.PACKED);
+    }
+
+    /**
+     * @since 13.3.0
+     */
+    public static MVMap.Builder<Long, AlleleProperties> longKeyAlleleMapBuilder() {
+        return new MVMap.Builder<Long, AlleleProperties>()
+                .keyType(LongAlleleKeyDataType.INSTANCE)
+                .valueType(AllelePropertiesDataType.PACKED);
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.jannovar;
+
+import com.google.common.collect.ImmutableList;
+import de.charite.compbio.jannovar.data.JannovarData;
+import de.charite.compbio.jannovar.data.ReferenceDictionary;
+import de.charite.compbio.jannovar.reference.TranscriptModel;
+import org.monarchinitiative.exomiser.core.proto.JannovarProto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes {@link JannovarData} in a per-contig format. Unlike the {@link JannovarDataProtoSerialiser} format,
+ * where the whole transcript model is a single gzipped message which must be inflated and parsed on one thread, here
+ * the transcript models for each contig are compressed separately and located using an index at the start of the file:
+ * <pre>
+ *     'J' 'T' 'P' 'C' | index length (int) | ContigIndex | contig chunk 0 | contig chunk 1 | ...
+ * </pre>
+ * This allows the contigs to be read and deserialised in parallel, or for only the contigs of interest to be read at
+ * all e.g. for an analysis restricted to a gene panel or interval.
+ *
+ * @since 13.3.0
+ */
+public class JannovarDataContigSerialiser {
+
+    private static final Logger logger = LoggerFactory.getLogger(JannovarDataContigSerialiser.class);
+
+    private static final byte[] MAGIC_BYTES = {'J', 'T', 'P', 'C'};
+    private static final int HEADER_LENGTH = MAGIC_BYTES.length + Integer.BYTES;
+
+    private JannovarDataContigSerialiser() {
+        //un-instantiable utility class
+    }
+
+    public static void save(Path outFilePath, JannovarData jannovarData) {
+        logger.info("Serialising Jannovar data by contig to {}", outFilePath);
+        // sorting and preserving the order leads to smaller files with identical sizes each run.
+        Map<Integer, List<TranscriptModel>> transcriptModelsByContig = new TreeSet<>(jannovarData.getTmByAccession().values())
+                .stream()
+                .collect(Collectors.groupingBy(transcriptModel -> transcriptModel.getTXRegion().getChr(), TreeMap::new, Collectors.toList()));
+
+        List<Integer> contigIds = new ArrayList<>(transcriptModelsByContig.keySet());
+        List<byte[]> chunks = contigIds.parallelStream()
+                .map(contigId -> compress(transcriptModelsByContig.get(contigId)))
+                .collect(Collectors.toList());
+
+        JannovarProto.ContigIndex.Builder indexBuilder = JannovarProto.ContigIndex.newBuilder()
+                .setReferenceDictionary(JannovarProtoConverter.toProtoReferenceDictionary(jannovarData.getRefDict()));
+        long offset = 0;
+        for (int i = 0; i < contigIds.size(); i++) {
+            int contigId = contigIds.get(i);
+            byte[] chunk = chunks.get(i);
+            indexBuilder.addContigChunks(JannovarProto.ContigChunk.newBuilder()
+                    .setContigId(contigId)
+                    .setOffset(offset)
+                    .setLength(chunk.length)
+                    .setTranscriptCount(transcriptModelsByContig.get(contigId).size()));
+            offset += chunk.length;
+        }
+        JannovarProto.ContigIndex contigIndex = indexBuilder.build();
+
+        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(outFilePath)))) {
+            outputStream.write(MAGIC_BYTES);
+            outputStream.writeInt(contigIndex.getSerializedSize());
+            contigIndex.writeTo(outputStream);
+            for (byte[] chunk : chunks) {
+                outputStream.write(chunk);
+            }
+        } catch (IOException e) {
+            throw new JannovarException("Unable to save file " + outFilePath, e);
+        }
+        logger.info("Written {} contigs", contigIds.size());
+    }
+
+    private static byte[] compress(List<TranscriptModel> transcriptModels) {
+        JannovarProto.JannovarData.Builder chunkBuilder = JannovarProto.JannovarData.newBuilder();
+        transcriptModels.stream()
+                .map(JannovarProtoConverter.toProtoTranscriptModel())
+                .forEach(chunkBuilder::addTranscriptModels);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            chunkBuilder.build().writeTo(gzipOutputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Loads all the contigs from the transcript data file, deserialising each contig in parallel.
+     *
+     * @param jannovarContigPath path to a per-contig format transcript data file
+     * @return the {@link JannovarData} for all contigs
+     * @throws InvalidFileFormatException if the file is not in the per-contig format
+     */
+    public static JannovarData load(Path jannovarContigPath) {
+        return load(jannovarContigPath, contigId -> true);
+    }
+
+    /**
+     * Loads only the transcript models for the named contigs. The {@link ReferenceDictionary} of the returned
+     * {@link JannovarData} will still contain all the contigs. Contig names are resolved using the reference dictionary
+     * so both '1' and 'chr1' will load the same contig. Unrecognised names are ignored.
+     *
+     * @param jannovarContigPath path to a per-contig format transcript data file
+     * @param contigNames        names of the contigs to load
+     * @return the {@link JannovarData} containing only the transcripts for the named contigs
+     * @throws InvalidFileFormatException if the file is not in the per-contig format
+     */
+    public static JannovarData load(Path jannovarContigPath, Collection<String> contigNames) {
+        Map<String, Integer> contigNameToId = JannovarProtoConverter.toReferenceDictionary(readIndex(jannovarContigPath).getReferenceDictionary())
+                .getContigNameToID();
+        Set<Integer> contigIds = contigNames.stream()
+                .map(contigNameToId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return load(jannovarContigPath, contigIds::contains);
+    }
+
+    private static JannovarData load(Path jannovarContigPath, IntPredicate contigFilter) {
+        logger.info("Deserialising Jannovar data from {}", jannovarContigPath);
+        Instant start = Instant.now();
+        try (FileChannel channel = FileChannel.open(jannovarContigPath, StandardOpenOption.READ)) {
+            int indexLength = readIndexLength(channel, jannovarContigPath);
+            JannovarProto.ContigIndex contigIndex = JannovarProto.ContigIndex.parseFrom(readFully(channel, HEADER_LENGTH, indexLength));
+            ReferenceDictionary referenceDictionary = JannovarProtoConverter.toReferenceDictionary(contigIndex.getReferenceDictionary());
+            long dataStart = (long) HEADER_LENGTH + indexLength;
+            // FileChannel positional reads are thread-safe, so each contig can be read, inflated and converted independently
+            ImmutableList<TranscriptModel> transcriptModels = contigIndex.getContigChunksList()
+                    .parallelStream()
+                    .filter(contigChunk -> contigFilter.test(contigChunk.getContigId()))
+                    .flatMap(contigChunk -> readContigChunk(channel, dataStart, contigChunk).getTranscriptModelsList().stream())
+                    .map(JannovarProtoConverter.toTranscriptModel(referenceDictionary))
+                    .collect(ImmutableList.toImmutableList());
+            logger.info("Deserialisation of {} transcripts took {} sec.", transcriptModels.size(), Duration.between(start, Instant.now()).toMillis() / 1000f);
+            return new JannovarData(referenceDictionary, transcriptModels);
+        } catch (IOException | UncheckedIOException e) {
+            throw new JannovarException("Unable to deserialise data from " + jannovarContigPath, e);
+        }
+    }
+
+    /**
+     * Returns the index of the per-contig transcript data file without reading any of the transcript models.
+     *
+     * @param jannovarContigPath path to a per-contig format transcript data file
+     * @return the {@link JannovarProto.ContigIndex} of the file
+     * @throws InvalidFileFormatException if the file is not in the per-contig format
+     */
+    public static JannovarProto.ContigIndex readIndex(Path jannovarContigPath) {
+        try (FileChannel channel = FileChannel.open(jannovarContigPath, StandardOpenOption.READ)) {
+            int indexLength = readIndexLength(channel, jannovarContigPath);
+            return JannovarProto.ContigIndex.parseFrom(readFully(channel, HEADER_LENGTH, indexLength));
+        } catch (IOException e) {
+            throw new JannovarException("Unable to read index from " + jannovarContigPath, e);
+        }
+    }
+
+    private static int readIndexLength(FileChannel channel, Path jannovarContigPath) throws IOException {
+        if (channel.size() < HEADER_LENGTH) {
+            throw new InvalidFileFormatException(jannovarContigPath + " not an Exomiser per-contig format Jannovar transcript database.");
+        }
+        ByteBuffer header = ByteBuffer.wrap(readFully(channel, 0, HEADER_LENGTH));
+        byte[] magicBytes = new byte[MAGIC_BYTES.length];
+        header.get(magicBytes);
+        if (!Arrays.equals(magicBytes, MAGIC_BYTES)) {
+            throw new InvalidFileFormatException(jannovarContigPath + " not an Exomiser per-contig format Jannovar transcript database.");
+        }
+        return header.getInt();
+    }
+
+    private static JannovarProto.JannovarData readContigChunk(FileChannel channel, long dataStart, JannovarProto.ContigChunk contigChunk) {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(readFully(channel, dataStart + contigChunk.getOffset(), contigChunk.getLength())))) {
+            return JannovarProto.JannovarData.parseFrom(gzipInputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read contig " + contigChunk.getContigId(), e);
+        }
+    }
+
+    private static byte[] readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file reading " + length + " bytes from position " + position);
+            }
+        }
+        return buffer.array();
+    }
+}
@@ -76,6 +76,22 @@ public void buildAndWrite(GenomeAssembly assembly, TranscriptSource source, Path
         JannovarDataProtoSerialiser.save(outPath, data);
     }
 
+    /**
+     * Downloads, builds and writes a serialised {@link JannovarData} file to the specified output path. The serialised
+     * format written by this method is the Exomiser per-contig protobuf format, which can be deserialised in parallel
+     * or for selected contigs only.
+     *
+     * @param assembly the desired {@link GenomeAssembly}
+     * @param source   the desired {@link TranscriptSource}
+     * @param outPath  the output file to which the {@link JannovarData} should be written
+     * @since 13.3.0
+     */
+    public void buildAndWriteByContig(GenomeAssembly assembly, TranscriptSource source, Path outPath) {
+        Objects.requireNonNull(outPath);
+        JannovarData data = buildData(assembly, source);
+        JannovarDataContigSerialiser.save(outPath, data);
+    }
+
     /**
      * Downloads, builds and writes a serialised {@link JannovarData} file to the specified output path. The serialised
      * format written by this method is the Jannovar native format.
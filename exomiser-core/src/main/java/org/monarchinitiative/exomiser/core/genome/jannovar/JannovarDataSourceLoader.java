@@ -29,9 +29,10 @@
 import java.nio.file.Path;
 
 /**
- * Utility for loading JannovarData from disk. There are two formats for this - the original which uses standard Java
- * serialisation and an Exomiser-specific Protobuf version. The Protobuf version loads about twice as fast as the
- * standard Java serialised version, although is much less compressed.
+ * Utility for loading JannovarData from disk. There are three formats for this - the original which uses standard Java
+ * serialisation, an Exomiser-specific Protobuf version and the Exomiser per-contig Protobuf version. The Protobuf
+ * version loads about twice as fast as the standard Java serialised version, although is much less compressed. The
+ * per-contig version is deserialised in parallel so is faster again on multicore machines.
  *
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
  */
@@ -44,7 +45,13 @@ private JannovarDataSourceLoader() {
     }
 
     public static JannovarData loadJannovarData(Path transcriptFilePath){
-        //first try loading the file using the new protobuf-based format (larger file-size, but faster load-time)
+        // the per-contig format is checked first as files in the other formats are rejected by the magic bytes check
+        try {
+            return JannovarDataContigSerialiser.load(transcriptFilePath);
+        } catch (InvalidFileFormatException e) {
+            logger.debug("Not a per-contig format Jannovar data file - {}", e.getMessage());
+        }
+        //then try loading the file using the protobuf-based format (larger file-size, but faster load-time)
         try {
             return JannovarDataProtoSerialiser.load(transcriptFilePath);
         } catch (Exception e) {
@@ -70,7 +70,7 @@ public static JannovarProto.JannovarData toJannovarProto(JannovarData jannovarDa
                 .build();
     }
 
-    private static JannovarProto.ReferenceDictionary toProtoReferenceDictionary(ReferenceDictionary referenceDictionary) {
+    static JannovarProto.ReferenceDictionary toProtoReferenceDictionary(ReferenceDictionary referenceDictionary) {
         return JannovarProto.ReferenceDictionary.newBuilder()
                 .putAllContigNameToId(referenceDictionary.getContigNameToID())
                 .putAllContigIdToLength(referenceDictionary.getContigIDToLength())
@@ -78,7 +78,7 @@ private static JannovarProto.ReferenceDictionary toProtoReferenceDictionary(Refe
                 .build();
     }
 
-    private static Function<TranscriptModel, JannovarProto.TranscriptModel> toProtoTranscriptModel() {
+    static Function<TranscriptModel, JannovarProto.TranscriptModel> toProtoTranscriptModel() {
         return transcriptModel -> JannovarProto.TranscriptModel.newBuilder()
                 .setAccession(trimDuplicatedEnsemblVersion(transcriptModel.getAccession()))
                 .setGeneSymbol(transcriptModel.getGeneSymbol())
@@ -162,7 +162,7 @@ public static JannovarData toJannovarData(JannovarProto.JannovarData protoJannov
         return new JannovarData(referenceDictionary, transcriptModels);
     }
 
-    private static ReferenceDictionary toReferenceDictionary(JannovarProto.ReferenceDictionary protoRefDict) {
+    static ReferenceDictionary toReferenceDictionary(JannovarProto.ReferenceDictionary protoRefDict) {
         ReferenceDictionaryBuilder referenceDictionaryBuilder = new ReferenceDictionaryBuilder();
         protoRefDict.getContigNameToIdMap().forEach(referenceDictionaryBuilder::putContigID);
         protoRefDict.getContigIdToNameMap().forEach(referenceDictionaryBuilder::putContigName);
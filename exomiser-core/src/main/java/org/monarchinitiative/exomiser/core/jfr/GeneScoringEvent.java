@@ -0,0 +1,46 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Covers the final scoring and ranking of the genes in an analysis.
+ *
+ * @since 13.3.0
+ */
+@Name("org.monarchinitiative.exomiser.GeneScoring")
+@Label("Gene Scoring")
+@Category({"Exomiser", "Analysis"})
+@Description("Scoring and ranking the genes in an analysis")
+public class GeneScoringEvent extends Event {
+
+    @Label("Sample")
+    String sampleId;
+
+    @Label("Genes")
+    int genes;
+
+    public GeneScoringEvent(String sampleId, int genes) {
+        this.sampleId = sampleId;
+        this.genes = genes;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Covers the checking of the compatibility of genes with the modes of inheritance defined for an analysis.
+ *
+ * @since 13.3.0
+ */
+@Name("org.monarchinitiative.exomiser.InheritanceModeAnalysis")
+@Label("Inheritance Mode Analysis")
+@Category({"Exomiser", "Analysis"})
+@Description("Checking gene compatibility with the modes of inheritance")
+public class InheritanceModeAnalysisEvent extends Event {
+
+    @Label("Sample")
+    String sampleId;
+
+    @Label("Modes of Inheritance")
+    String modesOfInheritance;
+
+    @Label("Genes")
+    int genes;
+
+    public InheritanceModeAnalysisEvent(String sampleId, String modesOfInheritance, int genes) {
+        this.sampleId = sampleId;
+        this.modesOfInheritance = modesOfInheritance;
+        this.genes = genes;
+    }
+}
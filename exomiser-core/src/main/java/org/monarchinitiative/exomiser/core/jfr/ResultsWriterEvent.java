@@ -0,0 +1,54 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Covers the writing of the results of an analysis in a single output format.
+ *
+ * @since 13.3.0
+ */
+@Name("org.monarchinitiative.exomiser.ResultsWriter")
+@Label("Results Writer")
+@Category({"Exomiser", "Output"})
+@Description("Writing the analysis results in an output format")
+public class ResultsWriterEvent extends Event {
+
+    @Label("Sample")
+    String sampleId;
+
+    @Label("Output Format")
+    String outputFormat;
+
+    @Label("Genes")
+    int genes;
+
+    @Label("Variants")
+    int variants;
+
+    public ResultsWriterEvent(String sampleId, String outputFormat, int genes, int variants) {
+        this.sampleId = sampleId;
+        this.outputFormat = outputFormat;
+        this.genes = genes;
+        this.variants = variants;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Covers the lookup of the frequency or pathogenicity data for a single variant. Only recorded when exceeding the
+ * threshold.
+ *
+ * @since 13.3.0
+ */
+@Name("org.monarchinitiative.exomiser.VariantDataLookup")
+@Label("Variant Data Lookup")
+@Category({"Exomiser", "Variant"})
+@Description("Looking-up frequency or pathogenicity data for a variant")
+@Threshold("1 ms")
+public class VariantDataLookupEvent extends Event {
+
+    @Label("Data Type")
+    @Description("Either FREQUENCY or PATHOGENICITY")
+    String dataType;
+
+    @Label("Variant")
+    String variant;
+
+    @Label("Sources")
+    @Description("Number of sources requested")
+    int sources;
+
+    @Label("Found")
+    @Description("Whether any data was found for the variant")
+    boolean found;
+
+    public VariantDataLookupEvent(String dataType, int sources) {
+        this.dataType = dataType;
+        this.sources = sources;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Covers the reading, annotation and streaming variant filtering of a chunk of {@link #CHUNK_SIZE} variants from the
+ * VCF file.
+ *
+ * @since 13.3.0
+ */
+@Name("org.monarchinitiative.exomiser.VcfLoadChunk")
+@Label("VCF Load Chunk")
+@Category({"Exomiser", "Analysis"})
+@Description("Reading, annotating and filtering a chunk of variants from the VCF")
+public class VcfLoadChunkEvent extends Event {
+
+    public static final int CHUNK_SIZE = 10_000;
+
+    @Label("Sample")
+    String sampleId;
+
+    @Label("Chunk")
+    @Description("Zero-based index of the chunk in the VCF")
+    int chunk;
+
+    @Label("Variants Loaded")
+    int variantsLoaded;
+
+    @Label("Variants Passed")
+    @Description("Number of loaded variants which passed the variant filters")
+    int variantsPassed;
+
+    public VcfLoadChunkEvent(String sampleId, int chunk) {
+        this.sampleId = sampleId;
+        this.chunk = chunk;
+    }
+
+    public void incrementLoaded() {
+        variantsLoaded++;
+    }
+
+    public void incrementPassed() {
+        variantsPassed++;
+    }
+
+    public boolean isFull() {
+        return variantsLoaded >= CHUNK_SIZE;
+    }
+}
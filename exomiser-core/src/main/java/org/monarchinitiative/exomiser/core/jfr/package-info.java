@@ -0,0 +1,33 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * Java Flight Recorder events emitted by the Exomiser. These are recorded alongside the JVM events whenever a recording
+ * is running, e.g. by starting the JVM with {@code -XX:StartFlightRecording:filename=exomiser.jfr}, and can be viewed
+ * in JDK Mission Control or with {@code jfr print --categories Exomiser exomiser.jfr}.
+ * <p>
+ * The phase events (VCF load chunks, analysis steps, inheritance mode analysis, gene scoring and results writing) are
+ * recorded in full. The per-variant annotation and data lookup events are only recorded when they exceed a threshold
+ * of 1 ms, so that a recording shows the slow calls without the overhead of recording every variant. This can be
+ * lowered in a custom {@code .jfc} settings file e.g. {@code org.monarchinitiative.exomiser.FrequencyLookup#threshold=0 ms}.
+ *
+ * @since 13.3.0
+ */
+package org.monarchinitiative.exomiser.core.jfr;
@@ -0,0 +1,153 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.model;
+
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.svart.Variant;
+
+/**
+ * Packs the chromosome, position, ref and alt of an {@link AlleleKey} into a single {@code long} for SNVs and short
+ * indels, i.e. where both alleles are at most {@link #MAX_ALLELE_LENGTH} bases of A, C, G or T. Other alleles are
+ * reported as {@link #NOT_PACKABLE} and should continue to use the {@link AlleleKey}.
+ * <p>
+ * The packed value is always positive and sorts in the same order as the {@link AlleleKey} does in the allele store,
+ * i.e. by chromosome, position, ref then alt, so a sorted stream of alleles remains sorted when the packable alleles are
+ * replaced by their packed keys. The layout, from the most significant bit, is:
+ * <pre>
+ *     sign(1) | chr(5) | position(28) | ref bases(12) | ref length(3) | alt bases(12) | alt length(3)
+ * </pre>
+ * Bases are 2-bit encoded and left-aligned within their field, with any unused bases zero, so that a shorter allele
+ * sorts before a longer one with the same prefix.
+ *
+ * @since 13.3.0
+ */
+public final class AlleleKeyPacker {
+
+    public static final long NOT_PACKABLE = -1L;
+    public static final int MAX_ALLELE_LENGTH = 6;
+
+    private static final int LENGTH_BITS = 3;
+    private static final int ALLELE_BITS = 2 * MAX_ALLELE_LENGTH + LENGTH_BITS;
+    private static final int POSITION_BITS = 28;
+    private static final int CHR_BITS = 5;
+
+    private static final int ALT_SHIFT = 0;
+    private static final int REF_SHIFT = ALT_SHIFT + ALLELE_BITS;
+    private static final int POSITION_SHIFT = REF_SHIFT + ALLELE_BITS;
+    private static final int CHR_SHIFT = POSITION_SHIFT + POSITION_BITS;
+
+    private static final int MAX_CHR = (1 << CHR_BITS) - 1;
+    private static final int MAX_POSITION = (1 << POSITION_BITS) - 1;
+    private static final long ALLELE_MASK = (1L << ALLELE_BITS) - 1;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    private AlleleKeyPacker() {
+        //static utility class
+    }
+
+    public static long pack(AlleleKey alleleKey) {
+        return pack(alleleKey.getChr(), alleleKey.getPosition(), alleleKey.getRef(), alleleKey.getAlt());
+    }
+
+    /**
+     * Packs the variant using the same fields as {@link AlleleProtoAdaptor#toAlleleKey(Variant)}
+     * without creating the intermediate {@link AlleleKey}.
+     */
+    public static long pack(Variant variant) {
+        return pack(variant.contigId(), variant.start(), variant.ref(), variant.alt());
+    }
+
+    /**
+     * @return the packed key or {@link #NOT_PACKABLE} if the allele cannot be represented as a {@code long}
+     */
+    public static long pack(int chr, int position, String ref, String alt) {
+        if (chr < 0 || chr > MAX_CHR || position < 0 || position > MAX_POSITION) {
+            return NOT_PACKABLE;
+        }
+        long packedRef = packAllele(ref);
+        if (packedRef == NOT_PACKABLE) {
+            return NOT_PACKABLE;
+        }
+        long packedAlt = packAllele(alt);
+        if (packedAlt == NOT_PACKABLE) {
+            return NOT_PACKABLE;
+        }
+        return ((long) chr << CHR_SHIFT) | ((long) position << POSITION_SHIFT) | (packedRef << REF_SHIFT) | (packedAlt << ALT_SHIFT);
+    }
+
+    private static long packAllele(String allele) {
+        int length = allele.length();
+        if (length > MAX_ALLELE_LENGTH) {
+            return NOT_PACKABLE;
+        }
+        long bases = 0;
+        for (int i = 0; i < length; i++) {
+            int base = encodeBase(allele.charAt(i));
+            if (base < 0) {
+                return NOT_PACKABLE;
+            }
+            bases |= (long) base << (2 * (MAX_ALLELE_LENGTH - 1 - i));
+        }
+        return (bases << LENGTH_BITS) | length;
+    }
+
+    private static int encodeBase(char base) {
+        switch (base) {
+            case 'A':
+                return 0;
+            case 'C':
+                return 1;
+            case 'G':
+                return 2;
+            case 'T':
+                return 3;
+            default:
+                return -1;
+        }
+    }
+
+    public static boolean isPackable(AlleleKey alleleKey) {
+        return pack(alleleKey) != NOT_PACKABLE;
+    }
+
+    public static AlleleKey unpack(long packedKey) {
+        if (packedKey < 0) {
+            throw new IllegalArgumentException("Invalid packed allele key " + packedKey);
+        }
+        return AlleleKey.newBuilder()
+                .setChr((int) (packedKey >>> CHR_SHIFT))
+                .setPosition((int) ((packedKey >>> POSITION_SHIFT) & MAX_POSITION))
+                .setRef(unpackAllele((packedKey >>> REF_SHIFT) & ALLELE_MASK))
+                .setAlt(unpackAllele((packedKey >>> ALT_SHIFT) & ALLELE_MASK))
+                .build();
+    }
+
+    private static String unpackAllele(long packedAllele) {
+        int length = (int) (packedAllele & LENGTH_MASK);
+        long bases = packedAllele >>> LENGTH_BITS;
+        char[] allele = new char[length];
+        for (int i = 0; i < length; i++) {
+            allele[i] = BASES[(int) ((bases >>> (2 * (MAX_ALLELE_LENGTH - 1 - i))) & 0b11)];
+        }
+        return new String(allele);
+    }
+}
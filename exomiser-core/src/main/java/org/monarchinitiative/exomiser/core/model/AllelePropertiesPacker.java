@@ -0,0 +1,241 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.model;
+
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.ClinVar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts {@link AlleleProperties} between the legacy format, where the frequency and pathogenicity values are held
+ * in a {@code map<string, float>} keyed by property name, and the packed format where they are held as a bitmask over a
+ * fixed property schema plus a packed array of values. The packed format avoids repeating the property names in every
+ * stored allele and can be decoded without any string hashing.
+ * <p>
+ * Protobuf readers which pre-date the packed fields silently drop them, so the packed format is opt-in and stores
+ * written in it record their format version for readers to check.
+ * <p>
+ * The schema is the order of the {@link #PROPERTY_KEYS}. Stored data depends on this order so new properties must only
+ * ever be appended, up to a maximum of 64. Properties not in the schema are left in the properties map when packing.
+ *
+ * @since 13.3.0
+ */
+public final class AllelePropertiesPacker {
+
+    public static final int LEGACY_FORMAT_VERSION = 1;
+    public static final int PACKED_FORMAT_VERSION = 2;
+
+    // These are the AlleleProperty values from the genome-data module, in declaration order.
+    static final List<String> PROPERTY_KEYS = List.of(
+            "KG", "TOPMED", "UK10K",
+            "ESP_EA", "ESP_AA", "ESP_ALL",
+            "EXAC_AFR", "EXAC_AMR", "EXAC_EAS", "EXAC_FIN", "EXAC_NFE", "EXAC_OTH", "EXAC_SAS",
+            "GNOMAD_E_AFR", "GNOMAD_E_AMR", "GNOMAD_E_ASJ", "GNOMAD_E_EAS", "GNOMAD_E_FIN", "GNOMAD_E_NFE", "GNOMAD_E_OTH", "GNOMAD_E_SAS",
+            "GNOMAD_G_AFR", "GNOMAD_G_AMR", "GNOMAD_G_ASJ", "GNOMAD_G_EAS", "GNOMAD_G_FIN", "GNOMAD_G_NFE", "GNOMAD_G_OTH",
+            "SIFT", "POLYPHEN", "MUT_TASTER", "CADD", "REMM",
+            "REVEL", "MCAP", "MPC", "MVP", "PRIMATE_AI"
+    );
+
+    // ClinVar CLNREVSTAT values as held in ClinVarData i.e. with spaces rather than underscores. Stored as their index
+    // + 1, so again these must only ever be appended to.
+    static final List<String> REVIEW_STATUSES = List.of(
+            "criteria provided, conflicting interpretations",
+            "criteria provided, multiple submitters, no conflicts",
+            "criteria provided, single submitter",
+            "no assertion criteria provided",
+            "no assertion provided",
+            "no interpretation for the single variant",
+            "practice guideline",
+            "reviewed by expert panel",
+            "criteria provided, conflicting classifications",
+            "no classification provided",
+            "no classification for the single variant"
+    );
+
+    private static final Map<String, Integer> PROPERTY_INDEX = indexOf(PROPERTY_KEYS);
+    private static final Map<String, Integer> REVIEW_STATUS_INDEX = indexOf(REVIEW_STATUSES);
+
+    private AllelePropertiesPacker() {
+        //static utility class
+    }
+
+    private static Map<String, Integer> indexOf(List<String> values) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            index.put(values.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+
+    /**
+     * Returns the format version of the {@link AlleleProperties}. Properties with no frequency or pathogenicity values
+     * are identical in both formats and are reported as the legacy version.
+     */
+    public static int formatVersion(AlleleProperties alleleProperties) {
+        return isPacked(alleleProperties) ? PACKED_FORMAT_VERSION : LEGACY_FORMAT_VERSION;
+    }
+
+    public static boolean isPacked(AlleleProperties alleleProperties) {
+        return alleleProperties.getPropertyMask() != 0L;
+    }
+
+    /**
+     * Converts the properties map into the packed format. Already packed properties are merged with any remaining map
+     * entries, so this is safe to call on properties in either format.
+     */
+    public static AlleleProperties pack(AlleleProperties alleleProperties) {
+        Map<String, Float> propertiesMap = alleleProperties.getPropertiesMap();
+        boolean hasCompactableClinVar = alleleProperties.hasClinVar() && isCompactable(alleleProperties.getClinVar());
+        if (propertiesMap.isEmpty() && !hasCompactableClinVar) {
+            return alleleProperties;
+        }
+        float[] values = unpackedValues(alleleProperties);
+        AlleleProperties.Builder builder = alleleProperties.toBuilder()
+                .clearProperties()
+                .clearPropertyMask()
+                .clearPropertyValues();
+        for (Map.Entry<String, Float> entry : propertiesMap.entrySet()) {
+            Integer index = PROPERTY_INDEX.get(entry.getKey());
+            if (index == null) {
+                builder.putProperties(entry.getKey(), entry.getValue());
+            } else {
+                values[index] = entry.getValue();
+            }
+        }
+        long mask = 0L;
+        for (int i = 0; i < values.length; i++) {
+            if (!Float.isNaN(values[i])) {
+                mask |= 1L << i;
+                builder.addPropertyValues(values[i]);
+            }
+        }
+        builder.setPropertyMask(mask);
+        if (hasCompactableClinVar) {
+            builder.setClinVar(packClinVar(alleleProperties.getClinVar()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts packed properties back into the legacy format so that they can be merged using the protobuf map
+     * semantics, or read by an older version of the Exomiser.
+     */
+    public static AlleleProperties unpack(AlleleProperties alleleProperties) {
+        if (!isPacked(alleleProperties) && !(alleleProperties.hasClinVar() && isPacked(alleleProperties.getClinVar()))) {
+            return alleleProperties;
+        }
+        AlleleProperties.Builder builder = alleleProperties.toBuilder()
+                .clearPropertyMask()
+                .clearPropertyValues();
+        long mask = alleleProperties.getPropertyMask();
+        int valueIndex = 0;
+        while (mask != 0L) {
+            int index = Long.numberOfTrailingZeros(mask);
+            builder.putProperties(PROPERTY_KEYS.get(index), alleleProperties.getPropertyValues(valueIndex++));
+            mask &= mask - 1;
+        }
+        if (alleleProperties.hasClinVar()) {
+            builder.setClinVar(unpackClinVar(alleleProperties.getClinVar()));
+        }
+        return builder.build();
+    }
+
+    private static float[] unpackedValues(AlleleProperties alleleProperties) {
+        float[] values = new float[PROPERTY_KEYS.size()];
+        Arrays.fill(values, Float.NaN);
+        long mask = alleleProperties.getPropertyMask();
+        int valueIndex = 0;
+        while (mask != 0L) {
+            values[Long.numberOfTrailingZeros(mask)] = alleleProperties.getPropertyValues(valueIndex++);
+            mask &= mask - 1;
+        }
+        return values;
+    }
+
+    static boolean isPacked(ClinVar clinVar) {
+        return clinVar.getAlleleIdNumber() != 0L || clinVar.getReviewStatusCode() != 0;
+    }
+
+    private static boolean isCompactable(ClinVar clinVar) {
+        return alleleIdNumber(clinVar.getAlleleId()) != 0L || REVIEW_STATUS_INDEX.containsKey(clinVar.getReviewStatus());
+    }
+
+    private static ClinVar packClinVar(ClinVar clinVar) {
+        ClinVar.Builder builder = clinVar.toBuilder();
+        long alleleIdNumber = alleleIdNumber(clinVar.getAlleleId());
+        if (alleleIdNumber != 0L) {
+            builder.clearAlleleId().setAlleleIdNumber(alleleIdNumber);
+        }
+        Integer reviewStatusIndex = REVIEW_STATUS_INDEX.get(clinVar.getReviewStatus());
+        if (reviewStatusIndex != null) {
+            builder.clearReviewStatus().setReviewStatusCode(reviewStatusIndex + 1);
+        }
+        return builder.build();
+    }
+
+    private static ClinVar unpackClinVar(ClinVar clinVar) {
+        if (!isPacked(clinVar)) {
+            return clinVar;
+        }
+        return clinVar.toBuilder()
+                .setAlleleId(alleleId(clinVar))
+                .clearAlleleIdNumber()
+                .setReviewStatus(reviewStatus(clinVar))
+                .clearReviewStatusCode()
+                .build();
+    }
+
+    /**
+     * Returns the ClinVar allele id from either the compact or string field.
+     */
+    static String alleleId(ClinVar clinVar) {
+        long alleleIdNumber = clinVar.getAlleleIdNumber();
+        return alleleIdNumber == 0L ? clinVar.getAlleleId() : Long.toString(alleleIdNumber);
+    }
+
+    /**
+     * Returns the ClinVar review status from either the compact or string field.
+     */
+    static String reviewStatus(ClinVar clinVar) {
+        int reviewStatusCode = clinVar.getReviewStatusCode();
+        if (reviewStatusCode > 0 && reviewStatusCode <= REVIEW_STATUSES.size()) {
+            return REVIEW_STATUSES.get(reviewStatusCode - 1);
+        }
+        return clinVar.getReviewStatus();
+    }
+
+    // Only plain positive integers without leading zeros are compacted so that the string round-trips exactly.
+    private static long alleleIdNumber(String alleleId) {
+        if (alleleId.isEmpty() || alleleId.length() > 18 || alleleId.charAt(0) == '0') {
+            return 0L;
+        }
+        for (int i = 0; i < alleleId.length(); i++) {
+            char c = alleleId.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0L;
+            }
+        }
+        return Long.parseLong(alleleId);
+    }
+}
@@ -95,6 +95,19 @@ public class AlleleProtoAdaptor {
             .put("PRIMATE_AI", PRIMATE_AI)
             .build();
 
+    // Look-ups for the packed format, indexed by the bit position of the property in the AllelePropertiesPacker schema.
+    // A null entry means the property at that position is not of that type.
+    private static final FrequencySource[] PACKED_FREQUENCY_SOURCES = new FrequencySource[AllelePropertiesPacker.PROPERTY_KEYS.size()];
+    private static final PathogenicitySource[] PACKED_PATHOGENICITY_SOURCES = new PathogenicitySource[AllelePropertiesPacker.PROPERTY_KEYS.size()];
+
+    static {
+        for (int i = 0; i < AllelePropertiesPacker.PROPERTY_KEYS.size(); i++) {
+            String key = AllelePropertiesPacker.PROPERTY_KEYS.get(i);
+            PACKED_FREQUENCY_SOURCES[i] = FREQUENCY_SOURCE_MAP.get(key);
+            PACKED_PATHOGENICITY_SOURCES[i] = PATHOGENICITY_SOURCE_MAP.get(key);
+        }
+    }
+
     private AlleleProtoAdaptor() {
         //un-instantiable utility class
     }
@@ -117,6 +130,9 @@ public static FrequencyData toFrequencyData(AlleleProperties alleleProperties) {
             return FrequencyData.empty();
         }
         List<Frequency> frequencies = parseFrequencyData(alleleProperties.getPropertiesMap());
+        if (AllelePropertiesPacker.isPacked(alleleProperties)) {
+            parsePackedFrequencyData(alleleProperties, frequencies);
+        }
         return FrequencyData.of(alleleProperties.getRsId(), frequencies);
     }
 
@@ -133,11 +149,27 @@ private static List<Frequency> parseFrequencyData(Map<String, Float> values) {
         return frequencies;
     }
 
+    private static void parsePackedFrequencyData(AlleleProperties alleleProperties, List<Frequency> frequencies) {
+        long mask = alleleProperties.getPropertyMask();
+        int valueIndex = 0;
+        while (mask != 0L) {
+            FrequencySource source = PACKED_FREQUENCY_SOURCES[Long.numberOfTrailingZeros(mask)];
+            if (source != null) {
+                frequencies.add(Frequency.of(source, alleleProperties.getPropertyValues(valueIndex)));
+            }
+            valueIndex++;
+            mask &= mask - 1;
+        }
+    }
+
     public static PathogenicityData toPathogenicityData(AlleleProperties alleleProperties) {
         if (alleleProperties.equals(AlleleProperties.getDefaultInstance())) {
             return PathogenicityData.empty();
         }
         List<PathogenicityScore> pathogenicityScores = parsePathogenicityData(alleleProperties.getPropertiesMap());
+        if (AllelePropertiesPacker.isPacked(alleleProperties)) {
+            parsePackedPathogenicityData(alleleProperties, pathogenicityScores);
+        }
         ClinVarData clinVarData = parseClinVarData(alleleProperties.getClinVar());
         return PathogenicityData.of(clinVarData, pathogenicityScores);
     }
@@ -155,16 +187,29 @@ private static List<PathogenicityScore> parsePathogenicityData(Map<String, Float
         return pathogenicityScores;
     }
 
+    private static void parsePackedPathogenicityData(AlleleProperties alleleProperties, List<PathogenicityScore> pathogenicityScores) {
+        long mask = alleleProperties.getPropertyMask();
+        int valueIndex = 0;
+        while (mask != 0L) {
+            PathogenicitySource source = PACKED_PATHOGENICITY_SOURCES[Long.numberOfTrailingZeros(mask)];
+            if (source != null) {
+                pathogenicityScores.add(PathogenicityScore.of(source, alleleProperties.getPropertyValues(valueIndex)));
+            }
+            valueIndex++;
+            mask &= mask - 1;
+        }
+    }
+
     private static ClinVarData parseClinVarData(ClinVar clinVar) {
         if (clinVar.equals(clinVar.getDefaultInstanceForType())) {
             return ClinVarData.empty();
         }
         ClinVarData.Builder builder = ClinVarData.builder();
-        builder.alleleId(clinVar.getAlleleId());
+        builder.alleleId(AllelePropertiesPacker.alleleId(clinVar));
         builder.primaryInterpretation(toClinSig(clinVar.getPrimaryInterpretation()));
         builder.secondaryInterpretations(toClinSigSet(clinVar.getSecondaryInterpretationsList()));
         builder.includedAlleles(getToIncludedAlleles(clinVar.getIncludedAllelesMap()));
-        builder.reviewStatus(clinVar.getReviewStatus());
+        builder.reviewStatus(AllelePropertiesPacker.reviewStatus(clinVar));
         return builder.build();
     }
 
@@ -34,6 +34,22 @@ public enum RankType {
         EXON, INTRON, UNDEFINED
     }
 
+    /**
+     * Source of the HGVS representations of a variant on a transcript. These are comparatively expensive to build and
+     * are only required for the variants which are written out, so a {@code TranscriptAnnotation} built with an
+     * {@code HgvsSupplier} will only request them the first time one of them is needed.
+     *
+     * @since 13.3.0
+     */
+    public interface HgvsSupplier {
+
+        String hgvsGenomic();
+
+        String hgvsCdna();
+
+        String hgvsProtein();
+    }
+
     private static final TranscriptAnnotation EMPTY = TranscriptAnnotation.builder().build();
 
     private final VariantEffect variantEffect;
@@ -41,9 +57,11 @@ public enum RankType {
     private final String geneSymbol;
     private final String accession;
 
-    private final String hgvsGenomic;
-    private final String hgvsCdna;
-    private final String hgvsProtein;
+    // these are resolved from the hgvsSupplier on first use, after which the supplier is released
+    private String hgvsGenomic;
+    private String hgvsCdna;
+    private String hgvsProtein;
+    private volatile HgvsSupplier hgvsSupplier;
 
     // exon / intron 'rank' e.g. lies in Exon (rank) 3 of (totalRank) 4
     private final RankType rankType;
@@ -61,6 +79,7 @@ private TranscriptAnnotation(Builder builder) {
         this.hgvsGenomic = builder.hgvsGenomic;
         this.hgvsCdna = builder.hgvsCdna;
         this.hgvsProtein = builder.hgvsProtein;
+        this.hgvsSupplier = builder.hgvsSupplier;
         this.rankType = builder.rankType;
         this.rank = builder.rank;
         this.rankTotal = builder.rankTotal;
@@ -84,17 +103,35 @@ public String getAccession() {
     }
 
     public String getHgvsGenomic() {
+        resolveHgvs();
         return hgvsGenomic;
     }
 
     public String getHgvsCdna() {
+        resolveHgvs();
         return hgvsCdna;
     }
 
     public String getHgvsProtein() {
+        resolveHgvs();
         return hgvsProtein;
     }
 
+    private void resolveHgvs() {
+        if (hgvsSupplier != null) {
+            synchronized (this) {
+                HgvsSupplier supplier = hgvsSupplier;
+                if (supplier != null) {
+                    hgvsGenomic = supplier.hgvsGenomic();
+                    hgvsCdna = supplier.hgvsCdna();
+                    hgvsProtein = supplier.hgvsProtein();
+                    // the volatile write publishes the values above
+                    hgvsSupplier = null;
+                }
+            }
+        }
+    }
+
     public RankType getRankType() {
         return rankType;
     }
@@ -116,12 +153,12 @@ public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TranscriptAnnotation that = (TranscriptAnnotation) o;
-        return rank == that.rank && rankTotal == that.rankTotal && distanceFromNearestGene == that.distanceFromNearestGene && variantEffect == that.variantEffect && geneSymbol.equals(that.geneSymbol) && accession.equals(that.accession) && hgvsGenomic.equals(that.hgvsGenomic) && hgvsCdna.equals(that.hgvsCdna) && hgvsProtein.equals(that.hgvsProtein) && rankType == that.rankType;
+        return rank == that.rank && rankTotal == that.rankTotal && distanceFromNearestGene == that.distanceFromNearestGene && variantEffect == that.variantEffect && geneSymbol.equals(that.geneSymbol) && accession.equals(that.accession) && getHgvsGenomic().equals(that.getHgvsGenomic()) && getHgvsCdna().equals(that.getHgvsCdna()) && getHgvsProtein().equals(that.getHgvsProtein()) && rankType == that.rankType;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(variantEffect, geneSymbol, accession, hgvsGenomic, hgvsCdna, hgvsProtein, rankType, rank, rankTotal, distanceFromNearestGene);
+        return Objects.hash(variantEffect, geneSymbol, accession, getHgvsGenomic(), getHgvsCdna(), getHgvsProtein(), rankType, rank, rankTotal, distanceFromNearestGene);
     }
 
     @Override
@@ -130,9 +167,9 @@ public String toString() {
                 "variantEffect=" + variantEffect +
                 ", geneSymbol='" + geneSymbol + '\'' +
                 ", accession='" + accession + '\'' +
-                ", hgvsGenomic='" + hgvsGenomic + '\'' +
-                ", hgvsCdna='" + hgvsCdna + '\'' +
-                ", hgvsProtein='" + hgvsProtein + '\'' +
+                ", hgvsGenomic='" + getHgvsGenomic() + '\'' +
+                ", hgvsCdna='" + getHgvsCdna() + '\'' +
+                ", hgvsProtein='" + getHgvsProtein() + '\'' +
                 ", rankType='" + rankType + '\'' +
                 ", rank='" + rank + '\'' +
                 ", rankTotal='" + rankTotal + '\'' +
@@ -154,6 +191,7 @@ public static class Builder {
         private String hgvsGenomic = "";
         private String hgvsCdna = "";
         private String hgvsProtein = "";
+        private HgvsSupplier hgvsSupplier = null;
 
         private RankType rankType = RankType.UNDEFINED;
         private int rank = -1;
@@ -191,6 +229,17 @@ public Builder hgvsProtein(String hgvsProtein) {
             return this;
         }
 
+        /**
+         * Sets a lazy source for the HGVS representations. If set, this takes precedence over any of the HGVS values
+         * set directly on this builder.
+         *
+         * @since 13.3.0
+         */
+        public Builder hgvs(HgvsSupplier hgvsSupplier) {
+            this.hgvsSupplier = hgvsSupplier;
+            return this;
+        }
+
         public Builder rankType(RankType rankType) {
             this.rankType = rankType;
             return this;
@@ -26,10 +26,14 @@
 package org.monarchinitiative.exomiser.core.phenotype.dao;
 
 import com.google.common.collect.ImmutableMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatch;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
@@ -53,11 +57,22 @@ public class HumanPhenotypeOntologyDao implements OntologyDao {
     private static final Logger logger = LoggerFactory.getLogger(HumanPhenotypeOntologyDao.class);
 
     private final DataSource dataSource;
+    private Timer getPhenotypeMatchesTimer = ExomiserMetrics.noopDaoTimer(HumanPhenotypeOntologyDao.class, "getPhenotypeMatchesForHpoTerm");
 
     public HumanPhenotypeOntologyDao(@Qualifier("phenotypeDataSource") DataSource phenotypeDataSource) {
         this.dataSource = phenotypeDataSource;
     }
 
+    /**
+     * Sets the {@link MeterRegistry} with which the data access calls are timed. Without one they are not recorded.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        getPhenotypeMatchesTimer = ExomiserMetrics.daoTimer(meterRegistry, HumanPhenotypeOntologyDao.class, "getPhenotypeMatchesForHpoTerm");
+    }
+
     @Override
     public Set<PhenotypeTerm> getAllTerms() {
         String query = "select id, lcname as term from hpo";
@@ -76,6 +91,10 @@ public Set<PhenotypeTerm> getAllTerms() {
 
     @Override
     public Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        return getPhenotypeMatchesTimer.record(() -> queryPhenotypeMatchesForHpoTerm(hpoTerm));
+    }
+
+    private Set<PhenotypeMatch> queryPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
         String mappingQuery = "SELECT simj, ic, score, hp_id_hit AS hit_id, hp_hit_term AS hit_term, lcs_id, lcs_term FROM hp_hp_mappings WHERE hp_id = ?";
         try (
                 Connection connection = dataSource.getConnection();
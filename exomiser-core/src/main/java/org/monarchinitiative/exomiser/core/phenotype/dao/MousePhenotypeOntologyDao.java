@@ -25,10 +25,14 @@
  */
 package org.monarchinitiative.exomiser.core.phenotype.dao;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatch;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
@@ -50,11 +54,22 @@ public class MousePhenotypeOntologyDao implements OntologyDao {
     private static final Logger logger = LoggerFactory.getLogger(MousePhenotypeOntologyDao.class);
 
     private final DataSource dataSource;
+    private Timer getPhenotypeMatchesTimer = ExomiserMetrics.noopDaoTimer(MousePhenotypeOntologyDao.class, "getPhenotypeMatchesForHpoTerm");
 
     public MousePhenotypeOntologyDao(@Qualifier("phenotypeDataSource") DataSource phenotypeDataSource) {
         this.dataSource = phenotypeDataSource;
     }
 
+    /**
+     * Sets the {@link MeterRegistry} with which the data access calls are timed. Without one they are not recorded.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        getPhenotypeMatchesTimer = ExomiserMetrics.daoTimer(meterRegistry, MousePhenotypeOntologyDao.class, "getPhenotypeMatchesForHpoTerm");
+    }
+
     @Override
     public Set<PhenotypeTerm> getAllTerms() {
         String query = "SELECT mp_id as id, mp_term as term FROM mp";
@@ -73,6 +88,10 @@ public Set<PhenotypeTerm> getAllTerms() {
 
     @Override
     public Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        return getPhenotypeMatchesTimer.record(() -> queryPhenotypeMatchesForHpoTerm(hpoTerm));
+    }
+
+    private Set<PhenotypeMatch> queryPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
         String mappingQuery = "SELECT simj, ic, score, mp_id AS hit_id, mp_term AS hit_term, lcs_id, lcs_term FROM hp_mp_mappings WHERE hp_id = ?";
 
         try (
@@ -25,10 +25,14 @@
  */
 package org.monarchinitiative.exomiser.core.phenotype.dao;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatch;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
@@ -50,11 +54,22 @@ public class ZebraFishPhenotypeOntologyDao implements OntologyDao {
     private static final Logger logger = LoggerFactory.getLogger(ZebraFishPhenotypeOntologyDao.class);
 
     private final DataSource dataSource;
+    private Timer getPhenotypeMatchesTimer = ExomiserMetrics.noopDaoTimer(ZebraFishPhenotypeOntologyDao.class, "getPhenotypeMatchesForHpoTerm");
 
     public ZebraFishPhenotypeOntologyDao(@Qualifier("phenotypeDataSource") DataSource phenotypeDataSource) {
         this.dataSource = phenotypeDataSource;
     }
 
+    /**
+     * Sets the {@link MeterRegistry} with which the data access calls are timed. Without one they are not recorded.
+     *
+     * @since 13.3.0
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        getPhenotypeMatchesTimer = ExomiserMetrics.daoTimer(meterRegistry, ZebraFishPhenotypeOntologyDao.class, "getPhenotypeMatchesForHpoTerm");
+    }
+
     @Override
     public Set<PhenotypeTerm> getAllTerms() {
         String query = "SELECT zp_id as id, zp_term as term FROM zp";
@@ -73,6 +88,10 @@ public Set<PhenotypeTerm> getAllTerms() {
 
     @Override
     public Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        return getPhenotypeMatchesTimer.record(() -> queryPhenotypeMatchesForHpoTerm(hpoTerm));
+    }
+
+    private Set<PhenotypeMatch> queryPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
         String mappingQuery = "SELECT simj, ic, score, zp_id AS hit_id, zp_term AS hit_term, lcs_id, lcs_term FROM hp_zp_mappings WHERE hp_id = ?";
         try (
                 Connection connection = dataSource.getConnection();
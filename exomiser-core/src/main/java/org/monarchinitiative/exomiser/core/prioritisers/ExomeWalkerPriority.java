@@ -20,9 +20,10 @@
 
 package org.monarchinitiative.exomiser.core.prioritisers;
 
-import org.jblas.FloatMatrix;
+import com.google.common.collect.ImmutableList;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
+import org.monarchinitiative.exomiser.core.prioritisers.util.ProximityVectorCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,7 +78,7 @@ public class ExomeWalkerPriority implements Prioritiser<ExomeWalkerPriorityResul
      * This is the matrix of similarities between the seeed genes and all genes
      * in the network, i.e., p<sub>infinity</sub>.
      */
-    private final FloatMatrix combinedProximityVector;
+    private final float[] combinedProximityVector;
 
     /**
      *
@@ -90,6 +91,20 @@ public ExomeWalkerPriority(DataMatrix randomWalkMatrix, List<Integer> entrezSeed
         this.combinedProximityVector = computeDistanceAllNodesFromStartNodes(this.randomWalkMatrix, this.seedGenes);
     }
 
+    /**
+     * Creates an {@code ExomeWalkerPriority} which takes its combined proximity vector from the cache, so that repeated
+     * runs with the same seed genes against the same matrix only compute it once.
+     *
+     * @param proximityVectorCache cache of the proximity vectors for the random walk matrix
+     * @param entrezSeedGenes
+     * @since 13.3.0
+     */
+    public ExomeWalkerPriority(ProximityVectorCache proximityVectorCache, List<Integer> entrezSeedGenes) {
+        this.randomWalkMatrix = proximityVectorCache.getDataMatrix();
+        this.seedGenes = addMatchedGenesToSeedGeneList(this.randomWalkMatrix, entrezSeedGenes);
+        this.combinedProximityVector = proximityVectorCache.getProximityVector(this.seedGenes);
+    }
+
     public List<Integer> getSeedGenes() {
         return seedGenes;
     }
@@ -131,30 +146,15 @@ public PriorityType getPriorityType() {
      * @param randomWalkMatrix
      * @param seedGenes
      */
-    private FloatMatrix computeDistanceAllNodesFromStartNodes(DataMatrix randomWalkMatrix, List<Integer> seedGenes) {
-        FloatMatrix seedGeneProximityVectors = FloatMatrix.EMPTY;
-        boolean first = true;
-        for (Integer seedGeneEntrezId : seedGenes) {
-            if (!randomWalkMatrix.containsGene(seedGeneEntrezId)) {
-                /* Note that the RW matrix does not have an entry for every
-                 Entrez Gene. If the gene is not contained in the matrix, we
-                 skip it. The gene will be given a (low) default score in 
-                 Genewanderer Relevance.
-                 */
-                continue;
-            }
-            //Get the column we need, this has the distances of ALL genes to the current gene
-            FloatMatrix column = randomWalkMatrix.getColumnMatrixForGene(seedGeneEntrezId);
-
-            // for the first column/known gene we have to init the resulting vector
-            if (first) {
-                seedGeneProximityVectors = column;
-                first = false;
-            } else {
-                seedGeneProximityVectors = seedGeneProximityVectors.add(column);
-            }
-        }
-        return seedGeneProximityVectors;
+    private float[] computeDistanceAllNodesFromStartNodes(DataMatrix randomWalkMatrix, List<Integer> seedGenes) {
+        /* Note that the RW matrix does not have an entry for every
+         Entrez Gene. If the gene is not contained in the matrix, it is
+         skipped. The gene will be given a (low) default score in
+         Genewanderer Relevance.
+         */
+        // float addition is order-dependent, so the columns are summed in the same sorted order as the
+        // ProximityVectorCache to give identical scores whether or not the vector is cached
+        return randomWalkMatrix.sumColumnsForGenes(ImmutableList.sortedCopyOf(seedGenes), new float[randomWalkMatrix.numRows()]);
     }
 
     @Override
@@ -221,7 +221,7 @@ public List<String> getMessages() {
      */
     private double computeSimStartNodesToNode(int nodeToCompute) {
         int idx = randomWalkMatrix.getRowIndexForGene(nodeToCompute);
-        return combinedProximityVector.get(idx, 0);
+        return combinedProximityVector[idx];
     }
 
     @Override
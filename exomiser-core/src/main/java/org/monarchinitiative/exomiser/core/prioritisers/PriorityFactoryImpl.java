@@ -27,6 +27,7 @@
 
 import org.monarchinitiative.exomiser.core.prioritisers.service.PriorityService;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
+import org.monarchinitiative.exomiser.core.prioritisers.util.ProximityVectorCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,14 +46,19 @@ public class PriorityFactoryImpl implements PriorityFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(PriorityFactoryImpl.class);
 
+    // ExomeWalker seed gene sets are often re-used between samples, so keep the most recent combined proximity vectors
+    private static final long MAX_CACHED_PROXIMITY_VECTORS = 64;
+
     private final PriorityService priorityService;
     private final DataMatrix randomWalkMatrix;
+    private final ProximityVectorCache proximityVectorCache;
     private final Path phenixDataDirectory;
 
     @Autowired
     public PriorityFactoryImpl(PriorityService priorityService, DataMatrix randomWalkMatrix, Path phenixDataDirectory) {
         this.priorityService = priorityService;
         this.randomWalkMatrix = randomWalkMatrix;
+        this.proximityVectorCache = new ProximityVectorCache(randomWalkMatrix, MAX_CACHED_PROXIMITY_VECTORS);
         this.phenixDataDirectory = phenixDataDirectory;
     }
 
@@ -74,7 +80,7 @@ public PhivePriority makePhivePrioritiser() {
 
     @Override
     public ExomeWalkerPriority makeExomeWalkerPrioritiser(List<Integer> entrezSeedGenes) {
-        return new ExomeWalkerPriority(randomWalkMatrix, entrezSeedGenes);
+        return new ExomeWalkerPriority(proximityVectorCache, entrezSeedGenes);
     }
 
     @Override
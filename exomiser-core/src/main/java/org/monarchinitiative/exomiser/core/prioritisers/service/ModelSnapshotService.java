@@ -0,0 +1,181 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.service;
+
+import org.monarchinitiative.exomiser.core.phenotype.Organism;
+import org.monarchinitiative.exomiser.core.prioritisers.model.Disease;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneDiseaseModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneOrthologModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * {@link ModelService} backed by a read-only, memory-mapped snapshot written by the {@link ModelSnapshotWriter}. Only
+ * the distinct phenotype ids are read onto the heap when the snapshot is opened, the models themselves remain in the
+ * mapped file as compact records of term indices and are decoded into {@link GeneDiseaseModel} and
+ * {@link GeneOrthologModel} instances as they are accessed. All the decoded models share the same phenotype id
+ * {@link String} instances. The mapped file is shared between all processes using the same snapshot via the OS page
+ * cache.
+ *
+ * @since 13.3.0
+ */
+public class ModelSnapshotService implements ModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelSnapshotService.class);
+
+    private final ByteBuffer buffer;
+    private final String[] terms;
+
+    private final List<GeneModel> humanGeneDiseaseModels;
+    private final List<GeneModel> mouseGeneOrthologModels;
+    private final List<GeneModel> fishGeneOrthologModels;
+
+    public ModelSnapshotService(Path snapshotPath) {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Model snapshot " + snapshotPath + " is too large to map");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read model snapshot " + snapshotPath, e);
+        }
+        int magic = buffer.getInt(0);
+        int version = buffer.getInt(4);
+        if (magic != ModelSnapshotWriter.MAGIC || version != ModelSnapshotWriter.VERSION) {
+            throw new IllegalStateException("Unsupported model snapshot format in " + snapshotPath + " expected version " + ModelSnapshotWriter.VERSION + " but was " + version);
+        }
+        ByteBuffer reader = buffer.duplicate();
+        reader.position(8);
+        this.terms = new String[reader.getInt()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = readString(reader);
+        }
+        this.humanGeneDiseaseModels = new SectionList(reader, Organism.HUMAN);
+        this.mouseGeneOrthologModels = new SectionList(reader, Organism.MOUSE);
+        this.fishGeneOrthologModels = new SectionList(reader, Organism.FISH);
+        logger.debug("Mapped {} disease, {} mouse and {} fish models with {} distinct phenotypes from {}", humanGeneDiseaseModels.size(), mouseGeneOrthologModels.size(), fishGeneOrthologModels.size(), terms.length, snapshotPath);
+    }
+
+    @Override
+    public List<GeneModel> getHumanGeneDiseaseModels() {
+        return humanGeneDiseaseModels;
+    }
+
+    @Override
+    public List<GeneModel> getMouseGeneOrthologModels() {
+        return mouseGeneOrthologModels;
+    }
+
+    @Override
+    public List<GeneModel> getFishGeneOrthologModels() {
+        return fishGeneOrthologModels;
+    }
+
+    private static String readString(ByteBuffer reader) {
+        int length = Short.toUnsignedInt(reader.getShort());
+        if (length == 0) {
+            return "";
+        }
+        byte[] bytes = new byte[length];
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Immutable view of one of the organism sections of the snapshot which decodes each model on access.
+     */
+    private final class SectionList extends AbstractList<GeneModel> implements RandomAccess {
+
+        private final Organism organism;
+        private final int size;
+        private final int offsetsStart;
+        private final int recordsStart;
+
+        // advances the reader to the start of the next section
+        private SectionList(ByteBuffer reader, Organism organism) {
+            this.organism = organism;
+            this.size = reader.getInt();
+            int recordsLength = reader.getInt();
+            this.offsetsStart = reader.position();
+            this.recordsStart = offsetsStart + size * Integer.BYTES;
+            reader.position(recordsStart + recordsLength);
+        }
+
+        @Override
+        public GeneModel get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            ByteBuffer record = buffer.duplicate();
+            record.position(recordsStart + buffer.getInt(offsetsStart + index * Integer.BYTES));
+            return organism == Organism.HUMAN ? readDiseaseModel(record) : readOrthologModel(record);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private GeneModel readDiseaseModel(ByteBuffer record) {
+            int entrezGeneId = record.getInt();
+            String modelId = readString(record);
+            Disease disease = Disease.builder()
+                    .associatedGeneId(entrezGeneId)
+                    .associatedGeneSymbol(readString(record))
+                    .diseaseId(readString(record))
+                    .diseaseName(readString(record))
+                    .diseaseTypeCode(readString(record))
+                    .inheritanceModeCode(readString(record))
+                    .phenotypeIds(readPhenotypeIds(record))
+                    .build();
+            return new GeneDiseaseModel(modelId, organism, disease);
+        }
+
+        private GeneModel readOrthologModel(ByteBuffer record) {
+            int entrezGeneId = record.getInt();
+            String modelId = readString(record);
+            String humanGeneSymbol = readString(record);
+            String modelGeneId = readString(record);
+            String modelGeneSymbol = readString(record);
+            return new GeneOrthologModel(modelId, organism, entrezGeneId, humanGeneSymbol, modelGeneId, modelGeneSymbol, readPhenotypeIds(record));
+        }
+
+        private List<String> readPhenotypeIds(ByteBuffer record) {
+            String[] phenotypeIds = new String[record.getInt()];
+            for (int i = 0; i < phenotypeIds.length; i++) {
+                phenotypeIds[i] = terms[record.getInt()];
+            }
+            return List.of(phenotypeIds);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.service;
+
+import org.monarchinitiative.exomiser.core.prioritisers.model.Disease;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneDiseaseModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneOrthologModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.InheritanceMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Writes the human disease, mouse and fish models provided by a {@link ModelService} to a single binary file which can
+ * be memory-mapped by the {@link ModelSnapshotService}. The file has the layout:
+ * <pre>
+ *     int magic, int version
+ *     int termCount, termCount * string                          - sorted, distinct phenotype ids
+ *     3 * section (human, mouse, fish):
+ *         int modelCount, int recordsLength, modelCount * int    - record offsets relative to the first record
+ *         modelCount * record
+ * </pre>
+ * Strings are written as an unsigned short length followed by the UTF-8 bytes and the phenotype ids of each record as
+ * an int count followed by the indices of the ids in the term table. All values are big-endian.
+ *
+ * @since 13.3.0
+ */
+public final class ModelSnapshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelSnapshotWriter.class);
+
+    /**
+     * Name of the snapshot file in the phenotype data release.
+     */
+    public static final String DEFAULT_FILE_NAME = "phenotype-models.snapshot";
+
+    static final int MAGIC = 0x45584d53;
+    static final int VERSION = 1;
+
+    private ModelSnapshotWriter() {
+    }
+
+    /**
+     * Reads all the models from the {@code modelService} and writes them to {@code snapshotPath}. The snapshot is first
+     * written to a temporary file in the same directory so that a failed write will not leave a truncated snapshot.
+     */
+    public static void write(ModelService modelService, Path snapshotPath) {
+        List<GeneModel> diseaseModels = modelService.getHumanGeneDiseaseModels();
+        List<GeneModel> mouseModels = modelService.getMouseGeneOrthologModels();
+        List<GeneModel> fishModels = modelService.getFishGeneOrthologModels();
+
+        Map<String, Integer> termIndex = buildTermIndex(List.of(diseaseModels, mouseModels, fishModels));
+        Path tempFile = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(termIndex.size());
+                for (String term : termIndex.keySet()) {
+                    writeString(out, term);
+                }
+                writeSection(out, diseaseModels, termIndex);
+                writeSection(out, mouseModels, termIndex);
+                writeSection(out, fishModels, termIndex);
+            }
+            Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write model snapshot " + snapshotPath, e);
+        }
+        logger.info("Written {} disease, {} mouse and {} fish models with {} distinct phenotypes to {}", diseaseModels.size(), mouseModels.size(), fishModels.size(), termIndex.size(), snapshotPath);
+    }
+
+    private static Map<String, Integer> buildTermIndex(List<List<GeneModel>> modelLists) {
+        Set<String> terms = new TreeSet<>();
+        for (List<GeneModel> models : modelLists) {
+            for (GeneModel model : models) {
+                terms.addAll(model.getPhenotypeIds());
+            }
+        }
+        Map<String, Integer> termIndex = new LinkedHashMap<>();
+        for (String term : terms) {
+            termIndex.put(term, termIndex.size());
+        }
+        return termIndex;
+    }
+
+    private static void writeSection(DataOutputStream out, List<GeneModel> models, Map<String, Integer> termIndex) throws IOException {
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        int[] offsets = new int[models.size()];
+        for (int i = 0; i < models.size(); i++) {
+            offsets[i] = records.size();
+            GeneModel model = models.get(i);
+            if (model instanceof GeneDiseaseModel) {
+                writeDiseaseRecord(records, (GeneDiseaseModel) model);
+            } else if (model instanceof GeneOrthologModel) {
+                writeOrthologRecord(records, (GeneOrthologModel) model);
+            } else {
+                throw new IllegalArgumentException("Unsupported model type " + model.getClass().getName());
+            }
+            List<String> phenotypeIds = model.getPhenotypeIds();
+            records.writeInt(phenotypeIds.size());
+            for (String phenotypeId : phenotypeIds) {
+                records.writeInt(termIndex.get(phenotypeId));
+            }
+        }
+        records.flush();
+        out.writeInt(models.size());
+        out.writeInt(recordBytes.size());
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        recordBytes.writeTo(out);
+    }
+
+    private static void writeDiseaseRecord(DataOutputStream out, GeneDiseaseModel model) throws IOException {
+        Disease disease = model.getDisease();
+        out.writeInt(model.getEntrezGeneId());
+        writeString(out, model.getId());
+        writeString(out, model.getHumanGeneSymbol());
+        writeString(out, model.getDiseaseId());
+        writeString(out, model.getDiseaseTerm());
+        writeString(out, disease == null ? Disease.DiseaseType.UNCONFIRMED.getCode() : disease.getDiseaseType().getCode());
+        writeString(out, disease == null ? InheritanceMode.UNKNOWN.getInheritanceCode() : disease.getInheritanceMode().getInheritanceCode());
+    }
+
+    private static void writeOrthologRecord(DataOutputStream out, GeneOrthologModel model) throws IOException {
+        out.writeInt(model.getEntrezGeneId());
+        writeString(out, model.getId());
+        writeString(out, model.getHumanGeneSymbol());
+        writeString(out, model.getModelGeneId());
+        writeString(out, model.getModelGeneSymbol());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long for model snapshot: " + value.substring(0, 50) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
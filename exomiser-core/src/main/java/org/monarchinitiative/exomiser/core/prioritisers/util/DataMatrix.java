@@ -22,6 +22,8 @@
 
 import org.jblas.FloatMatrix;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -89,4 +91,27 @@ static DataMatrix empty() {
      */
     FloatMatrix getColumnMatrixForGene(int entrezGeneId);
 
+    /**
+     * Sums the columns for the argument gene identifiers into the {@code target} array. The target is cleared before
+     * the columns are added so that the same array can be re-used between calls without allocating a new
+     * {@code FloatMatrix} for each column. Genes not contained in the matrix are ignored.
+     *
+     * @param entrezGeneIds the entrez gene identifiers of the columns to be summed
+     * @param target        an array of length {@link #numRows()} to hold the summed columns
+     * @return the {@code target} array
+     * @throws IllegalArgumentException if the length of the {@code target} does not match the number of rows
+     * @since 13.3.0
+     */
+    default float[] sumColumnsForGenes(Collection<Integer> entrezGeneIds, float[] target) {
+        DataMatrixUtil.checkTargetLength(this, target);
+        Arrays.fill(target, 0f);
+        for (Integer entrezGeneId : entrezGeneIds) {
+            FloatMatrix column = getColumnMatrixForGene(entrezGeneId);
+            if (column != null) {
+                DataMatrixUtil.addInPlace(target, column.data, 0);
+            }
+        }
+        return target;
+    }
+
 }
@@ -67,4 +67,29 @@ private static FloatMatrix createFloatMatrix(Map<Integer, float[]> columns, Map<
         return floatMatrix;
     }
 
+    static void checkTargetLength(DataMatrix dataMatrix, float[] target) {
+        Objects.requireNonNull(target);
+        if (target.length != dataMatrix.numRows()) {
+            throw new IllegalArgumentException("target length " + target.length + " must match number of rows " + dataMatrix.numRows());
+        }
+    }
+
+    /**
+     * Adds the values of {@code source}, starting at {@code sourceOffset}, to the whole of {@code target}.
+     */
+    static void addInPlace(float[] target, float[] source, int sourceOffset) {
+        addInPlace(target, source, sourceOffset, 0, target.length);
+    }
+
+    /**
+     * Adds the values of {@code source}, starting at {@code sourceOffset + from}, to {@code target} between the
+     * indices {@code from} (inclusive) and {@code to} (exclusive). This is a simple counted loop which the JIT is able
+     * to auto-vectorise.
+     */
+    static void addInPlace(float[] target, float[] source, int sourceOffset, int from, int to) {
+        for (int i = from; i < to; i++) {
+            target[i] += source[sourceOffset + i];
+        }
+    }
+
 }
@@ -25,8 +25,11 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * In-memory implementation of the DataMatrix. Contains the random walk relationships and the entrez-id to index relations.
@@ -39,6 +42,11 @@ public class InMemoryDataMatrix implements DataMatrix {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryDataMatrix.class);
 
+    // number of rows summed by a single task, small enough for the block of the target to stay in cache
+    static final int ROW_BLOCK_SIZE = 1024;
+    // minimum number of values to be summed before splitting the work into parallel row blocks
+    static final long PARALLEL_THRESHOLD = 1L << 18;
+
     private final FloatMatrix matrix;
     private final Map<Integer, Integer> entrezIdToRowIndex;
 
@@ -95,6 +103,51 @@ public FloatMatrix getColumnMatrixForGene(int entrezGeneId) {
         return matrix.getColumn(rowIndex);
     }
 
+    /**
+     * Sums the requested columns straight out of the backing column-major data array. Large seed sets are split into
+     * blocks of rows which are summed in parallel, each block writing to a separate region of the {@code target} so no
+     * further reduction is required.
+     */
+    @Override
+    public float[] sumColumnsForGenes(Collection<Integer> entrezGeneIds, float[] target) {
+        DataMatrixUtil.checkTargetLength(this, target);
+        Arrays.fill(target, 0f);
+        int[] columnOffsets = columnOffsets(entrezGeneIds);
+        int rows = matrix.getRows();
+        if ((long) columnOffsets.length * rows < PARALLEL_THRESHOLD || rows <= ROW_BLOCK_SIZE) {
+            sumColumnBlock(columnOffsets, target, 0, rows);
+        } else {
+            int numBlocks = (rows + ROW_BLOCK_SIZE - 1) / ROW_BLOCK_SIZE;
+            IntStream.range(0, numBlocks)
+                    .parallel()
+                    .forEach(block -> {
+                        int from = block * ROW_BLOCK_SIZE;
+                        sumColumnBlock(columnOffsets, target, from, Math.min(from + ROW_BLOCK_SIZE, rows));
+                    });
+        }
+        return target;
+    }
+
+    private int[] columnOffsets(Collection<Integer> entrezGeneIds) {
+        int[] columnOffsets = new int[entrezGeneIds.size()];
+        int numColumns = 0;
+        for (Integer entrezGeneId : entrezGeneIds) {
+            //the PPI float matrix is symmetrical so the row index is also the column index
+            Integer columnIndex = entrezIdToRowIndex.get(entrezGeneId);
+            if (columnIndex != null) {
+                columnOffsets[numColumns++] = columnIndex * matrix.getRows();
+            }
+        }
+        return numColumns == columnOffsets.length ? columnOffsets : Arrays.copyOf(columnOffsets, numColumns);
+    }
+
+    private void sumColumnBlock(int[] columnOffsets, float[] target, int from, int to) {
+        float[] data = matrix.data;
+        for (int columnOffset : columnOffsets) {
+            DataMatrixUtil.addInPlace(target, data, columnOffset, from, to);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
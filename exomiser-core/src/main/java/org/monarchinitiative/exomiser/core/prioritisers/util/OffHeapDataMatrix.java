@@ -26,6 +26,8 @@
 
 import javax.annotation.PreDestroy;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 
@@ -117,4 +119,21 @@ public FloatMatrix getColumnMatrixForGene(int entrezGeneId) {
         }
         return new FloatMatrix(columnValues);
     }
+
+    /**
+     * Sums the stored column arrays directly into the {@code target}, avoiding wrapping and copying each one into a new
+     * {@code FloatMatrix}.
+     */
+    @Override
+    public float[] sumColumnsForGenes(Collection<Integer> entrezGeneIds, float[] target) {
+        DataMatrixUtil.checkTargetLength(this, target);
+        Arrays.fill(target, 0f);
+        for (Integer entrezGeneId : entrezGeneIds) {
+            float[] columnValues = columns.get(entrezGeneId);
+            if (columnValues != null) {
+                DataMatrixUtil.addInPlace(target, columnValues, 0);
+            }
+        }
+        return target;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Bounded cache of the combined proximity vectors of a {@link DataMatrix} keyed by seed gene set. The vectors are the
+ * sum of the matrix columns for each seed gene, so the order in which the seed genes are supplied does not matter.
+ * <p>
+ * The returned arrays are shared between callers and must not be modified.
+ *
+ * @since 13.3.0
+ */
+public class ProximityVectorCache {
+
+    private final DataMatrix dataMatrix;
+    private final LoadingCache<ImmutableList<Integer>, float[]> cache;
+
+    public ProximityVectorCache(DataMatrix dataMatrix, long maximumSize) {
+        this.dataMatrix = Objects.requireNonNull(dataMatrix);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build(CacheLoader.from(seedGenes -> dataMatrix.sumColumnsForGenes(seedGenes, new float[dataMatrix.numRows()])));
+    }
+
+    public DataMatrix getDataMatrix() {
+        return dataMatrix;
+    }
+
+    /**
+     * Returns the sum of the {@link DataMatrix} columns for the seed genes, computing it if this seed set has not been
+     * seen before.
+     *
+     * @param entrezSeedGenes the entrez gene identifiers of the seed genes
+     * @return the combined proximity vector for the seed genes. This array is shared and must not be modified.
+     */
+    public float[] getProximityVector(Collection<Integer> entrezSeedGenes) {
+        return cache.getUnchecked(ImmutableList.sortedCopyOf(entrezSeedGenes));
+    }
+
+    public long size() {
+        return cache.size();
+    }
+}
@@ -22,6 +22,7 @@
 
 import org.monarchinitiative.exomiser.api.v1.OutputProto;
 import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.jfr.ResultsWriterEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,7 +67,11 @@ public static void writeToFile(AnalysisResults analysisResults, OutputSettings o
         for (OutputFormat outputFormat : outputFormats) {
             var resultsWriter = ResultsWriterFactory.getResultsWriter(outputFormat);
             logger.debug("Writing {} results", outputFormat);
+            ResultsWriterEvent writerEvent = new ResultsWriterEvent(analysisResults.getProbandSampleName(), outputFormat.toString(), analysisResults
+                    .getGenes().size(), analysisResults.getVariantEvaluations().size());
+            writerEvent.begin();
             resultsWriter.writeFile(analysisResults, outputSettings);
+            writerEvent.commit();
         }
     }
 
@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.core.analysis;
 
 import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.analysis.util.GeneEvaluationExecutor;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisServiceProvider;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
 import org.monarchinitiative.exomiser.core.genome.TestFactory;
@@ -30,7 +31,7 @@
 import org.monarchinitiative.exomiser.core.prioritisers.NoneTypePriorityFactoryStub;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityFactory;
 
-import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -63,6 +64,48 @@ public void testGetAnalysisRunnerThrowsExceptionWhenUnsupportedGenomeAssemblyIsS
         assertThrows(UnsupportedGenomeAssemblyException.class, () -> instance.getAnalysisRunner(GenomeAssembly.HG38, AnalysisMode.FULL));
     }
 
+    @Test
+    public void testGeneEvaluationExecutorIsOnlyCreatedWithGeneEvaluationThreads() {
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.defaults());
+        assertThat(instance.getGeneEvaluationExecutor(), nullValue());
+
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.builder().geneEvaluationThreads(2).build());
+        assertThat(instance.getGeneEvaluationExecutor().getThreads(), equalTo(2));
+    }
+
+    @Test
+    public void testGeneEvaluationExecutorIsReusedWhenThreadsAreUnchanged() {
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.builder().geneEvaluationThreads(2).build());
+        GeneEvaluationExecutor geneEvaluationExecutor = instance.getGeneEvaluationExecutor();
+
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.builder().geneEvaluationThreads(2).optimiseVariantFilterOrder(true).build());
+        assertThat(instance.getGeneEvaluationExecutor(), sameInstance(geneEvaluationExecutor));
+        assertThat(geneEvaluationExecutor.isShutdown(), is(false));
+    }
+
+    @Test
+    public void testGeneEvaluationExecutorIsShutdownWhenThreadsChange() {
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.builder().geneEvaluationThreads(2).build());
+        GeneEvaluationExecutor geneEvaluationExecutor = instance.getGeneEvaluationExecutor();
+
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.builder().geneEvaluationThreads(4).build());
+        assertThat(geneEvaluationExecutor.isShutdown(), is(true));
+        assertThat(instance.getGeneEvaluationExecutor().getThreads(), equalTo(4));
+    }
+
+    @Test
+    public void testProvidedGeneEvaluationExecutorIsNotShutdownByFactory() {
+        GeneEvaluationExecutor providedExecutor = new GeneEvaluationExecutor(2);
+        instance.setGeneEvaluationExecutor(providedExecutor);
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.builder().geneEvaluationThreads(2).build());
+        assertThat(instance.getGeneEvaluationExecutor(), sameInstance(providedExecutor));
+
+        instance.setAnalysisRunnerOptions(AnalysisRunnerOptions.defaults());
+        assertThat(instance.getGeneEvaluationExecutor(), nullValue());
+        assertThat(providedExecutor.isShutdown(), is(false));
+        providedExecutor.shutdown();
+    }
+
     @Test
     public void testCanMakeAnalysisBuilder() {
         assertThat(instance.getAnalysisBuilder(), instanceOf(AnalysisBuilder.class));
@@ -26,9 +26,13 @@
 package org.monarchinitiative.exomiser.core.analysis;
 
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
-import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
-import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.analysis.util.TestPedigrees;
+import org.monarchinitiative.exomiser.core.genome.*;
 import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
+import org.monarchinitiative.exomiser.core.model.Pedigree;
+import org.monarchinitiative.exomiser.core.model.RegulatoryFeature;
+import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,9 +40,13 @@
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 /**
  * Contains common methods required by the AnalysisRunnerTest classes.
@@ -67,6 +75,79 @@ public abstract class AnalysisRunnerTestBase {
             .hpoIds(hpoIds)
             .build();
 
+    /**
+     * The default test {@link GenomeDataService} returns the same {@link Gene} instances for every analysis so the
+     * gene-level results of one run are seen by the next. This creates new genes for each run, as the real one does,
+     * so that the results of several runs can be compared.
+     */
+    GenomeAnalysisService newGenesPerRunGenomeAnalysisService() {
+        GenomeDataService genomeDataService = TestFactory.buildDefaultGenomeDataService();
+        GenomeDataService newGenesPerRunDataService = new GenomeDataService() {
+            @Override
+            public List<Gene> getKnownGenes() {
+                return TestFactory.buildGenes();
+            }
+
+            @Override
+            public Set<GeneIdentifier> getKnownGeneIdentifiers() {
+                return genomeDataService.getKnownGeneIdentifiers();
+            }
+
+            @Override
+            public List<RegulatoryFeature> getRegulatoryFeatures() {
+                return genomeDataService.getRegulatoryFeatures();
+            }
+
+            @Override
+            public List<TopologicalDomain> getTopologicallyAssociatedDomains() {
+                return genomeDataService.getTopologicallyAssociatedDomains();
+            }
+        };
+        return new GenomeAnalysisServiceImpl(GenomeAssembly.HG19, newGenesPerRunDataService, TestVariantDataService.stub(), TestFactory.buildDefaultVariantAnnotator());
+    }
+
+    /**
+     * @return samples for different probands and pedigrees from the same multi-sample VCF
+     */
+    protected List<Sample> trioProbandSamples() {
+        return List.of(
+                trioSample("Seth", TestPedigrees.trioChildAffected()),
+                trioSample("Adam", TestPedigrees.trioChildAndFatherAffected()),
+                trioSample("Seth", TestPedigrees.trioChildAndFatherAffected())
+        );
+    }
+
+    private Sample trioSample(String probandSampleName, Pedigree pedigree) {
+        return Sample.builder()
+                .vcfPath(TestPedigrees.trioVcfPath())
+                .pedigree(pedigree)
+                .probandSampleName(probandSampleName)
+                .hpoIds(hpoIds)
+                .build();
+    }
+
+    void assertSameResults(AnalysisResults actual, AnalysisResults expected) {
+        assertThat(actual.getSample(), equalTo(expected.getSample()));
+        assertThat(actual.getGenes().stream().map(Gene::getGeneSymbol).collect(toList()), equalTo(expected.getGenes().stream().map(Gene::getGeneSymbol).collect(toList())));
+        for (int i = 0; i < expected.getGenes().size(); i++) {
+            Gene expectedGene = expected.getGenes().get(i);
+            Gene actualGene = actual.getGenes().get(i);
+            assertThat(actualGene.getCombinedScore(), equalTo(expectedGene.getCombinedScore()));
+            assertThat(actualGene.getCompatibleInheritanceModes(), equalTo(expectedGene.getCompatibleInheritanceModes()));
+            assertThat(actualGene.passedFilters(), equalTo(expectedGene.passedFilters()));
+        }
+        assertThat(actual.getVariantEvaluations(), equalTo(expected.getVariantEvaluations()));
+        for (int i = 0; i < expected.getVariantEvaluations().size(); i++) {
+            VariantEvaluation expectedVariant = expected.getVariantEvaluations().get(i);
+            VariantEvaluation actualVariant = actual.getVariantEvaluations().get(i);
+            assertThat(actualVariant.getSampleGenotypes(), equalTo(expectedVariant.getSampleGenotypes()));
+            assertThat(actualVariant.getPassedFilterTypes(), equalTo(expectedVariant.getPassedFilterTypes()));
+            assertThat(actualVariant.getFailedFilterTypes(), equalTo(expectedVariant.getFailedFilterTypes()));
+            assertThat(actualVariant.getCompatibleInheritanceModes(), equalTo(expectedVariant.getCompatibleInheritanceModes()));
+            assertThat(actualVariant.contributesToGeneScore(), equalTo(expectedVariant.contributesToGeneScore()));
+        }
+    }
+
     Analysis makeAnalysis(AnalysisStep... analysisSteps) {
         return Analysis.builder()
                 .steps(List.of(analysisSteps))
@@ -22,28 +22,47 @@
 
 import de.charite.compbio.jannovar.annotation.VariantEffect;
 import de.charite.compbio.jannovar.mendel.ModeOfInheritance;
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import htsjdk.tribble.index.IndexFactory;
+import htsjdk.tribble.index.tabix.TabixFormat;
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.vcf.VCFCodec;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
 import org.monarchinitiative.exomiser.core.analysis.util.InheritanceModeAnalyser;
 import org.monarchinitiative.exomiser.core.analysis.util.InheritanceModeAnnotator;
 import org.monarchinitiative.exomiser.core.analysis.util.InheritanceModeOptions;
 import org.monarchinitiative.exomiser.core.analysis.util.TestPedigrees;
 import org.monarchinitiative.exomiser.core.filters.*;
+import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
 import org.monarchinitiative.exomiser.core.genome.TestFactory;
 import org.monarchinitiative.exomiser.core.genome.TestVcfReader;
 import org.monarchinitiative.exomiser.core.genome.VariantFactory;
 import org.monarchinitiative.exomiser.core.genome.VcfReader;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.monarchinitiative.exomiser.core.model.*;
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
 import org.monarchinitiative.exomiser.core.prioritisers.MockPrioritiser;
 import org.monarchinitiative.exomiser.core.prioritisers.NoneTypePrioritiser;
 import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
 
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.*;
@@ -179,6 +198,95 @@ public void testRunAnalysisTwoVariantFiltersOnePrioritiser() {
         assertThat(rbm8Variant1.passedFilter(FilterType.QUALITY_FILTER), is(true));
     }
 
+    @Test
+    public void testRunAnalysisWithOptimisedVariantFilterOrderHasSameResults() {
+        Analysis analysis = Analysis.builder()
+                .frequencySources(FrequencySource.ALL_EXAC_SOURCES)
+                .pathogenicitySources(EnumSet.of(PathogenicitySource.REVEL, PathogenicitySource.MVP))
+                .addStep(new FrequencyFilter(0.1f))
+                .addStep(new PathogenicityFilter(false))
+                .addStep(new QualityFilter(120))
+                .addStep(new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT, VariantEffect.UPSTREAM_GENE_VARIANT)))
+                .build();
+        PassOnlyAnalysisRunner optimisedRunner = new PassOnlyAnalysisRunner(genomeAnalysisService, new VcfReaderFactory(), true);
+
+        AnalysisResults expected = instance.run(vcfandPhenotypesSample, analysis);
+        AnalysisResults actual = optimisedRunner.run(vcfandPhenotypesSample, analysis);
+
+        assertThat(actual.getGenes().stream().map(Gene::getGeneSymbol).collect(toList()), equalTo(expected.getGenes().stream().map(Gene::getGeneSymbol).collect(toList())));
+        assertThat(expected.getVariantEvaluations().isEmpty(), is(false));
+        assertThat(actual.getVariantEvaluations(), equalTo(expected.getVariantEvaluations()));
+        for (int i = 0; i < expected.getVariantEvaluations().size(); i++) {
+            VariantEvaluation expectedVariant = expected.getVariantEvaluations().get(i);
+            VariantEvaluation actualVariant = actual.getVariantEvaluations().get(i);
+            assertThat(actualVariant.getFrequencyData(), equalTo(expectedVariant.getFrequencyData()));
+            assertThat(actualVariant.getPathogenicityData(), equalTo(expectedVariant.getPathogenicityData()));
+            assertThat(actualVariant.getPassedFilterTypes(), equalTo(expectedVariant.getPassedFilterTypes()));
+        }
+    }
+
+    @Test
+    public void testRunAnalysisWithReanalysisDirectoryReusesStoredVariants(@TempDir Path reanalysisDirectory) throws Exception {
+        Analysis analysis = Analysis.builder()
+                .frequencySources(FrequencySource.ALL_EXAC_SOURCES)
+                .pathogenicitySources(EnumSet.of(PathogenicitySource.REVEL, PathogenicitySource.MVP))
+                .addStep(new FrequencyFilter(0.1f))
+                .addStep(new PathogenicityFilter(false))
+                .addStep(new QualityFilter(120))
+                .build();
+        AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.builder()
+                .reanalysisDirectory(reanalysisDirectory)
+                .build();
+        PassOnlyAnalysisRunner reanalysisRunner = new PassOnlyAnalysisRunner(genomeAnalysisService, new VcfReaderFactory(), analysisRunnerOptions);
+
+        AnalysisResults expected = instance.run(vcfandPhenotypesSample, analysis);
+        AnalysisResults firstRun = reanalysisRunner.run(vcfandPhenotypesSample, analysis);
+        try (Stream<Path> files = Files.list(reanalysisDirectory)) {
+            assertThat(files.count(), equalTo(1L));
+        }
+        AnalysisResults reanalysis = reanalysisRunner.run(vcfandPhenotypesSample, analysis);
+
+        assertThat(expected.getVariantEvaluations().isEmpty(), is(false));
+        for (AnalysisResults actual : List.of(firstRun, reanalysis)) {
+            assertThat(actual.getGenes().stream().map(Gene::getGeneSymbol).collect(toList()), equalTo(expected.getGenes().stream().map(Gene::getGeneSymbol).collect(toList())));
+            assertThat(actual.getVariantEvaluations(), equalTo(expected.getVariantEvaluations()));
+            for (int i = 0; i < expected.getVariantEvaluations().size(); i++) {
+                VariantEvaluation expectedVariant = expected.getVariantEvaluations().get(i);
+                VariantEvaluation actualVariant = actual.getVariantEvaluations().get(i);
+                assertThat(actualVariant.getVariantContext().toStringWithoutGenotypes(), equalTo(expectedVariant.getVariantContext().toStringWithoutGenotypes()));
+                assertThat(actualVariant.getSampleGenotypes(), equalTo(expectedVariant.getSampleGenotypes()));
+                assertThat(actualVariant.getTranscriptAnnotations(), equalTo(expectedVariant.getTranscriptAnnotations()));
+                assertThat(actualVariant.getFrequencyData(), equalTo(expectedVariant.getFrequencyData()));
+                assertThat(actualVariant.getPathogenicityData(), equalTo(expectedVariant.getPathogenicityData()));
+                assertThat(actualVariant.getPassedFilterTypes(), equalTo(expectedVariant.getPassedFilterTypes()));
+                assertThat(actualVariant.getVariantScore(), equalTo(expectedVariant.getVariantScore()));
+            }
+        }
+    }
+
+    @Test
+    public void testSelectPreAnnotationVariantFilters() {
+        VariantFilter qualityFilter = new QualityFilter(120);
+        VariantFilter intervalFilter = new IntervalFilter(new GeneticInterval(1, 145508800, 145508800));
+        VariantFilter failedVariantFilter = new FailedVariantFilter();
+        List<VariantFilter> variantFilters = List.of(
+                new FrequencyFilter(0.1f),
+                qualityFilter,
+                new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT)),
+                intervalFilter,
+                failedVariantFilter
+        );
+        AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.builder().preAnnotationFilters(true).build();
+        PassOnlyAnalysisRunner preAnnotationRunner = new PassOnlyAnalysisRunner(genomeAnalysisService, new VcfReaderFactory(), analysisRunnerOptions);
+        assertThat(preAnnotationRunner.selectPreAnnotationVariantFilters(variantFilters), equalTo(List.of(qualityFilter, intervalFilter, failedVariantFilter)));
+    }
+
+    @Test
+    public void testSelectPreAnnotationVariantFiltersIsDisabledByDefault() {
+        List<VariantFilter> variantFilters = List.of(new QualityFilter(120), new FailedVariantFilter());
+        assertThat(instance.selectPreAnnotationVariantFilters(variantFilters), equalTo(List.of()));
+    }
+
     @Test
     public void testRunAnalysisWhenProbandSampleNameIsNotInSingleSampleVcf() {
         Sample sample = Sample.builder()
@@ -489,4 +597,223 @@ void testMergedCanvasCnvCalls() {
         System.out.println(rbm8a.getCompatibleInheritanceModes());
         rbm8a.getPassedVariantEvaluations().forEach(System.out::println);
     }
+
+    @Test
+    void testRunJointAnalysisOfProbandsFromSameVcfHasSameResultsAsSeparateAnalyses() {
+        Analysis analysis = Analysis.builder()
+                .inheritanceModeOptions(InheritanceModeOptions.defaults())
+                .addStep(new QualityFilter(5))
+                .addStep(new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT)))
+                .addStep(new InheritanceFilter(ModeOfInheritance.AUTOSOMAL_DOMINANT, ModeOfInheritance.AUTOSOMAL_RECESSIVE))
+                .build();
+        List<Sample> samples = trioProbandSamples();
+
+        AtomicInteger vcfReadersCreated = new AtomicInteger();
+        VcfReaderFactory countingVcfReaderFactory = new VcfReaderFactory() {
+            @Override
+            public VcfReader createVcfReader(Path vcfPath) {
+                vcfReadersCreated.incrementAndGet();
+                return super.createVcfReader(vcfPath);
+            }
+        };
+        GenomeAnalysisService newGenesPerRunGenomeAnalysisService = newGenesPerRunGenomeAnalysisService();
+        PassOnlyAnalysisRunner jointRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService, countingVcfReaderFactory);
+        List<AnalysisResults> actual = jointRunner.run(samples, analysis);
+        assertThat(vcfReadersCreated.get(), equalTo(1));
+        assertThat(actual.get(0).getGenes().isEmpty(), is(false));
+
+        assertThat(actual.size(), equalTo(samples.size()));
+        PassOnlyAnalysisRunner separateRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService);
+        for (int i = 0; i < samples.size(); i++) {
+            AnalysisResults expected = separateRunner.run(samples.get(i), analysis);
+            assertSameResults(actual.get(i), expected);
+        }
+    }
+
+    @Test
+    void testRunJointAnalysisWithReanalysisDirectoryStoresVariantsForEachProband(@TempDir Path reanalysisDirectory) throws Exception {
+        Analysis analysis = Analysis.builder()
+                .inheritanceModeOptions(InheritanceModeOptions.defaults())
+                .addStep(new QualityFilter(5))
+                .addStep(new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT)))
+                .addStep(new InheritanceFilter(ModeOfInheritance.AUTOSOMAL_DOMINANT, ModeOfInheritance.AUTOSOMAL_RECESSIVE))
+                .build();
+        List<Sample> samples = trioProbandSamples();
+        List<OutputSettings> outputSettings = Collections.nCopies(samples.size(), OutputSettings.defaults());
+        GenomeAnalysisService newGenesPerRunGenomeAnalysisService = newGenesPerRunGenomeAnalysisService();
+        AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.builder()
+                .reanalysisDirectory(reanalysisDirectory)
+                .build();
+        PassOnlyAnalysisRunner reanalysisRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService, new VcfReaderFactory(), analysisRunnerOptions);
+
+        List<AnalysisResults> firstRun = reanalysisRunner.run(samples, analysis, outputSettings);
+        try (Stream<Path> files = Files.list(reanalysisDirectory)) {
+            assertThat(files.count(), equalTo((long) samples.size()));
+        }
+        List<AnalysisResults> reanalysis = reanalysisRunner.run(samples, analysis, outputSettings);
+
+        PassOnlyAnalysisRunner separateRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService);
+        for (int i = 0; i < samples.size(); i++) {
+            AnalysisResults expected = separateRunner.run(samples.get(i), analysis);
+            assertSameResults(firstRun.get(i), expected);
+            assertSameResults(reanalysis.get(i), expected);
+        }
+    }
+
+    @Test
+    void testRunJointAnalysisPassesEachProbandsResultsToConsumerInSampleOrder() {
+        Analysis analysis = Analysis.builder()
+                .inheritanceModeOptions(InheritanceModeOptions.defaults())
+                .addStep(new QualityFilter(5))
+                .addStep(new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT)))
+                .addStep(new InheritanceFilter(ModeOfInheritance.AUTOSOMAL_DOMINANT, ModeOfInheritance.AUTOSOMAL_RECESSIVE))
+                .build();
+        List<Sample> samples = trioProbandSamples();
+        List<OutputSettings> outputSettings = Collections.nCopies(samples.size(), OutputSettings.defaults());
+        GenomeAnalysisService newGenesPerRunGenomeAnalysisService = newGenesPerRunGenomeAnalysisService();
+        PassOnlyAnalysisRunner jointRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService);
+
+        List<Integer> sampleIndices = new ArrayList<>();
+        List<AnalysisResults> actual = new ArrayList<>();
+        jointRunner.run(samples, analysis, outputSettings, (analysisResults, sampleIndex) -> {
+            sampleIndices.add(sampleIndex);
+            actual.add(analysisResults);
+        });
+
+        assertThat(sampleIndices, equalTo(List.of(0, 1, 2)));
+        PassOnlyAnalysisRunner separateRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService);
+        for (int i = 0; i < samples.size(); i++) {
+            assertSameResults(actual.get(i), separateRunner.run(samples.get(i), analysis));
+        }
+    }
+
+    @Test
+    void testRunJointAnalysisThrowsExceptionWithMismatchedOutputSettings() {
+        List<Sample> samples = trioProbandSamples();
+        Analysis analysis = Analysis.builder().addStep(new QualityFilter(5)).build();
+        assertThrows(IllegalArgumentException.class, () -> instance.run(samples, analysis, List.of(OutputSettings.defaults())));
+    }
+
+    @Test
+    void testRunJointAnalysisFallsBackToSeparateAnalysesWhenNotStartingWithVariantFilters() {
+        Analysis analysis = Analysis.builder()
+                .addStep(new MockPrioritiser(PriorityType.HIPHIVE_PRIORITY, Map.of()))
+                .addStep(new PriorityScoreFilter(PriorityType.HIPHIVE_PRIORITY, 0f))
+                .addStep(new QualityFilter(5))
+                .build();
+        List<Sample> samples = trioProbandSamples();
+        PassOnlyAnalysisRunner runner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService());
+
+        List<AnalysisResults> actual = runner.run(samples, analysis);
+
+        assertThat(actual.size(), equalTo(samples.size()));
+        for (int i = 0; i < samples.size(); i++) {
+            assertSameResults(actual.get(i), runner.run(samples.get(i), analysis));
+        }
+    }
+
+    @Test
+    void testRunAnalysisWithGeneEvaluationThreadsHasSameResults() {
+        Analysis analysis = Analysis.builder()
+                .inheritanceModeOptions(InheritanceModeOptions.defaults())
+                .addStep(new QualityFilter(5))
+                .addStep(new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT)))
+                .addStep(new InheritanceFilter(ModeOfInheritance.AUTOSOMAL_DOMINANT, ModeOfInheritance.AUTOSOMAL_RECESSIVE))
+                .build();
+        GenomeAnalysisService newGenesPerRunGenomeAnalysisService = newGenesPerRunGenomeAnalysisService();
+        AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.builder().geneEvaluationThreads(4).build();
+        PassOnlyAnalysisRunner parallelRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService, new VcfReaderFactory(), analysisRunnerOptions);
+        PassOnlyAnalysisRunner defaultRunner = new PassOnlyAnalysisRunner(newGenesPerRunGenomeAnalysisService);
+
+        for (Sample sample : trioProbandSamples()) {
+            AnalysisResults expected = defaultRunner.run(sample, analysis);
+            AnalysisResults actual = parallelRunner.run(sample, analysis);
+            assertThat(actual.getGenes().isEmpty(), is(false));
+            assertSameResults(actual, expected);
+        }
+    }
+
+    private Path writeTabixIndexedVcf(Path vcfPath, Path tempDir) throws Exception {
+        Path bgzipPath = tempDir.resolve(vcfPath.getFileName() + ".gz");
+        try (OutputStream out = new BlockCompressedOutputStream(bgzipPath.toFile())) {
+            Files.copy(vcfPath, out);
+        }
+        IndexFactory.createTabixIndex(bgzipPath.toFile(), new VCFCodec(), TabixFormat.VCF, null)
+                .writeBasedOnFeatureFile(bgzipPath.toFile());
+        return bgzipPath;
+    }
+
+    private VcfReaderFactory regionRecordingVcfReaderFactory(List<Collection<? extends ChromosomalRegion>> requestedRegions) {
+        return new VcfReaderFactory() {
+            @Override
+            public VcfReader createVcfReader(Path vcfPath) {
+                VcfReader vcfReader = super.createVcfReader(vcfPath);
+                return new VcfReader() {
+                    @Override
+                    public List<String> readSampleIdentifiers() {
+                        return vcfReader.readSampleIdentifiers();
+                    }
+
+                    @Override
+                    public Stream<VariantContext> readVariantContexts() {
+                        return vcfReader.readVariantContexts();
+                    }
+
+                    @Override
+                    public Stream<VariantContext> readVariantContexts(Collection<? extends ChromosomalRegion> regions) {
+                        requestedRegions.add(regions);
+                        return vcfReader.readVariantContexts(regions);
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    void testRunAnalysisIndexedRegionReadsOnlyReadsIntervals(@TempDir Path tempDir) throws Exception {
+        Sample sample = Sample.builder().vcfPath(writeTabixIndexedVcf(vcfPath, tempDir)).build();
+        GeneticInterval interval = new GeneticInterval(1, 145508800, 145508800);
+        Analysis analysis = makeAnalysis(new IntervalFilter(interval));
+
+        List<Collection<? extends ChromosomalRegion>> requestedRegions = new ArrayList<>();
+        AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.builder().indexedRegionReads(true).build();
+        PassOnlyAnalysisRunner runner = new PassOnlyAnalysisRunner(genomeAnalysisService, regionRecordingVcfReaderFactory(requestedRegions), analysisRunnerOptions);
+        AnalysisResults analysisResults = runner.run(sample, analysis);
+
+        assertThat(requestedRegions.size(), equalTo(1));
+        assertThat(new ArrayList<ChromosomalRegion>(requestedRegions.get(0)), equalTo(List.<ChromosomalRegion>of(interval)));
+        assertThat(analysisResults.getGenes().size(), equalTo(1));
+        Gene passedGene = analysisResults.getGenes().get(0);
+        assertThat(passedGene.getGeneSymbol(), equalTo("RBM8A"));
+        assertThat(passedGene.getNumberOfVariants(), equalTo(1));
+    }
+
+    @Test
+    void testRunAnalysisIndexedRegionReadsOfGenesHasSameResultsAsFullRead(@TempDir Path tempDir) throws Exception {
+        Sample sample = Sample.builder().vcfPath(writeTabixIndexedVcf(vcfPath, tempDir)).build();
+        Analysis analysis = makeAnalysis(new GeneSymbolFilter(Set.of("RBM8A")));
+
+        List<Collection<? extends ChromosomalRegion>> requestedRegions = new ArrayList<>();
+        AnalysisRunnerOptions analysisRunnerOptions = AnalysisRunnerOptions.builder().indexedRegionReads(true).build();
+        PassOnlyAnalysisRunner runner = new PassOnlyAnalysisRunner(genomeAnalysisService, regionRecordingVcfReaderFactory(requestedRegions), analysisRunnerOptions);
+        AnalysisResults actual = runner.run(sample, analysis);
+        assertThat(requestedRegions.size(), equalTo(1));
+
+        AnalysisResults expected = new PassOnlyAnalysisRunner(genomeAnalysisService).run(sample, analysis);
+        assertThat(actual.getGenes().isEmpty(), is(false));
+        assertThat(actual.getGenes().stream().map(Gene::getGeneSymbol).collect(toList()), equalTo(expected.getGenes().stream().map(Gene::getGeneSymbol).collect(toList())));
+        assertThat(actual.getVariantEvaluations(), equalTo(expected.getVariantEvaluations()));
+    }
+
+    @Test
+    void testRunAnalysisWithoutIndexedRegionReadsReadsWholeFile(@TempDir Path tempDir) throws Exception {
+        Sample sample = Sample.builder().vcfPath(writeTabixIndexedVcf(vcfPath, tempDir)).build();
+        Analysis analysis = makeAnalysis(new IntervalFilter(new GeneticInterval(1, 145508800, 145508800)));
+
+        List<Collection<? extends ChromosomalRegion>> requestedRegions = new ArrayList<>();
+        PassOnlyAnalysisRunner runner = new PassOnlyAnalysisRunner(genomeAnalysisService, regionRecordingVcfReaderFactory(requestedRegions));
+        runner.run(sample, analysis);
+
+        assertThat(requestedRegions.isEmpty(), is(true));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.filters.FilterResult;
+import org.monarchinitiative.exomiser.core.filters.FilterType;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityScore;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ReanalysisStoreTest {
+
+    private static final List<String> SAMPLE_NAMES = List.of("manuel");
+
+    private static List<VariantEvaluation> loadVariants() {
+        try (Stream<VariantEvaluation> variants = TestFactory.buildDefaultVariantFactory(Path.of("src/test/resources/smallTest.vcf")).createVariantEvaluations()) {
+            return variants.map(variantEvaluation -> {
+                        variantEvaluation.setFrequencyData(FrequencyData.of("rs12345", Frequency.of(FrequencySource.GNOMAD_E_NFE, 0.01f)));
+                        variantEvaluation.setPathogenicityData(PathogenicityData.of(PathogenicityScore.of(PathogenicitySource.REVEL, 0.9f)));
+                        variantEvaluation.addFilterResult(FilterResult.pass(FilterType.FREQUENCY_FILTER));
+                        variantEvaluation.addFilterResult(FilterResult.fail(FilterType.PATHOGENICITY_FILTER));
+                        return variantEvaluation;
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<FilterStats.FilterCount> filterCounts(int pass, int fail) {
+        FilterStats filterStats = new FilterStats();
+        filterStats.addCounts(FilterType.FREQUENCY_FILTER, pass, fail);
+        return filterStats.getFilterCounts();
+    }
+
+    @Test
+    void readMissingKeyIsEmpty(@TempDir Path tempDir) {
+        ReanalysisStore instance = new ReanalysisStore(tempDir);
+        FilterStats filterStats = new FilterStats();
+        assertThat(instance.read("key", filterStats), equalTo(Optional.empty()));
+        assertThat(filterStats.isEmpty(), is(true));
+    }
+
+    @Test
+    void writeThenRead(@TempDir Path tempDir) {
+        List<VariantEvaluation> variants = loadVariants();
+        ReanalysisStore instance = new ReanalysisStore(tempDir.resolve("reanalysis"));
+        instance.write("key", SAMPLE_NAMES, filterCounts(3, 2), variants);
+
+        FilterStats filterStats = new FilterStats();
+        List<VariantEvaluation> actual = instance.read("key", filterStats).orElseThrow();
+
+        assertThat(actual, equalTo(variants));
+        for (int i = 0; i < variants.size(); i++) {
+            VariantEvaluation expected = variants.get(i);
+            VariantEvaluation restored = actual.get(i);
+            assertThat(restored.getVariantContext().toStringWithoutGenotypes(), equalTo(expected.getVariantContext().toStringWithoutGenotypes()));
+            assertThat(restored.getAltAlleleId(), equalTo(expected.getAltAlleleId()));
+            assertThat(restored.getPhredScore(), equalTo(expected.getPhredScore()));
+            assertThat(restored.getSampleGenotypes(), equalTo(expected.getSampleGenotypes()));
+            assertThat(restored.getGeneSymbol(), equalTo(expected.getGeneSymbol()));
+            assertThat(restored.getTranscriptAnnotations(), equalTo(expected.getTranscriptAnnotations()));
+            assertThat(restored.getFrequencyData(), equalTo(expected.getFrequencyData()));
+            assertThat(restored.getPathogenicityData(), equalTo(expected.getPathogenicityData()));
+            assertThat(restored.getPassedFilterTypes(), equalTo(expected.getPassedFilterTypes()));
+            assertThat(restored.getFailedFilterTypes(), equalTo(expected.getFailedFilterTypes()));
+        }
+        assertThat(filterStats.getPassCountForFilter(FilterType.FREQUENCY_FILTER), equalTo(3));
+        assertThat(filterStats.getFailCountForFilter(FilterType.FREQUENCY_FILTER), equalTo(2));
+    }
+
+    @Test
+    void writeReplacesExistingVariants(@TempDir Path tempDir) {
+        List<VariantEvaluation> variants = loadVariants();
+        ReanalysisStore instance = new ReanalysisStore(tempDir);
+        instance.write("key", SAMPLE_NAMES, filterCounts(3, 2), variants);
+        instance.write("key", SAMPLE_NAMES, filterCounts(1, 4), variants.subList(0, 1));
+
+        FilterStats filterStats = new FilterStats();
+        assertThat(instance.read("key", filterStats).orElseThrow(), equalTo(variants.subList(0, 1)));
+        assertThat(filterStats.getPassCountForFilter(FilterType.FREQUENCY_FILTER), equalTo(1));
+    }
+
+    @Test
+    void corruptFileIsIgnored(@TempDir Path tempDir) throws Exception {
+        ReanalysisStore instance = new ReanalysisStore(tempDir);
+        instance.write("key", SAMPLE_NAMES, filterCounts(3, 2), loadVariants());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Path file = files.collect(Collectors.toList()).get(0);
+            Files.write(file, "not a gzip file".getBytes());
+        }
+        FilterStats filterStats = new FilterStats();
+        assertThat(instance.read("key", filterStats), equalTo(Optional.empty()));
+        assertThat(filterStats.isEmpty(), is(true));
+    }
+}
@@ -20,11 +20,21 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import de.charite.compbio.jannovar.annotation.VariantEffect;
 import de.charite.compbio.jannovar.mendel.ModeOfInheritance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
 import org.monarchinitiative.exomiser.core.analysis.util.InheritanceModeOptions;
 import org.monarchinitiative.exomiser.core.filters.*;
+import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
+import org.monarchinitiative.exomiser.core.genome.VcfReader;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.GeneticInterval;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
@@ -32,8 +42,12 @@
 import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
 
+import java.nio.file.Path;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -349,4 +363,110 @@ public void runAnalysisVariantFilterPrioritiserPriorityScoreFilterVariantFilter(
         assertThat(rbm8Variant2.passedFilter(FilterType.INHERITANCE_FILTER), is(true));
     }
 
+    @Test
+    public void runAnalysisRecordsMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SimpleAnalysisRunner runner = new SimpleAnalysisRunner(genomeAnalysisService, new VcfReaderFactory(), AnalysisRunnerOptions.defaults(), null, new AnalysisMetrics(meterRegistry));
+        VariantFilter intervalFilter = new IntervalFilter(new GeneticInterval(1, 145508800, 145508800));
+        Prioritiser mockHiPhivePrioritiser = new MockPrioritiser(PriorityType.HIPHIVE_PRIORITY, Map.of("GNRHR2", 0.75, "RBM8A", 0.65));
+
+        runner.run(vcfandPhenotypesSample, makeAnalysis(intervalFilter, mockHiPhivePrioritiser));
+
+        assertThat(meterRegistry.get(ExomiserMetrics.ANALYSIS).tag("mode", "PASS_ONLY").timer().count(), equalTo(1L));
+        assertThat(meterRegistry.get(ExomiserMetrics.ANALYSIS).tag("mode", "FULL").timer().count(), equalTo(0L));
+        assertThat(meterRegistry.get(ExomiserMetrics.ANALYSIS_STEP).tag("type", "variants").timer().count(), equalTo(1L));
+        assertThat(meterRegistry.get(ExomiserMetrics.ANALYSIS_STEP).tag("type", "prioritiser").tag("name", "MockPrioritiser").timer().count(), equalTo(1L));
+
+        double loaded = meterRegistry.get(ExomiserMetrics.VARIANTS_LOADED).counter().count();
+        double passed = meterRegistry.get(ExomiserMetrics.VARIANTS_FILTERED).tag("result", "pass").counter().count();
+        double failed = meterRegistry.get(ExomiserMetrics.VARIANTS_FILTERED).tag("result", "fail").counter().count();
+        assertThat(loaded > 0, is(true));
+        assertThat(passed, equalTo(1.0));
+        assertThat(passed + failed, equalTo(loaded));
+    }
+
+    @Test
+    public void runAnalysisRecordsFlightRecorderEvents(@TempDir Path tempDir) throws Exception {
+        VariantFilter intervalFilter = new IntervalFilter(new GeneticInterval(1, 145508800, 145508800));
+        Prioritiser mockHiPhivePrioritiser = new MockPrioritiser(PriorityType.HIPHIVE_PRIORITY, Map.of("GNRHR2", 0.75, "RBM8A", 0.65));
+
+        Path recordingPath = tempDir.resolve("analysis.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.monarchinitiative.exomiser.VcfLoadChunk");
+            recording.enable("org.monarchinitiative.exomiser.AnalysisStep");
+            recording.enable("org.monarchinitiative.exomiser.GeneScoring");
+            recording.start();
+            instance.run(vcfandPhenotypesSample, makeAnalysis(intervalFilter, mockHiPhivePrioritiser));
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        Map<String, List<RecordedEvent>> eventsByName = RecordingFile.readAllEvents(recordingPath).stream()
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+        List<RecordedEvent> chunkEvents = eventsByName.get("org.monarchinitiative.exomiser.VcfLoadChunk");
+        assertThat(chunkEvents.size(), equalTo(1));
+        assertThat(chunkEvents.get(0).getString("sampleId"), equalTo("manuel"));
+        assertThat(chunkEvents.get(0).getInt("chunk"), equalTo(0));
+        assertThat(chunkEvents.get(0).getInt("variantsPassed"), equalTo(1));
+
+        List<RecordedEvent> stepEvents = eventsByName.get("org.monarchinitiative.exomiser.AnalysisStep");
+        assertThat(stepEvents.size(), equalTo(1));
+        assertThat(stepEvents.get(0).getString("stepType"), equalTo("prioritiser"));
+        assertThat(stepEvents.get(0).getString("step"), equalTo("MockPrioritiser"));
+
+        List<RecordedEvent> scoringEvents = eventsByName.get("org.monarchinitiative.exomiser.GeneScoring");
+        assertThat(scoringEvents.size(), equalTo(1));
+        assertThat(scoringEvents.get(0).getInt("genes"), equalTo(2));
+    }
+
+    @Test
+    void testRunJointAnalysisOfProbandsFromSameVcfHasSameResultsAsSeparateAnalyses() {
+        Analysis analysis = Analysis.builder()
+                .inheritanceModeOptions(InheritanceModeOptions.defaults())
+                .addStep(new QualityFilter(5))
+                .addStep(new VariantEffectFilter(EnumSet.of(VariantEffect.INTERGENIC_VARIANT)))
+                .addStep(new InheritanceFilter(ModeOfInheritance.AUTOSOMAL_DOMINANT, ModeOfInheritance.AUTOSOMAL_RECESSIVE))
+                .build();
+        List<Sample> samples = trioProbandSamples();
+
+        AtomicInteger vcfReadersCreated = new AtomicInteger();
+        VcfReaderFactory countingVcfReaderFactory = new VcfReaderFactory() {
+            @Override
+            public VcfReader createVcfReader(Path vcfPath) {
+                vcfReadersCreated.incrementAndGet();
+                return super.createVcfReader(vcfPath);
+            }
+        };
+        GenomeAnalysisService newGenesPerRunGenomeAnalysisService = newGenesPerRunGenomeAnalysisService();
+        SimpleAnalysisRunner jointRunner = new SimpleAnalysisRunner(newGenesPerRunGenomeAnalysisService, countingVcfReaderFactory);
+        List<AnalysisResults> actual = jointRunner.run(samples, analysis);
+        assertThat(vcfReadersCreated.get(), equalTo(1));
+        assertThat(actual.get(0).getGenes().isEmpty(), is(false));
+
+        assertThat(actual.size(), equalTo(samples.size()));
+        SimpleAnalysisRunner separateRunner = new SimpleAnalysisRunner(newGenesPerRunGenomeAnalysisService);
+        for (int i = 0; i < samples.size(); i++) {
+            AnalysisResults expected = separateRunner.run(samples.get(i), analysis);
+            assertSameResults(actual.get(i), expected);
+        }
+    }
+
+    @Test
+    void testRunJointAnalysisFallsBackToSeparateAnalysesWhenNotStartingWithVariantFilters() {
+        Analysis analysis = Analysis.builder()
+                .addStep(new MockPrioritiser(PriorityType.HIPHIVE_PRIORITY, Map.of()))
+                .addStep(new PriorityScoreFilter(PriorityType.HIPHIVE_PRIORITY, 0f))
+                .addStep(new QualityFilter(5))
+                .build();
+        List<Sample> samples = trioProbandSamples();
+        SimpleAnalysisRunner runner = new SimpleAnalysisRunner(newGenesPerRunGenomeAnalysisService());
+
+        List<AnalysisResults> actual = runner.run(samples, analysis);
+
+        assertThat(actual.size(), equalTo(samples.size()));
+        for (int i = 0; i < samples.size(); i++) {
+            assertSameResults(actual.get(i), runner.run(samples.get(i), analysis));
+        }
+    }
 }
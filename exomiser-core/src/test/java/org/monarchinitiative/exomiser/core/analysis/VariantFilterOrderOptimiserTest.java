@@ -0,0 +1,91 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.filters.*;
+import org.monarchinitiative.exomiser.core.genome.TestVariantDataService;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class VariantFilterOrderOptimiserTest {
+
+    private final VariantFilter frequencyFilter = new FrequencyDataProvider(TestVariantDataService.stub(), EnumSet.of(FrequencySource.GNOMAD_E_NFE), new FrequencyFilter(1f));
+    private final VariantFilter pathogenicityFilter = new PathogenicityDataProvider(TestVariantDataService.stub(), EnumSet.of(PathogenicitySource.REVEL), new PathogenicityFilter(true));
+    private final VariantFilter qualityFilter = new QualityFilter(20);
+    private final VariantFilter variantEffectFilter = new VariantEffectFilter(Set.of(VariantEffect.INTERGENIC_VARIANT));
+
+    private void addResults(FilterStats filterStats, FilterType filterType, int passed, int failed) {
+        for (int i = 0; i < passed; i++) {
+            filterStats.addResult(FilterResult.pass(filterType));
+        }
+        for (int i = 0; i < failed; i++) {
+            filterStats.addResult(FilterResult.fail(filterType));
+        }
+    }
+
+    @Test
+    void dataFetchingFiltersAreRunLast() {
+        List<VariantFilter> userOrder = List.of(frequencyFilter, qualityFilter, pathogenicityFilter, variantEffectFilter);
+        VariantFilterOrderOptimiser instance = new VariantFilterOrderOptimiser(userOrder, new FilterStats());
+
+        assertThat(instance.getVariantFilters(), equalTo(List.of(qualityFilter, variantEffectFilter, frequencyFilter, pathogenicityFilter)));
+    }
+
+    @Test
+    void filtersAreReorderedByObservedPassRateWithinCostClass() {
+        List<VariantFilter> userOrder = List.of(frequencyFilter, pathogenicityFilter, qualityFilter, variantEffectFilter);
+        FilterStats filterStats = new FilterStats();
+        VariantFilterOrderOptimiser instance = new VariantFilterOrderOptimiser(userOrder, filterStats);
+        assertThat(instance.getVariantFilters(), equalTo(List.of(qualityFilter, variantEffectFilter, frequencyFilter, pathogenicityFilter)));
+
+        addResults(filterStats, FilterType.QUALITY_FILTER, 90, 10);
+        addResults(filterStats, FilterType.VARIANT_EFFECT_FILTER, 20, 70);
+        addResults(filterStats, FilterType.FREQUENCY_FILTER, 15, 5);
+        addResults(filterStats, FilterType.PATHOGENICITY_FILTER, 1, 14);
+
+        for (int i = 0; i < VariantFilterOrderOptimiser.REORDER_INTERVAL - 1; i++) {
+            instance.variantFiltered();
+        }
+        // not yet due for re-ordering
+        assertThat(instance.getVariantFilters(), equalTo(List.of(qualityFilter, variantEffectFilter, frequencyFilter, pathogenicityFilter)));
+
+        instance.variantFiltered();
+        assertThat(instance.getVariantFilters(), equalTo(List.of(variantEffectFilter, qualityFilter, pathogenicityFilter, frequencyFilter)));
+    }
+
+    @Test
+    void equallyRankedFiltersKeepUserOrder() {
+        VariantFilter failedVariantFilter = new FailedVariantFilter();
+        List<VariantFilter> userOrder = List.of(variantEffectFilter, failedVariantFilter, qualityFilter);
+        VariantFilterOrderOptimiser instance = new VariantFilterOrderOptimiser(userOrder, new FilterStats());
+
+        assertThat(instance.getVariantFilters(), equalTo(userOrder));
+    }
+}
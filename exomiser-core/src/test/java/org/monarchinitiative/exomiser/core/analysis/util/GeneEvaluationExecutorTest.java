@@ -0,0 +1,100 @@
+package org.monarchinitiative.exomiser.core.analysis.util;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.Gene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeneEvaluationExecutorTest {
+
+    private Gene newGene(int geneId, int numVariants) {
+        Gene gene = new Gene("GENE" + geneId, geneId);
+        for (int i = 0; i < numVariants; i++) {
+            gene.addVariant(TestFactory.variantBuilder(1, geneId * 1000 + i, "A", "T").build());
+        }
+        return gene;
+    }
+
+    private List<Gene> newGenes(int numGenes) {
+        List<Gene> genes = new ArrayList<>(numGenes);
+        for (int i = 1; i <= numGenes; i++) {
+            genes.add(newGene(i, i % 3));
+        }
+        return genes;
+    }
+
+    @Test
+    void throwsExceptionWithZeroThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneEvaluationExecutor(0));
+    }
+
+    @Test
+    void forEachEvaluatesEveryGeneOnce() {
+        List<Gene> genes = newGenes(100);
+        Set<Gene> evaluated = ConcurrentHashMap.newKeySet();
+        List<Gene> evaluatedTwice = new ArrayList<>();
+
+        new GeneEvaluationExecutor(4).forEach(genes, gene -> {
+            if (!evaluated.add(gene)) {
+                synchronized (evaluatedTwice) {
+                    evaluatedTwice.add(gene);
+                }
+            }
+        });
+
+        assertThat(evaluated, equalTo(Set.copyOf(genes)));
+        assertThat(evaluatedTwice, empty());
+    }
+
+    @Test
+    void forEachRethrowsExceptionFromAction() {
+        List<Gene> genes = newGenes(20);
+        GeneEvaluationExecutor instance = new GeneEvaluationExecutor(2);
+        assertThrows(IllegalStateException.class, () -> instance.forEach(genes, gene -> {
+            throw new IllegalStateException("Oops!");
+        }));
+    }
+
+    @Test
+    void sharedReturnsSameExecutorForSameNumberOfThreads() {
+        assertThat(GeneEvaluationExecutor.shared(3), sameInstance(GeneEvaluationExecutor.shared(3)));
+        assertThat(GeneEvaluationExecutor.shared(3), not(sameInstance(GeneEvaluationExecutor.shared(2))));
+    }
+
+    @Test
+    void forEachThrowsExceptionAfterShutdown() {
+        GeneEvaluationExecutor instance = new GeneEvaluationExecutor(2);
+        instance.shutdown();
+        assertThat(instance.isShutdown(), is(true));
+        assertThrows(RejectedExecutionException.class, () -> instance.forEach(newGenes(20), gene -> {}));
+    }
+
+    @Test
+    void partitionPutsLargeGenesInTheirOwnUnitsFirst() {
+        Gene largeGene = newGene(1, 1000);
+        List<Gene> genes = new ArrayList<>(newGenes(50));
+        genes.add(25, largeGene);
+
+        List<List<Gene>> workUnits = GeneEvaluationExecutor.partitionByVariantCount(genes, 8);
+
+        assertThat(workUnits.get(0), equalTo(List.of(largeGene)));
+        List<Gene> partitionedGenes = workUnits.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertThat(partitionedGenes, containsInAnyOrder(genes.toArray()));
+    }
+
+    @Test
+    void partitionIsDeterministic() {
+        List<Gene> genes = newGenes(200);
+        assertThat(GeneEvaluationExecutor.partitionByVariantCount(genes, 16), equalTo(GeneEvaluationExecutor.partitionByVariantCount(genes, 16)));
+    }
+}
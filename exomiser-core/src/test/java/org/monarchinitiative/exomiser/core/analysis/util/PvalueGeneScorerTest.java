@@ -0,0 +1,97 @@
+package org.monarchinitiative.exomiser.core.analysis.util;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import de.charite.compbio.jannovar.mendel.ModeOfInheritance;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.filters.FilterResult;
+import org.monarchinitiative.exomiser.core.filters.FilterType;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.Pedigree;
+import org.monarchinitiative.exomiser.core.model.Pedigree.Individual.Sex;
+import org.monarchinitiative.exomiser.core.model.SampleIdentifiers;
+import org.monarchinitiative.exomiser.core.prioritisers.MockPriorityResult;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class PvalueGeneScorerTest {
+
+    private PvalueGeneScorer newInstance(InheritanceModeOptions inheritanceModeOptions) {
+        InheritanceModeAnnotator inheritanceModeAnnotator = new InheritanceModeAnnotator(Pedigree.justProband(SampleIdentifiers.defaultSample()), inheritanceModeOptions);
+        return new PvalueGeneScorer(SampleIdentifiers.defaultSample(), Sex.UNKNOWN, inheritanceModeAnnotator, CombinedScorePvalueCalculator.noOpCombinedScorePvalueCalculator());
+    }
+
+    /**
+     * Creates genes with a single passed variant, alternately a frameshift or a missense, and phenotype scores
+     * decreasing from 1 so that the combined scores of neighbouring genes overlap.
+     */
+    private List<Gene> newGenes(int numGenes) {
+        List<Gene> genes = new ArrayList<>(numGenes);
+        for (int i = 0; i < numGenes; i++) {
+            Gene gene = new Gene("GENE" + i, i + 1);
+            gene.addVariant(TestFactory.variantBuilder(1, i + 1, "A", "T")
+                    .geneSymbol(gene.getGeneSymbol())
+                    .variantEffect(i % 2 == 0 ? VariantEffect.FRAMESHIFT_VARIANT : VariantEffect.MISSENSE_VARIANT)
+                    .filterResults(FilterResult.pass(FilterType.FREQUENCY_FILTER))
+                    .build());
+            gene.addPriorityResult(new MockPriorityResult(PriorityType.HIPHIVE_PRIORITY, gene.getEntrezGeneID(), gene.getGeneSymbol(), 1d - (double) i / numGenes));
+            genes.add(gene);
+        }
+        return genes;
+    }
+
+    private List<String> geneSymbols(List<Gene> genes) {
+        return genes.stream().map(Gene::getGeneSymbol).collect(Collectors.toList());
+    }
+
+    private List<Double> combinedScores(List<Gene> genes) {
+        return genes.stream().map(Gene::getCombinedScore).collect(Collectors.toList());
+    }
+
+    @Test
+    void scoreTopGenesWithoutLimitsScoresAllGenes() {
+        List<Gene> genes = newInstance(InheritanceModeOptions.empty()).scoreTopGenes(newGenes(10), 0, 0);
+        assertThat(genes.size(), equalTo(10));
+        genes.forEach(gene -> assertThat(gene.getGeneScores(), not(empty())));
+    }
+
+    @Test
+    void scoreTopGenesHasSameTopGenesAsScoreGenes() {
+        int numberOfGenes = 5;
+        List<Gene> allScored = newInstance(InheritanceModeOptions.defaults()).scoreGenes(newGenes(200));
+        List<Gene> topScored = newInstance(InheritanceModeOptions.defaults()).scoreTopGenes(newGenes(200), numberOfGenes, 0);
+
+        assertThat(topScored.size(), equalTo(allScored.size()));
+        List<Gene> expectedTop = allScored.subList(0, numberOfGenes);
+        List<Gene> actualTop = topScored.subList(0, numberOfGenes);
+        assertThat(geneSymbols(actualTop), equalTo(geneSymbols(expectedTop)));
+        assertThat(combinedScores(actualTop), equalTo(combinedScores(expectedTop)));
+        for (int i = 0; i < numberOfGenes; i++) {
+            assertThat(actualTop.get(i).getGeneScores().size(), equalTo(expectedTop.get(i).getGeneScores().size()));
+            for (ModeOfInheritance modeOfInheritance : InheritanceModeOptions.defaults().getDefinedModes()) {
+                assertThat(actualTop.get(i).getGeneScoreForMode(modeOfInheritance).pValue(), equalTo(expectedTop.get(i).getGeneScoreForMode(modeOfInheritance).pValue()));
+            }
+        }
+        // the lowest-ranked genes can't reach the top genes so are not scored
+        assertThat(topScored.get(topScored.size() - 1).getGeneScores(), empty());
+    }
+
+    @Test
+    void scoreTopGenesOnlyScoresGenesAboveMinCombinedScore() {
+        List<Gene> allScored = newInstance(InheritanceModeOptions.empty()).scoreGenes(newGenes(20));
+        double minCombinedScore = allScored.get(9).getCombinedScore();
+
+        List<Gene> topScored = newInstance(InheritanceModeOptions.empty()).scoreTopGenes(newGenes(20), 0, minCombinedScore);
+
+        List<Gene> expected = allScored.stream().filter(gene -> gene.getCombinedScore() >= minCombinedScore).collect(Collectors.toList());
+        List<Gene> actual = topScored.stream().filter(gene -> gene.getCombinedScore() >= minCombinedScore).collect(Collectors.toList());
+        assertThat(geneSymbols(actual), equalTo(geneSymbols(expected)));
+        assertThat(combinedScores(actual), equalTo(combinedScores(expected)));
+    }
+}
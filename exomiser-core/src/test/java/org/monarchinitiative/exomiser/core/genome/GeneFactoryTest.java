@@ -30,7 +30,9 @@
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
+import org.monarchinitiative.exomiser.core.model.GeneticInterval;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -60,4 +62,14 @@ public void testCreateKnownGenes() {
         assertThat(knownGenes, equalTo(expected));
     }
 
+    @Test
+    public void testGetGeneRegions() {
+        //uc001ent.2	chr1	+	145507556	145513535
+        assertThat(instance.getGeneRegions(List.of("RBM8A")), equalTo(List.of(new GeneticInterval(1, 145507557, 145513535))));
+    }
+
+    @Test
+    public void testGetGeneRegionsUnknownGene() {
+        assertThat(instance.getGeneRegions(List.of("WIBBLE")), equalTo(List.of()));
+    }
 }
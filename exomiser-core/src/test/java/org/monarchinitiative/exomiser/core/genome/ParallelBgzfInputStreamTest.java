@@ -0,0 +1,132 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import htsjdk.samtools.util.BlockCompressedInputStream;
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelBgzfInputStreamTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeBgzf(byte[] data) throws IOException {
+        Path bgzfPath = tempDir.resolve("test.gz");
+        try (OutputStream out = new BlockCompressedOutputStream(bgzfPath.toFile(), 6)) {
+            out.write(data);
+        }
+        return bgzfPath;
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomLines(int lines) {
+        Random random = new Random(42);
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            stringBuilder.append("chr1\t").append(random.nextInt(250_000_000)).append("\t.\tA\tT\t").append(random.nextInt(100)).append("\tPASS\t.\n");
+        }
+        return stringBuilder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void readsMultipleBlocksInOrder() throws IOException {
+        byte[] data = randomLines(50_000);
+        Path bgzfPath = writeBgzf(data);
+
+        byte[] expected = readAll(new BlockCompressedInputStream(bgzfPath.toFile()));
+        assertThat(expected, equalTo(data));
+
+        byte[] actual = readAll(new ParallelBgzfInputStream(Files.newInputStream(bgzfPath), 4));
+        assertThat(actual, equalTo(data));
+    }
+
+    @Test
+    void readsSingleBytes() throws IOException {
+        byte[] data = "##fileformat=VCFv4.2\n".getBytes(StandardCharsets.US_ASCII);
+        Path bgzfPath = writeBgzf(data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new ParallelBgzfInputStream(Files.newInputStream(bgzfPath), 2)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                out.write(b);
+            }
+        }
+        assertThat(out.toByteArray(), equalTo(data));
+    }
+
+    @Test
+    void readsEmptyFile() throws IOException {
+        Path bgzfPath = writeBgzf(new byte[0]);
+        assertThat(readAll(new ParallelBgzfInputStream(Files.newInputStream(bgzfPath), 2)).length, equalTo(0));
+    }
+
+    @Test
+    void readsWithSharedExecutor() throws IOException {
+        byte[] data = randomLines(10_000);
+        Path bgzfPath = writeBgzf(data);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            assertThat(readAll(new ParallelBgzfInputStream(Files.newInputStream(bgzfPath), executorService, 4)), equalTo(data));
+            // the shared executor is not shut down by the stream
+            assertThat(readAll(new ParallelBgzfInputStream(Files.newInputStream(bgzfPath), executorService, 4)), equalTo(data));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void throwsIOExceptionForPlainGzip() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(randomLines(100));
+        }
+        assertThrows(IOException.class, () -> readAll(new ParallelBgzfInputStream(new ByteArrayInputStream(gzipped.toByteArray()), 2)));
+    }
+
+    @Test
+    void throwsIOExceptionForTruncatedBlock() throws IOException {
+        byte[] bgzf = Files.readAllBytes(writeBgzf(randomLines(1000)));
+        byte[] truncated = new byte[bgzf.length / 2];
+        System.arraycopy(bgzf, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> readAll(new ParallelBgzfInputStream(new ByteArrayInputStream(truncated), 2)));
+    }
+}
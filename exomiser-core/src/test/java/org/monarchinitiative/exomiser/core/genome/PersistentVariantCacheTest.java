@@ -0,0 +1,214 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.model.ChromosomalRegionIndex;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.*;
+import org.monarchinitiative.svart.CoordinateSystem;
+import org.monarchinitiative.svart.Position;
+import org.monarchinitiative.svart.Strand;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class PersistentVariantCacheTest {
+
+    private static final Set<FrequencySource> FREQUENCY_SOURCES = EnumSet.of(FrequencySource.GNOMAD_E_AFR, FrequencySource.EXAC_FINNISH);
+    private static final Set<PathogenicitySource> PATHOGENICITY_SOURCES = EnumSet.of(PathogenicitySource.CADD, PathogenicitySource.REVEL);
+
+    private static final FrequencyData FREQUENCY_DATA = FrequencyData.of("rs12345", Frequency.of(FrequencySource.GNOMAD_E_AFR, 0.01f), Frequency.of(FrequencySource.EXAC_FINNISH, 0.2f));
+    private static final PathogenicityData PATHOGENICITY_DATA = PathogenicityData.of(
+            ClinVarData.builder()
+                    .alleleId("12345")
+                    .primaryInterpretation(ClinVarData.ClinSig.PATHOGENIC_OR_LIKELY_PATHOGENIC)
+                    .secondaryInterpretations(EnumSet.of(ClinVarData.ClinSig.RISK_FACTOR))
+                    .reviewStatus("criteria_provided,_multiple_submitters,_no_conflicts")
+                    .includedAlleles(Map.of("54321", ClinVarData.ClinSig.LIKELY_PATHOGENIC))
+                    .build(),
+            CaddScore.of(23.5f), PathogenicityScore.of(PathogenicitySource.REVEL, 0.9f));
+
+    private static PersistentVariantCache inMemoryCache() {
+        return new PersistentVariantCache(new MVStore.Builder().open(), "fingerprint");
+    }
+
+    private static VariantEvaluation variant(int chr, int pos, String ref, String alt) {
+        return VariantEvaluation.builder()
+                .with(GenomeAssembly.HG19.getContigById(chr), "", Strand.POSITIVE, CoordinateSystem.FULLY_CLOSED, Position.of(pos), ref, alt)
+                .variantEffect(VariantEffect.MISSENSE_VARIANT)
+                .build();
+    }
+
+    private static class CountingVariantAnnotator implements VariantAnnotator {
+
+        private final VariantAnnotator variantAnnotator = new JannovarVariantAnnotator(GenomeAssembly.HG19, TestFactory.buildDefaultJannovarData(), ChromosomalRegionIndex.empty());
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public GenomeAssembly genomeAssembly() {
+            return variantAnnotator.genomeAssembly();
+        }
+
+        @Override
+        public List<VariantAnnotation> annotate(org.monarchinitiative.svart.Variant variant) {
+            count.incrementAndGet();
+            return variantAnnotator.annotate(variant);
+        }
+    }
+
+    private static class CountingVariantDataService implements VariantDataService {
+
+        private final AtomicInteger frequencyCount = new AtomicInteger();
+        private final AtomicInteger pathogenicityCount = new AtomicInteger();
+
+        @Override
+        public boolean variantIsWhiteListed(Variant variant) {
+            return false;
+        }
+
+        @Override
+        public FrequencyData getVariantFrequencyData(Variant variant, Set<FrequencySource> frequencySources) {
+            frequencyCount.incrementAndGet();
+            return FREQUENCY_DATA;
+        }
+
+        @Override
+        public PathogenicityData getVariantPathogenicityData(Variant variant, Set<PathogenicitySource> pathogenicitySources) {
+            pathogenicityCount.incrementAndGet();
+            return PATHOGENICITY_DATA;
+        }
+    }
+
+    @Test
+    void alleleKeyIsNullForSymbolicVariant() {
+        VariantEvaluation symbolic = VariantEvaluation.builder()
+                .with(GenomeAssembly.HG19.getContigById(1), "", Strand.POSITIVE, CoordinateSystem.FULLY_CLOSED, Position.of(100), Position.of(2000), "A", "<DEL>", -1900)
+                .build();
+        assertThat(PersistentVariantCache.alleleKey(symbolic), nullValue());
+        assertThat(PersistentVariantCache.alleleKey(null), nullValue());
+    }
+
+    @Test
+    void alleleKey() {
+        assertThat(PersistentVariantCache.alleleKey(variant(10, 123256215, "T", "G")), equalTo("10-123256215-T-G"));
+    }
+
+    @Test
+    void sourcesKeyUsesSortedNames() {
+        assertThat(PersistentVariantCache.sourcesKey(EnumSet.of(PathogenicitySource.REVEL, PathogenicitySource.CADD)), equalTo("CADD.REVEL"));
+        assertThat(PersistentVariantCache.sourcesKey(EnumSet.noneOf(FrequencySource.class)), equalTo(""));
+    }
+
+    @Test
+    void unreadableEntryIsReplacedWithLoadedValue() {
+        MVStore mvStore = new MVStore.Builder().open();
+        PersistentVariantCache instance = new PersistentVariantCache(mvStore, "fingerprint");
+        String key = PersistentVariantCache.alleleKey(variant(10, 123256215, "T", "G"));
+        mvStore.<String, byte[]>openMap("frequencies").put(key, new byte[]{1, 2, 3});
+
+        assertThat(instance.getFrequencyData(key, () -> FREQUENCY_DATA), equalTo(FREQUENCY_DATA));
+        assertThat(instance.missCount(), equalTo(1L));
+        assertThat(instance.getFrequencyData(key, FrequencyData::empty), equalTo(FREQUENCY_DATA));
+        assertThat(instance.hitCount(), equalTo(1L));
+    }
+
+    @Test
+    void cachedAnnotationsAreEqualToAnnotatorOutput() {
+        CountingVariantAnnotator variantAnnotator = new CountingVariantAnnotator();
+        CachingVariantAnnotator instance = new CachingVariantAnnotator(variantAnnotator, inMemoryCache());
+
+        VariantEvaluation missense = variant(10, 123256215, "T", "G");
+        List<VariantAnnotation> expected = variantAnnotator.annotate(missense);
+
+        assertThat(instance.annotate(missense), equalTo(expected));
+        assertThat(instance.annotate(missense), equalTo(expected));
+        // once for the expected value, once for the cache miss
+        assertThat(variantAnnotator.count.get(), equalTo(2));
+    }
+
+    @Test
+    void cachedVariantDataIsEqualToServiceOutput() {
+        CountingVariantDataService variantDataService = new CountingVariantDataService();
+        CachingVariantDataService instance = new CachingVariantDataService(variantDataService, inMemoryCache());
+
+        VariantEvaluation missense = variant(10, 123256215, "T", "G");
+        for (int i = 0; i < 3; i++) {
+            assertThat(instance.getVariantFrequencyData(missense, FREQUENCY_SOURCES), equalTo(FREQUENCY_DATA));
+            assertThat(instance.getVariantPathogenicityData(missense, PATHOGENICITY_SOURCES), equalTo(PATHOGENICITY_DATA));
+        }
+        assertThat(variantDataService.frequencyCount.get(), equalTo(1));
+        assertThat(variantDataService.pathogenicityCount.get(), equalTo(1));
+    }
+
+    @Test
+    void variantDataIsCachedPerSetOfSources() {
+        CountingVariantDataService variantDataService = new CountingVariantDataService();
+        CachingVariantDataService instance = new CachingVariantDataService(variantDataService, inMemoryCache());
+
+        VariantEvaluation missense = variant(10, 123256215, "T", "G");
+        instance.getVariantFrequencyData(missense, FREQUENCY_SOURCES);
+        instance.getVariantFrequencyData(missense, EnumSet.of(FrequencySource.GNOMAD_E_AFR));
+        instance.getVariantPathogenicityData(missense, PATHOGENICITY_SOURCES);
+        instance.getVariantPathogenicityData(missense, EnumSet.of(PathogenicitySource.CADD));
+
+        assertThat(variantDataService.frequencyCount.get(), equalTo(2));
+        assertThat(variantDataService.pathogenicityCount.get(), equalTo(2));
+    }
+
+    @Test
+    void cacheIsRetainedOnReopeningWithSameFingerprintAndClearedOnChange(@TempDir Path tempDir) {
+        Path cachePath = tempDir.resolve("variant-cache.mv.db");
+        VariantEvaluation missense = variant(10, 123256215, "T", "G");
+        String key = PersistentVariantCache.alleleKey(missense);
+
+        try (PersistentVariantCache cache = PersistentVariantCache.open(cachePath, "2302_hg19")) {
+            cache.getFrequencyData(key, () -> FREQUENCY_DATA);
+            assertThat(cache.missCount(), equalTo(1L));
+        }
+
+        try (PersistentVariantCache cache = PersistentVariantCache.open(cachePath, "2302_hg19")) {
+            assertThat(cache.getFrequencyData(key, FrequencyData::empty), equalTo(FREQUENCY_DATA));
+            assertThat(cache.hitCount(), equalTo(1L));
+        }
+
+        try (PersistentVariantCache cache = PersistentVariantCache.open(cachePath, "2309_hg19")) {
+            assertThat(cache.getFrequencyData(key, FrequencyData::empty), equalTo(FrequencyData.empty()));
+            assertThat(cache.missCount(), equalTo(1L));
+        }
+    }
+}
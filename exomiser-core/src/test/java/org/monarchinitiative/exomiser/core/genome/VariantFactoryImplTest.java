@@ -35,12 +35,14 @@
 import org.monarchinitiative.exomiser.core.model.*;
 import org.monarchinitiative.svart.ConfidenceInterval;
 import org.monarchinitiative.svart.Position;
+import org.monarchinitiative.svart.Variant;
 import org.monarchinitiative.svart.VariantType;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -324,6 +326,43 @@ public void testMultiSampleMultiPositionOnlyOneAltAlleleIsPresentInSamplesProduc
         );
     }
 
+    @Test
+    void testPreAnnotationFilterSkipsAnnotationOfFailedAlleles() {
+        VcfReader vcfReader = TestVcfReader.builder().samples(sample, sample1)
+                .vcfLines(
+                        "1\t120612040\t.\tT\tTCCGCCG,TCCTCCGCCG\t258.62\tPASS\t.\tGT\t0/1\t0/2",
+                        "1\t145508800\t.\tT\tC\t12.0\tPASS\t.\tGT\t0/1\t0/1"
+                )
+                .build();
+        VariantAnnotator defaultAnnotator = TestFactory.buildDefaultVariantAnnotator();
+        AtomicInteger annotated = new AtomicInteger();
+        VariantAnnotator countingAnnotator = new VariantAnnotator() {
+            @Override
+            public GenomeAssembly genomeAssembly() {
+                return defaultAnnotator.genomeAssembly();
+            }
+
+            @Override
+            public List<VariantAnnotation> annotate(Variant variant) {
+                annotated.incrementAndGet();
+                return defaultAnnotator.annotate(variant);
+            }
+        };
+        VariantFactoryImpl instance = new VariantFactoryImpl(countingAnnotator, vcfReader);
+        // only keep alleles called in the first sample with a QUAL of at least 20
+        List<VariantEvaluation> variants = instance.createVariantEvaluations(variantEvaluation -> variantEvaluation.getSampleGenotype(sample)
+                .getCalls()
+                .contains(AlleleCall.ALT) && variantEvaluation.getPhredScore() >= 20)
+                .collect(toList());
+
+        assertThat(variants.size(), equalTo(1));
+        VariantEvaluation variantEvaluation = variants.get(0);
+        assertThat(variantEvaluation.alt(), equalTo("TCCGCCG"));
+        assertThat(variantEvaluation.getGeneSymbol(), equalTo("RBM8A"));
+        assertThat(variantEvaluation.hasTranscriptAnnotations(), is(true));
+        assertThat(annotated.get(), equalTo(1));
+    }
+
     @Test
     void testTranscriptsOverlappingTwoGenes() {
         VcfReader vcfReader = TestVcfReader.builder().samples("Sample1")
@@ -20,11 +20,19 @@
 
 package org.monarchinitiative.exomiser.core.genome;
 
+import htsjdk.samtools.util.BlockCompressedOutputStream;
 import htsjdk.tribble.TribbleException;
+import htsjdk.tribble.index.IndexFactory;
+import htsjdk.tribble.index.tabix.TabixFormat;
+import htsjdk.variant.vcf.VCFCodec;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.vcf.VCFHeader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.model.GeneticInterval;
 
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -80,6 +88,82 @@ public void testCreateVariantContextsMultipleAlleles() {
         assertThat(variants.size(), equalTo(1));
     }
 
+    @Test
+    public void testReadVariantContextsParallelDecompression(@TempDir Path tempDir) throws Exception {
+        Path vcfPath = Paths.get("src/test/resources/multiSampleWithProbandHomRef.vcf");
+        Path bgzipPath = tempDir.resolve("multiSampleWithProbandHomRef.vcf.gz");
+        try (OutputStream out = new BlockCompressedOutputStream(bgzipPath.toFile())) {
+            Files.copy(vcfPath, out);
+        }
+        List<String> expected = VcfFiles.readVariantContexts(bgzipPath).map(VariantContext::toStringDecodeGenotypes).collect(toList());
+        List<String> actual;
+        try (Stream<VariantContext> variantContexts = VcfFiles.readVariantContexts(bgzipPath, 4)) {
+            actual = variantContexts.map(VariantContext::toStringDecodeGenotypes).collect(toList());
+        }
+        assertThat(actual.isEmpty(), equalTo(false));
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void testReadVariantContextsParallelDecompressionUncompressedFile() {
+        Path vcfPath = Paths.get("src/test/resources/smallTest.vcf");
+        try (Stream<VariantContext> variantStream = VcfFiles.readVariantContexts(vcfPath, 4)) {
+            assertThat(variantStream.count(), equalTo(3L));
+        }
+    }
+
+    private Path writeTabixIndexedVcf(Path vcfPath, Path tempDir) throws Exception {
+        Path bgzipPath = tempDir.resolve(vcfPath.getFileName() + ".gz");
+        try (OutputStream out = new BlockCompressedOutputStream(bgzipPath.toFile())) {
+            Files.copy(vcfPath, out);
+        }
+        IndexFactory.createTabixIndex(bgzipPath.toFile(), new VCFCodec(), TabixFormat.VCF, null)
+                .writeBasedOnFeatureFile(bgzipPath.toFile());
+        return bgzipPath;
+    }
+
+    @Test
+    public void testIsQueryable(@TempDir Path tempDir) throws Exception {
+        Path vcfPath = Paths.get("src/test/resources/smallTest.vcf");
+        assertThat(VcfFiles.isQueryable(vcfPath), equalTo(false));
+        assertThat(VcfFiles.isQueryable(writeTabixIndexedVcf(vcfPath, tempDir)), equalTo(true));
+    }
+
+    @Test
+    public void testReadVariantContextsInRegions(@TempDir Path tempDir) throws Exception {
+        // n.b. this file has no contig header lines
+        Path bgzipPath = writeTabixIndexedVcf(Paths.get("src/test/resources/smallTest.vcf"), tempDir);
+        List<Integer> starts;
+        try (Stream<VariantContext> variantContexts = VcfFiles.readVariantContexts(bgzipPath, List.of(new GeneticInterval(1, 145508000, 145509000)))) {
+            starts = variantContexts.map(VariantContext::getStart).collect(toList());
+        }
+        assertThat(starts, equalTo(List.of(145508800)));
+    }
+
+    @Test
+    public void testReadVariantContextsInOverlappingAndUnsortedRegions(@TempDir Path tempDir) throws Exception {
+        Path bgzipPath = writeTabixIndexedVcf(Paths.get("src/test/resources/smallTest.vcf"), tempDir);
+        List<GeneticInterval> regions = List.of(
+                new GeneticInterval(1, 145509000, 145510000),
+                new GeneticInterval(1, 145508800, 145510000),
+                new GeneticInterval(1, 123256213, 123256213),
+                new GeneticInterval(2, 1, 1_000_000)
+        );
+        List<Integer> starts;
+        try (Stream<VariantContext> variantContexts = VcfFiles.readVariantContexts(bgzipPath, regions)) {
+            starts = variantContexts.map(VariantContext::getStart).collect(toList());
+        }
+        assertThat(starts, equalTo(List.of(123256213, 145508800, 145510000)));
+    }
+
+    @Test
+    public void testVcfFileReaderReadsAllVariantsInRegionsOfUnindexedFile() {
+        VcfReader vcfReader = new VcfFileReader(Paths.get("src/test/resources/smallTest.vcf"));
+        try (Stream<VariantContext> variantContexts = vcfReader.readVariantContexts(List.of(new GeneticInterval(1, 145508000, 145509000)))) {
+            assertThat(variantContexts.count(), equalTo(3L));
+        }
+    }
+
     @Test
     public void testReadVcfHeader() {
         Path vcfPath = Paths.get("src/test/resources/altAllele.vcf");
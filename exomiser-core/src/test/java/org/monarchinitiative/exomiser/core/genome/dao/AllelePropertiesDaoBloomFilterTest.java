@@ -0,0 +1,147 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllelePropertiesDaoBloomFilterTest {
+
+    private static AlleleKey alleleKey(int chr, int pos, String ref, String alt) {
+        return AlleleKey.newBuilder().setChr(chr).setPosition(pos).setRef(ref).setAlt(alt).build();
+    }
+
+    private final AlleleKey knownKey = alleleKey(1, 12345, "A", "T");
+    private final AlleleProperties knownProperties = AlleleProperties.newBuilder().setRsId("rs54321").putProperties("KG", 0.04f).build();
+
+    @Test
+    void filterContainsAllAddedKeys() {
+        AlleleKeyBloomFilter instance = AlleleKeyBloomFilter.create(10_000, 0.01);
+        for (int i = 1; i <= 10_000; i++) {
+            instance.put(alleleKey(1, i, "A", "T"));
+        }
+        for (int i = 1; i <= 10_000; i++) {
+            assertThat(instance.mightContain(alleleKey(1, i, "A", "T")), is(true));
+        }
+        int falsePositives = 0;
+        for (int i = 1; i <= 10_000; i++) {
+            if (instance.mightContain(alleleKey(2, i, "A", "T"))) {
+                falsePositives++;
+            }
+        }
+        // expected ~100
+        assertThat(falsePositives, lessThan(300));
+    }
+
+    @Test
+    void filterDistinguishesRefAltBoundary() {
+        AlleleKeyBloomFilter instance = AlleleKeyBloomFilter.create(1, 0.000_001);
+        instance.put(alleleKey(1, 12345, "A", "CG"));
+        assertThat(instance.mightContain(alleleKey(1, 12345, "A", "CG")), is(true));
+        assertThat(instance.mightContain(alleleKey(1, 12345, "AC", "G")), is(false));
+    }
+
+    @Test
+    void packableKeysAreFoundByTheirPackedKey() {
+        AlleleKeyBloomFilter instance = AlleleKeyBloomFilter.create(1, 0.000_001);
+        instance.put(knownKey);
+        assertThat(instance.mightContain(AlleleKeyPacker.pack(knownKey)), is(true));
+
+        AlleleKey packedKey = alleleKey(1, 23456, "AC", "G");
+        AlleleKeyBloomFilter packedInstance = AlleleKeyBloomFilter.create(1, 0.000_001);
+        packedInstance.put(AlleleKeyPacker.pack(packedKey));
+        assertThat(packedInstance.mightContain(packedKey), is(true));
+    }
+
+    @Test
+    void unpackableKeysAreFoundByTheirAlleleKey() {
+        AlleleKey unpackableKey = alleleKey(1, 12345, "A", "<DEL>");
+        assertThat(AlleleKeyPacker.isPackable(unpackableKey), is(false));
+        AlleleKeyBloomFilter instance = AlleleKeyBloomFilter.create(1, 0.000_001);
+        instance.put(unpackableKey);
+        assertThat(instance.mightContain(unpackableKey), is(true));
+        assertThat(instance.mightContain(alleleKey(1, 12345, "A", "<INS>")), is(false));
+    }
+
+    @Test
+    void writeAndReadFilter(@TempDir Path tempDir) {
+        AlleleKeyBloomFilter instance = AlleleKeyBloomFilter.create(100, 0.01);
+        instance.put(knownKey);
+        Path filterPath = tempDir.resolve("hg19_variants.bloom");
+        instance.writeTo(filterPath);
+
+        AlleleKeyBloomFilter read = AlleleKeyBloomFilter.readFrom(filterPath);
+        assertThat(read.mightContain(knownKey), is(true));
+        assertThat(read.approximateAlleleCount(), equalTo(1L));
+    }
+
+    @Test
+    void readFilterWithoutFormatVersionThrowsException(@TempDir Path tempDir) throws IOException {
+        // filters written before the packed keys were hashed start directly with the guava bloom filter
+        Path filterPath = tempDir.resolve("hg19_variants.bloom");
+        try (OutputStream outputStream = Files.newOutputStream(filterPath)) {
+            BloomFilter.create(Funnels.longFunnel(), 100, 0.01).writeTo(outputStream);
+        }
+        assertThrows(IllegalStateException.class, () -> AlleleKeyBloomFilter.readFrom(filterPath));
+    }
+
+    @Test
+    void returnsPropertiesForKeyInFilter() {
+        AlleleKeyBloomFilter filter = AlleleKeyBloomFilter.create(100, 0.01);
+        filter.put(knownKey);
+        AllelePropertiesDao instance = new AllelePropertiesDaoBloomFilter(filter, new AllelePropertiesDaoMvStore(MvAlleleStoreTestUtil.newMvStoreWithData(Map.of(knownKey, knownProperties))));
+
+        assertThat(instance.getAlleleProperties(knownKey, GenomeAssembly.HG19), equalTo(knownProperties));
+        Variant variant = TestFactory.variantBuilder(1, 12345, "A", "T").build();
+        assertThat(AlleleProtoAdaptor.toAlleleKey(variant), equalTo(knownKey));
+        assertThat(instance.getAlleleProperties(variant), equalTo(knownProperties));
+    }
+
+    @Test
+    void definiteMissDoesNotQueryStore() {
+        AlleleKeyBloomFilter emptyFilter = AlleleKeyBloomFilter.create(100, 0.01);
+        // the key is in the store but not the filter, so the store should never be consulted
+        AllelePropertiesDao instance = new AllelePropertiesDaoBloomFilter(emptyFilter, new AllelePropertiesDaoMvStore(MvAlleleStoreTestUtil.newMvStoreWithData(Map.of(knownKey, knownProperties))));
+
+        assertThat(instance.getAlleleProperties(knownKey, GenomeAssembly.HG19), equalTo(AlleleProperties.getDefaultInstance()));
+        Variant variant = TestFactory.variantBuilder(1, 12345, "A", "T").build();
+        assertThat(instance.getAlleleProperties(variant), equalTo(AlleleProperties.getDefaultInstance()));
+    }
+}
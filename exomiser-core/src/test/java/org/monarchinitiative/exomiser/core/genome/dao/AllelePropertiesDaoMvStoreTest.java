@@ -0,0 +1,100 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
+import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllelePropertiesDaoMvStoreTest {
+
+    private static final Variant SNV = TestFactory.variantBuilder(1, 12345, "A", "T").build();
+    private static final Variant LONG_INDEL = TestFactory.variantBuilder(1, 23456, "A", "ATTTTTTTTT").build();
+    private static final Variant MISSING = TestFactory.variantBuilder(1, 34567, "C", "G").build();
+
+    private static final AlleleProperties SNV_PROPERTIES = AlleleProperties.newBuilder()
+            .setRsId("rs12345")
+            .putProperties("KG", 0.02f)
+            .build();
+    private static final AlleleProperties LONG_INDEL_PROPERTIES = AlleleProperties.newBuilder()
+            .setRsId("rs23456")
+            .putProperties("GNOMAD_G_NFE", 0.01f)
+            .build();
+
+    private static final Map<AlleleKey, AlleleProperties> ALLELES = Map.of(
+            AlleleProtoAdaptor.toAlleleKey(SNV), SNV_PROPERTIES,
+            AlleleProtoAdaptor.toAlleleKey(LONG_INDEL), LONG_INDEL_PROPERTIES
+    );
+
+    private void assertFindsAlleles(AllelePropertiesDao instance) {
+        // the properties will have been packed in the long key store, so compare them in the legacy format
+        assertThat(unpack(instance.getAlleleProperties(SNV)), equalTo(SNV_PROPERTIES));
+        assertThat(unpack(instance.getAlleleProperties(AlleleProtoAdaptor.toAlleleKey(SNV), GenomeAssembly.HG19)), equalTo(SNV_PROPERTIES));
+        assertThat(unpack(instance.getAlleleProperties(LONG_INDEL)), equalTo(LONG_INDEL_PROPERTIES));
+        assertThat(unpack(instance.getAlleleProperties(AlleleProtoAdaptor.toAlleleKey(LONG_INDEL), GenomeAssembly.HG19)), equalTo(LONG_INDEL_PROPERTIES));
+        assertThat(instance.getAlleleProperties(MISSING), equalTo(AlleleProperties.getDefaultInstance()));
+    }
+
+    private AlleleProperties unpack(AlleleProperties alleleProperties) {
+        return AllelePropertiesPacker.unpack(alleleProperties);
+    }
+
+    @Test
+    void legacyStore() {
+        assertFindsAlleles(new AllelePropertiesDaoMvStore(MvAlleleStoreTestUtil.newMvStoreWithData(ALLELES)));
+    }
+
+    @Test
+    void longKeyStore() {
+        assertFindsAlleles(new AllelePropertiesDaoMvStore(MvAlleleStoreTestUtil.newLongKeyMvStoreWithData(ALLELES)));
+    }
+
+    @Test
+    void longKeyStoreWithoutFormatVersionIsPackedFormat() {
+        MVStore mvStore = MvAlleleStoreTestUtil.newLongKeyMvStoreWithData(ALLELES);
+        assertThat(MvStoreUtil.readAlleleFormatVersion(mvStore), equalTo(AllelePropertiesPacker.PACKED_FORMAT_VERSION));
+    }
+
+    @Test
+    void legacyStoreWithoutFormatVersionIsLegacyFormat() {
+        MVStore mvStore = MvAlleleStoreTestUtil.newMvStoreWithData(ALLELES);
+        assertThat(MvStoreUtil.readAlleleFormatVersion(mvStore), equalTo(AllelePropertiesPacker.LEGACY_FORMAT_VERSION));
+    }
+
+    @Test
+    void throwsExceptionWithNewerFormatVersion() {
+        MVStore mvStore = MvAlleleStoreTestUtil.newLongKeyMvStoreWithData(ALLELES);
+        MvStoreUtil.writeAlleleFormatVersion(mvStore, AllelePropertiesPacker.PACKED_FORMAT_VERSION + 1);
+        assertThrows(IllegalStateException.class, () -> new AllelePropertiesDaoMvStore(mvStore));
+    }
+}
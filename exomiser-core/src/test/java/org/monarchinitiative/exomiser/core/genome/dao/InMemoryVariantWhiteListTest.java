@@ -60,4 +60,38 @@ void testContains() {
         VariantWhiteList emptyInstance = InMemoryVariantWhiteList.empty();
         assertThat(emptyInstance.contains(whiteListedVariant), is(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testContainsUnpackableVariant() {
+        Variant shortVariant = TestFactory.variantBuilder(1, 234567, "A", "G").build();
+        Variant longVariant = TestFactory.variantBuilder(1, 345678, "A", "AGGGGGGGGG").build();
+        VariantWhiteList instance = InMemoryVariantWhiteList.of(Set.of(AlleleProtoAdaptor.toAlleleKey(shortVariant), AlleleProtoAdaptor.toAlleleKey(longVariant)));
+
+        assertThat(instance.contains(shortVariant), is(true));
+        assertThat(instance.contains(longVariant), is(true));
+        assertThat(instance.contains(TestFactory.variantBuilder(1, 234567, "A", "T").build()), is(false));
+        assertThat(instance.contains(TestFactory.variantBuilder(1, 345678, "A", "AGGGGGGGGGG").build()), is(false));
+    }
+
+    @Test
+    void builderRemovesDuplicates() {
+        InMemoryVariantWhiteList instance = InMemoryVariantWhiteList.builder()
+                .add(1, 234567, "A", "G")
+                .add(2, 12345, "C", "T")
+                .add(1, 234567, "A", "G")
+                .add(1, 345678, "A", "AGGGGGGGGG")
+                .build();
+
+        assertThat(instance.size(), equalTo(3));
+        assertThat(instance, equalTo(InMemoryVariantWhiteList.of(Set.of(
+                AlleleProto.AlleleKey.newBuilder().setChr(1).setPosition(234567).setRef("A").setAlt("G").build(),
+                AlleleProto.AlleleKey.newBuilder().setChr(2).setPosition(12345).setRef("C").setAlt("T").build(),
+                AlleleProto.AlleleKey.newBuilder().setChr(1).setPosition(345678).setRef("A").setAlt("AGGGGGGGGG").build()
+        ))));
+    }
+
+    @Test
+    void emptyBuilderReturnsEmptyWhiteList() {
+        assertThat(InMemoryVariantWhiteList.builder().build(), equalTo(InMemoryVariantWhiteList.empty()));
+    }
+}
@@ -23,6 +23,7 @@
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
 
@@ -43,4 +44,23 @@ public static MVStore newMvStoreWithData(Map<AlleleKey, AlleleProperties> value)
         map.putAll(value);
         return mvStore;
     }
+
+    /**
+     * Creates a store in the packed format where the packable alleles are held in the long key map.
+     */
+    public static MVStore newLongKeyMvStoreWithData(Map<AlleleKey, AlleleProperties> value) {
+        MVStore mvStore = new MVStore.Builder().open();
+
+        MVMap<AlleleKey, AlleleProperties> map = MvStoreUtil.openPackedAlleleMVMap(mvStore);
+        MVMap<Long, AlleleProperties> longKeyMap = MvStoreUtil.openLongKeyAlleleMVMap(mvStore);
+        value.forEach((alleleKey, alleleProperties) -> {
+            long packedKey = AlleleKeyPacker.pack(alleleKey);
+            if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+                map.put(alleleKey, alleleProperties);
+            } else {
+                longKeyMap.put(packedKey, alleleProperties);
+            }
+        });
+        return mvStore;
+    }
 }
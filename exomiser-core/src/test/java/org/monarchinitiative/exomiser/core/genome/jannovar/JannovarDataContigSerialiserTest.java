@@ -0,0 +1,123 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.jannovar;
+
+import de.charite.compbio.jannovar.data.JannovarData;
+import de.charite.compbio.jannovar.reference.TranscriptModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.proto.JannovarProto;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since 13.3.0
+ */
+class JannovarDataContigSerialiserTest {
+
+    private static final JannovarData TEST_DATA = JannovarDataProtoSerialiser.load(Paths.get("src/test/resources/jannovar/2309_hg19_transcripts_ensembl_exomiser_format.ser"));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTrip() {
+        Path contigPath = tempDir.resolve("transcripts.ser");
+        JannovarDataContigSerialiser.save(contigPath, TEST_DATA);
+        JannovarData jannovarData = JannovarDataContigSerialiser.load(contigPath);
+
+        assertThat(jannovarData.getRefDict().getContigNameToID(), equalTo(TEST_DATA.getRefDict().getContigNameToID()));
+        assertThat(jannovarData.getRefDict().getContigIDToLength(), equalTo(TEST_DATA.getRefDict().getContigIDToLength()));
+        assertThat(jannovarData.getRefDict().getContigIDToName(), equalTo(TEST_DATA.getRefDict().getContigIDToName()));
+
+        assertThat(jannovarData.getTmByAccession(), equalTo(TEST_DATA.getTmByAccession()));
+        assertThat(jannovarData.getTmByGeneSymbol(), equalTo(TEST_DATA.getTmByGeneSymbol()));
+    }
+
+    @Test
+    void indexContainsOneChunkPerContig() {
+        Path contigPath = tempDir.resolve("transcripts.ser");
+        JannovarDataContigSerialiser.save(contigPath, TEST_DATA);
+
+        JannovarProto.ContigIndex contigIndex = JannovarDataContigSerialiser.readIndex(contigPath);
+
+        Map<Integer, Long> expectedCounts = transcriptCountsByContig(TEST_DATA.getTmByAccession().values());
+        Map<Integer, Long> indexCounts = contigIndex.getContigChunksList().stream()
+                .collect(Collectors.toMap(JannovarProto.ContigChunk::getContigId, chunk -> (long) chunk.getTranscriptCount()));
+        assertThat(indexCounts, equalTo(expectedCounts));
+    }
+
+    @Test
+    void loadSelectedContigsOnly() {
+        Path contigPath = tempDir.resolve("transcripts.ser");
+        JannovarDataContigSerialiser.save(contigPath, TEST_DATA);
+        int contigId = TEST_DATA.getTmByAccession().values().iterator().next().getChr();
+        String contigName = "chr" + TEST_DATA.getRefDict().getContigIDToName().get(contigId);
+
+        JannovarData jannovarData = JannovarDataContigSerialiser.load(contigPath, List.of(contigName, "wibble"));
+
+        List<TranscriptModel> expected = TEST_DATA.getTmByAccession().values().stream()
+                .filter(transcriptModel -> transcriptModel.getChr() == contigId)
+                .collect(Collectors.toList());
+        assertThat(jannovarData.getTmByAccession().size(), equalTo(expected.size()));
+        assertThat(transcriptCountsByContig(jannovarData.getTmByAccession().values()), equalTo(Map.of(contigId, (long) expected.size())));
+        assertThat(jannovarData.getRefDict().getContigIDToName(), equalTo(TEST_DATA.getRefDict().getContigIDToName()));
+    }
+
+    @Test
+    void loadedByJannovarDataSourceLoader() {
+        Path contigPath = tempDir.resolve("transcripts.ser");
+        JannovarDataContigSerialiser.save(contigPath, TEST_DATA);
+
+        JannovarData jannovarData = JannovarDataSourceLoader.loadJannovarData(contigPath);
+
+        assertThat(jannovarData.getTmByAccession(), equalTo(TEST_DATA.getTmByAccession()));
+    }
+
+    @Test
+    void incorrectFileFormatThrowsException() throws Exception {
+        Path protoJannovarPath = tempDir.resolve("transcripts_proto.ser");
+        JannovarDataProtoSerialiser.save(protoJannovarPath, TEST_DATA);
+        Exception exception = assertThrows(InvalidFileFormatException.class, () -> JannovarDataContigSerialiser.load(protoJannovarPath));
+        assertThat(exception.getMessage(), equalTo(protoJannovarPath + " not an Exomiser per-contig format Jannovar transcript database."));
+    }
+
+    @Test
+    void emptyFileThrowsException() throws Exception {
+        Path emptyPath = Files.createFile(tempDir.resolve("empty.ser"));
+        assertThrows(InvalidFileFormatException.class, () -> JannovarDataContigSerialiser.load(emptyPath));
+    }
+
+    private static Map<Integer, Long> transcriptCountsByContig(Collection<TranscriptModel> transcriptModels) {
+        return transcriptModels.stream()
+                .collect(Collectors.groupingBy(TranscriptModel::getChr, Collectors.counting()));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.model;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.AlleleKeyDataType;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlleleKeyPackerTest {
+
+    private static AlleleKey alleleKey(int chr, int position, String ref, String alt) {
+        return AlleleKey.newBuilder()
+                .setChr(chr)
+                .setPosition(position)
+                .setRef(ref)
+                .setAlt(alt)
+                .build();
+    }
+
+    @Test
+    void packAndUnpackSnv() {
+        AlleleKey alleleKey = alleleKey(1, 12345, "A", "T");
+        long packed = AlleleKeyPacker.pack(alleleKey);
+        assertThat(packed, greaterThan(0L));
+        assertThat(AlleleKeyPacker.unpack(packed), equalTo(alleleKey));
+    }
+
+    @Test
+    void packAndUnpackShortIndels() {
+        List<AlleleKey> alleleKeys = List.of(
+                alleleKey(25, 16569, "ACGTAC", "A"),
+                alleleKey(23, 155_270_560, "T", "TGCATG"),
+                alleleKey(1, 248_956_422, "AAAAAA", "TTTTTT"),
+                alleleKey(0, 0, "", "")
+        );
+        for (AlleleKey alleleKey : alleleKeys) {
+            assertThat(AlleleKeyPacker.unpack(AlleleKeyPacker.pack(alleleKey)), equalTo(alleleKey));
+        }
+    }
+
+    @Test
+    void packVariant() {
+        Variant variant = TestFactory.variantBuilder(1, 12345, "A", "T").build();
+        assertThat(AlleleKeyPacker.pack(variant), equalTo(AlleleKeyPacker.pack(AlleleProtoAdaptor.toAlleleKey(variant))));
+    }
+
+    @Test
+    void notPackable() {
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, 12345, "A", "ACGTACG")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, 12345, "ACGTACG", "A")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, 12345, "N", "A")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, 12345, "a", "t")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, 12345, "A", "<DEL>")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, -1, "A", "T")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(1, 1 << 28, "A", "T")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.pack(alleleKey(32, 12345, "A", "T")), equalTo(AlleleKeyPacker.NOT_PACKABLE));
+        assertThat(AlleleKeyPacker.isPackable(alleleKey(32, 12345, "A", "T")), is(false));
+    }
+
+    @Test
+    void unpackInvalidKeyThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> AlleleKeyPacker.unpack(AlleleKeyPacker.NOT_PACKABLE));
+    }
+
+    @Test
+    void packedKeysSortInAlleleKeyOrder() {
+        String[] alleles = {"", "A", "C", "G", "T", "AA", "AC", "CA", "TT", "AAA", "ACG", "TTTTTT", "AAAAAA", "GATTAC", "CCCCC"};
+        Random random = new Random(42);
+        List<AlleleKey> alleleKeys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            alleleKeys.add(alleleKey(1 + random.nextInt(3), 100 + random.nextInt(5), alleles[random.nextInt(alleles.length)], alleles[random.nextInt(alleles.length)]));
+        }
+        for (AlleleKey a : alleleKeys) {
+            for (AlleleKey b : alleleKeys.subList(0, 50)) {
+                int expected = Integer.signum(AlleleKeyDataType.INSTANCE.compare(a, b));
+                int actual = Integer.signum(Long.compare(AlleleKeyPacker.pack(a), AlleleKeyPacker.pack(b)));
+                assertThat(a + " vs " + b, actual, equalTo(expected));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.core.model;
+
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.ClinVar;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AllelePropertiesPackerTest {
+
+    private static final ClinVar CLINVAR = ClinVar.newBuilder()
+            .setAlleleId("471879")
+            .setPrimaryInterpretation(ClinVar.ClinSig.UNCERTAIN_SIGNIFICANCE)
+            .setReviewStatus("criteria provided, multiple submitters, no conflicts")
+            .build();
+
+    private static final AlleleProperties LEGACY = AlleleProperties.newBuilder()
+            .setRsId("rs1456931393")
+            .putProperties("KG", 0.04f)
+            .putProperties("GNOMAD_E_NFE", 0.0012f)
+            .putProperties("REVEL", 0.6f)
+            .putProperties("PRIMATE_AI", 0.8f)
+            .setClinVar(CLINVAR)
+            .build();
+
+    @Test
+    void packedFormatHasNoPropertyKeys() {
+        AlleleProperties packed = AllelePropertiesPacker.pack(LEGACY);
+        assertThat(packed.getPropertiesMap().isEmpty(), is(true));
+        assertThat(packed.getPropertyValuesList(), equalTo(List.of(0.04f, 0.0012f, 0.6f, 0.8f)));
+        assertThat(packed.getRsId(), equalTo("rs1456931393"));
+        assertThat(packed.getSerializedSize(), lessThan(LEGACY.getSerializedSize()));
+    }
+
+    @Test
+    void packedClinVarIsCompact() {
+        ClinVar packed = AllelePropertiesPacker.pack(LEGACY).getClinVar();
+        assertThat(packed.getAlleleId(), equalTo(""));
+        assertThat(packed.getAlleleIdNumber(), equalTo(471879L));
+        assertThat(packed.getReviewStatus(), equalTo(""));
+        assertThat(packed.getReviewStatusCode(), greaterThan(0));
+        assertThat(packed.getPrimaryInterpretation(), equalTo(ClinVar.ClinSig.UNCERTAIN_SIGNIFICANCE));
+    }
+
+    @Test
+    void formatVersion() {
+        assertThat(AllelePropertiesPacker.formatVersion(LEGACY), equalTo(AllelePropertiesPacker.LEGACY_FORMAT_VERSION));
+        assertThat(AllelePropertiesPacker.formatVersion(AllelePropertiesPacker.pack(LEGACY)), equalTo(AllelePropertiesPacker.PACKED_FORMAT_VERSION));
+    }
+
+    @Test
+    void unpackRoundTrips() {
+        AlleleProperties packed = AllelePropertiesPacker.pack(LEGACY);
+        assertThat(AllelePropertiesPacker.unpack(packed), equalTo(LEGACY));
+        assertThat(AllelePropertiesPacker.pack(packed), equalTo(packed));
+        assertThat(AllelePropertiesPacker.unpack(LEGACY), sameInstance(LEGACY));
+    }
+
+    @Test
+    void unknownPropertiesAndValuesAreKeptAsStrings() {
+        ClinVar clinVar = ClinVar.newBuilder()
+                .setAlleleId("0123")
+                .setReviewStatus("some new review status")
+                .build();
+        AlleleProperties alleleProperties = AlleleProperties.newBuilder()
+                .putProperties("CADD", 12f)
+                .putProperties("NEW_SCORE", 0.5f)
+                .setClinVar(clinVar)
+                .build();
+
+        AlleleProperties packed = AllelePropertiesPacker.pack(alleleProperties);
+        assertThat(packed.getPropertiesMap(), equalTo(Map.of("NEW_SCORE", 0.5f)));
+        assertThat(packed.getPropertyValuesList(), equalTo(List.of(12f)));
+        assertThat(packed.getClinVar(), equalTo(clinVar));
+        assertThat(AllelePropertiesPacker.unpack(packed), equalTo(alleleProperties));
+    }
+
+    @Test
+    void rsIdOnlyPropertiesAreUnchanged() {
+        AlleleProperties alleleProperties = AlleleProperties.newBuilder().setRsId("rs123").build();
+        assertThat(AllelePropertiesPacker.pack(alleleProperties), sameInstance(alleleProperties));
+    }
+
+    @Test
+    void packedMapWritesPackedFormat(@TempDir Path tempDir) {
+        AlleleKey alleleKey = AlleleKey.newBuilder().setChr(1).setPosition(12345).setRef("A").setAlt("T").build();
+        String fileName = tempDir.resolve("packed.mv.db").toString();
+
+        MVStore writeStore = new MVStore.Builder().fileName(fileName).open();
+        MvStoreUtil.openPackedAlleleMVMap(writeStore).put(alleleKey, LEGACY);
+        writeStore.close();
+
+        MVStore readStore = new MVStore.Builder().fileName(fileName).readOnly().open();
+        AlleleProperties stored = MvStoreUtil.openAlleleMVMap(readStore).get(alleleKey);
+        readStore.close();
+
+        assertThat(AllelePropertiesPacker.isPacked(stored), is(true));
+        assertThat(AllelePropertiesPacker.unpack(stored), equalTo(LEGACY));
+        assertThat(AlleleProtoAdaptor.toFrequencyData(stored), equalTo(AlleleProtoAdaptor.toFrequencyData(LEGACY)));
+        assertThat(AlleleProtoAdaptor.toPathogenicityData(stored), equalTo(AlleleProtoAdaptor.toPathogenicityData(LEGACY)));
+    }
+}
@@ -169,4 +169,48 @@ public void parseClinVarData() {
                 .build();
         assertThat(AlleleProtoAdaptor.toPathogenicityData(alleleProperties), equalTo(PathogenicityData.of(expected)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testToFreqDataPacked() {
+        AlleleProperties alleleProperties = AllelePropertiesPacker.pack(AlleleProperties.newBuilder()
+                .setRsId("rs12345")
+                .putProperties("KG", 0.7f)
+                .putProperties("GNOMAD_G_OTH", 0.05f)
+                .putProperties("CADD", 23.0f)
+                .build());
+        assertThat(AlleleProtoAdaptor.toFrequencyData(alleleProperties),
+                equalTo(FrequencyData.of("rs12345",
+                        Frequency.of(FrequencySource.THOUSAND_GENOMES, 0.7f),
+                        Frequency.of(FrequencySource.GNOMAD_G_OTH, 0.05f))
+                )
+        );
+    }
+
+    @Test
+    public void testToPathDataPacked() {
+        AlleleProperties alleleProperties = AllelePropertiesPacker.pack(AlleleProperties.newBuilder()
+                .putProperties("KG", 0.7f)
+                .putProperties("SIFT", 0.2f)
+                .putProperties("PRIMATE_AI", 0.9f)
+                .build());
+        assertThat(AlleleProtoAdaptor.toPathogenicityData(alleleProperties),
+                equalTo(PathogenicityData.of(PathogenicityScore.of(SIFT, 0.2f), PathogenicityScore.of(PRIMATE_AI, 0.9f))));
+    }
+
+    @Test
+    public void parsePackedClinVarData() {
+        ClinVar clinVar = ClinVar.newBuilder()
+                .setAlleleId("12345")
+                .setPrimaryInterpretation(ClinVar.ClinSig.PATHOGENIC)
+                .setReviewStatus("criteria provided, single submitter")
+                .build();
+        AlleleProperties alleleProperties = AllelePropertiesPacker.pack(AlleleProperties.newBuilder().setClinVar(clinVar).build());
+
+        ClinVarData expected = ClinVarData.builder()
+                .alleleId("12345")
+                .primaryInterpretation(ClinVarData.ClinSig.PATHOGENIC)
+                .reviewStatus("criteria provided, single submitter")
+                .build();
+        assertThat(AlleleProtoAdaptor.toPathogenicityData(alleleProperties), equalTo(PathogenicityData.of(expected)));
+    }
+}
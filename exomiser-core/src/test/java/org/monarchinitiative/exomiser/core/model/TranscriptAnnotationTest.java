@@ -23,6 +23,8 @@
 import de.charite.compbio.jannovar.annotation.VariantEffect;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -111,4 +113,48 @@ public void testExonRank() {
         assertThat(annotation.getRank(), equalTo(2));
         assertThat(annotation.getRankTotal(), equalTo(5));
     }
+
+    @Test
+    public void testHgvsSupplierIsOnlyCalledOnceWhenRequired() {
+        AtomicInteger calls = new AtomicInteger();
+        TranscriptAnnotation.HgvsSupplier hgvsSupplier = new TranscriptAnnotation.HgvsSupplier() {
+            @Override
+            public String hgvsGenomic() {
+                calls.incrementAndGet();
+                return "chr10:g.123256215T>G";
+            }
+
+            @Override
+            public String hgvsCdna() {
+                calls.incrementAndGet();
+                return "c.1694A>C";
+            }
+
+            @Override
+            public String hgvsProtein() {
+                calls.incrementAndGet();
+                return "p.(Glu565Ala)";
+            }
+        };
+        TranscriptAnnotation annotation = TranscriptAnnotation.builder()
+                .accession("uc021pzz.1")
+                .hgvs(hgvsSupplier)
+                .build();
+        assertThat(calls.get(), equalTo(0));
+
+        assertThat(annotation.getHgvsCdna(), equalTo("c.1694A>C"));
+        assertThat(annotation.getHgvsGenomic(), equalTo("chr10:g.123256215T>G"));
+        assertThat(annotation.getHgvsProtein(), equalTo("p.(Glu565Ala)"));
+        assertThat(calls.get(), equalTo(3));
+
+        TranscriptAnnotation eagerAnnotation = TranscriptAnnotation.builder()
+                .accession("uc021pzz.1")
+                .hgvsGenomic("chr10:g.123256215T>G")
+                .hgvsCdna("c.1694A>C")
+                .hgvsProtein("p.(Glu565Ala)")
+                .build();
+        assertThat(annotation, equalTo(eagerAnnotation));
+        assertThat(annotation.hashCode(), equalTo(eagerAnnotation.hashCode()));
+        assertThat(calls.get(), equalTo(3));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers;
+
+import org.jblas.FloatMatrix;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
+import org.monarchinitiative.exomiser.core.prioritisers.util.InMemoryDataMatrix;
+import org.monarchinitiative.exomiser.core.prioritisers.util.ProximityVectorCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+
+class ExomeWalkerPriorityTest {
+
+    private static final DataMatrix RANDOM_WALK_MATRIX = new InMemoryDataMatrix(new FloatMatrix(new float[][]{
+            {0.0f, 0.1f, 0.2f, 0.3f},
+            {1.0f, 1.1f, 1.2f, 1.3f},
+            {2.0f, 2.1f, 2.2f, 2.3f},
+            {3.0f, 3.1f, 3.2f, 3.3f}
+    }), Map.of(1111, 0, 2222, 1, 3333, 2, 4444, 3));
+
+    private Map<Integer, Double> scoresByGene(ExomeWalkerPriority instance, List<Integer> entrezGeneIds) {
+        return entrezGeneIds.stream()
+                .collect(Collectors.toMap(id -> id, id -> instance.prioritise(List.of(), List.of(new Gene("GENE" + id, id)))
+                        .findFirst()
+                        .map(ExomeWalkerPriorityResult::getScore)
+                        .orElseThrow()));
+    }
+
+    @Test
+    void scoreIsSumOfSeedGeneProximities() {
+        ExomeWalkerPriority instance = new ExomeWalkerPriority(RANDOM_WALK_MATRIX, List.of(1111, 4444, 9999));
+        assertThat(instance.getSeedGenes(), equalTo(List.of(1111, 4444)));
+
+        Map<Integer, Double> scores = scoresByGene(instance, List.of(1111, 3333, 9999));
+        assertThat(scores.get(1111), closeTo(0.0 + 0.3, 0.00001));
+        assertThat(scores.get(3333), closeTo(2.0 + 2.3, 0.00001));
+        assertThat(scores.get(9999), equalTo(0.0));
+    }
+
+    @Test
+    void noMatchingSeedGenesScoresZero() {
+        ExomeWalkerPriority instance = new ExomeWalkerPriority(RANDOM_WALK_MATRIX, List.of(9999));
+        assertThat(scoresByGene(instance, List.of(2222)).get(2222), equalTo(0.0));
+    }
+
+    @Test
+    void cachedProximityVectorGivesSameScores() {
+        ProximityVectorCache proximityVectorCache = new ProximityVectorCache(RANDOM_WALK_MATRIX, 10);
+        ExomeWalkerPriority uncached = new ExomeWalkerPriority(RANDOM_WALK_MATRIX, List.of(2222, 3333));
+        ExomeWalkerPriority cached = new ExomeWalkerPriority(proximityVectorCache, List.of(2222, 3333));
+
+        List<Integer> genes = List.of(1111, 2222, 3333, 4444);
+        assertThat(scoresByGene(cached, genes), equalTo(scoresByGene(uncached, genes)));
+        assertThat(cached, equalTo(uncached));
+    }
+
+    @Test
+    void cachedProximityVectorGivesSameScoresForUnsortedSeedGenes() {
+        // float addition is not associative, so the seed columns must be summed in the same order with and without the cache
+        DataMatrix matrix = new InMemoryDataMatrix(new FloatMatrix(new float[][]{
+                {1e8f, 1f, -1e8f},
+                {1f, 1f, 1f},
+                {-1e8f, 1f, 1e8f}
+        }), Map.of(1111, 0, 2222, 1, 3333, 2));
+        List<Integer> seedGenes = List.of(1111, 3333, 2222);
+        ExomeWalkerPriority uncached = new ExomeWalkerPriority(matrix, seedGenes);
+        ExomeWalkerPriority cached = new ExomeWalkerPriority(new ProximityVectorCache(matrix, 10), seedGenes);
+
+        List<Integer> genes = List.of(1111, 2222, 3333);
+        assertThat(scoresByGene(cached, genes), equalTo(scoresByGene(uncached, genes)));
+    }
+
+    @Test
+    void proximityVectorIsCachedBySeedGeneSet() {
+        ProximityVectorCache proximityVectorCache = new ProximityVectorCache(RANDOM_WALK_MATRIX, 10);
+        float[] proximityVector = proximityVectorCache.getProximityVector(List.of(2222, 3333));
+
+        assertThat(proximityVectorCache.getProximityVector(List.of(3333, 2222)), sameInstance(proximityVector));
+        assertThat(proximityVectorCache.size(), equalTo(1L));
+    }
+}
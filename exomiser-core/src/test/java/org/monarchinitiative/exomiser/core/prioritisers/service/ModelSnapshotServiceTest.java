@@ -0,0 +1,126 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.phenotype.Organism;
+import org.monarchinitiative.exomiser.core.prioritisers.model.Disease;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneDiseaseModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneOrthologModel;
+import org.monarchinitiative.exomiser.core.prioritisers.model.InheritanceMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelSnapshotServiceTest {
+
+    private final GeneModel apertSyndrome = new GeneDiseaseModel("OMIM:101600_2263", Organism.HUMAN, Disease.builder()
+            .diseaseId("OMIM:101600")
+            .diseaseName("Apert syndrome")
+            .associatedGeneId(2263)
+            .associatedGeneSymbol("FGFR2")
+            .diseaseType(Disease.DiseaseType.DISEASE)
+            .inheritanceMode(InheritanceMode.AUTOSOMAL_DOMINANT)
+            .phenotypeIds(List.of("HP:0000174", "HP:0000194", "HP:0000218"))
+            .build());
+
+    private final GeneModel pfeifferSyndrome = new GeneDiseaseModel("OMIM:101600_2260", Organism.HUMAN, Disease.builder()
+            .diseaseId("OMIM:101600")
+            .diseaseName("Pfeiffer syndrome – ünïcode")
+            .associatedGeneId(2260)
+            .associatedGeneSymbol("FGFR1")
+            .diseaseType(Disease.DiseaseType.SUSCEPTIBILITY)
+            .inheritanceMode(InheritanceMode.X_RECESSIVE)
+            .phenotypeIds(List.of("HP:0000218", "HP:0000174"))
+            .build());
+
+    private final GeneModel fgfr2Mouse = new GeneOrthologModel("MGI:95523_115", Organism.MOUSE, 2263, "FGFR2", "MGI:95523", "Fgfr2", List.of("MP:0000031", "MP:0000035"));
+    private final GeneModel fgfr2MouseNoPhenotypes = new GeneOrthologModel("MGI:95523_116", Organism.MOUSE, 2263, "FGFR2", "MGI:95523", "Fgfr2", List.of(""));
+    private final GeneModel fgfr2Fish = new GeneOrthologModel("ZDB-GENE-1_1", Organism.FISH, 2263, "FGFR2", "ZDB-GENE-1", "fgfr2", List.of("ZP:0000001"));
+
+    private final ModelService modelService = new TestModelService(List.of(apertSyndrome, pfeifferSyndrome), List.of(fgfr2Mouse, fgfr2MouseNoPhenotypes), List.of(fgfr2Fish));
+
+    private ModelSnapshotService writeAndOpen(Path snapshotPath) {
+        ModelSnapshotWriter.write(modelService, snapshotPath);
+        return new ModelSnapshotService(snapshotPath);
+    }
+
+    @Test
+    void roundTripsHumanGeneDiseaseModels(@TempDir Path tempDir) {
+        ModelSnapshotService instance = writeAndOpen(tempDir.resolve("models.snapshot"));
+        List<GeneModel> models = instance.getHumanGeneDiseaseModels();
+        assertThat(models, equalTo(List.of(apertSyndrome, pfeifferSyndrome)));
+
+        GeneDiseaseModel pfeiffer = (GeneDiseaseModel) models.get(1);
+        assertThat(pfeiffer.getDisease(), equalTo(((GeneDiseaseModel) pfeifferSyndrome).getDisease()));
+        assertThat(pfeiffer.getDisease().getInheritanceMode(), equalTo(InheritanceMode.X_RECESSIVE));
+        assertThat(pfeiffer.getDisease().getDiseaseType(), equalTo(Disease.DiseaseType.SUSCEPTIBILITY));
+    }
+
+    @Test
+    void roundTripsOrthologModels(@TempDir Path tempDir) {
+        ModelSnapshotService instance = writeAndOpen(tempDir.resolve("models.snapshot"));
+        assertThat(instance.getMouseGeneOrthologModels(), equalTo(List.of(fgfr2Mouse, fgfr2MouseNoPhenotypes)));
+        assertThat(instance.getFishGeneOrthologModels(), equalTo(List.of(fgfr2Fish)));
+    }
+
+    @Test
+    void phenotypeIdsAreSharedBetweenModels(@TempDir Path tempDir) {
+        ModelSnapshotService instance = writeAndOpen(tempDir.resolve("models.snapshot"));
+        List<GeneModel> models = instance.getHumanGeneDiseaseModels();
+        String apertTerm = models.get(0).getPhenotypeIds().get(0);
+        String pfeifferTerm = models.get(1).getPhenotypeIds().get(1);
+        assertThat(apertTerm, equalTo("HP:0000174"));
+        assertThat(apertTerm, sameInstance(pfeifferTerm));
+    }
+
+    @Test
+    void emptyModelService(@TempDir Path tempDir) {
+        Path snapshotPath = tempDir.resolve("models.snapshot");
+        ModelSnapshotWriter.write(new TestModelService(List.of(), List.of(), List.of()), snapshotPath);
+        ModelSnapshotService instance = new ModelSnapshotService(snapshotPath);
+        assertThat(instance.getHumanGeneDiseaseModels(), is(empty()));
+        assertThat(instance.getMouseGeneOrthologModels(), is(empty()));
+        assertThat(instance.getFishGeneOrthologModels(), is(empty()));
+    }
+
+    @Test
+    void modelListsAreImmutable(@TempDir Path tempDir) {
+        ModelSnapshotService instance = writeAndOpen(tempDir.resolve("models.snapshot"));
+        List<GeneModel> models = instance.getHumanGeneDiseaseModels();
+        assertThrows(UnsupportedOperationException.class, () -> models.add(apertSyndrome));
+        assertThrows(IndexOutOfBoundsException.class, () -> models.get(2));
+    }
+
+    @Test
+    void throwsExceptionForUnrecognisedFile(@TempDir Path tempDir) throws IOException {
+        Path snapshotPath = Files.write(tempDir.resolve("models.snapshot"), new byte[]{0, 1, 2, 3, 4, 5, 6, 7});
+        assertThrows(IllegalStateException.class, () -> new ModelSnapshotService(snapshotPath));
+    }
+}
@@ -30,11 +30,11 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.*;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  *
@@ -152,6 +152,49 @@ public void testMakeSubMatrix() {
 
     }
 
+    @Test
+    public void testSumColumnsForGenes() {
+        float[] target = new float[4];
+        float[] summed = instance.sumColumnsForGenes(List.of(1111, 3333), target);
+        assertThat(summed, sameInstance(target));
+        assertThat(new FloatMatrix(summed), equalTo(instance.getColumnMatrixForGene(1111).add(instance.getColumnMatrixForGene(3333))));
+    }
+
+    @Test
+    public void testSumColumnsForGenesClearsTargetAndIgnoresMissingGenes() {
+        float[] target = {9f, 9f, 9f, 9f};
+        instance.sumColumnsForGenes(List.of(0000, 9999), target);
+        assertThat(new FloatMatrix(target), equalTo(instance.getColumnMatrixForGene(0000)));
+    }
+
+    @Test
+    public void testSumColumnsForGenesThrowsExceptionWithWrongLengthTarget() {
+        assertThrows(IllegalArgumentException.class, () -> instance.sumColumnsForGenes(List.of(0000), new float[3]));
+    }
+
+    @Test
+    public void testSumColumnsForGenesInParallelRowBlocks() {
+        int size = InMemoryDataMatrix.ROW_BLOCK_SIZE + 100;
+        Random random = new Random(42);
+        FloatMatrix largeMatrix = FloatMatrix.rand(size, size);
+        Map<Integer, Integer> largeIndex = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            largeIndex.put(i + 1, i);
+        }
+        InMemoryDataMatrix largeDataMatrix = new InMemoryDataMatrix(largeMatrix, largeIndex);
+
+        List<Integer> seedGenes = new ArrayList<>();
+        while ((long) seedGenes.size() * size < InMemoryDataMatrix.PARALLEL_THRESHOLD) {
+            seedGenes.add(random.nextInt(size) + 1);
+        }
+        FloatMatrix expected = FloatMatrix.zeros(size);
+        for (Integer seedGene : seedGenes) {
+            expected.addi(largeDataMatrix.getColumnMatrixForGene(seedGene));
+        }
+        float[] summed = largeDataMatrix.sumColumnsForGenes(seedGenes, new float[size]);
+        assertThat(new FloatMatrix(summed), equalTo(expected));
+    }
+
     @Test
     public void testEquals() {
         InMemoryDataMatrix identicalMatrix = new InMemoryDataMatrix(floatMatrix, entrezIdToRowIndex);
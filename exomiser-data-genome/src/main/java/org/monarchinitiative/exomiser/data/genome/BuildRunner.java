@@ -26,6 +26,7 @@
 import org.monarchinitiative.exomiser.data.genome.config.AssemblyResources;
 import org.monarchinitiative.exomiser.data.genome.model.AlleleResource;
 import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
+import org.monarchinitiative.exomiser.data.genome.model.archive.ArchiveDecompression;
 import org.monarchinitiative.exomiser.data.genome.model.resource.sv.SvResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +55,11 @@ public class BuildRunner implements ApplicationRunner {
     public static final String BUILD_CLINVAR = "clinvar";
     public static final String BUILD_VARIANT_DB = "variants";
     public static final String BUILD_GENOME_DB = "genome";
+    public static final String VARIANT_THREADS = "variant-threads";
+    public static final String VARIANT_SORTED_RUNS = "variant-sorted-runs";
+    public static final String DECOMPRESSION_THREADS = "decompression-threads";
+    public static final String VARIANT_BLOOM_FILTER = "variant-bloom-filter";
+    public static final String VARIANT_PACKED_FORMAT = "variant-packed-format";
 
     private final Path buildDir;
     private final AssemblyResources hg19Resources;
@@ -84,6 +90,11 @@ public void run(ApplicationArguments args) throws Exception {
         // --transcripts
         // OR
         // --transcripts=ensembl,ucsc
+        // --variant-threads=8 (index the variant resources in parallel shards)
+        // --variant-sorted-runs (spill the variant resources to sorted runs on disk and append them to the store in order)
+        // --decompression-threads=4 (decompress the bgzipped variant resource files in parallel using a shared pool of threads)
+        // --variant-bloom-filter OR --variant-bloom-filter=0.01 (write a bloom filter of the variant store keys with the given false positive rate)
+        // --variant-packed-format (write the variant store with packed keys and properties - this can only be read by Exomiser 13.3.0 onwards)
 
         if (!args.containsOption("assembly")) {
             throw new IllegalArgumentException("Missing assembly argument");
@@ -114,7 +125,8 @@ public void run(ApplicationArguments args) throws Exception {
             logger.info("BUILDING ALLL THIe THINGS!");
             buildTranscriptData(buildInfo, outPath, List.of(TranscriptSource.values()));
             buildClinVarData(buildInfo, outPath, alleleResources.get("clinvar"));
-            buildVariantData(buildInfo, outPath, new ArrayList<>(alleleResources.values()));
+            buildVariantData(buildInfo, outPath, new ArrayList<>(alleleResources.values()), variantThreads(args), args.containsOption(VARIANT_SORTED_RUNS), args.containsOption(VARIANT_PACKED_FORMAT), decompressionThreads(args));
+            buildVariantBloomFilter(args, buildInfo, outPath);
             buildGenomeData(buildInfo, outPath, assemblyResources);
         }
 
@@ -132,7 +144,8 @@ public void run(ApplicationArguments args) throws Exception {
         if (args.containsOption(BUILD_VARIANT_DB)) {
             List<String> optionValues = parseOptionValues(args.getOptionValues(BUILD_VARIANT_DB));
             List<AlleleResource> userDefinedAlleleResources = assemblyResources.getUserDefinedResources(optionValues);
-            buildVariantData(buildInfo, outPath, userDefinedAlleleResources);
+            buildVariantData(buildInfo, outPath, userDefinedAlleleResources, variantThreads(args), args.containsOption(VARIANT_SORTED_RUNS), args.containsOption(VARIANT_PACKED_FORMAT), decompressionThreads(args));
+            buildVariantBloomFilter(args, buildInfo, outPath);
         }
 
         if (args.containsOption(BUILD_GENOME_DB)) {
@@ -142,6 +155,20 @@ public void run(ApplicationArguments args) throws Exception {
         logger.info("Finished build {}", buildInfo.getBuildString());
     }
 
+    private int variantThreads(ApplicationArguments args) {
+        if (args.containsOption(VARIANT_THREADS)) {
+            return Integer.parseInt(args.getOptionValues(VARIANT_THREADS).get(0));
+        }
+        return 1;
+    }
+
+    private int decompressionThreads(ApplicationArguments args) {
+        if (args.containsOption(DECOMPRESSION_THREADS)) {
+            return Integer.parseInt(args.getOptionValues(DECOMPRESSION_THREADS).get(0));
+        }
+        return 0;
+    }
+
     private boolean shouldBuildAllData(ApplicationArguments args, Set<String> optionalArgs) {
         for (String arg : args.getOptionNames()) {
             if (optionalArgs.contains(arg)) {
@@ -164,14 +191,34 @@ private void buildClinVarData(BuildInfo buildInfo, Path outPath, AlleleResource
         clinVarWhiteListBuildRunner.run();
     }
 
-    private void buildVariantData(BuildInfo buildInfo, Path outPath, List<AlleleResource> userDefinedAlleleResources) {
+    private void buildVariantData(BuildInfo buildInfo, Path outPath, List<AlleleResource> userDefinedAlleleResources, int variantThreads, boolean sortedRuns, boolean packedFormat, int decompressionThreads) {
         logger.info("Downloading variant resources - {}", userDefinedAlleleResources.stream()
                 .map(AlleleResource::getName)
                 .collect(toList()));
         userDefinedAlleleResources.parallelStream().forEach(ResourceDownloader::download);
-        logger.info("Building variant database...");
-        VariantDatabaseBuildRunner variantDatabaseBuildRunner = new VariantDatabaseBuildRunner(buildInfo, outPath, userDefinedAlleleResources);
-        variantDatabaseBuildRunner.run();
+        logger.info("Building variant database in {} format...", packedFormat ? "packed" : "legacy");
+        if (packedFormat) {
+            logger.warn("The packed variant database format can only be read by Exomiser 13.3.0 onwards");
+        }
+        // the inflater threads are shared by all the resources, however many are indexed at once
+        try (ArchiveDecompression decompression = ArchiveDecompression.parallel(decompressionThreads)) {
+            if (decompression.isParallel()) {
+                logger.info("Decompressing bgzipped resources using {} shared threads", decompression.getThreads());
+            }
+            VariantDatabaseBuildRunner variantDatabaseBuildRunner = new VariantDatabaseBuildRunner(buildInfo, outPath, userDefinedAlleleResources, variantThreads, sortedRuns, packedFormat, decompression);
+            variantDatabaseBuildRunner.run();
+        }
+    }
+
+    private void buildVariantBloomFilter(ApplicationArguments args, BuildInfo buildInfo, Path outPath) {
+        if (!args.containsOption(VARIANT_BLOOM_FILTER)) {
+            return;
+        }
+        List<String> optionValues = args.getOptionValues(VARIANT_BLOOM_FILTER);
+        double falsePositiveRate = optionValues.isEmpty() ? VariantBloomFilterBuildRunner.DEFAULT_FALSE_POSITIVE_RATE : Double.parseDouble(optionValues.get(0));
+        logger.info("Building variant bloom filter...");
+        VariantBloomFilterBuildRunner variantBloomFilterBuildRunner = new VariantBloomFilterBuildRunner(buildInfo, outPath, falsePositiveRate);
+        variantBloomFilterBuildRunner.run();
     }
 
     private void buildGenomeData(BuildInfo buildInfo, Path outPath, AssemblyResources assemblyResources) {
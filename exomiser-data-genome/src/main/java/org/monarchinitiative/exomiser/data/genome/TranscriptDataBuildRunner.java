@@ -50,7 +50,7 @@ public void run() {
         Arrays.stream(TranscriptSource.values()).forEach(transcriptSource -> {
             String outputName = String.format("%s_transcripts_%s.ser", buildInfo.getBuildString(), transcriptSource);
             logger.info("Building {}", outputName);
-            jannovarDataFactory.buildAndWrite(buildInfo.getAssembly(), transcriptSource, outPath.resolve(outputName));
+            jannovarDataFactory.buildAndWriteByContig(buildInfo.getAssembly(), transcriptSource, outPath.resolve(outputName));
         });
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.genome.dao.AlleleKeyBloomFilter;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Creates the {@link AlleleKeyBloomFilter} for the variants.mv.db database produced by the
+ * {@link VariantDatabaseBuildRunner}. The filter is built from the keys in the finished store so that it is sized
+ * exactly, regardless of how the store itself was built.
+ *
+ * @since 13.3.0
+ */
+public class VariantBloomFilterBuildRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(VariantBloomFilterBuildRunner.class);
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final Path buildPath;
+    private final BuildInfo buildInfo;
+    private final double falsePositiveRate;
+
+    public VariantBloomFilterBuildRunner(BuildInfo buildInfo, Path buildPath, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1 (exclusive) but was " + falsePositiveRate);
+        }
+        this.buildPath = buildPath;
+        this.buildInfo = buildInfo;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public void run() {
+        Path mvStorePath = buildPath.resolve(buildInfo.getBuildString() + "_variants.mv.db");
+        Path bloomFilterPath = buildPath.resolve(buildInfo.getBuildString() + "_variants.bloom");
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(mvStorePath.toString())
+                .readOnly()
+                .open();
+        try {
+            MVMap<AlleleKey, AlleleProperties> alleleMVMap = MvStoreUtil.openAlleleMVMap(mvStore);
+            MVMap<Long, AlleleProperties> longKeyMVMap = MvStoreUtil.hasLongKeyAlleleMap(mvStore) ? MvStoreUtil.openLongKeyAlleleMVMap(mvStore) : null;
+            long alleleCount = alleleMVMap.sizeAsLong() + (longKeyMVMap == null ? 0 : longKeyMVMap.sizeAsLong());
+            logger.info("Building bloom filter for {} alleles with a false positive rate of {}", alleleCount, falsePositiveRate);
+            AlleleKeyBloomFilter alleleKeyBloomFilter = AlleleKeyBloomFilter.create(alleleCount, falsePositiveRate);
+            Iterator<AlleleKey> keyIterator = alleleMVMap.keyIterator(null);
+            while (keyIterator.hasNext()) {
+                alleleKeyBloomFilter.put(keyIterator.next());
+            }
+            if (longKeyMVMap != null) {
+                // the packable alleles are hashed by their packed key, so these can be added without unpacking
+                Iterator<Long> longKeyIterator = longKeyMVMap.keyIterator(null);
+                while (longKeyIterator.hasNext()) {
+                    alleleKeyBloomFilter.put(longKeyIterator.next().longValue());
+                }
+            }
+            alleleKeyBloomFilter.writeTo(bloomFilterPath);
+            logger.info("Written bloom filter with expected false positive rate {} to {}", alleleKeyBloomFilter.expectedFalsePositiveRate(), bloomFilterPath);
+        } finally {
+            mvStore.close();
+        }
+    }
+}
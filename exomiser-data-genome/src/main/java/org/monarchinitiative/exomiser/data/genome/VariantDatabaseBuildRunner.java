@@ -20,23 +20,30 @@
 
 package org.monarchinitiative.exomiser.data.genome;
 
-import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.h2.mvstore.MVStoreTool;
-import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
-import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
-import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
-import org.monarchinitiative.exomiser.data.genome.indexers.Indexer;
 import org.monarchinitiative.exomiser.data.genome.indexers.MvStoreAlleleIndexer;
-import org.monarchinitiative.exomiser.data.genome.model.Allele;
+import org.monarchinitiative.exomiser.data.genome.indexers.MvStoreAlleleMaps;
+import org.monarchinitiative.exomiser.data.genome.indexers.MvStoreShardAlleleIndexer;
+import org.monarchinitiative.exomiser.data.genome.indexers.MvStoreShardMerger;
+import org.monarchinitiative.exomiser.data.genome.indexers.SortedRunAlleleIndexer;
+import org.monarchinitiative.exomiser.data.genome.indexers.SortedRunMerger;
 import org.monarchinitiative.exomiser.data.genome.model.AlleleResource;
 import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
+import org.monarchinitiative.exomiser.data.genome.model.archive.ArchiveDecompression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * Main class for handling parsing of the {@link AlleleResource} and reading these into the variants.mv.db database.
@@ -50,11 +57,49 @@ public class VariantDatabaseBuildRunner {
     private final Path buildPath;
     private final BuildInfo buildInfo;
     private final List<AlleleResource> alleleResources;
+    private final int threads;
+    private final boolean sortedRuns;
+    private final boolean packedFormat;
+    private final ArchiveDecompression decompression;
 
     public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources) {
+        this(buildInfo, buildPath, alleleResources, 1, false);
+    }
+
+    /**
+     * @param threads    the number of resources to index in parallel. Values greater than 1 will use a sharded build
+     *                   unless sortedRuns is true.
+     * @param sortedRuns if true the resources are spilled to sorted runs on disk which are then merged and appended to
+     *                   the store in key order.
+     * @since 13.3.0
+     */
+    public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources, int threads, boolean sortedRuns) {
+        this(buildInfo, buildPath, alleleResources, threads, sortedRuns, false);
+    }
+
+    /**
+     * @param packedFormat if true the SNVs and short indels are written with packed {@code long} keys and all the allele
+     *                     properties in the packed format. This is smaller and faster to read but can only be read by
+     *                     Exomiser 13.3.0 onwards.
+     * @since 13.3.0
+     */
+    public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources, int threads, boolean sortedRuns, boolean packedFormat) {
+        this(buildInfo, buildPath, alleleResources, threads, sortedRuns, packedFormat, ArchiveDecompression.serial());
+    }
+
+    /**
+     * @param decompression how the gzipped resource files are decompressed. This is shared by all the resources indexed
+     *                      in parallel and is not closed by the runner.
+     * @since 13.3.0
+     */
+    public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources, int threads, boolean sortedRuns, boolean packedFormat, ArchiveDecompression decompression) {
         this.buildPath = buildPath;
         this.buildInfo = buildInfo;
         this.alleleResources = alleleResources;
+        this.threads = Math.max(1, threads);
+        this.sortedRuns = sortedRuns;
+        this.packedFormat = packedFormat;
+        this.decompression = decompression;
     }
 
     public void run() {
@@ -65,20 +110,136 @@ public void run() {
                 .open();
         // this is key to keep the size of the store down when building otherwise it gets enormous
         mvStore.setVersionsToKeep(0);
+        if (sortedRuns) {
+            runSortedRuns(mvStore);
+            // the alleles were appended in key order so there is very little garbage in the store and the full copy
+            // made by MVStoreTool.compact isn't worth the time it takes
+            logger.info("Finished writing store");
+            return;
+        }
+        if (threads > 1) {
+            runSharded(mvStore);
+        } else {
+            runSerial(mvStore);
+        }
+
+        // super-important step for producing as small a store as possible, Could double (or more?) when this is in progress
+        logger.info("Compacting store...");
+        MVStoreTool.compact(fileName, true);
+    }
+
+    private void runSerial(MVStore mvStore) {
         // This is threadsafe and can be run in parallel. However, the throughput is significantly slower,
         // to the extent that the overall time is the same, at least on my machine (4 cores) it is.
         // This holds true both using parallelStream and a fixed thread pool executor with only 2 threads.
-        try (Indexer<Allele> alleleIndexer = new MvStoreAlleleIndexer(mvStore)) {
-            alleleResources.forEach(alleleIndexer::index);
-        } catch (IOException e ) {
-            throw new IllegalStateException("Error writing to MVStore " + fileName, e);
+        // Use the sharded build to index in parallel.
+        MvStoreAlleleIndexer alleleIndexer = new MvStoreAlleleIndexer(mvStore, packedFormat);
+        try {
+            alleleResources.forEach(alleleResource -> alleleIndexer.index(alleleResource, decompression));
+            logger.info("Written {} alleles to store", alleleIndexer.count());
+        } finally {
+            alleleIndexer.close();
         }
+    }
 
-        MVMap<AlleleKey, AlleleProperties> alleleMVMap = MvStoreUtil.openAlleleMVMap(mvStore);
-        logger.info("Written {} alleles to store", alleleMVMap.size());
+    /**
+     * Indexes each resource into its own temporary shard store in parallel, then merges the shards into the final
+     * store. The shards are merged in the order of the resources, so the final store is identical to a serial build.
+     */
+    private void runSharded(MVStore mvStore) {
+        Path shardDir = buildPath.resolve(buildInfo.getBuildString() + "_variant_shards");
+        logger.info("Indexing {} resources into shards in {} using {} threads", alleleResources.size(), shardDir, threads);
+        List<MvStoreShardAlleleIndexer> shards = new ArrayList<>(alleleResources.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            Files.createDirectories(shardDir);
+            List<Future<MvStoreShardAlleleIndexer>> futures = new ArrayList<>(alleleResources.size());
+            for (AlleleResource alleleResource : alleleResources) {
+                Path shardPath = shardDir.resolve(alleleResource.getName() + ".mv.db");
+                futures.add(executorService.submit(() -> indexShard(alleleResource, shardPath)));
+            }
+            for (Future<MvStoreShardAlleleIndexer> future : futures) {
+                shards.add(future.get());
+            }
+            logger.info("Merging {} shards...", shards.size());
+            long written = MvStoreShardMerger.merge(shards, MvStoreAlleleMaps.open(mvStore, packedFormat));
+            logger.info("Written {} alleles to store", written);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error creating shard directory " + shardDir, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted building variant database shards", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error building variant database shard", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+            shards.forEach(MvStoreShardAlleleIndexer::close);
+            mvStore.close();
+            deleteDirectory(shardDir);
+        }
+    }
 
-        // super-important step for producing as small a store as possible, Could double (or more?) when this is in progress
-        logger.info("Compacting store...");
-        MVStoreTool.compact(fileName, true);
+    /**
+     * Spills each resource to sorted runs on disk, in parallel if more than one thread is available, then merges the
+     * runs and appends them to the store in key order. The runs are merged in resource order so, as with the sharded
+     * build, the final store contains the same alleles and properties as a serial build.
+     */
+    private void runSortedRuns(MVStore mvStore) {
+        Path runDir = buildPath.resolve(buildInfo.getBuildString() + "_variant_runs");
+        logger.info("Writing {} resources to sorted runs in {} using {} threads", alleleResources.size(), runDir, threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            Files.createDirectories(runDir);
+            List<Future<List<Path>>> futures = new ArrayList<>(alleleResources.size());
+            for (AlleleResource alleleResource : alleleResources) {
+                futures.add(executorService.submit(() -> writeSortedRuns(alleleResource, runDir)));
+            }
+            List<Path> runs = new ArrayList<>();
+            for (Future<List<Path>> future : futures) {
+                runs.addAll(future.get());
+            }
+            long written = SortedRunMerger.merge(runs, MvStoreAlleleMaps.open(mvStore, packedFormat));
+            logger.info("Written {} alleles to store", written);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error creating sorted run directory " + runDir, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted writing sorted runs", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error writing sorted runs", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+            mvStore.close();
+            deleteDirectory(runDir);
+        }
+    }
+
+    private List<Path> writeSortedRuns(AlleleResource alleleResource, Path runDir) {
+        SortedRunAlleleIndexer sortedRunAlleleIndexer = new SortedRunAlleleIndexer(runDir, alleleResource.getName());
+        sortedRunAlleleIndexer.index(alleleResource, decompression);
+        sortedRunAlleleIndexer.close();
+        return sortedRunAlleleIndexer.getRuns();
+    }
+
+    private MvStoreShardAlleleIndexer indexShard(AlleleResource alleleResource, Path shardPath) throws IOException {
+        Files.deleteIfExists(shardPath);
+        MVStore shardStore = new MVStore.Builder()
+                .fileName(shardPath.toString())
+                .open();
+        MvStoreShardAlleleIndexer shardIndexer = new MvStoreShardAlleleIndexer(shardStore);
+        shardIndexer.index(alleleResource, decompression);
+        shardStore.commit();
+        return shardIndexer;
+    }
+
+    private void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            logger.warn("Unable to delete temporary files from {}", directory, e);
+        }
     }
 }
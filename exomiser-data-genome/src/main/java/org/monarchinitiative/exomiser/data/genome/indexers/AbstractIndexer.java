@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.data.genome.indexers;
 
 import org.monarchinitiative.exomiser.data.genome.model.Resource;
+import org.monarchinitiative.exomiser.data.genome.model.archive.ArchiveDecompression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,12 +38,12 @@
     private static final Logger logger = LoggerFactory.getLogger(AbstractIndexer.class);
 
     @Override
-    public void index(Resource<T> resource) {
+    public void index(Resource<T> resource, ArchiveDecompression decompression) {
         logger.info("Processing '{}' resource", resource.getName());
         Instant startTime = Instant.now();
         ProgressLogger<T> progressLogger = new ProgressLogger<>(startTime);
 
-        resource.parseResource()
+        resource.parseResource(decompression)
                 .map(progressLogger.logCount())
                 .forEach(this::write);
 
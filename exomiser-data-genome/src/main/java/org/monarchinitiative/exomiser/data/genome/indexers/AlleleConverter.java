@@ -20,6 +20,7 @@
 
 package org.monarchinitiative.exomiser.data.genome.indexers;
 
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
@@ -47,7 +48,13 @@ public static AlleleKey toAlleleKey(Allele allele) {
                 .build();
     }
 
-    public static AlleleProperties mergeProperties(AlleleProperties originalProperties, AlleleProperties properties) {
+    /**
+     * Merges the properties, which can be in either the legacy or packed format. Values read back from a store written
+     * in the packed format are unpacked before merging and the merged properties are returned in the legacy format.
+     */
+    public static AlleleProperties mergeProperties(AlleleProperties original, AlleleProperties update) {
+        AlleleProperties originalProperties = AllelePropertiesPacker.unpack(original);
+        AlleleProperties properties = AllelePropertiesPacker.unpack(update);
         String updatedRsId = (originalProperties.getRsId()
                 .isEmpty()) ? properties.getRsId() : originalProperties.getRsId();
         return AlleleProperties.newBuilder()
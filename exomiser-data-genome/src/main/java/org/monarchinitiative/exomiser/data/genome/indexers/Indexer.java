@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.data.genome.indexers;
 
 import org.monarchinitiative.exomiser.data.genome.model.Resource;
+import org.monarchinitiative.exomiser.data.genome.model.archive.ArchiveDecompression;
 
 import java.io.Closeable;
 import java.util.stream.Stream;
@@ -31,7 +32,15 @@
 public interface Indexer<T> extends Closeable {
 
     default void index(Resource<T> resource) {
-        try (Stream<T> resourcesStream = resource.parseResource()) {
+        index(resource, ArchiveDecompression.serial());
+    }
+
+    /**
+     * @param decompression how any gzipped files of the resource are to be decompressed
+     * @since 13.3.0
+     */
+    default void index(Resource<T> resource, ArchiveDecompression decompression) {
+        try (Stream<T> resourcesStream = resource.parseResource(decompression)) {
             resourcesStream.forEach(this::write);
         }
     }
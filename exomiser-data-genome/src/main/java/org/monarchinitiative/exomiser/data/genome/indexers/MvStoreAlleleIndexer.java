@@ -20,9 +20,7 @@
 
 package org.monarchinitiative.exomiser.data.genome.indexers;
 
-import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
-import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
 import org.monarchinitiative.exomiser.data.genome.model.Allele;
@@ -35,24 +33,33 @@
 public class MvStoreAlleleIndexer extends AbstractIndexer<Allele> {
 
     private final MVStore mvStore;
-    private final MVMap<AlleleKey, AlleleProperties> map;
+    private final MvStoreAlleleMaps maps;
 
     public MvStoreAlleleIndexer(MVStore mvStore) {
+        this(mvStore, false);
+    }
+
+    /**
+     * @param packedFormat if true the alleles will be written to the store in the packed format, see
+     *                     {@link MvStoreAlleleMaps}.
+     * @since 13.3.0
+     */
+    public MvStoreAlleleIndexer(MVStore mvStore, boolean packedFormat) {
         this.mvStore = mvStore;
         this.mvStore.setVersionsToKeep(0);
-        this.map = MvStoreUtil.openAlleleMVMap(mvStore);
+        this.maps = MvStoreAlleleMaps.open(mvStore, packedFormat);
     }
 
     @Override
     public void write(Allele allele) {
         AlleleKey key = AlleleConverter.toAlleleKey(allele);
         AlleleProperties properties = AlleleConverter.toAlleleProperties(allele);
-        map.merge(key, properties, AlleleConverter::mergeProperties);
+        maps.merge(key, properties);
     }
 
     @Override
     public long count() {
-        return map.size();
+        return maps.size();
     }
 
     @Override
@@ -0,0 +1,112 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+
+import javax.annotation.Nullable;
+
+/**
+ * The allele maps of a variant store being built. In the packed format the alleles which can be packed by the
+ * {@link AlleleKeyPacker} are written to the long key map, with their properties packed, and only the remaining alleles
+ * are written to the 'alleles' map. In the legacy format all the alleles are written to the 'alleles' map as before.
+ * <p>
+ * The packed keys sort in the same order as their {@link AlleleKey}, so alleles supplied in key order can be appended
+ * to either map.
+ *
+ * @since 13.3.0
+ */
+public class MvStoreAlleleMaps {
+
+    private final MVMap<AlleleKey, AlleleProperties> alleleMap;
+    @Nullable
+    private final MVMap<Long, AlleleProperties> longKeyMap;
+
+    private MvStoreAlleleMaps(MVMap<AlleleKey, AlleleProperties> alleleMap, @Nullable MVMap<Long, AlleleProperties> longKeyMap) {
+        this.alleleMap = alleleMap;
+        this.longKeyMap = longKeyMap;
+    }
+
+    /**
+     * @param packedFormat if true the packable alleles are written to the long key map with packed properties, which
+     *                     can only be read by Exomiser 13.3.0 onwards. The format version is recorded in the store so
+     *                     that readers can check it.
+     */
+    public static MvStoreAlleleMaps open(MVStore mvStore, boolean packedFormat) {
+        if (packedFormat) {
+            MvStoreUtil.writeAlleleFormatVersion(mvStore, AllelePropertiesPacker.PACKED_FORMAT_VERSION);
+            return new MvStoreAlleleMaps(MvStoreUtil.openPackedAlleleMVMap(mvStore), MvStoreUtil.openLongKeyAlleleMVMap(mvStore));
+        }
+        return new MvStoreAlleleMaps(MvStoreUtil.openAlleleMVMap(mvStore), null);
+    }
+
+    /**
+     * Wraps a single legacy format 'alleles' map.
+     */
+    public static MvStoreAlleleMaps of(MVMap<AlleleKey, AlleleProperties> alleleMap) {
+        return new MvStoreAlleleMaps(alleleMap, null);
+    }
+
+    public MVStore getStore() {
+        return alleleMap.getStore();
+    }
+
+    public boolean isEmpty() {
+        return alleleMap.isEmpty() && (longKeyMap == null || longKeyMap.isEmpty());
+    }
+
+    public long size() {
+        return alleleMap.sizeAsLong() + (longKeyMap == null ? 0 : longKeyMap.sizeAsLong());
+    }
+
+    /**
+     * Appends the allele to the end of the relevant map. The alleles must be supplied in ascending key order.
+     */
+    public void append(AlleleKey alleleKey, AlleleProperties alleleProperties) {
+        long packedKey = packedKey(alleleKey);
+        if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+            alleleMap.append(alleleKey, alleleProperties);
+        } else {
+            longKeyMap.append(packedKey, alleleProperties);
+        }
+    }
+
+    /**
+     * Inserts the allele, merging its properties with those of any allele already in the store with the same key.
+     */
+    public void merge(AlleleKey alleleKey, AlleleProperties alleleProperties) {
+        long packedKey = packedKey(alleleKey);
+        if (packedKey == AlleleKeyPacker.NOT_PACKABLE) {
+            alleleMap.merge(alleleKey, alleleProperties, AlleleConverter::mergeProperties);
+        } else {
+            longKeyMap.merge(packedKey, alleleProperties, AlleleConverter::mergeProperties);
+        }
+    }
+
+    private long packedKey(AlleleKey alleleKey) {
+        return longKeyMap == null ? AlleleKeyPacker.NOT_PACKABLE : AlleleKeyPacker.pack(alleleKey);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.Allele;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * {@link MVStore} backed {@link Indexer} which writes the alleles of a single resource into a separate map for each
+ * chromosome. These shards are intended to be written in parallel, one per resource, then combined into the final
+ * alleles map using the {@link MvStoreShardMerger}. As each shard has a single writer and each map only holds the
+ * alleles for one chromosome there is no contention between resources, and the maps stay much smaller than the
+ * combined map which keeps the merge-on-write fast.
+ *
+ * @since 13.3.0
+ */
+public class MvStoreShardAlleleIndexer extends AbstractIndexer<Allele> {
+
+    private static final String CHROMOSOME_MAP_PREFIX = "alleles_";
+
+    private final MVStore mvStore;
+    private final Map<Integer, MVMap<AlleleKey, AlleleProperties>> chromosomeMaps = new TreeMap<>();
+
+    public MvStoreShardAlleleIndexer(MVStore mvStore) {
+        this.mvStore = mvStore;
+        this.mvStore.setVersionsToKeep(0);
+        for (String mapName : mvStore.getMapNames()) {
+            if (mapName.startsWith(CHROMOSOME_MAP_PREFIX)) {
+                int chr = Integer.parseInt(mapName.substring(CHROMOSOME_MAP_PREFIX.length()));
+                chromosomeMaps.put(chr, openChromosomeMap(chr));
+            }
+        }
+    }
+
+    private MVMap<AlleleKey, AlleleProperties> openChromosomeMap(int chr) {
+        return mvStore.openMap(CHROMOSOME_MAP_PREFIX + chr, MvStoreUtil.alleleMapBuilder());
+    }
+
+    @Override
+    public void write(Allele allele) {
+        AlleleKey key = AlleleConverter.toAlleleKey(allele);
+        AlleleProperties properties = AlleleConverter.toAlleleProperties(allele);
+        chromosomeMaps.computeIfAbsent(key.getChr(), this::openChromosomeMap)
+                .merge(key, properties, AlleleConverter::mergeProperties);
+    }
+
+    /**
+     * @return the chromosomes for which this shard contains alleles, in ascending order
+     */
+    public Set<Integer> getChromosomes() {
+        return chromosomeMaps.keySet();
+    }
+
+    /**
+     * @return the alleles map for the given chromosome, or an empty map if there are no alleles on that chromosome
+     */
+    public Map<AlleleKey, AlleleProperties> getChromosomeMap(int chr) {
+        MVMap<AlleleKey, AlleleProperties> chromosomeMap = chromosomeMaps.get(chr);
+        return chromosomeMap == null ? Map.of() : chromosomeMap;
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (MVMap<AlleleKey, AlleleProperties> chromosomeMap : chromosomeMaps.values()) {
+            count += chromosomeMap.sizeAsLong();
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        mvStore.close();
+    }
+}
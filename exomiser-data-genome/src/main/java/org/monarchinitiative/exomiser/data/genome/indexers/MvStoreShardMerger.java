@@ -0,0 +1,86 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Merges the chromosome maps of several {@link MvStoreShardAlleleIndexer} into a single, empty, alleles map. The
+ * chromosome maps are already sorted, so the shards are combined one chromosome at a time using the
+ * {@link SortedAlleleMerger} and appended to the target map in key order rather than inserted.
+ * <p>
+ * Where more than one shard contains the same allele the properties are merged in shard order, so providing the shards
+ * in the same order as the resources would have been indexed serially produces an identical map.
+ *
+ * @since 13.3.0
+ */
+public class MvStoreShardMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(MvStoreShardMerger.class);
+
+    private MvStoreShardMerger() {
+        //un-instantiable utility class
+    }
+
+    /**
+     * @param shards    the shards to merge, in resource order
+     * @param targetMap an empty map into which all the alleles are to be written
+     * @return the number of alleles written to the target map
+     */
+    public static long merge(List<MvStoreShardAlleleIndexer> shards, MVMap<AlleleKey, AlleleProperties> targetMap) {
+        return merge(shards, MvStoreAlleleMaps.of(targetMap));
+    }
+
+    /**
+     * @param shards     the shards to merge, in resource order
+     * @param targetMaps the empty maps into which all the alleles are to be written
+     * @return the number of alleles written to the target maps
+     */
+    public static long merge(List<MvStoreShardAlleleIndexer> shards, MvStoreAlleleMaps targetMaps) {
+        if (!targetMaps.isEmpty()) {
+            throw new IllegalArgumentException("Shards can only be merged into an empty map");
+        }
+        Set<Integer> chromosomes = new TreeSet<>();
+        shards.forEach(shard -> chromosomes.addAll(shard.getChromosomes()));
+
+        long written = 0;
+        for (int chr : chromosomes) {
+            long chrWritten = mergeChromosome(chr, shards, targetMaps);
+            logger.info("Merged {} alleles for chromosome {}", chrWritten, chr);
+            written += chrWritten;
+        }
+        return written;
+    }
+
+    private static long mergeChromosome(int chr, List<MvStoreShardAlleleIndexer> shards, MvStoreAlleleMaps targetMaps) {
+        List<Iterator<Map.Entry<AlleleKey, AlleleProperties>>> sources = new ArrayList<>(shards.size());
+        for (MvStoreShardAlleleIndexer shard : shards) {
+            sources.add(shard.getChromosomeMap(chr).entrySet().iterator());
+        }
+        return SortedAlleleMerger.merge(sources, targetMaps::append);
+    }
+}
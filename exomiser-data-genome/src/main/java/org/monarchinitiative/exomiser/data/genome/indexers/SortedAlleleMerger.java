@@ -0,0 +1,118 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.AlleleKeyDataType;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * K-way merge of sources of alleles which are each sorted in {@link AlleleKeyDataType} order. Entries with the same key
+ * are combined using {@link AlleleConverter#mergeProperties(AlleleProperties, AlleleProperties)} in source order, so
+ * that the result is the same as calling {@code map.merge(key, properties, AlleleConverter::mergeProperties)} for each
+ * source in turn.
+ *
+ * @since 13.3.0
+ */
+final class SortedAlleleMerger {
+
+    static final Comparator<AlleleKey> KEY_COMPARATOR = AlleleKeyDataType.INSTANCE::compare;
+
+    private SortedAlleleMerger() {
+        //un-instantiable utility class
+    }
+
+    /**
+     * @param sources sorted sources of alleles, in priority order
+     * @param sink    receives each unique key with its merged properties, in ascending key order
+     * @return the number of unique keys passed to the sink
+     */
+    static long merge(List<? extends Iterator<Map.Entry<AlleleKey, AlleleProperties>>> sources, BiConsumer<AlleleKey, AlleleProperties> sink) {
+        PriorityQueue<SourceCursor> cursors = new PriorityQueue<>();
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<Map.Entry<AlleleKey, AlleleProperties>> iterator = sources.get(i);
+            if (iterator.hasNext()) {
+                cursors.add(new SourceCursor(i, iterator));
+            }
+        }
+        long written = 0;
+        List<SourceCursor> matching = new ArrayList<>(sources.size());
+        while (!cursors.isEmpty()) {
+            SourceCursor first = cursors.poll();
+            AlleleKey key = first.key();
+            AlleleProperties properties = first.value();
+            matching.add(first);
+            // the queue breaks ties on the source index, so any other entries for this key come out in source order
+            while (!cursors.isEmpty() && KEY_COMPARATOR.compare(cursors.peek().key(), key) == 0) {
+                SourceCursor next = cursors.poll();
+                properties = AlleleConverter.mergeProperties(properties, next.value());
+                matching.add(next);
+            }
+            sink.accept(key, properties);
+            written++;
+            for (SourceCursor cursor : matching) {
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            matching.clear();
+        }
+        return written;
+    }
+
+    private static class SourceCursor implements Comparable<SourceCursor> {
+
+        private final int sourceIndex;
+        private final Iterator<Map.Entry<AlleleKey, AlleleProperties>> iterator;
+        private Map.Entry<AlleleKey, AlleleProperties> current;
+
+        private SourceCursor(int sourceIndex, Iterator<Map.Entry<AlleleKey, AlleleProperties>> iterator) {
+            this.sourceIndex = sourceIndex;
+            this.iterator = iterator;
+            this.current = iterator.next();
+        }
+
+        private AlleleKey key() {
+            return current.getKey();
+        }
+
+        private AlleleProperties value() {
+            return current.getValue();
+        }
+
+        private boolean advance() {
+            if (iterator.hasNext()) {
+                current = iterator.next();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int compareTo(SourceCursor other) {
+            int keyComparison = KEY_COMPARATOR.compare(current.getKey(), other.current.getKey());
+            return keyComparison != 0 ? keyComparison : Integer.compare(sourceIndex, other.sourceIndex);
+        }
+    }
+}
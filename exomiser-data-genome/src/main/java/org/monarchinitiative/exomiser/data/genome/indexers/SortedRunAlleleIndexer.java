@@ -0,0 +1,144 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.Allele;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Indexer} which buffers alleles in memory and spills them to disk as sorted runs of length-delimited
+ * {@link AlleleKey} and {@link AlleleProperties} messages, rather than writing directly to an
+ * {@link org.h2.mvstore.MVStore}. Duplicate keys within a run are merged before the run is written. The runs are
+ * combined into the final store by the {@link SortedRunMerger}.
+ * <p>
+ * This class is not thread-safe. A separate instance should be used for each resource indexed in parallel.
+ *
+ * @since 13.3.0
+ */
+public class SortedRunAlleleIndexer extends AbstractIndexer<Allele> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SortedRunAlleleIndexer.class);
+
+    public static final int DEFAULT_RUN_SIZE = 1_000_000;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path runDirectory;
+    private final String runPrefix;
+    private final int runSize;
+
+    private final List<Map.Entry<AlleleKey, AlleleProperties>> buffer;
+    private final List<Path> runs = new ArrayList<>();
+    private long count = 0;
+
+    public SortedRunAlleleIndexer(Path runDirectory, String runPrefix) {
+        this(runDirectory, runPrefix, DEFAULT_RUN_SIZE);
+    }
+
+    public SortedRunAlleleIndexer(Path runDirectory, String runPrefix, int runSize) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("runSize must be greater than 0");
+        }
+        this.runDirectory = runDirectory;
+        this.runPrefix = runPrefix;
+        this.runSize = runSize;
+        this.buffer = new ArrayList<>(Math.min(runSize, DEFAULT_RUN_SIZE));
+    }
+
+    @Override
+    public void write(Allele allele) {
+        AlleleKey key = AlleleConverter.toAlleleKey(allele);
+        AlleleProperties properties = AlleleConverter.toAlleleProperties(allele);
+        buffer.add(new AbstractMap.SimpleImmutableEntry<>(key, properties));
+        count++;
+        if (buffer.size() >= runSize) {
+            spill();
+        }
+    }
+
+    private void spill() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        // List.sort is stable so duplicate keys stay in the order in which they were read from the resource
+        buffer.sort(Map.Entry.comparingByKey(SortedAlleleMerger.KEY_COMPARATOR));
+        Path runPath = runDirectory.resolve(String.format("%s-%05d.run", runPrefix, runs.size()));
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(runPath), BUFFER_SIZE)) {
+            AlleleKey currentKey = buffer.get(0).getKey();
+            AlleleProperties currentProperties = buffer.get(0).getValue();
+            for (int i = 1; i < buffer.size(); i++) {
+                Map.Entry<AlleleKey, AlleleProperties> entry = buffer.get(i);
+                if (SortedAlleleMerger.KEY_COMPARATOR.compare(currentKey, entry.getKey()) == 0) {
+                    currentProperties = AlleleConverter.mergeProperties(currentProperties, entry.getValue());
+                } else {
+                    currentKey.writeDelimitedTo(outputStream);
+                    currentProperties.writeDelimitedTo(outputStream);
+                    currentKey = entry.getKey();
+                    currentProperties = entry.getValue();
+                }
+            }
+            currentKey.writeDelimitedTo(outputStream);
+            currentProperties.writeDelimitedTo(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write sorted run " + runPath, e);
+        }
+        logger.debug("Written {} alleles to sorted run {}", buffer.size(), runPath);
+        runs.add(runPath);
+        buffer.clear();
+    }
+
+    /**
+     * @return the sorted run files written so far, in the order in which they were written
+     */
+    public List<Path> getRuns() {
+        return List.copyOf(runs);
+    }
+
+    /**
+     * @return the number of alleles written to this indexer. This includes duplicates.
+     */
+    @Override
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Writes any buffered alleles to a final run.
+     */
+    @Override
+    public void close() {
+        spill();
+    }
+}
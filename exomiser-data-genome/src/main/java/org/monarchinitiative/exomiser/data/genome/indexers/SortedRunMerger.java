@@ -0,0 +1,138 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Merges the sorted runs written by one or more {@link SortedRunAlleleIndexer} into a single, empty, alleles map. The
+ * runs are read sequentially and the unique keys appended to the map in ascending order, so every page of the map is
+ * written once rather than being repeatedly rewritten by random-order inserts.
+ * <p>
+ * Where more than one run contains the same allele the properties are merged in the order of the runs provided, so
+ * providing the runs in resource order, then run order, produces a map identical to the {@link MvStoreAlleleIndexer}.
+ *
+ * @since 13.3.0
+ */
+public class SortedRunMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(SortedRunMerger.class);
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private SortedRunMerger() {
+        //un-instantiable utility class
+    }
+
+    /**
+     * @param runs      the sorted run files to merge, in priority order
+     * @param targetMap an empty map into which all the alleles are to be written
+     * @return the number of alleles written to the target map
+     */
+    public static long merge(List<Path> runs, MVMap<AlleleKey, AlleleProperties> targetMap) {
+        return merge(runs, MvStoreAlleleMaps.of(targetMap));
+    }
+
+    /**
+     * @param runs       the sorted run files to merge, in priority order
+     * @param targetMaps the empty maps into which all the alleles are to be written
+     * @return the number of alleles written to the target maps
+     */
+    public static long merge(List<Path> runs, MvStoreAlleleMaps targetMaps) {
+        if (!targetMaps.isEmpty()) {
+            throw new IllegalArgumentException("Sorted runs can only be merged into an empty map");
+        }
+        logger.info("Merging {} sorted runs", runs.size());
+        List<RunReader> runReaders = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                runReaders.add(new RunReader(run));
+            }
+            return SortedAlleleMerger.merge(runReaders, targetMaps::append);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open sorted run", e);
+        } finally {
+            runReaders.forEach(RunReader::close);
+        }
+    }
+
+    private static class RunReader implements Iterator<Map.Entry<AlleleKey, AlleleProperties>>, Closeable {
+
+        private final Path runPath;
+        private final InputStream inputStream;
+        private Map.Entry<AlleleKey, AlleleProperties> next;
+
+        private RunReader(Path runPath) throws IOException {
+            this.runPath = runPath;
+            this.inputStream = new BufferedInputStream(Files.newInputStream(runPath), BUFFER_SIZE);
+            this.next = readNext();
+        }
+
+        private Map.Entry<AlleleKey, AlleleProperties> readNext() {
+            try {
+                AlleleKey key = AlleleKey.parseDelimitedFrom(inputStream);
+                if (key == null) {
+                    return null;
+                }
+                AlleleProperties properties = AlleleProperties.parseDelimitedFrom(inputStream);
+                if (properties == null) {
+                    throw new EOFException("Missing properties for " + key);
+                }
+                return new AbstractMap.SimpleImmutableEntry<>(key, properties);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read sorted run " + runPath, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<AlleleKey, AlleleProperties> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<AlleleKey, AlleleProperties> current = next;
+            next = readNext();
+            return current;
+        }
+
+        @Override
+        public void close() {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close sorted run {}", runPath, e);
+            }
+        }
+    }
+}
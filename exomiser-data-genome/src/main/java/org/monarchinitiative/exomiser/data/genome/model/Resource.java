@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.data.genome.model;
 
 import org.monarchinitiative.exomiser.data.genome.model.archive.Archive;
+import org.monarchinitiative.exomiser.data.genome.model.archive.ArchiveDecompression;
 import org.monarchinitiative.exomiser.data.genome.model.parsers.Parser;
 
 import java.net.URL;
@@ -40,8 +41,16 @@
     Parser<T> getParser();
 
     default Stream<T> parseResource() {
+        return parseResource(ArchiveDecompression.serial());
+    }
+
+    /**
+     * @param decompression how any gzipped files in the resource {@link Archive} are to be decompressed
+     * @since 13.3.0
+     */
+    default Stream<T> parseResource(ArchiveDecompression decompression) {
         // wrap this in a try-with-resources to close the underlying file resources when the stream closes
-        try (Stream<String> lines = getArchive().lines()) {
+        try (Stream<String> lines = getArchive().lines(decompression)) {
             return lines
 //                       .peek(System.out::println)
                     .flatMap(line -> getParser().parseLine(line).stream());
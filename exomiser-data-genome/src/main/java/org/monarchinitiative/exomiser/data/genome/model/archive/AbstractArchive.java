@@ -58,9 +58,9 @@ public String getDataFileFormat() {
     }
 
     @Override
-    public Stream<String> lines() {
+    public Stream<String> lines(ArchiveDecompression decompression) {
         // this needs to be abstract too as it needs a separate implementation for dbNSFP4
-        ArchiveFileReader archiveFileReader = new SimpleArchiveFileReader(this);
+        ArchiveFileReader archiveFileReader = new SimpleArchiveFileReader(this, decompression);
         return archiveFileReader.lines();
     }
 
@@ -34,5 +34,14 @@ public interface Archive {
 
     public String getDataFileFormat();
 
-    public Stream<String> lines();
+    public default Stream<String> lines() {
+        return lines(ArchiveDecompression.serial());
+    }
+
+    /**
+     * @param decompression how any gzipped files in the archive are to be decompressed
+     * @return the lines of the data files in the archive
+     * @since 13.3.0
+     */
+    public Stream<String> lines(ArchiveDecompression decompression);
 }
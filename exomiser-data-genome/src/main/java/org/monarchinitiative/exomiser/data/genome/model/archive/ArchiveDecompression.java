@@ -0,0 +1,111 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.archive;
+
+import htsjdk.samtools.util.BlockCompressedInputStream;
+import org.monarchinitiative.exomiser.core.genome.ParallelBgzfInputStream;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Selects how the gzipped resource files of a build are decompressed. The {@link #serial()} instance reads everything
+ * with a {@link GZIPInputStream}. A {@link #parallel(int)} instance inflates any bgzipped files, which includes most of
+ * the large VCF resources, in parallel using a {@link ParallelBgzfInputStream}. All the files read with the same
+ * instance share its inflater threads, so resources indexed concurrently don't each start their own. Plain gzip files
+ * are always read on a single thread.
+ *
+ * @since 13.3.0
+ */
+public final class ArchiveDecompression implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 17;
+
+    private static final ArchiveDecompression SERIAL = new ArchiveDecompression(0, null);
+
+    private final int threads;
+    @Nullable
+    private final ExecutorService inflaterPool;
+
+    private ArchiveDecompression(int threads, @Nullable ExecutorService inflaterPool) {
+        this.threads = threads;
+        this.inflaterPool = inflaterPool;
+    }
+
+    public static ArchiveDecompression serial() {
+        return SERIAL;
+    }
+
+    /**
+     * @param threads the number of threads shared by all the bgzipped files decompressed with the returned instance.
+     *                Values less than 2 will disable parallel decompression.
+     * @return an {@link ArchiveDecompression} which should be closed once the build has finished reading resources
+     */
+    public static ArchiveDecompression parallel(int threads) {
+        if (threads < 2) {
+            return SERIAL;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService inflaterPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "archive-inflater-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ArchiveDecompression(threads, inflaterPool);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isParallel() {
+        return inflaterPool != null;
+    }
+
+    /**
+     * @param gzipInputStream a gzip or bgzip compressed stream
+     * @return a stream of the decompressed bytes
+     */
+    InputStream decompress(InputStream gzipInputStream) throws IOException {
+        BufferedInputStream bufferedInputStream = new BufferedInputStream(gzipInputStream, BUFFER_SIZE);
+        if (inflaterPool != null && BlockCompressedInputStream.isValidFile(bufferedInputStream)) {
+            // enough blocks to keep all the shared workers busy while this stream's consumer catches up
+            return new ParallelBgzfInputStream(bufferedInputStream, inflaterPool, threads * 4);
+        }
+        return new GZIPInputStream(bufferedInputStream);
+    }
+
+    /**
+     * Stops the shared inflater threads. This has no effect on the {@link #serial()} instance.
+     */
+    @Override
+    public void close() {
+        if (inflaterPool != null) {
+            inflaterPool.shutdownNow();
+        }
+    }
+}
@@ -28,12 +28,12 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Stream;
-import java.util.zip.GZIPInputStream;
 
 /**
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
@@ -45,11 +45,13 @@ abstract class ArchiveFileReader {
     private final Path archivePath;
     private final String archiveFormat;
     protected final String dataFileFormat;
+    private final ArchiveDecompression decompression;
 
-    protected ArchiveFileReader(Archive archive) {
+    protected ArchiveFileReader(Archive archive, ArchiveDecompression decompression) {
         this.archivePath = archive.getPath();
         this.archiveFormat = archive.getArchiveFileFormat();
         this.dataFileFormat = archive.getDataFileFormat();
+        this.decompression = decompression;
     }
 
     /**
@@ -113,10 +115,14 @@ private Function<FileObject, BufferedReader> toBufferedReader() {
     // return a BufferedReader
     private InputStream readFileObject(FileObject fileObject) throws IOException {
         logger.info("Reading archive file {}", fileObject.getName());
+        if (decompression.isParallel() && archiveFormat.equals("gz")) {
+            // a gz archive only ever contains the one file, so skip the VFS gz provider and decompress it directly
+            return decompression.decompress(Files.newInputStream(archivePath));
+        }
         FileContent fileContent = fileObject.getContent();
         // hack for dbNSFP4 - most resources are plain text inside an archive
         if (fileObject.getName().getExtension().equals("gz")) {
-            return new GZIPInputStream(fileContent.getInputStream());
+            return decompression.decompress(fileContent.getInputStream());
         }
         return fileContent.getInputStream();
     }
@@ -35,16 +35,16 @@ public DbNsfp4Archive(Path archivePath) {
     }
 
     @Override
-    public Stream<String> lines() {
+    public Stream<String> lines(ArchiveDecompression decompression) {
         // this needs to be abstract too as it needs a separate implementation for dbNSFP4
-        ArchiveFileReader archiveFileReader = new DbNsfp4ArchiveFileReader(this);
+        ArchiveFileReader archiveFileReader = new DbNsfp4ArchiveFileReader(this, decompression);
         return archiveFileReader.lines();
     }
 
     private class DbNsfp4ArchiveFileReader extends ArchiveFileReader {
 
-        public DbNsfp4ArchiveFileReader(Archive archive) {
-            super(archive);
+        public DbNsfp4ArchiveFileReader(Archive archive, ArchiveDecompression decompression) {
+            super(archive, decompression);
         }
 
         @Override
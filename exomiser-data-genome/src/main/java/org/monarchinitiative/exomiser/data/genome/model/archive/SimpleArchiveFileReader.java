@@ -28,7 +28,11 @@
 class SimpleArchiveFileReader extends ArchiveFileReader {
 
     SimpleArchiveFileReader(Archive archive) {
-        super(archive);
+        this(archive, ArchiveDecompression.serial());
+    }
+
+    SimpleArchiveFileReader(Archive archive, ArchiveDecompression decompression) {
+        super(archive, decompression);
     }
 
     @Override
@@ -0,0 +1,191 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import java.util.Objects;
+
+/**
+ * A read-only window onto a region of an underlying {@link CharSequence}, usually a line read from a resource file.
+ * Slicing does not copy the characters, so the fields of a line can be inspected and their numeric values parsed
+ * without creating a new {@link String} for each of them. Only {@link #toString()} copies the region.
+ *
+ * @since 13.3.0
+ */
+public final class CharSlice implements CharSequence {
+
+    private static final CharSlice EMPTY = new CharSlice("", 0, 0);
+
+    private final CharSequence text;
+    private final int start;
+    private final int end;
+
+    private CharSlice(CharSequence text, int start, int end) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static CharSlice of(CharSequence text) {
+        Objects.requireNonNull(text);
+        if (text instanceof CharSlice) {
+            return (CharSlice) text;
+        }
+        return new CharSlice(text, 0, text.length());
+    }
+
+    /**
+     * @param text  the underlying text
+     * @param start the start index of the slice, inclusive
+     * @param end   the end index of the slice, exclusive
+     * @throws IndexOutOfBoundsException if the start and end do not describe a region of the text
+     */
+    public static CharSlice of(CharSequence text, int start, int end) {
+        Objects.checkFromToIndex(start, end, text.length());
+        if (start == end) {
+            return EMPTY;
+        }
+        if (text instanceof CharSlice) {
+            CharSlice slice = (CharSlice) text;
+            return new CharSlice(slice.text, slice.start + start, slice.start + end);
+        }
+        return new CharSlice(text, start, end);
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, end - start);
+        return text.charAt(start + index);
+    }
+
+    @Override
+    public CharSlice subSequence(int start, int end) {
+        return of(this, start, end);
+    }
+
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * @return true if this slice has the same characters as the string
+     */
+    public boolean contentEquals(String value) {
+        return value.length() == length() && regionMatches(0, value);
+    }
+
+    public boolean startsWith(String prefix) {
+        return prefix.length() <= length() && regionMatches(0, prefix);
+    }
+
+    private boolean regionMatches(int offset, String value) {
+        int pos = start + offset;
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(pos + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the index of the first occurrence of the character in this slice at or after the fromIndex, or -1 if
+     * there is no such occurrence
+     */
+    public int indexOf(char c, int fromIndex) {
+        for (int i = start + Math.max(fromIndex, 0); i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i - start;
+            }
+        }
+        return -1;
+    }
+
+    public int indexOf(char c) {
+        return indexOf(c, 0);
+    }
+
+    /**
+     * Equivalent to {@link String#trim()} - removes any leading and trailing characters less than or equal to a space.
+     */
+    public CharSlice trim() {
+        int first = start;
+        int last = end;
+        while (first < last && text.charAt(first) <= ' ') {
+            first++;
+        }
+        while (first < last && text.charAt(last - 1) <= ' ') {
+            last--;
+        }
+        return (first == start && last == end) ? this : of(text, first, last);
+    }
+
+    /**
+     * Splits this slice into fields using the same rules as {@link String#split(String)} with a single character
+     * delimiter.
+     */
+    public DelimitedFields split(char delimiter) {
+        return DelimitedFields.of(text, start, end, delimiter);
+    }
+
+    public int parseInt() {
+        return NumberParser.parseInt(text, start, end);
+    }
+
+    public float parseFloat() {
+        return NumberParser.parseFloat(text, start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CharSlice)) return false;
+        CharSlice that = (CharSlice) o;
+        if (that.length() != length()) {
+            return false;
+        }
+        for (int i = 0; i < length(); i++) {
+            if (text.charAt(start + i) != that.text.charAt(that.start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as String so that a slice and its toString() value hash identically
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return text.subSequence(start, end).toString();
+    }
+}
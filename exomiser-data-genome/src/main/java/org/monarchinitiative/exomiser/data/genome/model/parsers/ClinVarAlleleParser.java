@@ -38,8 +38,8 @@ public class ClinVarAlleleParser extends VcfAlleleParser {
     private static final Logger logger = LoggerFactory.getLogger(ClinVarAlleleParser.class);
 
     @Override
-    List<Allele> parseInfoField(List<Allele> alleles, String info) {
-        ClinVarData clinVarData = parseClinVarData(info);
+    List<Allele> parseInfoField(List<Allele> alleles, CharSlice info) {
+        ClinVarData clinVarData = parseClinVarData(info.toString());
         for (Allele allele : alleles) {
             if (!clinVarData.isEmpty()) {
                 allele.setClinVarData(clinVarData);
@@ -48,6 +48,10 @@ public class DbNsfpAlleleParser implements AlleleParser {
 
     private List<DbNsfpScoreParser> scoreParsers;
 
+    // the file is sorted by chromosome, so there's no need to parse it from each line
+    private String lastChrField = "";
+    private byte lastChr = 0;
+
     public DbNsfpAlleleParser(DbNsfpColumnIndex columnIndex) {
         this.columnIndex = columnIndex;
     }
@@ -131,16 +135,16 @@ else if (key.equals(columnIndex.getPrimateAiScoreHeader())) {
     }
 
     private List<Allele> parseAlleles(String line) {
-        String[] fields = line.split("\t");
+        DelimitedFields fields = DelimitedFields.of(line, '\t');
 
-        byte chr = ChromosomeParser.parseChr(fields[chrIndex]);
+        byte chr = parseChr(fields.get(chrIndex));
         if (chr == 0) {
             return Collections.emptyList();
         }
-        int pos = Integer.parseInt(fields[posIndex]);
-        String rsId = RsIdParser.parseRsId(fields[rsIndex]);
-        String ref = fields[refIndex];
-        String alt = fields[altIndex];
+        int pos = fields.parseInt(posIndex);
+        String rsId = RsIdParser.parseRsId(fields.get(rsIndex));
+        String ref = fields.getString(refIndex);
+        String alt = fields.getString(altIndex);
 
         Map<AlleleProperty, Float> pathScores = parsePathScores(fields);
 
@@ -154,7 +158,15 @@ private List<Allele> parseAlleles(String line) {
         return Collections.singletonList(allele);
     }
 
-    private Map<AlleleProperty, Float> parsePathScores(String[] fields) {
+    private byte parseChr(CharSlice chrField) {
+        if (!chrField.contentEquals(lastChrField)) {
+            lastChrField = chrField.toString();
+            lastChr = ChromosomeParser.parseChr(lastChrField);
+        }
+        return lastChr;
+    }
+
+    private Map<AlleleProperty, Float> parsePathScores(DelimitedFields fields) {
         Map<AlleleProperty, Float> values = new EnumMap<>(AlleleProperty.class);
 
         scoreParsers.forEach(scoreParser -> {
@@ -197,16 +209,17 @@ public AlleleProperty getAlleleProperty() {
         }
 
         @Override
-        public Float parse(String[] fields) {
-            String field = getValueOrEmpty(fields, super.fieldPosition, EMPTY_VALUE);
-            String[] transcriptPredictions = field.split(";");
-            if (transcriptPredictions.length == 1) {
-                return parseValue(transcriptPredictions[0]);
+        public Float parse(DelimitedFields fields) {
+            CharSlice field = getValueOrEmpty(fields, super.fieldPosition);
+            DelimitedFields transcriptPredictions = field.split(';');
+            if (transcriptPredictions.size() == 1) {
+                return parseValue(transcriptPredictions.get(0));
             }
             float minValue = 1;
-            for (String score : transcriptPredictions) {
-                if (!EMPTY_VALUE.equals(score)) {
-                    float value = Float.parseFloat(score);
+            for (int i = 0; i < transcriptPredictions.size(); i++) {
+                CharSlice score = transcriptPredictions.get(i);
+                if (!score.contentEquals(EMPTY_VALUE)) {
+                    float value = score.parseFloat();
                     //The smaller the score the more likely the SNP has damaging effect.
                     minValue = Float.min(minValue, value);
                 }
@@ -235,20 +248,20 @@ public AlleleProperty getAlleleProperty() {
         }
 
         @Override
-        public Float parse(String[] fields) {
-            String scoreFields = getValueOrEmpty(fields, mTasterScorePos, EMPTY_VALUE);
-            String predFields = getValueOrEmpty(fields, mTasterPredPos, EMPTY_VALUE);
-            String[] scores = scoreFields.split(";");
-            String[] predictions = predFields.split(";");
-            if (scores.length == predictions.length) {
+        public Float parse(DelimitedFields fields) {
+            CharSlice scoreFields = getValueOrEmpty(fields, mTasterScorePos);
+            CharSlice predFields = getValueOrEmpty(fields, mTasterPredPos);
+            DelimitedFields scores = scoreFields.split(';');
+            DelimitedFields predictions = predFields.split(';');
+            if (scores.size() == predictions.size()) {
                 float maxValue = 0;
-                for (int i = 0; i < scores.length; i++) {
-                    String score = scores[i];
+                for (int i = 0; i < scores.size(); i++) {
+                    CharSlice score = scores.get(i);
                     // Note there are some entries such as ".;0.292" so catch them here
-                    if (!score.equals(EMPTY_VALUE)) {
-                        String p = predictions[i].trim();
-                        if (p.equals("A") || p.equals("D")) {
-                            float value = Float.parseFloat(score);
+                    if (!score.contentEquals(EMPTY_VALUE)) {
+                        CharSlice p = predictions.get(i).trim();
+                        if (p.contentEquals("A") || p.contentEquals("D")) {
+                            float value = score.parseFloat();
                             //The larger the score the more likely the SNP has damaging effect.
                             maxValue = Float.max(maxValue, value);
                         }
@@ -378,8 +391,8 @@ public AlleleProperty getAlleleProperty() {
         }
 
         @Override
-        public Float parse(String[] fields) {
-            String field = getValueOrEmpty(fields, fieldPosition, EMPTY_VALUE);
+        public Float parse(DelimitedFields fields) {
+            CharSlice field = getValueOrEmpty(fields, fieldPosition);
             return parseTranscriptValues(field);
         }
 
@@ -422,8 +435,8 @@ public AlleleProperty getAlleleProperty() {
         }
 
         @Override
-        public Float parse(String[] fields) {
-            String field = getValueOrEmpty(fields, fieldPosition, EMPTY_VALUE);
+        public Float parse(DelimitedFields fields) {
+            CharSlice field = getValueOrEmpty(fields, fieldPosition);
             return parseValue(field);
         }
 
@@ -455,10 +468,10 @@ private abstract static class AbstractDbNsfpScoreParser implements DbNsfpScorePa
         protected static final String EMPTY_VALUE = ".";
 
         @Nullable
-        protected Float parseTranscriptValues(String field) {
-            String[] transcriptPredictions = field.split(";");
-            if (transcriptPredictions.length == 1) {
-                return parseValue(transcriptPredictions[0]);
+        protected Float parseTranscriptValues(CharSlice field) {
+            DelimitedFields transcriptPredictions = field.split(';');
+            if (transcriptPredictions.size() == 1) {
+                return parseValue(transcriptPredictions.get(0));
             }
             float maxValue = getMaxValue(transcriptPredictions);
             if (maxValue > 0) {
@@ -467,11 +480,12 @@ protected Float parseTranscriptValues(String field) {
             return null;
         }
 
-        private float getMaxValue(String[] transcriptPredictions) {
+        private float getMaxValue(DelimitedFields transcriptPredictions) {
             float maxValue = 0;
-            for (String score : transcriptPredictions) {
-                if (!EMPTY_VALUE.equals(score)) {
-                    float value = Float.parseFloat(score);
+            for (int i = 0; i < transcriptPredictions.size(); i++) {
+                CharSlice score = transcriptPredictions.get(i);
+                if (!score.contentEquals(EMPTY_VALUE)) {
+                    float value = score.parseFloat();
                     //The larger the score the more likely the SNP has damaging effect.
                     maxValue = Float.max(maxValue, value);
                 }
@@ -480,9 +494,9 @@ private float getMaxValue(String[] transcriptPredictions) {
         }
 
         @Nullable
-        protected Float parseValue(String value) {
-            if (!EMPTY_VALUE.equals(value)) {
-                return Float.valueOf(value);
+        protected Float parseValue(CharSlice value) {
+            if (!value.contentEquals(EMPTY_VALUE)) {
+                return value.parseFloat();
             }
             return null;
         }
@@ -492,14 +506,10 @@ private interface DbNsfpScoreParser {
 
         public AlleleProperty getAlleleProperty();
 
-        public Float parse(String[] fields);
+        public Float parse(DelimitedFields fields);
 
-        public default String getValueOrEmpty(String[] fields, int position, String empty) {
-            String field = fields[position];
-            if (field == null) {
-                return empty;
-            }
-            return field;
+        public default CharSlice getValueOrEmpty(DelimitedFields fields, int position) {
+            return fields.get(position);
         }
     }
 }
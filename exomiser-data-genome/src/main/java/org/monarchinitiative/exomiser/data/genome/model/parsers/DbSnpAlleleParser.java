@@ -25,7 +25,6 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -38,18 +37,24 @@ public class DbSnpAlleleParser extends VcfAlleleParser {
 
     private static final Logger logger = LoggerFactory.getLogger(DbSnpAlleleParser.class);
 
+    private static final int CAF = 0;
+    private static final int TOPMED = 1;
+    private static final int FREQ = 2;
+    private final InfoFieldScanner frequencyFieldScanner = new InfoFieldScanner("CAF", "TOPMED", "FREQ");
+
     @Override
-    List<Allele> parseInfoField(List<Allele> alleles, String info) {
-        Map<AlleleProperty, List<String>> minorAlleleFrequencies = parseMinorAlleleFrequencies(info);
+    List<Allele> parseInfoField(List<Allele> alleles, CharSlice info) {
+        Map<AlleleProperty, DelimitedFields> minorAlleleFrequencies = parseMinorAlleleFrequencies(info);
 
-        for (Map.Entry<AlleleProperty, List<String>> entry : minorAlleleFrequencies.entrySet()) {
+        for (Map.Entry<AlleleProperty, DelimitedFields> entry : minorAlleleFrequencies.entrySet()) {
             AlleleProperty alleleProperty = entry.getKey();
-            List<String> alleleMafs = entry.getValue();
-            for (int i = 0; i < alleleMafs.size(); i++) {
-                String maf = alleleMafs.get(i);
-                if (!maf.equals(".")) {
-                    float freq = 100f * Float.parseFloat(maf);
-                    Allele allele = alleles.get(i);
+            DelimitedFields alleleFreqs = entry.getValue();
+            //note we're taking the minor freqs, so the loop starts at int i = 1
+            for (int i = 1; i < alleleFreqs.size(); i++) {
+                CharSlice maf = alleleFreqs.get(i);
+                if (!maf.contentEquals(".")) {
+                    float freq = 100f * maf.parseFloat();
+                    Allele allele = alleles.get(i - 1);
                     allele.addValue(alleleProperty, freq);
                 }
             }
@@ -60,60 +65,53 @@ List<Allele> parseInfoField(List<Allele> alleles, String info) {
     // ##INFO=<ID=CAF,Number=.,Type=String,Description="An ordered, comma delimited list of allele frequencies based on 1000Genomes, starting with the reference allele followed by alternate alleles as ordered in the ALT column. Where a 1000Genomes alternate allele is not in the dbSNPs alternate allele set, the allele is added to the ALT column.  The minor allele is the second largest value in the list, and was previuosly reported in VCF as the GMAF.  This is the GMAF reported on the RefSNP and EntrezSNP pages and VariationReporter">
     // also in b151
     // ##INFO=<ID=TOPMED,Number=.,Type=String,Description="An ordered, comma delimited list of allele frequencies based on TOPMed, starting with the reference allele followed by alternate alleles as ordered in the ALT column. The TOPMed minor allele is the second largest value in the list.">
-    private Map<AlleleProperty, List<String>> parseMinorAlleleFrequencies(String info) {
-        EnumMap<AlleleProperty, List<String>> mafMap = new EnumMap<>(AlleleProperty.class);
-        String[] infoFields = info.split(";");
-        for (String infoField : infoFields) {
-            if (infoField.startsWith("CAF=")) {
-                String frequencyValues = getFrequencyValues(infoField);
-                mafMap.put(AlleleProperty.KG, parseFreqField(frequencyValues));
-            }
-            if (infoField.startsWith("TOPMED=")) {
-                String frequencyValues = getFrequencyValues(infoField);
-                mafMap.put(AlleleProperty.TOPMED, parseFreqField(frequencyValues));
+    private Map<AlleleProperty, DelimitedFields> parseMinorAlleleFrequencies(CharSlice info) {
+        EnumMap<AlleleProperty, DelimitedFields> mafMap = new EnumMap<>(AlleleProperty.class);
+        frequencyFieldScanner.scan(info, (key, frequencyValues) -> {
+            switch (key) {
+                case CAF:
+                    mafMap.put(AlleleProperty.KG, parseFreqField(frequencyValues));
+                    break;
+                case TOPMED:
+                    mafMap.put(AlleleProperty.TOPMED, parseFreqField(frequencyValues));
+                    break;
+                case FREQ:
+                    // newer b152+ format has all the frequency data in the FREQ field which requires further parsing
+                    parseFreqSources(frequencyValues, mafMap);
+                    break;
+                default:
+                    break;
             }
-            // newer b152+ format has all the frequency data in the FREQ field which requires further parsing
-            if (infoField.startsWith("FREQ=")) {
-                String[] sources = infoField.substring(infoField.indexOf('=') + 1).split("\\|");
-                for (String source : sources) {
-                    int colonPos = source.indexOf(':');
-                    String sourceId = source.substring(0, colonPos);
-                    String frequencyValues = source.substring(colonPos + 1);
-                    switch (sourceId) {
-                        case "1000Genomes":
-                            mafMap.put(AlleleProperty.KG, parseFreqField(frequencyValues));
-                        case "TOPMED":
-                            mafMap.put(AlleleProperty.TOPMED, parseFreqField(frequencyValues));
-//                        case "TWINSUK":
-//                            // https://twinsuk.ac.uk/about-us/what-is-twinsuk/
-//                            mafMap.put(AlleleProperty.TWINSUK, parseFreqField(frequencyValues));
-//                        case "ALSPAC":
-//                            // http://www.bristol.ac.uk/alspac/researchers/cohort-profile/
-//                            mafMap.put(AlleleProperty.ALSPAC, parseFreqField(frequencyValues));
-                    }
-                }
-            }
-        }
+        });
         return mafMap;
     }
 
-    private String getFrequencyValues(String infoField) {
-        return infoField.substring(infoField.indexOf('=') + 1);
+    private void parseFreqSources(CharSlice freqValue, Map<AlleleProperty, DelimitedFields> mafMap) {
+        DelimitedFields sources = freqValue.split('|');
+        for (int i = 0; i < sources.size(); i++) {
+            CharSlice source = sources.get(i);
+            int colonPos = source.indexOf(':');
+            CharSlice sourceId = source.subSequence(0, colonPos);
+            CharSlice frequencyValues = source.subSequence(colonPos + 1, source.length());
+            if (sourceId.contentEquals("1000Genomes")) {
+                mafMap.put(AlleleProperty.KG, parseFreqField(frequencyValues));
+                // n.b. this falls through to TOPMED as the original switch statement did
+                mafMap.put(AlleleProperty.TOPMED, parseFreqField(frequencyValues));
+            } else if (sourceId.contentEquals("TOPMED")) {
+                mafMap.put(AlleleProperty.TOPMED, parseFreqField(frequencyValues));
+            }
+//            TWINSUK https://twinsuk.ac.uk/about-us/what-is-twinsuk/
+//            ALSPAC http://www.bristol.ac.uk/alspac/researchers/cohort-profile/
+        }
     }
 
-    private List<String> parseFreqField(String infoField) {
+    private DelimitedFields parseFreqField(CharSlice frequencyValues) {
         //allele freq data format is:
         // CAF=0.9812,.,0.01882
         // and / or
         // TOPMED=0.999725,0.000274744,.
         // where major allele is 1st followed by minor alleles in order of alt line
-        List<String> minorFreqs = new ArrayList<>();
-        String[] freqs = infoField.split(",");
-        //note we're taking the minor freqs, so the loop starts at int i = 1
-        for (int i = 1; i < freqs.length; i++) {
-            minorFreqs.add(freqs[i]);
-        }
-        return minorFreqs;
+        return frequencyValues.split(',');
     }
 
 }
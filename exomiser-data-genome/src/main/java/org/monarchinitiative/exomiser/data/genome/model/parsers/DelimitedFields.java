@@ -0,0 +1,140 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Lazily tokenised fields of a delimited line. Fields are only located as far as the highest index requested so far,
+ * so a parser only interested in the first few columns of a very wide line never scans the rest of it. The fields
+ * follow the same rules as {@link String#split(String)} with a single character delimiter - trailing empty fields are
+ * not counted unless the text contains no delimiter at all, in which case the whole text is the only field.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 13.3.0
+ */
+public final class DelimitedFields {
+
+    private final CharSequence text;
+    private final int end;
+    private final char delimiter;
+
+    // start and end offsets of the fields located so far, relative to the text
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int located = 0;
+    private int scanPosition;
+    private boolean exhausted = false;
+    // the highest located index of a non-empty field
+    private int lastNonEmpty = -1;
+
+    private DelimitedFields(CharSequence text, int start, int end, char delimiter) {
+        this.text = text;
+        this.end = end;
+        this.delimiter = delimiter;
+        this.scanPosition = start;
+    }
+
+    public static DelimitedFields of(CharSequence text, char delimiter) {
+        Objects.requireNonNull(text);
+        if (text instanceof CharSlice) {
+            return ((CharSlice) text).split(delimiter);
+        }
+        return new DelimitedFields(text, 0, text.length(), delimiter);
+    }
+
+    static DelimitedFields of(CharSequence text, int start, int end, char delimiter) {
+        return new DelimitedFields(text, start, end, delimiter);
+    }
+
+    /**
+     * @return the number of fields, as would be returned by the equivalent {@link String#split(String)}
+     */
+    public int size() {
+        while (!exhausted) {
+            locateNext();
+        }
+        if (located == 1) {
+            return 1;
+        }
+        return lastNonEmpty + 1;
+    }
+
+    public CharSlice get(int index) {
+        checkIndex(index);
+        return CharSlice.of(text, starts[index], ends[index]);
+    }
+
+    public String getString(int index) {
+        checkIndex(index);
+        return text.subSequence(starts[index], ends[index]).toString();
+    }
+
+    public int parseInt(int index) {
+        checkIndex(index);
+        return NumberParser.parseInt(text, starts[index], ends[index]);
+    }
+
+    public float parseFloat(int index) {
+        checkIndex(index);
+        return NumberParser.parseFloat(text, starts[index], ends[index]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        while (located <= index && !exhausted) {
+            locateNext();
+        }
+        if (index >= located) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        // an empty field is only present if there is a non-empty field after it, or it is the sole field
+        while (index > lastNonEmpty && !exhausted) {
+            locateNext();
+        }
+        if (index > lastNonEmpty && located > 1) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+    }
+
+    private void locateNext() {
+        int fieldEnd = scanPosition;
+        while (fieldEnd < end && text.charAt(fieldEnd) != delimiter) {
+            fieldEnd++;
+        }
+        if (located == starts.length) {
+            starts = Arrays.copyOf(starts, located * 2);
+            ends = Arrays.copyOf(ends, located * 2);
+        }
+        starts[located] = scanPosition;
+        ends[located] = fieldEnd;
+        if (fieldEnd > scanPosition) {
+            lastNonEmpty = located;
+        }
+        located++;
+        scanPosition = fieldEnd + 1;
+        exhausted = fieldEnd == end;
+    }
+}
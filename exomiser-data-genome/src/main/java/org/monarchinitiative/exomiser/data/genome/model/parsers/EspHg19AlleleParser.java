@@ -34,10 +34,8 @@
 public class EspHg19AlleleParser extends VcfAlleleParser {
 
     @Override
-    List<Allele> parseInfoField(List<Allele> alleles, String info) {
-        String[] infoFields = info.split(";");
-
-        Map<AlleleProperty, Float> minorAlleleFrequencies = parseMinorAlleleFrequencies(infoFields);
+    List<Allele> parseInfoField(List<Allele> alleles, CharSlice info) {
+        Map<AlleleProperty, Float> minorAlleleFrequencies = parseMinorAlleleFrequencies(info.split(';'));
 
         for (int i = 0; i < alleles.size(); i++) {
             Allele allele = alleles.get(i);
@@ -47,7 +45,12 @@ List<Allele> parseInfoField(List<Allele> alleles, String info) {
     }
 
     public Map<AlleleProperty, Float> parseMinorAlleleFrequencies(String[] infoFields) {
-        for (String infoField : infoFields) {
+        return parseMinorAlleleFrequencies(DelimitedFields.of(String.join(";", infoFields), ';'));
+    }
+
+    private Map<AlleleProperty, Float> parseMinorAlleleFrequencies(DelimitedFields infoFields) {
+        for (int i = 0; i < infoFields.size(); i++) {
+            CharSlice infoField = infoFields.get(i);
             if (infoField.startsWith("MAF=")) {
                 return parseMafField(infoField);
             }
@@ -55,14 +58,14 @@ public Map<AlleleProperty, Float> parseMinorAlleleFrequencies(String[] infoField
         return Collections.emptyMap();
     }
 
-    private Map<AlleleProperty, Float> parseMafField(String infoField) {
+    private Map<AlleleProperty, Float> parseMafField(CharSlice infoField) {
         Map<AlleleProperty, Float> frequencies = new EnumMap<>(AlleleProperty.class);
         //MAF=44.9781,47.7489,45.9213
-        String[] minorAlleleFreqs = infoField.substring(4).split(",");
+        DelimitedFields minorAlleleFreqs = infoField.subSequence(4, infoField.length()).split(',');
         for (MAF_FIELD field : MAF_FIELD.values()) {
-            String freq = minorAlleleFreqs[field.ordinal()];
-            if (!"0.0".equals(freq)) {
-                frequencies.put(AlleleProperty.valueOf(field.name()), Float.parseFloat(freq));
+            CharSlice freq = minorAlleleFreqs.get(field.ordinal());
+            if (!freq.contentEquals("0.0")) {
+                frequencies.put(AlleleProperty.valueOf(field.name()), freq.parseFloat());
             }
         }
         return frequencies;
@@ -39,10 +39,22 @@ public abstract class ExacAlleleParser extends VcfAlleleParser {
     private static final Logger logger = LoggerFactory.getLogger(ExacAlleleParser.class);
 
     private final List<ExacPopulationKey> populationKeys;
+    // the AC and AN keys for each population, in the order of the populationKeys
+    private final InfoFieldScanner alleleCountScanner;
 
     public ExacAlleleParser(List<ExacPopulationKey> populationKeys, Set<String> allowedFilterValues) {
         this.populationKeys = populationKeys;
         this.allowedFilterValues = allowedFilterValues;
+        this.alleleCountScanner = alleleCountScanner(populationKeys);
+    }
+
+    private static InfoFieldScanner alleleCountScanner(List<ExacPopulationKey> populationKeys) {
+        List<String> keys = new ArrayList<>(populationKeys.size() * 2);
+        for (ExacPopulationKey population : populationKeys) {
+            keys.add(population.AC);
+            keys.add(population.AN);
+        }
+        return new InfoFieldScanner(keys);
     }
 
     public List<ExacPopulationKey> getPopulationKeys() {
@@ -50,8 +62,9 @@ public List<ExacPopulationKey> getPopulationKeys() {
     }
 
     @Override
-    List<Allele> parseInfoField(List<Allele> alleles, String info) {
-        Map<String, String> alleleCounts = getAlleleCountsFromInfoField(info);
+    List<Allele> parseInfoField(List<Allele> alleles, CharSlice info) {
+        // freq data for each population e.g. AC_FIN=0,0;AN_FIN=6600;AC_EAS=0,1;AN_EAS=8540 etc...
+        CharSlice[] alleleCounts = alleleCountScanner.values(info);
 
         for (int i = 0; i < alleles.size(); i++) {
             Allele allele = alleles.get(i);
@@ -63,26 +76,13 @@ List<Allele> parseInfoField(List<Allele> alleles, String info) {
         return alleles;
     }
 
-    //this is the slowest part of this.
-    private Map<String, String> getAlleleCountsFromInfoField(String info) {
-        Map<String, String> exACFreqs = new HashMap<>();
-        String[] infoFields = info.split(";");
-        for (String infoField : infoFields) {
-            // freq data for each population e.g. AC_FIN=0,0;AN_FIN=6600;AC_EAS=0,1;AN_EAS=8540 etc...
-            if (infoField.startsWith(ExacPopulationKey.ALLELE_COUNT_PREFIX) || infoField.startsWith(ExacPopulationKey.ALLELE_NUMBER_PREFIX)) {
-                String[] exACData = infoField.split("=");
-                exACFreqs.put(exACData[0], exACData[1]);
-            }
-        }
-        return exACFreqs;
-    }
-
-    private Map<AlleleProperty, Float> calculateAllelePopulationFrequencies(Map<String, String> alleleCounts, int i) {
+    private Map<AlleleProperty, Float> calculateAllelePopulationFrequencies(CharSlice[] alleleCounts, int i) {
         Map<AlleleProperty, Float> allelePopFreqs = new EnumMap<>(AlleleProperty.class);
-        for (ExacPopulationKey population : populationKeys) {
-            int alleleCount = parseAlleleCount(alleleCounts.get(population.AC), i);
+        for (int p = 0; p < populationKeys.size(); p++) {
+            ExacPopulationKey population = populationKeys.get(p);
+            int alleleCount = parseAlleleCount(alleleCounts[2 * p], i);
             if (alleleCount != 0) {
-                int alleleNumber = Integer.parseInt(alleleCounts.get(population.AN));
+                int alleleNumber = alleleCounts[2 * p + 1].parseInt();
                 float minorAlleleFrequency = frequencyAsPercentage(alleleCount, alleleNumber);
                 allelePopFreqs.put(population.alleleProperty, minorAlleleFrequency);
             }
@@ -90,9 +90,8 @@ private Map<AlleleProperty, Float> calculateAllelePopulationFrequencies(Map<Stri
         return allelePopFreqs;
     }
 
-    private int parseAlleleCount(String alleleCountValue, int altAllelePos) {
-        String alleleCount = alleleCountValue.split(",")[altAllelePos];
-        return Integer.parseInt(alleleCount);
+    private int parseAlleleCount(CharSlice alleleCountValue, int altAllelePos) {
+        return alleleCountValue.split(',').parseInt(altAllelePos);
     }
 
     private float frequencyAsPercentage(int alleleCount, int alleleNumber) {
@@ -0,0 +1,120 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import java.util.List;
+
+/**
+ * Scans a VCF INFO field for the values of a fixed set of keys. Only the key of each {@code KEY=value} entry is
+ * compared against those requested, so none of the other entries, which can run to several hundred in the gnomAD
+ * releases, are copied or split. Flag entries (those without a value) are ignored.
+ * <p>
+ * Instances are immutable and can be shared between parsers.
+ *
+ * @since 13.3.0
+ */
+public final class InfoFieldScanner {
+
+    private final String[] keys;
+
+    public InfoFieldScanner(String... keys) {
+        this.keys = keys.clone();
+    }
+
+    public InfoFieldScanner(List<String> keys) {
+        this.keys = keys.toArray(new String[0]);
+    }
+
+    /**
+     * @return the position of the key in the order supplied to the constructor, or -1 if it is not being scanned for
+     */
+    public int indexOf(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Passes the value of each requested key to the consumer in the order in which they appear in the INFO field,
+     * including any repeated keys.
+     */
+    public void scan(CharSequence info, InfoValueConsumer consumer) {
+        int length = info.length();
+        int entryStart = 0;
+        while (entryStart < length) {
+            int entryEnd = entryStart;
+            int equalsPos = -1;
+            char c;
+            while (entryEnd < length && (c = info.charAt(entryEnd)) != ';') {
+                if (c == '=' && equalsPos == -1) {
+                    equalsPos = entryEnd;
+                }
+                entryEnd++;
+            }
+            if (equalsPos != -1) {
+                int keyIndex = matchKey(info, entryStart, equalsPos);
+                if (keyIndex != -1) {
+                    consumer.accept(keyIndex, CharSlice.of(info, equalsPos + 1, entryEnd));
+                }
+            }
+            entryStart = entryEnd + 1;
+        }
+    }
+
+    /**
+     * @return the values of the requested keys, in the order supplied to the constructor. Missing keys will have a null
+     * value and the last value will be used for any repeated keys.
+     */
+    public CharSlice[] values(CharSequence info) {
+        CharSlice[] values = new CharSlice[keys.length];
+        scan(info, (keyIndex, value) -> values[keyIndex] = value);
+        return values;
+    }
+
+    private int matchKey(CharSequence info, int start, int end) {
+        int keyLength = end - start;
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            if (key.length() == keyLength && regionMatches(info, start, key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence info, int start, String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (info.charAt(start + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface InfoValueConsumer {
+
+        void accept(int keyIndex, CharSlice value);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+/**
+ * Parses numbers directly from a region of a {@link CharSequence} without first copying it into a new {@link String}.
+ * The common plain decimal forms found in the resource files are handled in place, anything else (overly long or
+ * precise values, hexadecimal, NaN, surrounding whitespace, malformed input...) is handed to {@link Integer#parseInt(String)}
+ * or {@link Float#parseFloat(String)} so that the results and exceptions are always identical to those methods.
+ *
+ * @since 13.3.0
+ */
+public class NumberParser {
+
+    // the largest number of significant digits guaranteed to be exactly representable as a float (10^7 < 2^24)
+    private static final int MAX_EXACT_FLOAT_DIGITS = 7;
+    // powers of ten which are exactly representable as a float (5^10 < 2^24)
+    private static final float[] EXACT_FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private NumberParser() {
+        //uninstantiable static utility class
+    }
+
+    public static int parseInt(CharSequence text) {
+        return parseInt(text, 0, text.length());
+    }
+
+    public static int parseInt(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        // 9 digits cannot overflow an int
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(text.subSequence(start, end).toString());
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(text.subSequence(start, end).toString());
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    public static float parseFloat(CharSequence text) {
+        return parseFloat(text, 0, text.length());
+    }
+
+    /**
+     * Parses values of the form {@code [+-]digits[.digits][(e|E)[+-]digits]}. Where the significand has no more than
+     * seven significant digits and the decimal exponent is within ten of zero, both the significand and the power of
+     * ten are exact floats, so a single float multiplication or division gives the correctly rounded result, exactly
+     * as {@link Float#parseFloat(String)} would.
+     */
+    public static float parseFloat(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        int significand = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        for (; i < end && isDigit(text.charAt(i)); i++) {
+            hasDigits = true;
+            int digit = text.charAt(i) - '0';
+            if (significantDigits > 0 || digit != 0) {
+                if (++significantDigits > MAX_EXACT_FLOAT_DIGITS) {
+                    return fallbackParseFloat(text, start, end);
+                }
+                significand = significand * 10 + digit;
+            }
+        }
+        if (i < end && text.charAt(i) == '.') {
+            i++;
+            for (; i < end && isDigit(text.charAt(i)); i++) {
+                hasDigits = true;
+                int digit = text.charAt(i) - '0';
+                if (significantDigits > 0 || digit != 0) {
+                    if (++significantDigits > MAX_EXACT_FLOAT_DIGITS) {
+                        return fallbackParseFloat(text, start, end);
+                    }
+                    significand = significand * 10 + digit;
+                }
+                exponent--;
+            }
+        }
+        if (!hasDigits) {
+            return fallbackParseFloat(text, start, end);
+        }
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int explicitExponent = 0;
+            // anything with more than three exponent digits is well outside the fast path
+            for (; i < end && isDigit(text.charAt(i)) && i - exponentStart < 3; i++) {
+                explicitExponent = explicitExponent * 10 + (text.charAt(i) - '0');
+            }
+            if (i == exponentStart) {
+                return fallbackParseFloat(text, start, end);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != end) {
+            return fallbackParseFloat(text, start, end);
+        }
+        if (significand == 0) {
+            return negative ? -0.0f : 0.0f;
+        }
+        if (exponent < -10 || exponent > 10) {
+            return fallbackParseFloat(text, start, end);
+        }
+        float value = exponent < 0 ? significand / EXACT_FLOAT_POWERS_OF_TEN[-exponent] : significand * EXACT_FLOAT_POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static float fallbackParseFloat(CharSequence text, int start, int end) {
+        return Float.parseFloat(text.subSequence(start, end).toString());
+    }
+}
@@ -38,19 +38,27 @@ private RsIdParser() {
      * be returned. The VCF empty field character '.' will be returned as an empty string - ''
      */
     public static String parseRsId(String rsField) {
-        String[] rsIds = rsField.split(";");
-        if (rsIds.length >= 1) {
-            String rsId = rsIds[0];
-            if (rsId.equals(".")) {
-                return "";
-            }
-            // One resource likes to occasionally add surprise '~' characters to their rsId
-            if (rsId.startsWith("~")) {
-                return rsId.substring(1);
-            } else {
-                return rsId;
-            }
+        return parseRsId((CharSequence) rsField);
+    }
+
+    /**
+     * As for {@link #parseRsId(String)}, only the returned rsId is copied from the input.
+     *
+     * @param rsField the rs field from a VCF
+     * @return The input rsId if present or '' if empty.
+     * @since 13.3.0
+     */
+    public static String parseRsId(CharSequence rsField) {
+        CharSlice rsIds = CharSlice.of(rsField);
+        int separatorPos = rsIds.indexOf(';');
+        CharSlice rsId = separatorPos == -1 ? rsIds : rsIds.subSequence(0, separatorPos);
+        if (rsId.contentEquals(".")) {
+            return "";
+        }
+        // One resource likes to occasionally add surprise '~' characters to their rsId
+        if (rsId.startsWith("~")) {
+            return rsId.subSequence(1, rsId.length()).toString();
         }
-        return "";
+        return rsId.toString();
     }
 }
@@ -24,7 +24,6 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
 import java.util.List;
 
 import static org.monarchinitiative.exomiser.data.genome.model.AlleleProperty.TOPMED;
@@ -40,12 +39,13 @@ public class TopMedAlleleParser extends VcfAlleleParser {
     private static final Logger logger = LoggerFactory.getLogger(TopMedAlleleParser.class);
 
     @Override
-    List<Allele> parseInfoField(List<Allele> alleles, String info) {
-        String alleleValues = extractFrequencyValues(info);
+    List<Allele> parseInfoField(List<Allele> alleles, CharSlice info) {
+        CharSlice alleleValues = extractFrequencyValues(info);
         if (alleleValues.isEmpty()) {
             return alleles;
         }
-        List<String> alleleFrequencyValues = parseAlleleFrequencies(alleleValues);
+        //##INFO=<ID=TOPMED,Number=.,Type=String,Description="An ordered, comma delimited list of allele frequencies based on TOPMed, starting with the reference allele followed by alternate alleles as ordered in the ALT column. The TOPMed minor allele is the second largest value in the list.">
+        DelimitedFields alleleFrequencyValues = alleleValues.split(',');
 
         for (int i = 0; i < alleles.size(); i++) {
             Allele allele = alleles.get(i);
@@ -53,10 +53,10 @@ List<Allele> parseInfoField(List<Allele> alleles, String info) {
             //17      10599057        rs587776629     CTC     C,CAG,CGA       .       .       TOPMED=.,.,
             //which will throw an IndexOutOfBoundsException
             if (i <= alleleFrequencyValues.size() - 1) {
-                String freqValue = alleleFrequencyValues.get(i);
-                if (!freqValue.isEmpty() && !".".equals(freqValue)) {
+                CharSlice freqValue = alleleFrequencyValues.get(i);
+                if (!freqValue.isEmpty() && !freqValue.contentEquals(".")) {
                     try {
-                        Float freq = 100f * Float.parseFloat(freqValue);
+                        Float freq = 100f * freqValue.parseFloat();
                         allele.addValue(TOPMED, freq);
                     } catch (NumberFormatException ex) {
                         // swallow these
@@ -68,17 +68,11 @@ List<Allele> parseInfoField(List<Allele> alleles, String info) {
         return alleles;
     }
 
-    private String extractFrequencyValues(String info) {
-        String[] values = info.split("=");
-        if (values.length != 2) {
-            return "";
+    private CharSlice extractFrequencyValues(CharSlice info) {
+        DelimitedFields values = info.split('=');
+        if (values.size() != 2) {
+            return CharSlice.of("");
         }
-        return values[1];
-    }
-
-    private List<String> parseAlleleFrequencies(String info) {
-        //##INFO=<ID=TOPMED,Number=.,Type=String,Description="An ordered, comma delimited list of allele frequencies based on TOPMed, starting with the reference allele followed by alternate alleles as ordered in the ALT column. The TOPMed minor allele is the second largest value in the list.">
-        String[] infoFields = info.split(",");
-        return Arrays.asList(infoFields);
+        return values.get(1);
     }
 }
@@ -25,8 +25,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
-import java.util.Collections;
+import javax.annotation.Nullable;
 import java.util.List;
 
 /**
@@ -70,15 +69,15 @@ public class Uk10kAlleleParser extends VcfAlleleParser {
      * @return
      */
     @Override
-    List<Allele> parseInfoField(List<Allele> alleles, String info) {
-        List<String> alleleFrequencies = parseAlleleFrequencies(info);
+    List<Allele> parseInfoField(List<Allele> alleles, CharSlice info) {
+        DelimitedFields alleleFrequencies = parseAlleleFrequencies(info);
 
         for (int i = 0; i < alleles.size(); i++) {
             Allele allele = alleles.get(i);
-            if (!alleleFrequencies.isEmpty()) {
-                String af = alleleFrequencies.get(i);
-                if (!af.isEmpty() && !af.equals(".")) {
-                    Float freq = 100f * Float.valueOf(af);
+            if (alleleFrequencies != null) {
+                CharSlice af = alleleFrequencies.get(i);
+                if (!af.isEmpty() && !af.contentEquals(".")) {
+                    Float freq = 100f * af.parseFloat();
                     allele.addValue(AlleleProperty.UK10K, freq);
                 }
             }
@@ -87,19 +86,20 @@ List<Allele> parseInfoField(List<Allele> alleles, String info) {
         return alleles;
     }
 
-    private List<String> parseAlleleFrequencies(String info) {
+    @Nullable
+    private DelimitedFields parseAlleleFrequencies(CharSlice info) {
         //##INFO=<ID=AF,Number=A,Type=Float,Description="Allele frequency in called genotypes">
-        String[] infoFields = info.split(";");
-        for (String infoField : infoFields) {
+        DelimitedFields infoFields = info.split(';');
+        for (int i = 0; i < infoFields.size(); i++) {
+            CharSlice infoField = infoFields.get(i);
             if (infoField.startsWith("AF=")) {
                 return parseFrequencyField(3, infoField);
             }
         }
-        return Collections.emptyList();
+        return null;
     }
 
-    private List<String> parseFrequencyField(int keyLength, String infoField) {
-        String[] freqs = infoField.substring(keyLength).split(",");
-        return Arrays.asList(freqs);
+    private DelimitedFields parseFrequencyField(int keyLength, CharSlice infoField) {
+        return infoField.subSequence(keyLength, infoField.length()).split(',');
     }
 }
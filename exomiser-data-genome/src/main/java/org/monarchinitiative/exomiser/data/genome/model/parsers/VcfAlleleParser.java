@@ -43,18 +43,22 @@ public abstract class VcfAlleleParser implements AlleleParser {
 
     protected Set<String> allowedFilterValues = ImmutableSet.of(".", "PASS");
 
+    // consecutive lines are almost always on the same contig, so there's no need to look it up each time
+    private String lastContigName = "";
+    private int lastContigId = 0;
+
     public List<Allele> parseLine(String line) {
         if (line.startsWith("#")) {
             // comment line.
             return Collections.emptyList();
         }
-        String[] fields = line.split("\t");
+        DelimitedFields fields = DelimitedFields.of(line, '\t');
         List<Allele> alleles = parseAlleles(fields);
 
         if (hasNoInfoField(fields) || alleles.isEmpty()) {
             return alleles;
         }
-        String info = fields[7];
+        CharSlice info = fields.get(7);
 
         try {
             return parseInfoField(alleles, info);
@@ -65,26 +69,26 @@ public List<Allele> parseLine(String line) {
         return alleles;
     }
 
-    private boolean hasNoInfoField(String[] fields) {
-        return fields.length <= 7;
+    private boolean hasNoInfoField(DelimitedFields fields) {
+        return fields.size() <= 7;
     }
 
-    abstract List<Allele> parseInfoField(List<Allele> alleles, String info);
+    abstract List<Allele> parseInfoField(List<Allele> alleles, CharSlice info);
 
-    private List<Allele> parseAlleles(String[] fields) {
+    private List<Allele> parseAlleles(DelimitedFields fields) {
 
-        int chr = Contigs.parseId(fields[0]);
-        if (chr == 0 || !unfilteredOrPassed(fields[6])) {
+        int chr = parseContig(fields.get(0));
+        if (chr == 0 || !unfilteredOrPassed(fields.get(6))) {
             return Collections.emptyList();
         }
 
-        int pos = Integer.parseInt(fields[1]);
+        int pos = fields.parseInt(1);
         //A dbSNP rsID such as rs101432848. In rare cases may be multiple e.g., rs200118651;rs202059104
-        String rsId = RsIdParser.parseRsId(fields[2]);
+        String rsId = RsIdParser.parseRsId(fields.get(2));
         //Uppercasing shouldn't be necessary acccording to the VCF standard,
         //but occasionally one sees VCF files with lower case for part of the
         //sequences, e.g., to show indels.
-        String ref = fields[3].toUpperCase();
+        String ref = fields.getString(3).toUpperCase();
 
         //dbSNP has introduced the concept of multiple minor alleles on the
         //same VCF line with their frequencies reported in same order in the
@@ -92,32 +96,50 @@ private List<Allele> parseAlleles(String[] fields) {
         //and move the dbSNP freq parsing to here. Not ideal as ESP processing
         //also goes through this method but does not use the CAF field so
         //should be skipped
-        String[] alts = fields[4].toUpperCase().split(",");
+        DelimitedFields alts = fields.get(4).split(',');
 
-        List<Allele> alleles = new ArrayList<>();
-        for (int i = 0; i < alts.length; i++) {
-            Allele allele = makeAllele(chr, pos, ref, alts[i]);
+        int numAlts = alts.size();
+        List<Allele> alleles = new ArrayList<>(numAlts);
+        for (int i = 0; i < numAlts; i++) {
+            Allele allele = makeAllele(chr, pos, ref, alts.getString(i).toUpperCase());
             allele.setRsId(rsId);
             alleles.add(allele);
         }
         return alleles;
     }
 
-    private boolean unfilteredOrPassed(String passField) {
+    private int parseContig(CharSlice contigField) {
+        if (!contigField.contentEquals(lastContigName)) {
+            lastContigName = contigField.toString();
+            lastContigId = Contigs.parseId(lastContigName);
+        }
+        return lastContigId;
+    }
+
+    private boolean unfilteredOrPassed(CharSlice passField) {
         if (allowedFilterValues.isEmpty()) {
             // if we're ignoring the filters carry on
             return true;
         }
 
-        String[] filters = passField.split(";");
-        for (String filter : filters) {
-            if (!allowedFilterValues.contains(filter)) {
+        DelimitedFields filters = passField.split(';');
+        for (int i = 0; i < filters.size(); i++) {
+            if (!isAllowedFilterValue(filters.get(i))) {
                 return false;
             }
         }
         return true;
     }
 
+    private boolean isAllowedFilterValue(CharSlice filter) {
+        for (String allowedFilterValue : allowedFilterValues) {
+            if (filter.contentEquals(allowedFilterValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Allele makeAllele(int chr, int pos, String ref, String alt) {
         VariantTrimmer.VariantPosition variantPosition = variantTrimmer.trim(Strand.POSITIVE, pos, ref, alt);
         return new Allele(chr, variantPosition.start(), variantPosition.ref(), variantPosition.alt());
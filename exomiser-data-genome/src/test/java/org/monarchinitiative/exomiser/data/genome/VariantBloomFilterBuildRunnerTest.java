@@ -0,0 +1,99 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.dao.AlleleKeyBloomFilter;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VariantBloomFilterBuildRunnerTest {
+
+    private static AlleleKey alleleKey(int pos) {
+        return AlleleKey.newBuilder().setChr(1).setPosition(pos).setRef("A").setAlt("T").build();
+    }
+
+    @Test
+    void throwsExceptionWithInvalidFalsePositiveRate(@TempDir Path tempDir) {
+        BuildInfo buildInfo = BuildInfo.of(GenomeAssembly.HG19, "2302");
+        assertThrows(IllegalArgumentException.class, () -> new VariantBloomFilterBuildRunner(buildInfo, tempDir, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VariantBloomFilterBuildRunner(buildInfo, tempDir, 1));
+    }
+
+    @Test
+    void writesFilterContainingAllStoreKeys(@TempDir Path tempDir) {
+        BuildInfo buildInfo = BuildInfo.of(GenomeAssembly.HG19, "2302");
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(tempDir.resolve("2302_hg19_variants.mv.db").toString())
+                .open();
+        MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(mvStore);
+        for (int pos = 1; pos <= 1000; pos++) {
+            alleleMap.put(alleleKey(pos), AlleleProperties.newBuilder().setRsId("rs" + pos).build());
+        }
+        mvStore.close();
+
+        new VariantBloomFilterBuildRunner(buildInfo, tempDir, 0.01).run();
+
+        AlleleKeyBloomFilter alleleKeyBloomFilter = AlleleKeyBloomFilter.readFrom(tempDir.resolve("2302_hg19_variants.bloom"));
+        for (int pos = 1; pos <= 1000; pos++) {
+            assertThat(alleleKeyBloomFilter.mightContain(alleleKey(pos)), is(true));
+        }
+        // the filter is sized from the store so will be close to the requested rate once full
+        assertThat(alleleKeyBloomFilter.expectedFalsePositiveRate(), closeTo(0.01, 0.005));
+        assertThat((double) alleleKeyBloomFilter.approximateAlleleCount(), closeTo(1000, 50));
+    }
+
+    @Test
+    void writesFilterContainingPackedStoreKeys(@TempDir Path tempDir) {
+        BuildInfo buildInfo = BuildInfo.of(GenomeAssembly.HG19, "2302");
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(tempDir.resolve("2302_hg19_variants.mv.db").toString())
+                .open();
+        MvStoreUtil.openAlleleMVMap(mvStore);
+        MVMap<Long, AlleleProperties> longKeyMap = MvStoreUtil.openLongKeyAlleleMVMap(mvStore);
+        for (int pos = 1; pos <= 1000; pos++) {
+            longKeyMap.put(AlleleKeyPacker.pack(alleleKey(pos)), AlleleProperties.newBuilder().setRsId("rs" + pos).build());
+        }
+        mvStore.close();
+
+        new VariantBloomFilterBuildRunner(buildInfo, tempDir, 0.01).run();
+
+        AlleleKeyBloomFilter alleleKeyBloomFilter = AlleleKeyBloomFilter.readFrom(tempDir.resolve("2302_hg19_variants.bloom"));
+        for (int pos = 1; pos <= 1000; pos++) {
+            assertThat(alleleKeyBloomFilter.mightContain(alleleKey(pos)), is(true));
+            assertThat(alleleKeyBloomFilter.mightContain(AlleleKeyPacker.pack(alleleKey(pos))), is(true));
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 import com.google.common.collect.ImmutableMap;
 import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
@@ -103,6 +104,29 @@ public void mergeProperties() {
         assertThat(AlleleConverter.mergeProperties(ALLELE_PROPERTIES, toMerge), equalTo(expected));
     }
 
+    @Test
+    public void mergePackedProperties() {
+        AlleleProperties toMerge = AlleleProperties.newBuilder().putProperties("POLYPHEN", 1f).build();
+
+        AlleleProperties expected = AlleleProperties.newBuilder()
+                .setRsId("rs678910")
+                .putProperties("EXAC_AFR", 0.00056f)
+                .putProperties("POLYPHEN", 1f)
+                .setClinVar(PROTO_CLINVAR)
+                .build();
+
+        AlleleProperties packedOriginal = AllelePropertiesPacker.pack(ALLELE_PROPERTIES);
+        assertThat(AlleleConverter.mergeProperties(packedOriginal, toMerge), equalTo(expected));
+    }
+
+    @Test
+    public void allelePropertiesAreInPackerSchemaOrder() {
+        for (AlleleProperty alleleProperty : AlleleProperty.values()) {
+            AlleleProperties properties = AlleleProperties.newBuilder().putProperties(alleleProperty.toString(), 1f).build();
+            assertThat(alleleProperty.toString(), AllelePropertiesPacker.pack(properties).getPropertyMask(), equalTo(1L << alleleProperty.ordinal()));
+        }
+    }
+
     @Test
     public void mergePropertiesUsesOriginalRsidWhenPresent() {
         AlleleProperties toMerge = AlleleProperties.newBuilder()
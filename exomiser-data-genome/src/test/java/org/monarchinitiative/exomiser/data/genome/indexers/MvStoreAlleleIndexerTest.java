@@ -27,6 +27,8 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
@@ -106,6 +108,14 @@ public void createsSingleAllelesMap() throws Exception {
         assertThat(instance.count(), equalTo(0L));
     }
 
+    @Test
+    public void packedFormatRecordsFormatVersion() throws Exception {
+        MVStore mvStore = newMvStore();
+
+        new MvStoreAlleleIndexer(mvStore, true);
+        assertThat(MvStoreUtil.readAlleleFormatVersion(mvStore), equalTo(AllelePropertiesPacker.PACKED_FORMAT_VERSION));
+    }
+
     @Test
     public void writeSingleAlleleNoInfo() throws Exception {
         MVStore mvStore = newMvStore();
@@ -170,6 +180,35 @@ public void writeSingleAlleleWithRsIdAndOtherInfo() throws Exception {
         assertThat(alleleMap.get(alleleKey), equalTo(alleleProperties));
     }
 
+    @Test
+    public void writePackedPropertiesMergesWithStoredValues(@TempDir Path tempDir) throws Exception {
+        String fileName = tempDir.resolve("packed.mv.db").toString();
+        MVStore mvStore = new MVStore.Builder().fileName(fileName).open();
+
+        MvStoreAlleleIndexer instance = new MvStoreAlleleIndexer(mvStore, true);
+
+        Allele allele = new Allele(1, 12345, "A", "T");
+        allele.setRsId("rs12345");
+        allele.addValue(AlleleProperty.KG, 0.0023f);
+        instance.write(allele);
+        // write the first allele out so that the merge reads it back from the store in the packed format
+        mvStore.commit();
+
+        Allele update = new Allele(1, 12345, "A", "T");
+        update.addValue(AlleleProperty.CADD, 23.4f);
+        instance.write(update);
+        instance.close();
+
+        MVStore readStore = new MVStore.Builder().fileName(fileName).readOnly().open();
+        // SNVs are stored under their packed key in the packed format
+        AlleleProperties stored = MvStoreUtil.openLongKeyAlleleMVMap(readStore).get(AlleleKeyPacker.pack(AlleleConverter.toAlleleKey(allele)));
+        readStore.close();
+
+        AlleleProperties expected = alleleProperties("rs12345", ImmutableMap.of("KG", 0.0023f, "CADD", 23.4f));
+        assertThat(AllelePropertiesPacker.isPacked(stored), is(true));
+        assertThat(AllelePropertiesPacker.unpack(stored), equalTo(expected));
+    }
+
     @Test
     public void writeDuplicateSingleAllele() throws Exception {
         MVStore mvStore = newMvStore();
@@ -0,0 +1,128 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.Allele;
+import org.monarchinitiative.exomiser.data.genome.model.AlleleProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since 13.3.0
+ */
+class MvStoreShardMergerTest {
+
+    private static MVStore newMvStore() {
+        return new MVStore.Builder().open();
+    }
+
+    private static Allele allele(int chr, int pos, String ref, String alt, String rsId, AlleleProperty property, float value) {
+        Allele allele = new Allele(chr, pos, ref, alt);
+        allele.setRsId(rsId);
+        allele.addValue(property, value);
+        return allele;
+    }
+
+    private static List<List<Allele>> resources() {
+        List<Allele> dbSnp = List.of(
+                allele(1, 12345, "A", "T", "rs12345", AlleleProperty.KG, 0.01f),
+                allele(23, 500, "C", "G", "rs500", AlleleProperty.KG, 0.2f),
+                allele(2, 100, "G", "A", "rs100", AlleleProperty.KG, 0.3f)
+        );
+        List<Allele> gnomad = List.of(
+                allele(2, 100, "G", "A", "rs999", AlleleProperty.GNOMAD_G_NFE, 0.4f),
+                allele(1, 12345, "A", "T", "", AlleleProperty.GNOMAD_G_NFE, 0.02f),
+                allele(1, 12345, "A", "C", "", AlleleProperty.GNOMAD_G_NFE, 0.03f),
+                allele(1, 200, "T", "TA", "", AlleleProperty.GNOMAD_G_AFR, 0.05f)
+        );
+        return List.of(dbSnp, gnomad);
+    }
+
+    @Test
+    void mergedShardsAreIdenticalToSerialIndex() {
+        MVStore serialStore = newMvStore();
+        MvStoreAlleleIndexer serialIndexer = new MvStoreAlleleIndexer(serialStore);
+        resources().forEach(resource -> resource.forEach(serialIndexer::write));
+        MVMap<AlleleKey, AlleleProperties> serialMap = MvStoreUtil.openAlleleMVMap(serialStore);
+
+        List<MvStoreShardAlleleIndexer> shards = new ArrayList<>();
+        for (List<Allele> resource : resources()) {
+            MvStoreShardAlleleIndexer shard = new MvStoreShardAlleleIndexer(newMvStore());
+            resource.forEach(shard::write);
+            shards.add(shard);
+        }
+        MVMap<AlleleKey, AlleleProperties> mergedMap = MvStoreUtil.openAlleleMVMap(newMvStore());
+
+        long written = MvStoreShardMerger.merge(shards, mergedMap);
+
+        assertThat(written, equalTo((long) serialMap.size()));
+        assertThat(new LinkedHashMap<>(mergedMap), equalTo(new LinkedHashMap<>(serialMap)));
+        assertThat(new ArrayList<>(mergedMap.keySet()), equalTo(new ArrayList<>(serialMap.keySet())));
+    }
+
+    @Test
+    void firstRsIdIsRetainedInShardOrder() {
+        List<MvStoreShardAlleleIndexer> shards = new ArrayList<>();
+        for (List<Allele> resource : resources()) {
+            MvStoreShardAlleleIndexer shard = new MvStoreShardAlleleIndexer(newMvStore());
+            resource.forEach(shard::write);
+            shards.add(shard);
+        }
+        MVMap<AlleleKey, AlleleProperties> mergedMap = MvStoreUtil.openAlleleMVMap(newMvStore());
+        MvStoreShardMerger.merge(shards, mergedMap);
+
+        AlleleKey key = AlleleConverter.toAlleleKey(new Allele(2, 100, "G", "A"));
+        AlleleProperties properties = mergedMap.get(key);
+        assertThat(properties.getRsId(), equalTo("rs100"));
+        assertThat(properties.getPropertiesMap(), equalTo(Map.of("KG", 0.3f, "GNOMAD_G_NFE", 0.4f)));
+    }
+
+    @Test
+    void shardSeparatesChromosomes() {
+        MvStoreShardAlleleIndexer shard = new MvStoreShardAlleleIndexer(newMvStore());
+        resources().get(0).forEach(shard::write);
+
+        assertThat(shard.getChromosomes(), contains(1, 2, 23));
+        assertThat(shard.count(), equalTo(3L));
+        assertThat(shard.getChromosomeMap(22).isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void cannotMergeIntoNonEmptyMap() {
+        MVMap<AlleleKey, AlleleProperties> targetMap = MvStoreUtil.openAlleleMVMap(newMvStore());
+        targetMap.put(AlleleConverter.toAlleleKey(new Allele(1, 1, "A", "T")), AlleleProperties.getDefaultInstance());
+        assertThrows(IllegalArgumentException.class, () -> MvStoreShardMerger.merge(List.of(), targetMap));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AllelePropertiesPacker;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.Allele;
+import org.monarchinitiative.exomiser.data.genome.model.AlleleProperty;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since 13.3.0
+ */
+class SortedRunAlleleIndexerTest {
+
+    @TempDir
+    Path runDir;
+
+    private static Allele allele(int chr, int pos, String ref, String alt, String rsId, AlleleProperty property, float value) {
+        Allele allele = new Allele(chr, pos, ref, alt);
+        allele.setRsId(rsId);
+        allele.addValue(property, value);
+        return allele;
+    }
+
+    private static List<List<Allele>> resources() {
+        List<Allele> dbSnp = List.of(
+                allele(2, 100, "G", "A", "rs100", AlleleProperty.KG, 0.3f),
+                allele(1, 12345, "A", "T", "rs12345", AlleleProperty.KG, 0.01f),
+                allele(23, 500, "C", "G", "rs500", AlleleProperty.KG, 0.2f),
+                allele(1, 12345, "A", "T", "rs54321", AlleleProperty.KG, 0.02f),
+                allele(1, 10, "C", "T", "rs10", AlleleProperty.KG, 0.5f)
+        );
+        List<Allele> gnomad = List.of(
+                allele(2, 100, "G", "A", "rs999", AlleleProperty.GNOMAD_G_NFE, 0.4f),
+                allele(1, 12345, "A", "T", "", AlleleProperty.GNOMAD_G_NFE, 0.02f),
+                allele(1, 12345, "A", "C", "", AlleleProperty.GNOMAD_G_NFE, 0.03f),
+                allele(1, 200, "T", "TA", "", AlleleProperty.GNOMAD_G_AFR, 0.05f)
+        );
+        return List.of(dbSnp, gnomad);
+    }
+
+    @Test
+    void spillsRunsOfSpecifiedSize() {
+        SortedRunAlleleIndexer instance = new SortedRunAlleleIndexer(runDir, "dbsnp", 2);
+        resources().get(0).forEach(instance::write);
+        instance.close();
+
+        assertThat(instance.count(), equalTo(5L));
+        assertThat(instance.getRuns(), equalTo(List.of(runDir.resolve("dbsnp-00000.run"), runDir.resolve("dbsnp-00001.run"), runDir.resolve("dbsnp-00002.run"))));
+    }
+
+    @Test
+    void mergedRunsAreIdenticalToMvStoreAlleleIndexer() {
+        MVStore serialStore = new MVStore.Builder().open();
+        MvStoreAlleleIndexer serialIndexer = new MvStoreAlleleIndexer(serialStore);
+        resources().forEach(resource -> resource.forEach(serialIndexer::write));
+        MVMap<AlleleKey, AlleleProperties> serialMap = MvStoreUtil.openAlleleMVMap(serialStore);
+
+        List<Path> runs = new ArrayList<>();
+        List<List<Allele>> resources = resources();
+        for (int i = 0; i < resources.size(); i++) {
+            // tiny runs so that duplicates are merged both within and across runs
+            SortedRunAlleleIndexer instance = new SortedRunAlleleIndexer(runDir, "resource" + i, 3);
+            resources.get(i).forEach(instance::write);
+            instance.close();
+            runs.addAll(instance.getRuns());
+        }
+        MVMap<AlleleKey, AlleleProperties> mergedMap = MvStoreUtil.openAlleleMVMap(new MVStore.Builder().open());
+
+        long written = SortedRunMerger.merge(runs, mergedMap);
+
+        assertThat(written, equalTo((long) serialMap.size()));
+        assertThat(new LinkedHashMap<>(mergedMap), equalTo(new LinkedHashMap<>(serialMap)));
+    }
+
+    @Test
+    void mergedRunsInPackedFormatAreIdenticalToMvStoreAlleleIndexer() {
+        List<List<Allele>> resources = new ArrayList<>(resources());
+        // alleles too long to pack, interleaved with the packable ones, which need appending to the 'alleles' map
+        resources.add(List.of(
+                allele(1, 12345, "A", "ACGTACGT", "rs777", AlleleProperty.GNOMAD_G_NFE, 0.001f),
+                allele(2, 50, "CTTTTTTT", "C", "rs888", AlleleProperty.GNOMAD_G_NFE, 0.002f)
+        ));
+
+        MVStore serialStore = new MVStore.Builder().open();
+        MvStoreAlleleIndexer serialIndexer = new MvStoreAlleleIndexer(serialStore, true);
+        resources.forEach(resource -> resource.forEach(serialIndexer::write));
+
+        List<Path> runs = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i++) {
+            SortedRunAlleleIndexer instance = new SortedRunAlleleIndexer(runDir, "resource" + i, 3);
+            resources.get(i).forEach(instance::write);
+            instance.close();
+            runs.addAll(instance.getRuns());
+        }
+        MVStore mergedStore = new MVStore.Builder().open();
+
+        long written = SortedRunMerger.merge(runs, MvStoreAlleleMaps.open(mergedStore, true));
+
+        assertThat(written, equalTo(8L));
+        assertThat(MvStoreUtil.openAlleleMVMap(mergedStore).size(), equalTo(2));
+        assertThat(unpacked(MvStoreUtil.openAlleleMVMap(mergedStore)), equalTo(unpacked(MvStoreUtil.openAlleleMVMap(serialStore))));
+        assertThat(unpacked(MvStoreUtil.openLongKeyAlleleMVMap(mergedStore)), equalTo(unpacked(MvStoreUtil.openLongKeyAlleleMVMap(serialStore))));
+    }
+
+    private static <K> Map<K, AlleleProperties> unpacked(MVMap<K, AlleleProperties> map) {
+        Map<K, AlleleProperties> unpacked = new LinkedHashMap<>();
+        map.forEach((key, value) -> unpacked.put(key, AllelePropertiesPacker.unpack(value)));
+        return unpacked;
+    }
+
+    @Test
+    void cannotMergeIntoNonEmptyMap() {
+        MVMap<AlleleKey, AlleleProperties> targetMap = MvStoreUtil.openAlleleMVMap(new MVStore.Builder().open());
+        targetMap.put(AlleleConverter.toAlleleKey(new Allele(1, 1, "A", "T")), AlleleProperties.getDefaultInstance());
+        assertThrows(IllegalArgumentException.class, () -> SortedRunMerger.merge(List.of(), targetMap));
+    }
+
+    @Test
+    void runSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SortedRunAlleleIndexer(runDir, "wibble", 0));
+    }
+}
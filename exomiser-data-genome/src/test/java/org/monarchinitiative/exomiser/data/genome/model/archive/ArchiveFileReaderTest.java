@@ -20,12 +20,21 @@
 
 package org.monarchinitiative.exomiser.data.genome.model.archive;
 
+import htsjdk.samtools.util.BlockCompressedOutputStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 
 /**
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
@@ -47,6 +56,31 @@ void readLines() {
         assertThat(lineCount, equalTo(67L));
     }
 
+    @Test
+    void readLinesParallelDecompression(@TempDir Path tempDir) throws IOException {
+        List<String> expected = new SimpleArchiveFileReader(new TabixArchive(Path.of("src/test/resources/test_first_ten_dbsnp.vcf.gz"))).lines().collect(Collectors.toList());
+        Path bgzipPath = tempDir.resolve("test_first_ten_dbsnp.vcf.gz");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new BlockCompressedOutputStream(bgzipPath.toFile()), StandardCharsets.UTF_8))) {
+            for (String line : expected) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        try (ArchiveDecompression decompression = ArchiveDecompression.parallel(4)) {
+            ArchiveFileReader instance = new SimpleArchiveFileReader(new TabixArchive(bgzipPath), decompression);
+            assertThat(instance.lines().collect(Collectors.toList()), equalTo(expected));
+            // the inflater threads are shared between reads of the same build
+            ArchiveFileReader other = new SimpleArchiveFileReader(new TabixArchive(bgzipPath), decompression);
+            assertThat(other.lines().collect(Collectors.toList()), equalTo(expected));
+        }
+    }
+
+    @Test
+    void parallelDecompressionWithFewerThanTwoThreadsIsSerial() {
+        assertThat(ArchiveDecompression.parallel(1), sameInstance(ArchiveDecompression.serial()));
+        assertThat(ArchiveDecompression.serial().isParallel(), equalTo(false));
+    }
+
     @Test
     void readNonFolderArchive() {
         ArchiveFileReader instance = new SimpleArchiveFileReader(new FileArchive(Path.of("src/test/resources/genome/ensembl_enhancers.tsv")));
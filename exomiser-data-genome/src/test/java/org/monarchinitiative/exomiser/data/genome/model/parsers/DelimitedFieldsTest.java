@@ -0,0 +1,107 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DelimitedFieldsTest {
+
+    private static List<String> fieldsOf(DelimitedFields fields) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.add(fields.getString(i));
+        }
+        return values;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ",", ",,", "A", "A,", "A,,", ",A", ",,A", "A,B", "A,,B", "A,B,", ",A,B,,", "AC=1,2"})
+    public void fieldsAreEquivalentToStringSplit(String text) {
+        assertThat(fieldsOf(DelimitedFields.of(text, ',')), equalTo(Arrays.asList(text.split(","))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ",", "A,", ",A", "A,,B,"})
+    public void fieldsOfSliceAreEquivalentToStringSplit(String text) {
+        String line = "1\t" + text + "\t3";
+        CharSlice slice = DelimitedFields.of(line, '\t').get(1);
+        assertThat(fieldsOf(slice.split(',')), equalTo(Arrays.asList(text.split(","))));
+    }
+
+    @Test
+    public void getIsLazy() {
+        DelimitedFields fields = DelimitedFields.of("1\t12345\trs123\tA\tT", '\t');
+        assertThat(fields.get(1), equalTo(CharSlice.of("12345")));
+        assertThat(fields.parseInt(1), equalTo(12345));
+        assertThat(fields.getString(2), equalTo("rs123"));
+        assertThat(fields.size(), equalTo(5));
+    }
+
+    @Test
+    public void trailingEmptyFieldIsOutOfBounds() {
+        DelimitedFields fields = DelimitedFields.of("A,B,", ',');
+        assertThrows(IndexOutOfBoundsException.class, () -> fields.get(2));
+    }
+
+    @Test
+    public void emptyFieldFollowedByValueIsInBounds() {
+        DelimitedFields fields = DelimitedFields.of("A,,B", ',');
+        assertThat(fields.get(1).isEmpty(), equalTo(true));
+        assertThat(fields.getString(2), equalTo("B"));
+    }
+
+    @Test
+    public void negativeIndexIsOutOfBounds() {
+        DelimitedFields fields = DelimitedFields.of("A,B", ',');
+        assertThrows(IndexOutOfBoundsException.class, () -> fields.get(-1));
+    }
+
+    @Test
+    public void parseFloat() {
+        DelimitedFields fields = DelimitedFields.of("0.999725,0.000274744,.", ',');
+        assertThat(fields.parseFloat(1), equalTo(0.000274744f));
+        assertThrows(NumberFormatException.class, () -> fields.parseFloat(2));
+    }
+
+    @Test
+    public void sliceTrim() {
+        assertThat(CharSlice.of(" D ").trim(), equalTo(CharSlice.of("D")));
+        assertThat(CharSlice.of("D").trim().contentEquals("D"), equalTo(true));
+        assertThat(CharSlice.of("  ").trim().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void sliceHashCodeMatchesString() {
+        CharSlice slice = DelimitedFields.of("AC_FIN=0,1;AN_FIN=6600", ';').get(1);
+        assertThat(slice.hashCode(), equalTo("AN_FIN=6600".hashCode()));
+        assertThat(slice.toString(), equalTo("AN_FIN=6600"));
+    }
+}
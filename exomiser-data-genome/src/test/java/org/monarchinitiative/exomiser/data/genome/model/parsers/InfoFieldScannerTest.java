@@ -0,0 +1,81 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InfoFieldScannerTest {
+
+    private static final String INFO = "AC=3;AN=100;AC_FIN=0,1;AN_FIN=6600;DB;AC_AFR=2,0;AN_AFR=8540;AC_FINNISH=5";
+
+    @Test
+    public void valuesOnlyIncludesRequestedKeys() {
+        InfoFieldScanner instance = new InfoFieldScanner("AC_FIN", "AN_FIN", "AC_SAS");
+        CharSlice[] values = instance.values(INFO);
+        assertThat(values.length, equalTo(3));
+        assertThat(values[0].toString(), equalTo("0,1"));
+        assertThat(values[1].parseInt(), equalTo(6600));
+        assertThat(values[2], nullValue());
+    }
+
+    @Test
+    public void keysMustMatchExactly() {
+        InfoFieldScanner instance = new InfoFieldScanner("AC", "AC_F");
+        CharSlice[] values = instance.values(INFO);
+        assertThat(values[0].toString(), equalTo("3"));
+        assertThat(values[1], nullValue());
+    }
+
+    @Test
+    public void flagsAreIgnored() {
+        InfoFieldScanner instance = new InfoFieldScanner("DB");
+        assertThat(instance.values(INFO)[0], nullValue());
+    }
+
+    @Test
+    public void scanReportsValuesInOrderOfAppearance() {
+        InfoFieldScanner instance = new InfoFieldScanner("CAF", "FREQ");
+        List<String> found = new ArrayList<>();
+        instance.scan("FREQ=GnomAD:0.9,0.1;CAF=0.8,0.2;FREQ=TOPMED:0.7,0.3", (key, value) -> found.add(key + ":" + value));
+        assertThat(found, equalTo(List.of("1:GnomAD:0.9,0.1", "0:0.8,0.2", "1:TOPMED:0.7,0.3")));
+    }
+
+    @Test
+    public void valuesUsesLastOfRepeatedKeys() {
+        InfoFieldScanner instance = new InfoFieldScanner("AF");
+        assertThat(instance.values("AF=0.1;AF=0.2")[0].toString(), equalTo("0.2"));
+    }
+
+    @Test
+    public void emptyValue() {
+        InfoFieldScanner instance = new InfoFieldScanner("AF");
+        assertThat(instance.values("AF=;AN=2")[0].isEmpty(), equalTo(true));
+        assertThat(instance.indexOf("AF"), equalTo(0));
+        assertThat(instance.indexOf("AN"), equalTo(-1));
+    }
+}
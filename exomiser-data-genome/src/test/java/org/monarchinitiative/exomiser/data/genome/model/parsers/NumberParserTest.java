@@ -0,0 +1,82 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NumberParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "1", "-1", "+1", "12345", "-0", "999999999", "2147483647", "-2147483648", "0001"})
+    public void parseIntMatchesIntegerParseInt(String value) {
+        assertThat(NumberParser.parseInt(value), equalTo(Integer.parseInt(value)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", ".", "1.0", "2147483648", "12a", " 1"})
+    public void parseIntThrowsNumberFormatExceptionLikeIntegerParseInt(String value) {
+        assertThrows(NumberFormatException.class, () -> Integer.parseInt(value));
+        assertThrows(NumberFormatException.class, () -> NumberParser.parseInt(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.0", "-0.0", "1", "0.5", "0.999725", "0.000274744", "44.9781", "1.23456e-05", "1.5E3",
+            "5e-324", "3.4028235E38", "1e39", "0.12345678912", "1234567.8", ".5", "5.", "+0.25", "-1.0e+2", "NaN",
+            "-Infinity", "0x1p3", "1.0f", " 1.0 ", "0.1000000000", "1e-10", "1e10", "9.999999e-11"})
+    public void parseFloatMatchesFloatParseFloat(String value) {
+        assertThat(NumberParser.parseFloat(value), equalTo(Float.parseFloat(value)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ".", "-", "e5", "1e", "1.2.3", "0.1a", "1,0"})
+    public void parseFloatThrowsNumberFormatExceptionLikeFloatParseFloat(String value) {
+        assertThrows(NumberFormatException.class, () -> Float.parseFloat(value));
+        assertThrows(NumberFormatException.class, () -> NumberParser.parseFloat(value));
+    }
+
+    @Test
+    public void parseFloatMatchesFloatParseFloatForRandomValues() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int digits = 1 + random.nextInt(9);
+            String value = String.format(Locale.ROOT, "%." + digits + "f", random.nextDouble() * Math.pow(10, random.nextInt(6)));
+            assertThat(value, NumberParser.parseFloat(value), equalTo(Float.parseFloat(value)));
+            String scientific = String.format(Locale.ROOT, "%." + digits + "e", random.nextDouble());
+            assertThat(scientific, NumberParser.parseFloat(scientific), equalTo(Float.parseFloat(scientific)));
+        }
+    }
+
+    @Test
+    public void parseFloatFromRegion() {
+        String info = "AF=0.0123;AN=100";
+        assertThat(NumberParser.parseFloat(info, 3, 9), equalTo(0.0123f));
+        assertThat(NumberParser.parseInt(info, 13, 16), equalTo(100));
+    }
+}
@@ -21,6 +21,8 @@
 package org.monarchinitiative.exomiser.data.phenotype;
 
 import org.flywaydb.core.Flyway;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelService;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelSnapshotWriter;
 import org.monarchinitiative.exomiser.data.phenotype.config.ApplicationConfigurationProperties;
 import org.monarchinitiative.exomiser.data.phenotype.config.ReleaseFileSystem;
 import org.monarchinitiative.exomiser.data.phenotype.processors.ResourceChecker;
@@ -28,12 +30,17 @@
 import org.monarchinitiative.exomiser.data.phenotype.processors.groups.GeneProcessingGroup;
 import org.monarchinitiative.exomiser.data.phenotype.processors.groups.OntologyProcessingGroup;
 import org.monarchinitiative.exomiser.data.phenotype.processors.groups.ProcessingGroup;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingReport;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingScheduler;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingTask;
+import org.monarchinitiative.exomiser.data.phenotype.processors.writers.PhenodigmMappingTableLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -54,13 +61,17 @@ public class Main implements ApplicationRunner {
     private final OntologyProcessingGroup ontologyProcessingGroup;
 
     private final Flyway flyway;
+    private final PhenodigmMappingTableLoader phenodigmMappingTableLoader;
+    private final ModelService releaseModelService;
 
     public Main(ApplicationConfigurationProperties applicationConfigurationProperties,
                 ReleaseFileSystem releaseFileSystem,
                 DiseaseProcessingGroup diseaseProcessingGroup,
                 GeneProcessingGroup geneProcessingGroup,
                 OntologyProcessingGroup ontologyProcessingGroup,
-                Flyway flyway
+                Flyway flyway,
+                PhenodigmMappingTableLoader phenodigmMappingTableLoader,
+                ModelService releaseModelService
     ) {
         this.applicationConfigurationProperties = applicationConfigurationProperties;
         this.releaseFileSystem = releaseFileSystem;
@@ -68,6 +79,8 @@ public Main(ApplicationConfigurationProperties applicationConfigurationPropertie
         this.geneProcessingGroup = geneProcessingGroup;
         this.ontologyProcessingGroup = ontologyProcessingGroup;
         this.flyway = flyway;
+        this.phenodigmMappingTableLoader = phenodigmMappingTableLoader;
+        this.releaseModelService = releaseModelService;
     }
 
     @Override
@@ -75,6 +88,7 @@ public void run(ApplicationArguments applicationArguments) {
         logger.info("Building Exomiser {}_phenotype database...", applicationConfigurationProperties.getBuildVersion());
 
         List<ProcessingGroup> processingGroups = List.of(diseaseProcessingGroup, geneProcessingGroup, ontologyProcessingGroup);
+        List<ProcessingTask> processingTasks = new ArrayList<>();
         for (ProcessingGroup processingGroup : processingGroups) {
             String processingGroupName = processingGroup.getName();
             logger.info("==== Starting processing group: {} ====", processingGroupName);
@@ -87,8 +101,8 @@ public void run(ApplicationArguments applicationArguments) {
             if (applicationConfigurationProperties.isProcessResources()) {
                 ResourceChecker resourceChecker = ResourceChecker.check(processingGroup.getResources());
                 if (resourceChecker.resourcesPresent()) {
-                    logger.info("Processing resource {} files...", processingGroupName);
-                    processingGroup.processResources();
+                    logger.info("Adding {} resource processing tasks...", processingGroupName);
+                    processingTasks.addAll(processingGroup.getProcessingTasks());
                 } else {
                     logger.error("{} unable to run due to missing resource(s):", processingGroupName);
                     resourceChecker.getMissingResources()
@@ -100,13 +114,32 @@ public void run(ApplicationArguments applicationArguments) {
             }
         }
 
+        if (!processingTasks.isEmpty()) {
+            // the tasks from all the groups are scheduled together as they write to separate files which are only read
+            // by the database migration
+            ProcessingScheduler processingScheduler = new ProcessingScheduler(applicationConfigurationProperties.getProcessingThreads());
+            ProcessingReport processingReport = processingScheduler.run(processingTasks);
+            logger.info("{}", processingReport.summary());
+        }
+
         boolean migrateH2 = applicationConfigurationProperties.isMigrateDatabase();
         if (migrateH2) {
             logger.info("Migrating exomiser databases...");
             flyway.clean();
             flyway.migrate();
+            if (!phenodigmMappingTableLoader.getScheduledTables().isEmpty()) {
+                logger.info("Loading phenodigm mappings directly into tables {}...", phenodigmMappingTableLoader.getScheduledTables());
+                phenodigmMappingTableLoader.loadScheduled();
+            }
+            if (applicationConfigurationProperties.isWriteModelSnapshot()) {
+                logger.info("Writing phenotype model snapshot...");
+                ModelSnapshotWriter.write(releaseModelService, releaseFileSystem.releaseDir().resolve(ModelSnapshotWriter.DEFAULT_FILE_NAME));
+            }
         } else {
             logger.info("Skipping migration of H2 database.");
+            if (!phenodigmMappingTableLoader.getScheduledTables().isEmpty()) {
+                logger.warn("Phenodigm mappings for tables {} were not written as they are loaded directly during migration.", phenodigmMappingTableLoader.getScheduledTables());
+            }
         }
     }
 }
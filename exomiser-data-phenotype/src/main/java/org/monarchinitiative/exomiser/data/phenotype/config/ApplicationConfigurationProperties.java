@@ -57,6 +57,30 @@ public class ApplicationConfigurationProperties {
      */
     private boolean migrateDatabase = true;
 
+    /**
+     * Number of threads used to run independent processing tasks concurrently. Setting this to 1 will run all the tasks
+     * sequentially. Default is 4.
+     */
+    private int processingThreads = 4;
+
+    /**
+     * Number of threads used by each of the phenodigm cache processors to parse and format the OWLSim mappings.
+     * Default is 2.
+     */
+    private int phenodigmThreads = 2;
+
+    /**
+     * Toggle to insert the phenodigm mappings directly into the database after the migration, rather than writing and
+     * importing the intermediate .pg files. Requires migrate-database to be enabled. Default is 'false'.
+     */
+    private boolean directLoadMappings = false;
+
+    /**
+     * Toggle to write the binary snapshot of the disease and model organism models to the release directory after the
+     * migration. Requires migrate-database to be enabled. Default is 'true'.
+     */
+    private boolean writeModelSnapshot = true;
+
     public String getBuildDir() {
         return buildDir;
     }
@@ -97,4 +121,36 @@ public void setMigrateDatabase(boolean migrateDatabase) {
         this.migrateDatabase = migrateDatabase;
     }
 
+    public int getProcessingThreads() {
+        return processingThreads;
+    }
+
+    public void setProcessingThreads(int processingThreads) {
+        this.processingThreads = processingThreads;
+    }
+
+    public int getPhenodigmThreads() {
+        return phenodigmThreads;
+    }
+
+    public void setPhenodigmThreads(int phenodigmThreads) {
+        this.phenodigmThreads = phenodigmThreads;
+    }
+
+    public boolean isDirectLoadMappings() {
+        return directLoadMappings;
+    }
+
+    public void setDirectLoadMappings(boolean directLoadMappings) {
+        this.directLoadMappings = directLoadMappings;
+    }
+
+    public boolean isWriteModelSnapshot() {
+        return writeModelSnapshot;
+    }
+
+    public void setWriteModelSnapshot(boolean writeModelSnapshot) {
+        this.writeModelSnapshot = writeModelSnapshot;
+    }
+
 }
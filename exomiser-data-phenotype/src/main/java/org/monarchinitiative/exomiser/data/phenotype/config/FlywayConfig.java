@@ -21,13 +21,19 @@
 package org.monarchinitiative.exomiser.data.phenotype.config;
 
 import org.flywaydb.core.Flyway;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelService;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelServiceImpl;
+import org.monarchinitiative.exomiser.data.phenotype.processors.writers.PhenodigmMappingTableLoader;
 import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * Slightly hacky way of using the spring.flyway properties to configure a Flyway instance which doesn't run immediately
@@ -57,4 +63,31 @@ public Flyway flyway() {
                 .load();
     }
 
+    @Bean
+    public PhenodigmMappingTableLoader phenodigmMappingTableLoader() {
+        return new PhenodigmMappingTableLoader(dataSource, releaseSchema());
+    }
+
+    /**
+     * Reads the models from the migrated database for the model snapshot, using the same queries as the exomiser.
+     */
+    @Bean
+    public ModelService releaseModelService() {
+        String schema = releaseSchema();
+        DataSource releaseDataSource = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                connection.setSchema(schema);
+                return connection;
+            }
+        };
+        return new ModelServiceImpl(releaseDataSource);
+    }
+
+    private String releaseSchema() {
+        // the tables are created in the first of the flyway schemas
+        return flywayProperties.getSchemas().isEmpty() ? "PUBLIC" : flywayProperties.getSchemas().get(0);
+    }
+
 }
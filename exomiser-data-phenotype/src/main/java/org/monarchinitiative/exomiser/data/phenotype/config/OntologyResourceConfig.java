@@ -27,6 +27,7 @@
 import org.monarchinitiative.exomiser.data.phenotype.processors.readers.ontology.OwlSimPhenodigmProcessor;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.ontology.CopyResourceStep;
 import org.monarchinitiative.exomiser.data.phenotype.processors.writers.OutputLineWriter;
+import org.monarchinitiative.exomiser.data.phenotype.processors.writers.PhenodigmMappingTableLoader;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -43,12 +44,16 @@ public class OntologyResourceConfig {
     private final Path processPath;
     private final Path releasePath;
     private final ResourceBuilder resourceBuilder;
+    private final ApplicationConfigurationProperties applicationConfigurationProperties;
+    private final PhenodigmMappingTableLoader phenodigmMappingTableLoader;
 
-    public OntologyResourceConfig(ResourceConfigurationProperties resourceProperties, ReleaseFileSystem releaseFileSystem, ResourceBuilder resourceBuilder) {
+    public OntologyResourceConfig(ResourceConfigurationProperties resourceProperties, ReleaseFileSystem releaseFileSystem, ResourceBuilder resourceBuilder, ApplicationConfigurationProperties applicationConfigurationProperties, PhenodigmMappingTableLoader phenodigmMappingTableLoader) {
         this.resourceProperties = resourceProperties;
         this.processPath = releaseFileSystem.processedDir();
         this.releasePath = releaseFileSystem.releaseDir();
         this.resourceBuilder = resourceBuilder;
+        this.applicationConfigurationProperties = applicationConfigurationProperties;
+        this.phenodigmMappingTableLoader = phenodigmMappingTableLoader;
     }
 
     @Bean
@@ -58,7 +63,7 @@ public OntologyProcessingGroup ontologyProcessingGroup() {
         OutputLineWriter<OboOntologyTerm> hpWriter = new OutputLineWriter<>(processPath.resolve("hpo.pg"));
         OutputLineWriter<AltToCurrentId> hpAltIdWriter = new OutputLineWriter<>(processPath.resolve("hp_alt_ids.pg"));
         Resource hpHpMappingsResource = resourceBuilder.buildResource(resourceProperties.getHpHpMappings());
-        OwlSimPhenodigmProcessor hpHpPhenodigmProcessor = new OwlSimPhenodigmProcessor(hpHpMappingsResource, processPath.resolve("hpHpmapping.pg"));
+        OwlSimPhenodigmProcessor hpHpPhenodigmProcessor = phenodigmProcessor(hpHpMappingsResource, "hpHpmapping.pg", "hp_hp_mappings");
         // copy the HPO file to the release directory
         CopyResourceStep copyHpoResourceStep = new CopyResourceStep(hpoResource, releasePath);
 
@@ -66,13 +71,13 @@ public OntologyProcessingGroup ontologyProcessingGroup() {
         Resource mpoResource = resourceBuilder.buildResource(resourceProperties.getMp());
         OutputLineWriter<OboOntologyTerm> mpWriter = new OutputLineWriter<>(processPath.resolve("mp.pg"));
         Resource hpMpMappingsResource = resourceBuilder.buildResource(resourceProperties.getHpMpMappings());
-        OwlSimPhenodigmProcessor hpMpPhenodigmProcessor = new OwlSimPhenodigmProcessor(hpMpMappingsResource, processPath.resolve("hpMpMapping.pg"));
+        OwlSimPhenodigmProcessor hpMpPhenodigmProcessor = phenodigmProcessor(hpMpMappingsResource, "hpMpMapping.pg", "hp_mp_mappings");
 
         // Fish
         Resource zpoResource = resourceBuilder.buildResource(resourceProperties.getZp());
         OutputLineWriter<OboOntologyTerm> zpWriter = new OutputLineWriter<>(processPath.resolve("zp.pg"));
         Resource hpZpMappingsResource = resourceBuilder.buildResource(resourceProperties.getHpZpMappings());
-        OwlSimPhenodigmProcessor hpZpPhenodigmProcessor = new OwlSimPhenodigmProcessor(hpZpMappingsResource, processPath.resolve("hpZpMapping.pg"));
+        OwlSimPhenodigmProcessor hpZpPhenodigmProcessor = phenodigmProcessor(hpZpMappingsResource, "hpZpMapping.pg", "hp_zp_mappings");
 
         List<Resource> ontologyResources = List.of(
                 hpoResource,
@@ -86,4 +91,12 @@ public OntologyProcessingGroup ontologyProcessingGroup() {
         return OntologyProcessingGroup.create(ontologyResources, hpoResource, hpWriter, hpAltIdWriter, hpHpPhenodigmProcessor, copyHpoResourceStep, mpoResource, mpWriter, hpMpPhenodigmProcessor, zpoResource, zpWriter, hpZpPhenodigmProcessor);
     }
 
-}
\ No newline at end of file
+    private OwlSimPhenodigmProcessor phenodigmProcessor(Resource mappingsResource, String outFileName, String tableName) {
+        int threads = applicationConfigurationProperties.getPhenodigmThreads();
+        if (applicationConfigurationProperties.isDirectLoadMappings()) {
+            return new OwlSimPhenodigmProcessor(mappingsResource, processPath.resolve(outFileName), threads, phenodigmMappingTableLoader, tableName);
+        }
+        return new OwlSimPhenodigmProcessor(mappingsResource, processPath.resolve(outFileName), threads);
+    }
+
+}
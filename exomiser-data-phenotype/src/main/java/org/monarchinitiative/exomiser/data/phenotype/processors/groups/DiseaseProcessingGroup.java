@@ -22,6 +22,7 @@
 
 import com.google.common.collect.ImmutableList;
 import org.monarchinitiative.exomiser.data.phenotype.processors.Resource;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingTask;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.disease.DiseaseGeneMoiComparisonStep;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.disease.DiseaseGeneStep;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.disease.DiseasePhenotypeStep;
@@ -67,10 +68,13 @@ public List<Resource> getResources() {
     }
 
     @Override
-    public void processResources() {
-        diseasePhenotypeStep.run();
-        diseaseGeneStep.run();
-        diseaseGeneMoiComparisonStep.run();
-        entrezIdGeneSymbolStep.run();
+    public List<ProcessingTask> getProcessingTasks() {
+        // each of these reads its own resources and writes to a separate output file
+        return List.of(
+                ProcessingTask.of("disease-phenotypes", diseasePhenotypeStep),
+                ProcessingTask.of("disease-genes", diseaseGeneStep),
+                ProcessingTask.of("disease-gene-moi-comparison", diseaseGeneMoiComparisonStep),
+                ProcessingTask.of("entrez-id-gene-symbols", entrezIdGeneSymbolStep)
+        );
     }
 }
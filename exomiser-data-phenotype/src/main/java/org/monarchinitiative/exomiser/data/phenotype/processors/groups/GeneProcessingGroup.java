@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.data.phenotype.processors.groups;
 
 import org.monarchinitiative.exomiser.data.phenotype.processors.Resource;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingTask;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.gene.FishGeneModelStep;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.gene.MouseGeneModelStep;
 import org.slf4j.Logger;
@@ -59,8 +60,10 @@ public List<Resource> getResources() {
     }
 
     @Override
-    public void processResources() {
-        mouseGeneModelStep.run();
-        fishGeneModelStep.run();
+    public List<ProcessingTask> getProcessingTasks() {
+        return List.of(
+                ProcessingTask.of("mouse-gene-models", mouseGeneModelStep),
+                ProcessingTask.of("fish-gene-models", fishGeneModelStep)
+        );
     }
 }
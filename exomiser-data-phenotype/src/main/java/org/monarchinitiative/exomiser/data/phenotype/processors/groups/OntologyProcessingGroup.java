@@ -24,12 +24,14 @@
 import org.monarchinitiative.exomiser.data.phenotype.processors.model.ontology.AltToCurrentId;
 import org.monarchinitiative.exomiser.data.phenotype.processors.model.ontology.OboOntologyTerm;
 import org.monarchinitiative.exomiser.data.phenotype.processors.readers.ontology.*;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingTask;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.ontology.CopyResourceStep;
 import org.monarchinitiative.exomiser.data.phenotype.processors.writers.OutputLineWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.stream.Collectors.toList;
 
@@ -95,29 +97,42 @@ public List<Resource> getResources() {
     }
 
     @Override
-    public void processResources() {
-        // HP step
-        OboOntology hpOntology = hpoResourceReader.read();
-        List<OboOntologyTerm> hpTerms = hpOntology.getCurrentOntologyTerms();
-        // id: label
-        hpWriter.write(hpTerms);
-        List<AltToCurrentId> altToCurrentIds = hpOntology.getIdToTerms().entrySet().stream()
-                .map(entry -> new AltToCurrentId(entry.getKey(), entry.getValue().getId()))
-                .collect(toList());
-        // alt_id : current_id
-        hpAltIdWriter.write(altToCurrentIds);
-        hpHpPhenodigmProcessor.process(hpTerms, hpTerms);
-
-        copyHpoResourceStep.run();
-
-        // MP step
-        List<OboOntologyTerm> mpTerms = mpoResourceReader.read();
-        mpWriter.write(mpTerms);
-        hpMpPhenodigmProcessor.process(hpTerms, mpTerms);
-
-        // ZP step
-        List<OboOntologyTerm> zpTerms = zpoResourceReader.read();
-        zpWriter.write(zpTerms);
-        hpZpPhenodigmProcessor.process(hpTerms, zpTerms);
+    public List<ProcessingTask> getProcessingTasks() {
+        // the HP terms are needed by all the phenodigm processors. These references are safely published between tasks
+        // by the scheduler as each dependent task only starts once the task it depends on has completed.
+        AtomicReference<List<OboOntologyTerm>> hpTermsRef = new AtomicReference<>();
+        AtomicReference<List<OboOntologyTerm>> mpTermsRef = new AtomicReference<>();
+        AtomicReference<List<OboOntologyTerm>> zpTermsRef = new AtomicReference<>();
+        return List.of(
+                // HP step
+                ProcessingTask.of("hp-ontology", () -> {
+                    OboOntology hpOntology = hpoResourceReader.read();
+                    List<OboOntologyTerm> hpTerms = hpOntology.getCurrentOntologyTerms();
+                    // id: label
+                    hpWriter.write(hpTerms);
+                    List<AltToCurrentId> altToCurrentIds = hpOntology.getIdToTerms().entrySet().stream()
+                            .map(entry -> new AltToCurrentId(entry.getKey(), entry.getValue().getId()))
+                            .collect(toList());
+                    // alt_id : current_id
+                    hpAltIdWriter.write(altToCurrentIds);
+                    hpTermsRef.set(hpTerms);
+                }),
+                ProcessingTask.of("hp-hp-phenodigm", List.of("hp-ontology"), () -> hpHpPhenodigmProcessor.process(hpTermsRef.get(), hpTermsRef.get())),
+                ProcessingTask.of("copy-hpo-resource", copyHpoResourceStep),
+                // MP step
+                ProcessingTask.of("mp-ontology", () -> {
+                    List<OboOntologyTerm> mpTerms = mpoResourceReader.read();
+                    mpWriter.write(mpTerms);
+                    mpTermsRef.set(mpTerms);
+                }),
+                ProcessingTask.of("hp-mp-phenodigm", List.of("hp-ontology", "mp-ontology"), () -> hpMpPhenodigmProcessor.process(hpTermsRef.get(), mpTermsRef.get())),
+                // ZP step
+                ProcessingTask.of("zp-ontology", () -> {
+                    List<OboOntologyTerm> zpTerms = zpoResourceReader.read();
+                    zpWriter.write(zpTerms);
+                    zpTermsRef.set(zpTerms);
+                }),
+                ProcessingTask.of("hp-zp-phenodigm", List.of("hp-ontology", "zp-ontology"), () -> hpZpPhenodigmProcessor.process(hpTermsRef.get(), zpTermsRef.get()))
+        );
     }
 }
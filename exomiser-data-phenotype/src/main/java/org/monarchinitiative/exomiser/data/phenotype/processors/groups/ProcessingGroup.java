@@ -23,6 +23,8 @@
 
 import org.monarchinitiative.exomiser.data.phenotype.processors.Resource;
 import org.monarchinitiative.exomiser.data.phenotype.processors.ResourceDownloader;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingScheduler;
+import org.monarchinitiative.exomiser.data.phenotype.processors.schedule.ProcessingTask;
 import org.monarchinitiative.exomiser.data.phenotype.processors.steps.ProcessingStep;
 
 import java.util.List;
@@ -46,8 +48,19 @@ default void downloadResources() {
     }
 
     /**
-     * Handles the parsing and output of the Resource(s) associated with the ProcessingGroup.
+     * Returns the {@link ProcessingTask}s which parse and output the Resource(s) associated with the ProcessingGroup.
+     * Task names must be unique across all groups and the tasks must be listed in an order which satisfies their
+     * declared dependencies so that they can also be run sequentially. Tasks which do not depend on each other may be
+     * run concurrently by a {@link ProcessingScheduler}.
      */
-    void processResources();
+    List<ProcessingTask> getProcessingTasks();
+
+    /**
+     * Handles the parsing and output of the Resource(s) associated with the ProcessingGroup by running each of the
+     * {@link ProcessingTask}s in turn.
+     */
+    default void processResources() {
+        getProcessingTasks().forEach(ProcessingTask::run);
+    }
 
 }
@@ -17,21 +17,30 @@
  * You should have received a copy of the GNU Affero General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-
 package org.monarchinitiative.exomiser.data.phenotype.processors.readers.ontology;
 
 import org.monarchinitiative.exomiser.data.phenotype.processors.Resource;
 import org.monarchinitiative.exomiser.data.phenotype.processors.model.ontology.OboOntologyTerm;
+import org.monarchinitiative.exomiser.data.phenotype.processors.writers.PhenodigmMappingTableLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.stream.Collectors.toMap;
@@ -39,8 +48,13 @@
 /**
  * Class for reading, processing and writing out OwlSim Phenodigm cache files. This class is a slight departure from the
  * usual ResourceReader/OutputFileWriter pattern used in the rest of the package as the cache files are potentially very
- * large (tens of GB) due to them being all-vs-all ontology comparisons. For this reason we simple stream and process the
- * files line-by-line.
+ * large (tens of GB) due to them being all-vs-all ontology comparisons. For this reason we stream the file in chunks of
+ * lines which, if more than one thread is specified, are parsed and formatted in parallel before being written out in
+ * their original order.
+ * <p>
+ * If a {@link PhenodigmMappingTableLoader} is supplied the mappings are not written to the output file. Instead, an
+ * empty file is written so that the Flyway migration imports no rows, and the mappings are inserted directly into the
+ * named table once the migration has created it.
  *
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
  * @since 13.0.0
@@ -49,31 +63,192 @@ public class OwlSimPhenodigmProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(OwlSimPhenodigmProcessor.class);
 
+    static final int CHUNK_SIZE = 8192;
+    // a typical output line is a little over 150 chars
+    private static final int EXPECTED_LINE_LENGTH = 160;
+
     private final Resource hpMappingsResource;
     private final Path hpMappingsOutFile;
+    private final int threads;
+
+    @Nullable
+    private final PhenodigmMappingTableLoader tableLoader;
+    private final String tableName;
 
     public OwlSimPhenodigmProcessor(Resource hpMappingsResource, Path hpMappingsOutFile) {
+        this(hpMappingsResource, hpMappingsOutFile, 1);
+    }
+
+    public OwlSimPhenodigmProcessor(Resource hpMappingsResource, Path hpMappingsOutFile, int threads) {
+        this(hpMappingsResource, hpMappingsOutFile, threads, null, "");
+    }
+
+    /**
+     * Creates a processor which inserts the mappings directly into the named table using the {@link PhenodigmMappingTableLoader}
+     * rather than writing them to the output file.
+     */
+    public OwlSimPhenodigmProcessor(Resource hpMappingsResource, Path hpMappingsOutFile, int threads, @Nullable PhenodigmMappingTableLoader tableLoader, String tableName) {
         this.hpMappingsResource = hpMappingsResource;
         this.hpMappingsOutFile = hpMappingsOutFile;
+        this.threads = Math.max(1, threads);
+        this.tableLoader = tableLoader;
+        this.tableName = tableName;
     }
 
     public void process(List<OboOntologyTerm> hpTerms, List<OboOntologyTerm> otherTerms) {
+        if (tableLoader != null) {
+            logger.info("Deferring load of {} into table {}", hpMappingsResource.getResourcePath(), tableName);
+            try {
+                // the migration still reads this file, so it needs to exist
+                Files.write(hpMappingsOutFile, new byte[0]);
+            } catch (IOException ex) {
+                logger.error("Unable to write empty mappings file {}", hpMappingsOutFile, ex);
+            }
+            tableLoader.schedule(tableName, connection -> insertInto(connection, tableName, hpTerms, otherTerms));
+            return;
+        }
         logger.info("Processing file: {}", hpMappingsResource.getResourcePath());
         logger.info("Writing out to: {}", hpMappingsOutFile);
 
         PhenodigmCacheLineProcessor cacheLineProcessor = new PhenodigmCacheLineProcessor(hpTerms, otherTerms);
+        try (BufferedWriter writer = Files.newBufferedWriter(hpMappingsOutFile, Charset.defaultCharset())) {
+            int linesWritten = processChunks(cacheLineProcessor, (lines, startId) -> formatChunk(cacheLineProcessor, lines, startId), writer::append);
+            logger.info("Written {} phenotype mappings to {}", linesWritten, hpMappingsOutFile);
+        } catch (Exception ex) {
+            logger.error("Error processing {}", hpMappingsResource, ex);
+        }
+    }
+
+    /**
+     * Inserts the processed mappings into the named table, which must already exist, using batched inserts. The
+     * connection is committed once all the rows have been inserted.
+     *
+     * @return the number of rows inserted
+     */
+    public int insertInto(Connection connection, String tableName, List<OboOntologyTerm> hpTerms, List<OboOntologyTerm> otherTerms) throws SQLException {
+        logger.info("Inserting {} into table {}", hpMappingsResource.getResourcePath(), tableName);
+        PhenodigmCacheLineProcessor cacheLineProcessor = new PhenodigmCacheLineProcessor(hpTerms, otherTerms);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + tableName + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            // the chunks are consumed in order, so the mapping ids match those of the file output
+            int[] mappingId = {0};
+            int rows = processChunks(cacheLineProcessor, (lines, startId) -> parseChunk(cacheLineProcessor, lines), mappings -> {
+                for (PhenodigmMapping mapping : mappings) {
+                    mapping.bind(insert, mappingId[0]++);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            });
+            connection.commit();
+            logger.info("Inserted {} phenotype mappings into table {}", rows, tableName);
+            return rows;
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private interface ChunkProcessor<T> {
+        T process(List<String> lines, int startId);
+    }
+
+    private interface ChunkConsumer<T> {
+        void accept(T processedChunk) throws IOException, SQLException;
+    }
 
-        try (BufferedReader reader = hpMappingsResource.newBufferedReader();
-             BufferedWriter writer = Files.newBufferedWriter(hpMappingsOutFile, Charset.defaultCharset())) {
+    /**
+     * Reads the input in chunks of {@link #CHUNK_SIZE} lines, which are processed on a pool of worker threads and passed
+     * to the consumer, on the calling thread, in their original order. The number of chunks in flight is bounded so
+     * that the memory used stays constant regardless of the size of the input.
+     */
+    private <T> int processChunks(PhenodigmCacheLineProcessor cacheLineProcessor, ChunkProcessor<T> chunkProcessor, ChunkConsumer<T> consumer) throws SQLException {
+        ExecutorService executorService = threads > 1 ? Executors.newFixedThreadPool(threads, daemonThreadFactory()) : null;
+        ArrayDeque<Future<T>> inFlight = new ArrayDeque<>();
+        int maxInFlight = threads * 2;
+        int lineCount = 0;
+        try (BufferedReader reader = hpMappingsResource.newBufferedReader()) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
             for (String line; (line = reader.readLine()) != null; ) {
-                String outLine = cacheLineProcessor.processLine(line);
-                writer.write(outLine);
-                writer.newLine();
+                chunk.add(line);
+                if (chunk.size() == CHUNK_SIZE) {
+                    submit(executorService, chunkProcessor, chunk, lineCount, inFlight, consumer);
+                    lineCount += chunk.size();
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    while (inFlight.size() >= maxInFlight) {
+                        consumer.accept(await(inFlight.removeFirst()));
+                    }
+                }
             }
-        } catch (Exception ex) {
-            logger.error("Error processing {}", hpMappingsResource, ex);
+            if (!chunk.isEmpty()) {
+                submit(executorService, chunkProcessor, chunk, lineCount, inFlight, consumer);
+                lineCount += chunk.size();
+            }
+            while (!inFlight.isEmpty()) {
+                consumer.accept(await(inFlight.removeFirst()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            if (executorService != null) {
+                executorService.shutdownNow();
+            }
+        }
+        cacheLineProcessor.advanceTo(lineCount);
+        return lineCount;
+    }
+
+    private static <T> void submit(@Nullable ExecutorService executorService, ChunkProcessor<T> chunkProcessor, List<String> chunk, int startId, ArrayDeque<Future<T>> inFlight, ChunkConsumer<T> consumer) throws IOException, SQLException {
+        if (executorService == null) {
+            consumer.accept(chunkProcessor.process(chunk, startId));
+        } else {
+            inFlight.addLast(executorService.submit(() -> chunkProcessor.process(chunk, startId)));
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing phenodigm cache", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "phenodigm-processor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static StringBuilder formatChunk(PhenodigmCacheLineProcessor cacheLineProcessor, List<String> lines, int startId) {
+        StringBuilder stringBuilder = new StringBuilder(lines.size() * EXPECTED_LINE_LENGTH);
+        int id = startId;
+        for (String line : lines) {
+            cacheLineProcessor.parseLine(line).appendTo(stringBuilder, id++);
+            stringBuilder.append(System.lineSeparator());
         }
-        logger.info("Written {} phenotype mappings to {}", cacheLineProcessor.linesProcessed(), hpMappingsOutFile);
+        return stringBuilder;
+    }
+
+    private static List<PhenodigmMapping> parseChunk(PhenodigmCacheLineProcessor cacheLineProcessor, List<String> lines) {
+        List<PhenodigmMapping> mappings = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            mappings.add(cacheLineProcessor.parseLine(line));
+        }
+        return mappings;
     }
 
     static class PhenodigmCacheLineProcessor {
@@ -92,32 +267,117 @@ private Map<String, String> idLabelCache(List<OboOntologyTerm> ontologyTerms) {
         }
 
         public String processLine(String line) {
-            String[] fields = line.split("\t");
+            StringBuilder stringBuilder = new StringBuilder(EXPECTED_LINE_LENGTH);
+            parseLine(line).appendTo(stringBuilder, id.getAndIncrement());
+            return stringBuilder.toString();
+        }
 
-            String queryId = reformatCurie(fields[0]);
+        /**
+         * Parses a line of the OWLSim output. This does not increment the line count, so is safe to call concurrently.
+         */
+        PhenodigmMapping parseLine(String line) {
+            // equivalent to line.split("\t") without the regex and array allocation
+            int queryEnd = line.indexOf('\t');
+            int hitEnd = line.indexOf('\t', queryEnd + 1);
+            int simJEnd = line.indexOf('\t', hitEnd + 1);
+            int icEnd = line.indexOf('\t', simJEnd + 1);
+            if (queryEnd < 0 || hitEnd < 0 || simJEnd < 0 || icEnd < 0) {
+                throw new ArrayIndexOutOfBoundsException("Expected 5 tab-separated fields in line '" + line + "'");
+            }
+            int lcsFieldEnd = line.indexOf('\t', icEnd + 1);
+            if (lcsFieldEnd < 0) {
+                lcsFieldEnd = line.length();
+            }
+            int lcsEnd = line.indexOf(';', icEnd + 1);
+            if (lcsEnd < 0 || lcsEnd > lcsFieldEnd) {
+                lcsEnd = lcsFieldEnd;
+            }
+
+            String queryId = reformatCurie(line.substring(0, queryEnd));
             String queryTerm = hpIdTerms.getOrDefault(queryId, "");
 
-            String hitId = reformatCurie(fields[1]);
+            String hitId = reformatCurie(line.substring(queryEnd + 1, hitEnd));
             String hitTerm = otherIdTerms.getOrDefault(hitId, "");
 
-            String simJ = fields[2];
-            String ic = fields[3];
+            String simJ = line.substring(hitEnd + 1, simJEnd);
+            String ic = line.substring(simJEnd + 1, icEnd);
             double score = Math.sqrt(Double.parseDouble(simJ) * Double.parseDouble(ic));
 
-            String lcs = reformatCurie(fields[4].split(";")[0]);
+            String lcs = reformatCurie(line.substring(icEnd + 1, lcsEnd));
             String lcsTerm = hpIdTerms.containsKey(lcs) ? hpIdTerms.get(lcs) : otherIdTerms.getOrDefault(lcs, "");
 
-            return String.format("%d|%s|%s|%s|%s|%s|%s|%s|%s|%s", id.getAndIncrement(), queryId, queryTerm, hitId, hitTerm, simJ, ic, score, lcs, lcsTerm);
+            return new PhenodigmMapping(queryId, queryTerm, hitId, hitTerm, simJ, ic, score, lcs, lcsTerm);
         }
 
         public int linesProcessed() {
             return id.get();
         }
 
+        private void advanceTo(int lines) {
+            id.set(lines);
+        }
+
         private String reformatCurie(String field) {
-            return field.replace("_", ":");
+            return field.replace('_', ':');
+        }
+
+    }
+
+    /**
+     * A single processed row of the hp_*_mappings tables, less the mapping_id.
+     */
+    static class PhenodigmMapping {
+        private final String queryId;
+        private final String queryTerm;
+        private final String hitId;
+        private final String hitTerm;
+        private final String simJ;
+        private final String ic;
+        private final double score;
+        private final String lcs;
+        private final String lcsTerm;
+
+        private PhenodigmMapping(String queryId, String queryTerm, String hitId, String hitTerm, String simJ, String ic, double score, String lcs, String lcsTerm) {
+            this.queryId = queryId;
+            this.queryTerm = queryTerm;
+            this.hitId = hitId;
+            this.hitTerm = hitTerm;
+            this.simJ = simJ;
+            this.ic = ic;
+            this.score = score;
+            this.lcs = lcs;
+            this.lcsTerm = lcsTerm;
         }
 
+        /**
+         * Appends the pipe-separated row in the format read by the Flyway migration. This produces the same output as
+         * {@code String.format("%d|%s|%s|%s|%s|%s|%s|%s|%s|%s", ...)} without parsing the format string for each line.
+         */
+        void appendTo(StringBuilder stringBuilder, int mappingId) {
+            stringBuilder.append(mappingId).append('|')
+                    .append(queryId).append('|')
+                    .append(queryTerm).append('|')
+                    .append(hitId).append('|')
+                    .append(hitTerm).append('|')
+                    .append(simJ).append('|')
+                    .append(ic).append('|')
+                    .append(score).append('|')
+                    .append(lcs).append('|')
+                    .append(lcsTerm);
+        }
+
+        void bind(PreparedStatement insert, int mappingId) throws SQLException {
+            insert.setInt(1, mappingId);
+            insert.setString(2, queryId);
+            insert.setString(3, queryTerm);
+            insert.setString(4, hitId);
+            insert.setString(5, hitTerm);
+            insert.setDouble(6, Double.parseDouble(simJ));
+            insert.setDouble(7, Double.parseDouble(ic));
+            insert.setDouble(8, score);
+            insert.setString(9, lcs);
+            insert.setString(10, lcsTerm);
+        }
     }
 
 }
@@ -0,0 +1,177 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.phenotype.processors.schedule;
+
+import java.util.*;
+
+/**
+ * The timings of a completed set of {@link ProcessingTask} and the critical path through them, i.e. the chain of
+ * dependent tasks with the greatest total duration. This is the lower bound on how long the build can take, however
+ * many threads are used.
+ *
+ * @since 13.3.0
+ */
+public class ProcessingReport {
+
+    private final List<TaskTiming> taskTimings;
+    private final List<String> criticalPath;
+    private final long criticalPathNanos;
+    private final long buildNanos;
+
+    ProcessingReport(List<ProcessingTask> sortedTasks, Map<String, TaskTiming> timings, long buildNanos) {
+        this.buildNanos = buildNanos;
+        List<TaskTiming> orderedTimings = new ArrayList<>(timings.values());
+        orderedTimings.sort(Comparator.comparingLong(TaskTiming::getStartNanos));
+        this.taskTimings = List.copyOf(orderedTimings);
+
+        // longest path through the DAG weighted by the task durations. The tasks are in dependency order so a single
+        // pass is sufficient.
+        Map<String, Long> pathNanos = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String last = null;
+        long longest = -1;
+        for (ProcessingTask task : sortedTasks) {
+            long dependencyNanos = 0;
+            String slowestDependency = null;
+            for (String dependency : task.getDependencies()) {
+                long nanos = pathNanos.get(dependency);
+                if (slowestDependency == null || nanos > dependencyNanos) {
+                    dependencyNanos = nanos;
+                    slowestDependency = dependency;
+                }
+            }
+            TaskTiming timing = timings.get(task.getName());
+            long nanos = dependencyNanos + (timing == null ? 0 : timing.getDurationNanos());
+            pathNanos.put(task.getName(), nanos);
+            previous.put(task.getName(), slowestDependency);
+            if (nanos > longest) {
+                longest = nanos;
+                last = task.getName();
+            }
+        }
+        LinkedList<String> path = new LinkedList<>();
+        for (String name = last; name != null; name = previous.get(name)) {
+            path.addFirst(name);
+        }
+        this.criticalPath = List.copyOf(path);
+        this.criticalPathNanos = Math.max(0, longest);
+    }
+
+    /**
+     * @return the timings of each task in the order in which they were started
+     */
+    public List<TaskTiming> getTaskTimings() {
+        return taskTimings;
+    }
+
+    /**
+     * @return the names of the tasks on the critical path in the order in which they ran
+     */
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public long getCriticalPathNanos() {
+        return criticalPathNanos;
+    }
+
+    /**
+     * @return the elapsed time from the start of the first task to the end of the last
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return the sum of all the task durations, i.e. the time taken to run them sequentially
+     */
+    public long getTotalTaskNanos() {
+        return taskTimings.stream().mapToLong(TaskTiming::getDurationNanos).sum();
+    }
+
+    /**
+     * @return a multi-line, human-readable summary of the task timings and the critical path
+     */
+    public String summary() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(String.format(Locale.ROOT, "Processed %d tasks in %d ms (sum of task durations %d ms)%n", taskTimings.size(), millis(buildNanos), millis(getTotalTaskNanos())));
+        for (TaskTiming taskTiming : taskTimings) {
+            stringBuilder.append(String.format(Locale.ROOT, "  %-32s start %8d ms  duration %8d ms%s%n", taskTiming.getName(), millis(taskTiming.getStartNanos()), millis(taskTiming.getDurationNanos()), criticalPath.contains(taskTiming.getName()) ? "  *" : ""));
+        }
+        stringBuilder.append(String.format(Locale.ROOT, "Critical path (%d ms): %s", millis(criticalPathNanos), String.join(" -> ", criticalPath)));
+        return stringBuilder.toString();
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessingReport{" +
+                "taskTimings=" + taskTimings +
+                ", criticalPath=" + criticalPath +
+                ", criticalPathNanos=" + criticalPathNanos +
+                ", buildNanos=" + buildNanos +
+                '}';
+    }
+
+    /**
+     * The start and end times of a task, relative to the start of the build.
+     */
+    public static class TaskTiming {
+
+        private final String name;
+        private final long startNanos;
+        private final long endNanos;
+
+        TaskTiming(String name, long startNanos, long endNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        public long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "TaskTiming{" +
+                    "name='" + name + '\'' +
+                    ", startNanos=" + startNanos +
+                    ", endNanos=" + endNanos +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.phenotype.processors.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a set of {@link ProcessingTask} on a bounded thread pool, starting each task as soon as all of its dependencies
+ * have completed. With a single thread the tasks are run one after another in dependency order. If any task fails no
+ * further tasks are started and the failure is re-thrown once those already running have finished.
+ *
+ * @since 13.3.0
+ */
+public class ProcessingScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingScheduler.class);
+
+    private final int threads;
+
+    public ProcessingScheduler(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1, but was " + threads);
+        }
+        this.threads = threads;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Runs the tasks, returning the duration of each along with the critical path through the build.
+     *
+     * @param tasks the tasks to run. Task names must be unique and all dependencies must be present in the list.
+     * @return a {@link ProcessingReport} of the completed tasks
+     * @throws IllegalArgumentException if the tasks contain duplicate names, unknown dependencies or a cycle
+     * @throws IllegalStateException    if any of the tasks failed
+     */
+    public ProcessingReport run(List<ProcessingTask> tasks) {
+        List<ProcessingTask> sortedTasks = topologicalSort(tasks);
+        logger.info("Running {} processing tasks using {} thread(s)", sortedTasks.size(), threads);
+
+        long buildStart = System.nanoTime();
+        Map<String, ProcessingReport.TaskTiming> timings = new ConcurrentHashMap<>();
+        AtomicReference<TaskFailure> firstFailure = new AtomicReference<>();
+        if (threads == 1) {
+            for (ProcessingTask task : sortedTasks) {
+                try {
+                    runTask(task, buildStart, timings, firstFailure);
+                } catch (RuntimeException e) {
+                    // recorded in firstFailure
+                    break;
+                }
+            }
+        } else {
+            runConcurrently(sortedTasks, buildStart, timings, firstFailure);
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+
+        TaskFailure failure = firstFailure.get();
+        if (failure != null) {
+            throw new IllegalStateException("Processing task " + failure.taskName + " failed", failure.cause);
+        }
+        return new ProcessingReport(sortedTasks, timings, buildNanos);
+    }
+
+    private void runConcurrently(List<ProcessingTask> sortedTasks, long buildStart, Map<String, ProcessingReport.TaskTiming> timings, AtomicReference<TaskFailure> firstFailure) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "processing-task-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        try {
+            for (ProcessingTask task : sortedTasks) {
+                CompletableFuture<?>[] dependencies = task.getDependencies().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> runTask(task, buildStart, timings, firstFailure), executorService);
+                futures.put(task.getName(), future);
+            }
+            // the dependent futures of a failed task will complete exceptionally, but these are reported via firstFailure
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .exceptionally(throwable -> null)
+                    .join();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void runTask(ProcessingTask task, long buildStart, Map<String, ProcessingReport.TaskTiming> timings, AtomicReference<TaskFailure> firstFailure) {
+        if (firstFailure.get() != null) {
+            logger.info("Skipping processing task {} due to an earlier failure", task.getName());
+            return;
+        }
+        logger.info("Starting processing task {}", task.getName());
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Processing task {} failed", task.getName());
+            firstFailure.compareAndSet(null, new TaskFailure(task.getName(), e));
+            throw e;
+        }
+        long end = System.nanoTime();
+        timings.put(task.getName(), new ProcessingReport.TaskTiming(task.getName(), start - buildStart, end - buildStart));
+        logger.info("Finished processing task {} in {} ms", task.getName(), (end - start) / 1_000_000);
+    }
+
+    /**
+     * Returns the tasks ordered so that each task follows all of its dependencies. Tasks with no ordering constraints
+     * between them retain their original relative order.
+     */
+    static List<ProcessingTask> topologicalSort(List<ProcessingTask> tasks) {
+        Map<String, ProcessingTask> tasksByName = new LinkedHashMap<>();
+        for (ProcessingTask task : tasks) {
+            if (tasksByName.put(task.getName(), task) != null) {
+                throw new IllegalArgumentException("Duplicate processing task name " + task.getName());
+            }
+        }
+        for (ProcessingTask task : tasks) {
+            for (String dependency : task.getDependencies()) {
+                if (!tasksByName.containsKey(dependency)) {
+                    throw new IllegalArgumentException("Processing task " + task.getName() + " depends on unknown task " + dependency);
+                }
+            }
+        }
+        List<ProcessingTask> sorted = new ArrayList<>(tasks.size());
+        Set<String> visited = new HashSet<>();
+        Set<String> visiting = new LinkedHashSet<>();
+        for (ProcessingTask task : tasks) {
+            visit(task, tasksByName, visited, visiting, sorted);
+        }
+        return sorted;
+    }
+
+    private static void visit(ProcessingTask task, Map<String, ProcessingTask> tasksByName, Set<String> visited, Set<String> visiting, List<ProcessingTask> sorted) {
+        if (visited.contains(task.getName())) {
+            return;
+        }
+        if (!visiting.add(task.getName())) {
+            throw new IllegalArgumentException("Cyclic dependency between processing tasks " + visiting);
+        }
+        for (String dependency : task.getDependencies()) {
+            visit(tasksByName.get(dependency), tasksByName, visited, visiting, sorted);
+        }
+        visiting.remove(task.getName());
+        visited.add(task.getName());
+        sorted.add(task);
+    }
+
+    private static class TaskFailure {
+        private final String taskName;
+        private final RuntimeException cause;
+
+        private TaskFailure(String taskName, RuntimeException cause) {
+            this.taskName = taskName;
+            this.cause = cause;
+        }
+    }
+}
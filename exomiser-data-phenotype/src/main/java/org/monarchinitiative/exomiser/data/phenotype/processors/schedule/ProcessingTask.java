@@ -0,0 +1,75 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.phenotype.processors.schedule;
+
+import org.monarchinitiative.exomiser.data.phenotype.processors.steps.ProcessingStep;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A named unit of work in the phenotype build along with the names of the other {@link ProcessingTask} which must have
+ * completed before it can be started. Tasks without any shared dependencies can be run concurrently by the
+ * {@link ProcessingScheduler}.
+ *
+ * @since 13.3.0
+ */
+public final class ProcessingTask implements ProcessingStep {
+
+    private final String name;
+    private final List<String> dependencies;
+    private final ProcessingStep step;
+
+    private ProcessingTask(String name, List<String> dependencies, ProcessingStep step) {
+        this.name = Objects.requireNonNull(name);
+        this.dependencies = List.copyOf(dependencies);
+        this.step = Objects.requireNonNull(step);
+    }
+
+    public static ProcessingTask of(String name, ProcessingStep step) {
+        return new ProcessingTask(name, List.of(), step);
+    }
+
+    public static ProcessingTask of(String name, List<String> dependencies, ProcessingStep step) {
+        return new ProcessingTask(name, dependencies, step);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    @Override
+    public void run() {
+        step.run();
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessingTask{" +
+                "name='" + name + '\'' +
+                ", dependencies=" + dependencies +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.phenotype.processors.writers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the phenodigm mapping loads which bypass the intermediate import files until the database schema has been
+ * created by the Flyway migration, at which point {@link #loadScheduled()} will insert them directly into their tables.
+ *
+ * @since 13.3.0
+ */
+public class PhenodigmMappingTableLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhenodigmMappingTableLoader.class);
+
+    @FunctionalInterface
+    public interface TableLoad {
+        /**
+         * @return the number of rows inserted
+         */
+        int load(Connection connection) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final String schema;
+    private final Map<String, TableLoad> scheduledLoads = new LinkedHashMap<>();
+
+    public PhenodigmMappingTableLoader(DataSource dataSource, String schema) {
+        this.dataSource = dataSource;
+        this.schema = schema;
+    }
+
+    public synchronized void schedule(String tableName, TableLoad tableLoad) {
+        if (scheduledLoads.put(tableName, tableLoad) != null) {
+            logger.warn("Replacing previously scheduled load of table {}", tableName);
+        }
+    }
+
+    public synchronized List<String> getScheduledTables() {
+        return new ArrayList<>(scheduledLoads.keySet());
+    }
+
+    /**
+     * Runs and clears the scheduled loads. The tables must already exist in the schema.
+     */
+    public synchronized void loadScheduled() {
+        for (Map.Entry<String, TableLoad> entry : scheduledLoads.entrySet()) {
+            String tableName = entry.getKey();
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setSchema(schema);
+                int rows = entry.getValue().load(connection);
+                logger.info("Loaded {} rows into {}.{}", rows, schema, tableName);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to load phenodigm mappings into table " + tableName, e);
+            }
+        }
+        scheduledLoads.clear();
+    }
+}
@@ -23,12 +23,22 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.data.phenotype.processors.Resource;
+import org.h2.jdbcx.JdbcDataSource;
 import org.monarchinitiative.exomiser.data.phenotype.processors.model.ontology.OboOntologyTerm;
+import org.monarchinitiative.exomiser.data.phenotype.processors.writers.PhenodigmMappingTableLoader;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -93,4 +103,95 @@ void processHpMpCacheLine() {
                 equalTo("1|HP:0010495|Amniotic constriction rings of legs|MP:0001712|abnormal placenta development|0.20833333333333334|5.055448136114318|1.026264274780372|HP:0001194|Abnormalities of placenta or umbilical cord"));
         assertThat(instance.linesProcessed(), equalTo(2));
     }
-}
\ No newline at end of file
+
+    private static final List<OboOntologyTerm> HP_TERMS = List.of(
+            OboOntologyTerm.builder().id("HP:0010495").label("Amniotic constriction rings of legs").build(),
+            OboOntologyTerm.builder().id("HP:0001194").label("Abnormalities of placenta or umbilical cord").build()
+    );
+
+    private static final List<OboOntologyTerm> MP_TERMS = List.of(
+            OboOntologyTerm.builder().id("MP:0001711").label("abnormal placenta morphology").build(),
+            OboOntologyTerm.builder().id("MP:0001712").label("abnormal placenta development").build()
+    );
+
+    private static Path writeHpMpCache(Path tempDir, int lines) throws IOException {
+        Path cachePath = tempDir.resolve("hp-mp-phenodigm-cache.txt");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(cachePath)) {
+            for (int i = 0; i < lines; i++) {
+                String hpId = random.nextBoolean() ? "HP_0010495" : "HP_0001194";
+                String mpId = random.nextBoolean() ? "MP_0001711" : "MP_0001712";
+                writer.write(hpId + "\t" + mpId + "\t" + random.nextDouble() + "\t" + random.nextDouble() * 10 + "\t" + (random.nextBoolean() ? "HP_0001194;" : "MP_0001711;MP_0001712"));
+                writer.newLine();
+            }
+        }
+        return cachePath;
+    }
+
+    private static List<String> expectedLines(Path cachePath, List<OboOntologyTerm> hpTerms, List<OboOntologyTerm> otherTerms) throws IOException {
+        Map<String, String> hpLabels = hpTerms.stream().collect(Collectors.toMap(OboOntologyTerm::getId, OboOntologyTerm::getLabel));
+        Map<String, String> otherLabels = otherTerms.stream().collect(Collectors.toMap(OboOntologyTerm::getId, OboOntologyTerm::getLabel));
+        List<String> expected = new ArrayList<>();
+        int id = 0;
+        for (String line : Files.readAllLines(cachePath)) {
+            String[] fields = line.split("\t");
+            String queryId = fields[0].replace("_", ":");
+            String hitId = fields[1].replace("_", ":");
+            double score = Math.sqrt(Double.parseDouble(fields[2]) * Double.parseDouble(fields[3]));
+            String lcs = fields[4].split(";")[0].replace("_", ":");
+            String lcsTerm = hpLabels.containsKey(lcs) ? hpLabels.get(lcs) : otherLabels.getOrDefault(lcs, "");
+            expected.add(String.format("%d|%s|%s|%s|%s|%s|%s|%s|%s|%s", id++, queryId, hpLabels.getOrDefault(queryId, ""), hitId, otherLabels.getOrDefault(hitId, ""), fields[2], fields[3], score, lcs, lcsTerm));
+        }
+        return expected;
+    }
+
+    @Test
+    void processInParallelChunksRetainsOrder(@TempDir Path tempDir) throws IOException {
+        int lines = OwlSimPhenodigmProcessor.CHUNK_SIZE * 3 + 17;
+        Path cachePath = writeHpMpCache(tempDir, lines);
+        List<String> expected = expectedLines(cachePath, HP_TERMS, MP_TERMS);
+
+        Path sequentialOut = tempDir.resolve("sequential.pg");
+        new OwlSimPhenodigmProcessor(Resource.of(cachePath.toString()), sequentialOut).process(HP_TERMS, MP_TERMS);
+        assertThat(Files.readAllLines(sequentialOut), equalTo(expected));
+
+        Path parallelOut = tempDir.resolve("parallel.pg");
+        new OwlSimPhenodigmProcessor(Resource.of(cachePath.toString()), parallelOut, 4).process(HP_TERMS, MP_TERMS);
+        assertThat(Files.readAllLines(parallelOut), equalTo(expected));
+    }
+
+    @Test
+    void directLoadIntoTable(@TempDir Path tempDir) throws Exception {
+        int lines = OwlSimPhenodigmProcessor.CHUNK_SIZE + 5;
+        Path cachePath = writeHpMpCache(tempDir, lines);
+        List<String> expected = expectedLines(cachePath, HP_TERMS, MP_TERMS);
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:phenodigm;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA EXOMISER");
+            statement.execute("CREATE TABLE EXOMISER.hp_mp_mappings(mapping_id INTEGER, hp_id CHARACTER VARYING(10), hp_term CHARACTER VARYING(200), mp_id CHARACTER VARYING(10), mp_term CHARACTER VARYING(200), simj DOUBLE PRECISION, ic DOUBLE PRECISION, score DOUBLE PRECISION, lcs_id CHARACTER VARYING(20), lcs_term CHARACTER VARYING(150))");
+        }
+
+        PhenodigmMappingTableLoader tableLoader = new PhenodigmMappingTableLoader(dataSource, "EXOMISER");
+        Path importFile = tempDir.resolve("hpMpMapping.pg");
+        OwlSimPhenodigmProcessor instance = new OwlSimPhenodigmProcessor(Resource.of(cachePath.toString()), importFile, 2, tableLoader, "hp_mp_mappings");
+        instance.process(HP_TERMS, MP_TERMS);
+        // the flyway migration imports an empty file
+        assertThat(Files.size(importFile), equalTo(0L));
+        assertThat(tableLoader.getScheduledTables(), equalTo(List.of("hp_mp_mappings")));
+
+        tableLoader.loadScheduled();
+        assertTrue(tableLoader.getScheduledTables().isEmpty());
+
+        List<String> actual = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM EXOMISER.hp_mp_mappings ORDER BY mapping_id")) {
+            while (resultSet.next()) {
+                actual.add(String.format("%d|%s|%s|%s|%s|%s|%s|%s|%s|%s", resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4), resultSet.getString(5), resultSet.getDouble(6), resultSet.getDouble(7), resultSet.getDouble(8), resultSet.getString(9), resultSet.getString(10)));
+            }
+            statement.execute("DROP ALL OBJECTS");
+        }
+        assertThat(actual, equalTo(expected));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.data.phenotype.processors.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.data.phenotype.processors.steps.ProcessingStep;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProcessingSchedulerTest {
+
+    private static ProcessingTask sleepingTask(String name, List<String> dependencies, long millis, List<String> completed) {
+        return ProcessingTask.of(name, dependencies, () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.add(name);
+        });
+    }
+
+    @Test
+    void throwsExceptionWithZeroThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ProcessingScheduler(0));
+    }
+
+    @Test
+    void topologicalSortRetainsOrderOfIndependentTasks() {
+        List<ProcessingTask> tasks = List.of(
+                ProcessingTask.of("c", List.of("b"), () -> {}),
+                ProcessingTask.of("a", () -> {}),
+                ProcessingTask.of("b", List.of("a"), () -> {}),
+                ProcessingTask.of("d", () -> {})
+        );
+        List<String> sorted = ProcessingScheduler.topologicalSort(tasks).stream().map(ProcessingTask::getName).collect(Collectors.toList());
+        assertThat(sorted, equalTo(List.of("a", "b", "c", "d")));
+    }
+
+    @Test
+    void throwsExceptionForDuplicateTaskNames() {
+        List<ProcessingTask> tasks = List.of(ProcessingTask.of("a", () -> {}), ProcessingTask.of("a", () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new ProcessingScheduler(1).run(tasks));
+    }
+
+    @Test
+    void throwsExceptionForUnknownDependency() {
+        List<ProcessingTask> tasks = List.of(ProcessingTask.of("a", List.of("wibble"), () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new ProcessingScheduler(1).run(tasks));
+    }
+
+    @Test
+    void throwsExceptionForCyclicDependency() {
+        List<ProcessingTask> tasks = List.of(
+                ProcessingTask.of("a", List.of("c"), () -> {}),
+                ProcessingTask.of("b", List.of("a"), () -> {}),
+                ProcessingTask.of("c", List.of("b"), () -> {})
+        );
+        assertThrows(IllegalArgumentException.class, () -> new ProcessingScheduler(2).run(tasks));
+    }
+
+    @Test
+    void runsDependenciesBeforeDependentTasks() {
+        List<String> completed = new CopyOnWriteArrayList<>();
+        List<ProcessingTask> tasks = List.of(
+                sleepingTask("hp", List.of(), 20, completed),
+                sleepingTask("mp", List.of(), 5, completed),
+                sleepingTask("hp-mp", List.of("hp", "mp"), 0, completed),
+                sleepingTask("hp-hp", List.of("hp"), 0, completed)
+        );
+        ProcessingReport report = new ProcessingScheduler(4).run(tasks);
+
+        assertThat(completed, containsInAnyOrder("hp", "mp", "hp-mp", "hp-hp"));
+        assertThat(completed.indexOf("hp-mp"), greaterThan(completed.indexOf("hp")));
+        assertThat(completed.indexOf("hp-mp"), greaterThan(completed.indexOf("mp")));
+        assertThat(completed.indexOf("hp-hp"), greaterThan(completed.indexOf("hp")));
+        assertThat(report.getTaskTimings().size(), equalTo(4));
+    }
+
+    @Test
+    void runsIndependentTasksConcurrently() {
+        // each task waits for the other to start, so this would time out if they were run sequentially
+        CountDownLatch started = new CountDownLatch(2);
+        ProcessingStep awaitOther = () -> {
+            started.countDown();
+            try {
+                if (!started.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Tasks were not run concurrently");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        List<ProcessingTask> tasks = List.of(ProcessingTask.of("mouse", awaitOther::run), ProcessingTask.of("fish", awaitOther::run));
+        ProcessingReport report = new ProcessingScheduler(2).run(tasks);
+        assertThat(report.getTaskTimings().size(), equalTo(2));
+    }
+
+    @Test
+    void runsSequentiallyInDependencyOrderWithSingleThread() {
+        List<String> completed = new CopyOnWriteArrayList<>();
+        List<ProcessingTask> tasks = List.of(
+                sleepingTask("b", List.of("a"), 0, completed),
+                sleepingTask("a", List.of(), 0, completed),
+                sleepingTask("c", List.of(), 0, completed)
+        );
+        new ProcessingScheduler(1).run(tasks);
+        assertThat(completed, equalTo(List.of("a", "b", "c")));
+    }
+
+    @Test
+    void reportsCriticalPath() {
+        List<String> completed = new CopyOnWriteArrayList<>();
+        List<ProcessingTask> tasks = List.of(
+                sleepingTask("hp-ontology", List.of(), 50, completed),
+                sleepingTask("mp-ontology", List.of(), 1, completed),
+                sleepingTask("hp-mp-phenodigm", List.of("hp-ontology", "mp-ontology"), 50, completed),
+                sleepingTask("disease-genes", List.of(), 20, completed)
+        );
+        ProcessingReport report = new ProcessingScheduler(4).run(tasks);
+
+        assertThat(report.getCriticalPath(), equalTo(List.of("hp-ontology", "hp-mp-phenodigm")));
+        assertThat(report.getCriticalPathNanos(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertThat(report.getTotalTaskNanos(), greaterThanOrEqualTo(report.getCriticalPathNanos()));
+        assertThat(report.summary(), containsString("Critical path"));
+    }
+
+    @Test
+    void stopsSchedulingAfterFailure() {
+        List<String> completed = new CopyOnWriteArrayList<>();
+        List<ProcessingTask> tasks = List.of(
+                ProcessingTask.of("hp-ontology", () -> {
+                    throw new IllegalArgumentException("Unable to parse hp.obo");
+                }),
+                sleepingTask("hp-hp-phenodigm", List.of("hp-ontology"), 0, completed)
+        );
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new ProcessingScheduler(2).run(tasks));
+        assertThat(exception.getMessage(), containsString("hp-ontology"));
+        assertThat(exception.getCause(), instanceOf(IllegalArgumentException.class));
+        assertThat(completed.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.autoconfigure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Binds a gauge of the number of entries in each of the named Exomiser caches. The caches are looked-up from their
+ * {@link CacheManager} each time the gauge is read as the majority are created lazily on first use. Caches which have
+ * not been created yet report a size of zero and those whose native cache size is unknown report {@code NaN}.
+ *
+ * @since 13.3.0
+ */
+public class CacheSizeMeterBinder implements MeterBinder {
+
+    private static final boolean CAFFEINE_PRESENT = ClassUtils.isPresent("com.github.benmanes.caffeine.cache.Cache", CacheSizeMeterBinder.class.getClassLoader());
+
+    private final Map<String, Supplier<CacheManager>> cacheManagers = new LinkedHashMap<>();
+
+    /**
+     * Adds a cache to be measured.
+     *
+     * @param cacheName            name of the cache
+     * @param cacheManagerSupplier supplier of the {@link CacheManager} holding the cache. This can supply null where
+     *                             there is no cache manager available.
+     * @return this binder
+     */
+    public CacheSizeMeterBinder addCache(String cacheName, Supplier<CacheManager> cacheManagerSupplier) {
+        cacheManagers.put(cacheName, cacheManagerSupplier);
+        return this;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cacheManagers.forEach((cacheName, cacheManagerSupplier) ->
+                Gauge.builder(ExomiserMetrics.CACHE_SIZE, cacheManagerSupplier, supplier -> cacheSize(supplier.get(), cacheName))
+                        .description("The number of entries in the cache")
+                        .tag("cache", cacheName)
+                        .register(registry));
+    }
+
+    static double cacheSize(@Nullable CacheManager cacheManager, String cacheName) {
+        if (cacheManager == null) {
+            return Double.NaN;
+        }
+        // calling getCache directly could create the cache
+        if (!cacheManager.getCacheNames().contains(cacheName)) {
+            return 0;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return 0;
+        }
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof Map) {
+            return ((Map<?, ?>) nativeCache).size();
+        }
+        if (CAFFEINE_PRESENT) {
+            return CaffeineCacheSize.estimatedSize(nativeCache);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Separate class so that Caffeine is only loaded when it is on the classpath.
+     */
+    private static class CaffeineCacheSize {
+
+        private static double estimatedSize(Object nativeCache) {
+            if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+                return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) nativeCache).estimatedSize();
+            }
+            return Double.NaN;
+        }
+    }
+}
@@ -24,12 +24,20 @@
 import org.monarchinitiative.exomiser.autoconfigure.phenotype.PrioritiserAutoConfiguration;
 import org.monarchinitiative.exomiser.core.Exomiser;
 import org.monarchinitiative.exomiser.core.analysis.AnalysisFactory;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisRunnerOptions;
+import org.monarchinitiative.exomiser.core.analysis.util.GeneEvaluationExecutor;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import java.nio.file.Path;
+
 /**
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
  */
@@ -44,4 +52,34 @@
 @ComponentScan(basePackageClasses = {Exomiser.class}, basePackages = {"org.monarchinitiative.exomiser.core.analysis"})
 public class ExomiserAutoConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean
+    public VcfReaderFactory vcfReaderFactory(ExomiserProperties properties) {
+        return new VcfReaderFactory(properties.getVcfDecompressionThreads());
+    }
+
+    /**
+     * The pool of threads shared by the analysis runners for evaluating genes, which is shut down with the context. Only
+     * created when the gene evaluation threads are set.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @ConditionalOnExpression("${exomiser.gene-evaluation-threads:0} > 0")
+    public GeneEvaluationExecutor geneEvaluationExecutor(ExomiserProperties properties) {
+        return new GeneEvaluationExecutor(properties.getGeneEvaluationThreads());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AnalysisRunnerOptions analysisRunnerOptions(ExomiserProperties properties) {
+        String reanalysisDirectory = properties.getReanalysisDirectory();
+        return AnalysisRunnerOptions.builder()
+                .optimiseVariantFilterOrder(properties.isOptimiseVariantFilterOrder())
+                .indexedRegionReads(properties.isIndexedRegionReads())
+                .preAnnotationFilters(properties.isPreAnnotationFilters())
+                .scoreOutputGenesOnly(properties.isScoreOutputGenesOnly())
+                .geneEvaluationThreads(properties.getGeneEvaluationThreads())
+                .reanalysisDirectory(reanalysisDirectory == null || reanalysisDirectory.isEmpty() ? null : Path.of(reanalysisDirectory))
+                .build();
+    }
 }
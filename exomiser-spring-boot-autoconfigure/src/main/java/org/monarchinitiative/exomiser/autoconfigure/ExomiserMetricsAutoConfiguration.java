@@ -0,0 +1,100 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.AbstractCacheResolver;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Exposes the metrics recorded by the Exomiser through a {@link MeterRegistry} bean. The
+ * {@link org.monarchinitiative.exomiser.core.analysis.AnalysisFactory} and the timed DAOs have the {@link MeterRegistry}
+ * bean injected, so when Spring Boot Actuator is present the meters are available from the {@code /actuator/metrics}
+ * endpoint. When no other registry is defined a {@link SimpleMeterRegistry} is provided instead, which is also added to
+ * the Micrometer global registry for any meters recorded there until the context is closed.
+ *
+ * @since 13.3.0
+ */
+@Configuration
+@ConditionalOnClass({MeterRegistry.class, Exomiser.class})
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+public class ExomiserMetricsAutoConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExomiserMetricsAutoConfiguration.class);
+
+    // the variant data caches are all named {assembly}.{resource}
+    private static final List<String> VARIANT_CACHES = List.of("allele", "cadd", "remm", "local", "sv.freq", "sv.path", "test_path");
+
+    @Bean
+    public CacheSizeMeterBinder exomiserCacheSizeMeterBinder(ObjectProvider<CacheManager> cacheManager, @Qualifier("modelCacheResolver") ObjectProvider<CacheResolver> modelCacheResolver) {
+        CacheSizeMeterBinder cacheSizeMeterBinder = new CacheSizeMeterBinder();
+        for (GenomeAssembly genomeAssembly : GenomeAssembly.values()) {
+            for (String variantCache : VARIANT_CACHES) {
+                cacheSizeMeterBinder.addCache(genomeAssembly + "." + variantCache, cacheManager::getIfUnique);
+            }
+        }
+        cacheSizeMeterBinder.addCache("models", () -> {
+            CacheResolver cacheResolver = modelCacheResolver.getIfAvailable();
+            return cacheResolver instanceof AbstractCacheResolver ? ((AbstractCacheResolver) cacheResolver).getCacheManager() : null;
+        });
+        return cacheSizeMeterBinder;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public MeterRegistry exomiserMeterRegistry(ObjectProvider<MeterBinder> meterBinders) {
+        logger.debug("No MeterRegistry defined - using a SimpleMeterRegistry for Exomiser metrics");
+        GlobalSimpleMeterRegistry meterRegistry = new GlobalSimpleMeterRegistry();
+        meterBinders.orderedStream().forEach(meterBinder -> meterBinder.bindTo(meterRegistry));
+        Metrics.addRegistry(meterRegistry);
+        return meterRegistry;
+    }
+
+    /**
+     * {@link SimpleMeterRegistry} which removes itself from the Micrometer global registry when closed, so that it is
+     * not left behind after the context is.
+     */
+    static class GlobalSimpleMeterRegistry extends SimpleMeterRegistry {
+
+        @Override
+        public void close() {
+            Metrics.removeRegistry(this);
+            super.close();
+        }
+    }
+}
@@ -37,6 +37,50 @@ public class ExomiserProperties {
 
     private String workingDirectory;
 
+    /**
+     * Number of threads with which to decompress a bgzipped sample VCF file. Values less than 2 use the standard
+     * single-threaded htsjdk reader.
+     */
+    private int vcfDecompressionThreads = 0;
+
+    /**
+     * Run the variant filters of a PASS_ONLY analysis with the cheapest and most selective filters first, rather than in
+     * the order they are specified in the analysis. This does not change the results.
+     */
+    private boolean optimiseVariantFilterOrder = false;
+
+    /**
+     * Only read the parts of a tabix-indexed sample VCF file overlapping the intervals or genes of the interval or gene
+     * symbol filters of a PASS_ONLY analysis. Reading the gene regions will miss distant intergenic variants which would
+     * otherwise have been assigned to these genes.
+     */
+    private boolean indexedRegionReads = false;
+
+    /**
+     * Run the quality, interval and failed variant filters of a PASS_ONLY analysis before the variants are annotated, so
+     * that failing variants are not annotated. The variants removed are not counted in the filter results.
+     */
+    private boolean preAnnotationFilters = false;
+
+    /**
+     * Only fully score the genes of a PASS_ONLY analysis which will be written out according to the number of genes and
+     * minimum gene score of the output options of the job.
+     */
+    private boolean scoreOutputGenesOnly = false;
+
+    /**
+     * Number of threads with which to analyse the inheritance modes of, and score, the genes of an analysis. Values less
+     * than 1 analyse the inheritance modes on a single thread and score the genes using the common fork-join pool.
+     */
+    private int geneEvaluationThreads = 0;
+
+    /**
+     * Directory in which to store the loaded, annotated and filtered variants of each sample, so that re-analysing the
+     * same VCF with different phenotypes or gene-level settings doesn't need to load and annotate it again. The stored
+     * variants are only re-used when the VCF, genome data and variant filter settings are unchanged. Disabled if empty.
+     */
+    private String reanalysisDirectory;
+
     //exomiser.phenotype...
     @NestedConfigurationProperty
     private PhenotypeProperties phenotype = new PhenotypeProperties();
@@ -64,6 +108,62 @@ public void setWorkingDirectory(String workingDirectory) {
         this.workingDirectory = workingDirectory;
     }
 
+    public int getVcfDecompressionThreads() {
+        return vcfDecompressionThreads;
+    }
+
+    public void setVcfDecompressionThreads(int vcfDecompressionThreads) {
+        this.vcfDecompressionThreads = vcfDecompressionThreads;
+    }
+
+    public boolean isOptimiseVariantFilterOrder() {
+        return optimiseVariantFilterOrder;
+    }
+
+    public void setOptimiseVariantFilterOrder(boolean optimiseVariantFilterOrder) {
+        this.optimiseVariantFilterOrder = optimiseVariantFilterOrder;
+    }
+
+    public boolean isIndexedRegionReads() {
+        return indexedRegionReads;
+    }
+
+    public void setIndexedRegionReads(boolean indexedRegionReads) {
+        this.indexedRegionReads = indexedRegionReads;
+    }
+
+    public boolean isPreAnnotationFilters() {
+        return preAnnotationFilters;
+    }
+
+    public void setPreAnnotationFilters(boolean preAnnotationFilters) {
+        this.preAnnotationFilters = preAnnotationFilters;
+    }
+
+    public boolean isScoreOutputGenesOnly() {
+        return scoreOutputGenesOnly;
+    }
+
+    public void setScoreOutputGenesOnly(boolean scoreOutputGenesOnly) {
+        this.scoreOutputGenesOnly = scoreOutputGenesOnly;
+    }
+
+    public int getGeneEvaluationThreads() {
+        return geneEvaluationThreads;
+    }
+
+    public void setGeneEvaluationThreads(int geneEvaluationThreads) {
+        this.geneEvaluationThreads = geneEvaluationThreads;
+    }
+
+    public String getReanalysisDirectory() {
+        return reanalysisDirectory;
+    }
+
+    public void setReanalysisDirectory(String reanalysisDirectory) {
+        this.reanalysisDirectory = reanalysisDirectory;
+    }
+
     public PhenotypeProperties getPhenotype() {
         return phenotype;
     }
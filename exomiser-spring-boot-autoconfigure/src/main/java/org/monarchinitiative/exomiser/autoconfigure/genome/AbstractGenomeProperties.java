@@ -51,6 +51,10 @@ public abstract class AbstractGenomeProperties implements GenomeProperties {
     // datastore
     private String testPathogenicityScorePath = "";
 
+    // Optional on-disk cache of variant annotations, frequencies and pathogenicities which is shared between runs. This
+    // is cleared automatically whenever the data it was built from changes.
+    private String variantCachePath = "";
+
     protected AbstractGenomeProperties(GenomeAssembly assembly) {
         this.assembly = assembly;
     }
@@ -136,4 +140,12 @@ public String getTestPathogenicityScorePath() {
     public void setTestPathogenicityScorePath(String testPathogenicityScorePath) {
         this.testPathogenicityScorePath = testPathogenicityScorePath;
     }
+
+    public String getVariantCachePath() {
+        return variantCachePath;
+    }
+
+    public void setVariantCachePath(String variantCachePath) {
+        this.variantCachePath = variantCachePath;
+    }
 }
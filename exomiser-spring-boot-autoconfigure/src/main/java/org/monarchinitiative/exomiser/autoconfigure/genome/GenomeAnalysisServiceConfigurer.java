@@ -23,7 +23,10 @@
 import de.charite.compbio.jannovar.data.JannovarData;
 import org.h2.mvstore.MVStore;
 import org.monarchinitiative.exomiser.core.genome.*;
+import org.monarchinitiative.exomiser.core.genome.dao.AlleleKeyBloomFilter;
+import org.monarchinitiative.exomiser.core.genome.dao.AllelePropertiesDao;
 import org.monarchinitiative.exomiser.core.genome.dao.AllelePropertiesDaoAdapter;
+import org.monarchinitiative.exomiser.core.genome.dao.AllelePropertiesDaoBloomFilter;
 import org.monarchinitiative.exomiser.core.genome.dao.RegulatoryFeatureDao;
 import org.monarchinitiative.exomiser.core.genome.dao.TadDao;
 import org.monarchinitiative.exomiser.core.model.ChromosomalRegionIndex;
@@ -31,6 +34,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import java.nio.file.Path;
 
@@ -54,6 +58,11 @@ public abstract class GenomeAnalysisServiceConfigurer implements GenomeAnalysisS
     protected final JannovarData jannovarData;
     protected final MVStore mvStore;
 
+    // identifies the data used for annotating variants, changes whenever any of the data files do
+    protected final String dataFingerprint;
+    @Nullable
+    protected final PersistentVariantCache variantCache;
+
     protected GenomeAnalysisServiceConfigurer(GenomeProperties genomeProperties, Path exomiserDataDirectory) {
         this.genomeProperties = genomeProperties;
         logger.debug("Loading data sources for {} {} {}", genomeProperties.getDataVersion(), genomeProperties.getAssembly(), genomeProperties
@@ -65,17 +74,38 @@ protected GenomeAnalysisServiceConfigurer(GenomeProperties genomeProperties, Pat
 
         this.jannovarData = genomeDataSourceLoader.getJannovarData();
         this.mvStore = genomeDataSourceLoader.getMvStore();
+
+        Path variantCachePath = genomeDataResolver.resolvePathOrNullIfEmpty(genomeProperties.getVariantCachePath());
+        this.dataFingerprint = genomeDataResolver.getDataFingerprint(variantCachePath);
+        this.variantCache = variantCachePath == null ? null : PersistentVariantCache.open(variantCachePath, dataFingerprint);
+    }
+
+    /**
+     * Closes the persistent variant cache, if one is configured. This needs calling on shutdown so that the cache file
+     * is released and any pending writes are flushed to disk.
+     */
+    protected void closeVariantCache() {
+        if (variantCache != null) {
+            variantCache.close();
+        }
     }
 
     protected VariantAnnotator buildVariantAnnotator() {
         ChromosomalRegionIndex<RegulatoryFeature> regulatoryRegionIndex = genomeDataService().getRegulatoryRegionIndex();
-        return new JannovarVariantAnnotator(genomeProperties.getAssembly(), jannovarData, regulatoryRegionIndex);
+        VariantAnnotator variantAnnotator = new JannovarVariantAnnotator(genomeProperties.getAssembly(), jannovarData, regulatoryRegionIndex);
+        return variantCache == null ? variantAnnotator : new CachingVariantAnnotator(variantAnnotator, variantCache);
     }
 
     //This method is calling the public interface of the concrete implementation so that the caching works on the DAOs
     protected VariantDataService buildVariantDataService() {
-        AllelePropertiesDaoAdapter allelePropertiesDaoAdapter = new AllelePropertiesDaoAdapter(allelePropertiesDao());
-        return VariantDataServiceImpl.builder()
+        AllelePropertiesDao allelePropertiesDao = allelePropertiesDao();
+        AlleleKeyBloomFilter alleleKeyBloomFilter = genomeDataSourceLoader.getAlleleKeyBloomFilter();
+        if (alleleKeyBloomFilter != null) {
+            // the filter sits in front of the cached DAO so that definite misses don't fill up the cache
+            allelePropertiesDao = new AllelePropertiesDaoBloomFilter(alleleKeyBloomFilter, allelePropertiesDao);
+        }
+        AllelePropertiesDaoAdapter allelePropertiesDaoAdapter = new AllelePropertiesDaoAdapter(allelePropertiesDao);
+        VariantDataService variantDataService = VariantDataServiceImpl.builder()
                 .defaultFrequencyDao(allelePropertiesDaoAdapter)
                 .defaultPathogenicityDao(allelePropertiesDaoAdapter)
                 .localFrequencyDao(localFrequencyDao())
@@ -86,6 +116,7 @@ protected VariantDataService buildVariantDataService() {
                 .svPathogenicityDao(svPathogenicityDao())
                 .variantWhiteList(variantWhiteList())
                 .build();
+        return variantCache == null ? variantDataService : new CachingVariantDataService(variantDataService, variantCache);
     }
 
     protected GenomeDataService buildGenomeDataService() {
@@ -99,6 +130,6 @@ protected GenomeDataService buildGenomeDataService() {
     // Spring can intercept any caching annotations, but otherwise keep the duplicated GenomeAnalysisServices separate from
     // any auto-wiring and auto-configuration which will cause name clashes.
     protected GenomeAnalysisService buildGenomeAnalysisService() {
-        return new GenomeAnalysisServiceImpl(genomeProperties.getAssembly(), genomeDataService(), variantDataService(), variantAnnotator());
+        return new GenomeAnalysisServiceImpl(genomeProperties.getAssembly(), genomeDataService(), variantDataService(), variantAnnotator(), dataFingerprint);
     }
 }
@@ -20,13 +20,24 @@
 
 package org.monarchinitiative.exomiser.autoconfigure.genome;
 
+import com.google.common.hash.Hashing;
+import de.charite.compbio.jannovar.data.JannovarData;
+import org.monarchinitiative.exomiser.core.Exomiser;
 import org.monarchinitiative.exomiser.core.genome.jannovar.TranscriptSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Class used for resolving files in the genome data directories e.g. 1909_hg19.
@@ -100,6 +111,11 @@ public Path getVariantsMvStorePath() {
         return resolveAbsoluteResourcePath(mvStoreFileName);
     }
 
+    public Path getVariantsBloomFilterPath() {
+        String bloomFilterFileName = String.format("%s_variants.bloom", versionAssemblyPrefix);
+        return resolveAbsoluteResourcePath(bloomFilterFileName);
+    }
+
     public Path getGenomeDbPath() {
         //omit the .h2.db extensions
         String dbFileName = String.format("%s_genome", versionAssemblyPrefix);
@@ -110,5 +126,52 @@ public Path getSvDbPath() {
         String dbFileName = String.format("%s_sv", versionAssemblyPrefix);
         return resolveAbsoluteResourcePath(dbFileName);
     }
-}
 
+    /**
+     * Returns a hash of the Exomiser and Jannovar versions, the release, transcript source and the name, size and
+     * modification time of every file in the assembly data directory along with any configured tabix files. Any change
+     * to the software or data used for annotating a variant will change the fingerprint.
+     *
+     * @param ignoredPath a path to leave out of the fingerprint, i.e. the cache being fingerprinted, which may live in
+     *                    the data directory
+     * @since 13.3.0
+     */
+    public String getDataFingerprint(@Nullable Path ignoredPath) {
+        Path ignored = ignoredPath == null ? null : ignoredPath.toAbsolutePath();
+        StringBuilder descriptor = new StringBuilder(versionAssemblyPrefix)
+                .append('|').append(genomeProperties.getTranscriptSource())
+                .append("|exomiser:").append(implementationVersion(Exomiser.class))
+                .append("|jannovar:").append(implementationVersion(JannovarData.class));
+        List<Path> dataFiles;
+        try (Stream<Path> paths = Files.list(assemblyDataDirectory)) {
+            dataFiles = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list data directory " + assemblyDataDirectory, e);
+        }
+        Stream.of(genomeProperties.getVariantWhiteListPath(), genomeProperties.getCaddSnvPath(), genomeProperties.getCaddInDelPath(), genomeProperties.getRemmPath(), genomeProperties.getLocalFrequencyPath(), genomeProperties.getTestPathogenicityScorePath())
+                .map(this::resolvePathOrNullIfEmpty)
+                .filter(path -> path != null && Files.isRegularFile(path))
+                .forEach(dataFiles::add);
+        for (Path dataFile : dataFiles) {
+            if (dataFile.toAbsolutePath().equals(ignored)) {
+                continue;
+            }
+            try {
+                descriptor.append('|').append(dataFile.toAbsolutePath())
+                        .append(':').append(Files.size(dataFile))
+                        .append(':').append(Files.getLastModifiedTime(dataFile).toMillis());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read attributes of " + dataFile, e);
+            }
+        }
+        return Hashing.sha256().hashString(descriptor, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Returns the version from the jar manifest of the class, or 'unknown' when run from the classes directory.
+     */
+    private static String implementationVersion(Class<?> clazz) {
+        String version = clazz.getPackage().getImplementationVersion();
+        return version == null ? "unknown" : version;
+    }
+}
@@ -27,6 +27,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -45,6 +47,8 @@ public class GenomeDataSourceLoader {
 
     private final JannovarData jannovarData;
     private final MVStore mvStore;
+    @Nullable
+    private final AlleleKeyBloomFilter alleleKeyBloomFilter;
 
     private final VariantWhiteList variantWhiteList;
 
@@ -67,6 +71,7 @@ public GenomeDataSourceLoader(GenomeProperties genomeProperties, GenomeDataResol
         // start this here as it'll take a while longer than all the others put together
 //        CompletableFuture<JannovarData> jannovarDataFuture = loadJannovarDataAsync();
         this.mvStore = loadMvStore();
+        this.alleleKeyBloomFilter = loadAlleleKeyBloomFilter();
         this.variantWhiteList = loadVariantWhiteList();
 
         this.localFrequencyTabixDataSource = getTabixDataSourceOrDefault("LOCAL", genomeProperties.getLocalFrequencyPath());
@@ -101,6 +106,18 @@ private MVStore loadMvStore() {
         return MvStoreDataSourceLoader.openMvStore(mvStoreAbsolutePath);
     }
 
+    @Nullable
+    private AlleleKeyBloomFilter loadAlleleKeyBloomFilter() {
+        // optional - this is only present if the variant store was built with one
+        Path bloomFilterPath = genomeDataResolver.getVariantsBloomFilterPath();
+        if (Files.isRegularFile(bloomFilterPath)) {
+            logger.info("Loading variant bloom filter from {}", bloomFilterPath);
+            return AlleleKeyBloomFilter.readFrom(bloomFilterPath);
+        }
+        logger.debug("No variant bloom filter found at {}", bloomFilterPath);
+        return null;
+    }
+
     private VariantWhiteList loadVariantWhiteList() {
         Path variantWhiteListPath = genomeDataResolver.resolvePathOrNullIfEmpty(genomeProperties.getVariantWhiteListPath());
         if (variantWhiteListPath != null) {
@@ -129,6 +146,14 @@ public MVStore getMvStore() {
         return mvStore;
     }
 
+    /**
+     * @return the bloom filter over the keys in the variant store, or null if there isn't one for this release
+     */
+    @Nullable
+    public AlleleKeyBloomFilter getAlleleKeyBloomFilter() {
+        return alleleKeyBloomFilter;
+    }
+
     public VariantWhiteList getVariantWhiteList() {
         return variantWhiteList;
     }
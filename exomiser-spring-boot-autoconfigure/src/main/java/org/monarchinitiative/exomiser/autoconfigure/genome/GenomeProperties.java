@@ -78,4 +78,10 @@ interface GenomeProperties {
     String getTestPathogenicityScorePath();
 
     void setTestPathogenicityScorePath(String testPathogenicityScorePath);
+
+    //Optional persistent variant annotation cache
+
+    String getVariantCachePath();
+
+    void setVariantCachePath(String variantCachePath);
 }
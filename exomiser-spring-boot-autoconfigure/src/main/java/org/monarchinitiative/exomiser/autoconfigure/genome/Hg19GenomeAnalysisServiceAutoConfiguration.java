@@ -69,6 +69,7 @@ public MVStore mvStore() {
     @PreDestroy
     public synchronized void closeMvStore() {
         mvStore.close();
+        closeVariantCache();
     }
 
     @Bean("hg19variantAnnotator")
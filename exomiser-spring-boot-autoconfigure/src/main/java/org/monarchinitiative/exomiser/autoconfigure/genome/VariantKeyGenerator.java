@@ -20,6 +20,7 @@
 
 package org.monarchinitiative.exomiser.autoconfigure.genome;
 
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
 import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.springframework.cache.interceptor.KeyGenerator;
@@ -47,10 +48,22 @@ public static Object generateKey(Object... params) {
         if (params.length == 1) {
             Object param = params[0];
             if (param instanceof Variant) {
-                return AlleleProtoAdaptor.toAlleleKey((Variant) param);
+                return variantKey((Variant) param);
             }
         }
         return new SimpleKey(params);
     }
 
+    /**
+     * SNVs and short indels are keyed on their packed {@code long} form which is far cheaper to create, hash and store
+     * than the {@link org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey} used for the other variants.
+     */
+    private static Object variantKey(Variant variant) {
+        long packedKey = AlleleKeyPacker.pack(variant);
+        if (packedKey != AlleleKeyPacker.NOT_PACKABLE) {
+            return packedKey;
+        }
+        return AlleleProtoAdaptor.toAlleleKey(variant);
+    }
+
 }
@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.autoconfigure.phenotype;
 
 import com.zaxxer.hikari.HikariDataSource;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelSnapshotWriter;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -61,6 +62,10 @@ public HikariDataSource phenotypeDataSource(DataSourceProperties phenotypeDataSo
     private String randomWalkIndexFileName = "rw_string_9_05_id2index.gz";
     private boolean randomWalkPreload = false;
 
+    // binary snapshot of the disease and model organism models written by the phenotype build. This will be used in
+    // place of the database queries if present in the phenotype data directory.
+    private String modelSnapshotFileName = ModelSnapshotWriter.DEFAULT_FILE_NAME;
+
     //Phenix data
     private String phenixDataDir = "phenix";
     private String hpoFileName = "hp.obo";
@@ -106,6 +111,14 @@ public void setRandomWalkPreload(boolean randomWalkPreload) {
         this.randomWalkPreload = randomWalkPreload;
     }
 
+    public String getModelSnapshotFileName() {
+        return modelSnapshotFileName;
+    }
+
+    public void setModelSnapshotFileName(String modelSnapshotFileName) {
+        this.modelSnapshotFileName = modelSnapshotFileName;
+    }
+
     public String getPhenixDataDir() {
         return phenixDataDir;
     }
@@ -136,6 +149,7 @@ public String toString() {
                 "dataVersion='" + dataVersion + '\'' +
                 ", randomWalkFileName='" + randomWalkFileName + '\'' +
                 ", randomWalkIndexFileName='" + randomWalkIndexFileName + '\'' +
+                ", modelSnapshotFileName='" + modelSnapshotFileName + '\'' +
                 ", phenixDataDir='" + phenixDataDir + '\'' +
                 ", hpoFileName='" + hpoFileName + '\'' +
                 ", hpoAnnotationFile='" + hpoAnnotationFile + '\'' +
@@ -23,6 +23,9 @@
 import org.monarchinitiative.exomiser.autoconfigure.DataDirectoryAutoConfiguration;
 import org.monarchinitiative.exomiser.autoconfigure.UndefinedDataDirectoryException;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityFactory;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelService;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelServiceImpl;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelSnapshotService;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrixIO;
 import org.slf4j.Logger;
@@ -35,6 +38,7 @@
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 
 import java.io.IOException;
 import java.nio.file.DirectoryIteratorException;
@@ -174,4 +178,20 @@ public DataMatrix randomWalkMatrix() {
         return DataMatrixIO.loadOffHeapDataMatrix(randomWalkFilePath);
     }
 
+    /**
+     * Uses the memory-mapped model snapshot if one is present in the phenotype data directory, otherwise falls back to
+     * loading the models from the phenotype database.
+     */
+    @Bean
+    @Primary
+    public ModelService modelService(ModelServiceImpl modelServiceImpl) {
+        Path modelSnapshotPath = phenotypeDataDirectory().resolve(phenotypeProperties.getModelSnapshotFileName());
+        if (Files.isRegularFile(modelSnapshotPath)) {
+            logger.debug("Using phenotype model snapshot {}", modelSnapshotPath);
+            return new ModelSnapshotService(modelSnapshotPath);
+        }
+        logger.debug("No phenotype model snapshot found at {} - models will be loaded from the database", modelSnapshotPath);
+        return modelServiceImpl;
+    }
+
 }
@@ -22,8 +22,11 @@
 
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisRunnerOptions;
+import org.monarchinitiative.exomiser.core.analysis.util.GeneEvaluationExecutor;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisServiceProvider;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.VcfReaderFactory;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatchService;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.cache.CacheManager;
@@ -31,7 +34,10 @@
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 
@@ -87,6 +93,69 @@ public void testHg38OnlyAutoConfiguration() {
         assertThat(phenotypeMatchService, instanceOf(PhenotypeMatchService.class));
     }
 
+    @Test
+    public void testVcfDecompressionThreads() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.vcf-decompression-threads=4");
+        VcfReaderFactory vcfReaderFactory = context.getBean(VcfReaderFactory.class);
+        assertThat(vcfReaderFactory.getDecompressionThreads(), equalTo(4));
+    }
+
+    @Test
+    public void testAnalysisRunnerOptionsDefaults() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions, equalTo(AnalysisRunnerOptions.defaults()));
+    }
+
+    @Test
+    public void testOptimiseVariantFilterOrder() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.optimise-variant-filter-order=true");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions.isOptimiseVariantFilterOrder(), is(true));
+    }
+
+    @Test
+    public void testIndexedRegionReads() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.indexed-region-reads=true");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions.isIndexedRegionReads(), is(true));
+    }
+
+    @Test
+    public void testPreAnnotationFilters() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.pre-annotation-filters=true");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions.isPreAnnotationFilters(), is(true));
+    }
+
+    @Test
+    public void testScoreOutputGenesOnly() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.score-output-genes-only=true");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions.isScoreOutputGenesOnly(), is(true));
+    }
+
+    @Test
+    public void testGeneEvaluationThreads() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.gene-evaluation-threads=4");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions.getGeneEvaluationThreads(), equalTo(4));
+        assertThat(context.getBean(GeneEvaluationExecutor.class).getThreads(), equalTo(4));
+    }
+
+    @Test
+    public void testNoGeneEvaluationExecutorByDefault() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710");
+        assertThat(context.getBeansOfType(GeneEvaluationExecutor.class).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testReanalysisDirectory() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.phenotype.data-version=1710", "exomiser.reanalysis-directory=/tmp/exomiser-reanalysis");
+        AnalysisRunnerOptions analysisRunnerOptions = context.getBean(AnalysisRunnerOptions.class);
+        assertThat(analysisRunnerOptions.getReanalysisDirectory(), equalTo(Path.of("/tmp/exomiser-reanalysis")));
+    }
+
     @Configuration
     @ImportAutoConfiguration(value = ExomiserAutoConfiguration.class)
     protected static class EmptyConfiguration {
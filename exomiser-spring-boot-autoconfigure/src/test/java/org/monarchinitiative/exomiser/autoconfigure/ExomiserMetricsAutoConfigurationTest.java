@@ -0,0 +1,115 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2023 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.monarchinitiative.exomiser.core.ExomiserMetrics;
+import org.monarchinitiative.exomiser.core.phenotype.dao.HumanPhenotypeOntologyDao;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ExomiserMetricsAutoConfigurationTest extends AbstractAutoConfigurationTest {
+
+    @AfterEach
+    void removeRegistries() {
+        Metrics.globalRegistry.getRegistries().forEach(Metrics::removeRegistry);
+    }
+
+    @Test
+    void providesMeterRegistryWhenNoneDefined() {
+        load(CacheManagerConfiguration.class);
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        assertThat(meterRegistry, instanceOf(SimpleMeterRegistry.class));
+        assertThat(Metrics.globalRegistry.getRegistries(), hasItem(meterRegistry));
+    }
+
+    @Test
+    void providedMeterRegistryIsRemovedFromGlobalRegistryOnClose() {
+        load(CacheManagerConfiguration.class);
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        context.close();
+        assertThat(Metrics.globalRegistry.getRegistries(), not(hasItem(meterRegistry)));
+    }
+
+    @Test
+    void usesExistingMeterRegistry() {
+        load(UserMeterRegistryConfiguration.class);
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        assertThat(meterRegistry, sameInstance(UserMeterRegistryConfiguration.USER_REGISTRY));
+        // the DAO timers are registered with the injected registry
+        assertThat(meterRegistry.find(ExomiserMetrics.DAO).tag("dao", "HumanPhenotypeOntologyDao").timer(), notNullValue());
+    }
+
+    @Test
+    void cacheSizeGauges() {
+        load(CacheManagerConfiguration.class);
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        assertThat(meterRegistry.get(ExomiserMetrics.CACHE_SIZE).tag("cache", "hg19.allele").gauge().value(), equalTo(0.0));
+
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        cacheManager.getCache("hg19.allele").put("key1", "value1");
+        cacheManager.getCache("hg19.allele").put("key2", "value2");
+        assertThat(meterRegistry.get(ExomiserMetrics.CACHE_SIZE).tag("cache", "hg19.allele").gauge().value(), equalTo(2.0));
+        assertThat(meterRegistry.get(ExomiserMetrics.CACHE_SIZE).tag("cache", "hg38.allele").gauge().value(), equalTo(0.0));
+        // no modelCacheResolver defined
+        assertThat(meterRegistry.get(ExomiserMetrics.CACHE_SIZE).tag("cache", "models").gauge().value(), equalTo(Double.NaN));
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(value = ExomiserMetricsAutoConfiguration.class)
+    protected static class CacheManagerConfiguration {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(value = ExomiserMetricsAutoConfiguration.class)
+    protected static class UserMeterRegistryConfiguration {
+
+        private static final MeterRegistry USER_REGISTRY = new SimpleMeterRegistry();
+
+        @Bean
+        public MeterRegistry userMeterRegistry() {
+            return USER_REGISTRY;
+        }
+
+        @Bean
+        public HumanPhenotypeOntologyDao humanPhenotypeOntologyDao() {
+            return new HumanPhenotypeOntologyDao(Mockito.mock(DataSource.class));
+        }
+    }
+}
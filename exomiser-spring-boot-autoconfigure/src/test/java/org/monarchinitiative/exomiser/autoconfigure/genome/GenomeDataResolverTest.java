@@ -21,12 +21,16 @@
 package org.monarchinitiative.exomiser.autoconfigure.genome;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.jannovar.TranscriptSource;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
 /**
@@ -165,4 +169,28 @@ void testGetSvDbPath() {
         assertThat(instance.getSvDbPath(), equalTo(exomiserDataDirectory.resolve("1710_hg19/1710_hg19_sv")
                 .toAbsolutePath()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDataFingerprint(@TempDir Path dataDirectory) throws Exception {
+        GenomeProperties genomeProperties = new Hg19GenomeProperties();
+        genomeProperties.setDataVersion("1710");
+        genomeProperties.setDataDirectory(dataDirectory.toString());
+        Files.writeString(dataDirectory.resolve("1710_hg19_variants.mv.db"), "variants");
+
+        GenomeDataResolver instance = new GenomeDataResolver(genomeProperties, exomiserDataDirectory);
+        Path cachePath = dataDirectory.resolve("variant_cache.mv.db");
+        String fingerprint = instance.getDataFingerprint(cachePath);
+        assertThat(instance.getDataFingerprint(cachePath), equalTo(fingerprint));
+
+        // the cache itself is not part of the data
+        Files.writeString(cachePath, "cache");
+        assertThat(instance.getDataFingerprint(cachePath), equalTo(fingerprint));
+
+        Files.writeString(dataDirectory.resolve("1710_hg19_variants.mv.db"), "updated variants");
+        String updatedFingerprint = instance.getDataFingerprint(cachePath);
+        assertThat(updatedFingerprint, not(equalTo(fingerprint)));
+
+        genomeProperties.setTranscriptSource(TranscriptSource.REFSEQ);
+        assertThat(instance.getDataFingerprint(cachePath), not(equalTo(updatedFingerprint)));
+    }
+}
@@ -23,12 +23,15 @@
 import de.charite.compbio.jannovar.data.JannovarData;
 import org.h2.mvstore.MVStore;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.autoconfigure.AbstractAutoConfigurationTest;
 import org.monarchinitiative.exomiser.core.genome.*;
 import org.monarchinitiative.exomiser.core.genome.dao.*;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
@@ -68,6 +71,16 @@ public void genomeAnalysisServiceWithOptionalTestPathDao() throws Exception {
         assertThat(context.getBean("hg19testPathDao"), instanceOf(TestPathogenicityScoreDao.class));
     }
 
+    @Test
+    public void genomeAnalysisServiceWithVariantCache(@TempDir Path tempDir) throws Exception {
+
+        Path variantCachePath = tempDir.resolve("hg19_variant_cache.mv.db");
+        load(EmptyConfiguration.class, TEST_DATA_ENV, "exomiser.hg19.data-version=1710", "exomiser.hg19.variant-cache-path=" + variantCachePath);
+
+        assertThat(context.getBean("hg19variantAnnotator"), instanceOf(CachingVariantAnnotator.class));
+        assertThat(context.getBean("hg19variantDataService"), instanceOf(CachingVariantDataService.class));
+    }
+
     @Configuration
     @ImportAutoConfiguration(value = Hg19GenomeAnalysisServiceAutoConfiguration.class)
     protected static class EmptyConfiguration {
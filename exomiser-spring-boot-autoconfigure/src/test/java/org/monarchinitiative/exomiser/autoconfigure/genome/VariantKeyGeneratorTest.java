@@ -22,6 +22,7 @@
 
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.model.AlleleKeyPacker;
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
@@ -46,19 +47,34 @@ public void returnsEmptyKeyForEmptyQuery() throws Exception {
     }
 
     @Test
-    public void returnsKeyForVariant() throws Exception {
+    public void returnsPackedKeyForShortVariant() throws Exception {
         Variant variant = VariantEvaluation.builder()
                 .with(GenomeAssembly.HG19.getContigById(1), "", Strand.POSITIVE, CoordinateSystem.oneBased(), Position.of(2345), "A", "T")
                 .build();
         // AlleleKey has no genomeAssembly. This might have been a bit of an oversight, but with assembly-specific caches
-        // created in version 10.1.1 its OK to use the AlleleKey as the cache key
-        AlleleProto.AlleleKey expected = AlleleProto.AlleleKey.newBuilder()
+        // created in version 10.1.1 its OK to use the AlleleKey, or its packed form, as the cache key
+        AlleleProto.AlleleKey alleleKey = AlleleProto.AlleleKey.newBuilder()
                 .setChr(1)
                 .setPosition(2345)
                 .setRef("A")
                 .setAlt("T")
                 .build();
 
+        assertThat(instance.generate(new Object(), Object.class.getMethod("toString"), variant), equalTo(AlleleKeyPacker.pack(alleleKey)));
+    }
+
+    @Test
+    public void returnsAlleleKeyForLongVariant() throws Exception {
+        Variant variant = VariantEvaluation.builder()
+                .with(GenomeAssembly.HG19.getContigById(1), "", Strand.POSITIVE, CoordinateSystem.oneBased(), Position.of(2345), "A", "TTTTTTT")
+                .build();
+        AlleleProto.AlleleKey expected = AlleleProto.AlleleKey.newBuilder()
+                .setChr(1)
+                .setPosition(2345)
+                .setRef("A")
+                .setAlt("TTTTTTT")
+                .build();
+
         assertThat(instance.generate(new Object(), Object.class.getMethod("toString"), variant), equalTo(expected));
     }
 
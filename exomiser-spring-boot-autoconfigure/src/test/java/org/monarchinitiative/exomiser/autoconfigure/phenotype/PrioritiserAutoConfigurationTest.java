@@ -23,6 +23,12 @@
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.exomiser.autoconfigure.AbstractAutoConfigurationTest;
 import org.monarchinitiative.exomiser.autoconfigure.DataDirectoryAutoConfiguration;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModel;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelService;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelServiceImpl;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelSnapshotService;
+import org.monarchinitiative.exomiser.core.prioritisers.service.ModelSnapshotWriter;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
@@ -34,6 +40,7 @@
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -156,6 +163,40 @@ public void randomWalkMatrixCanBeOverriden() {
         assertThat(dataMatrix, not(nullValue()));
     }
 
+    @Test
+    public void modelServiceDefaultsToDatabaseWithoutSnapshot() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, DATA_VERSION);
+        ModelService modelService = context.getBean(ModelService.class);
+        assertThat(modelService, instanceOf(ModelServiceImpl.class));
+    }
+
+    @Test
+    public void modelServiceUsesSnapshotWhenPresent(@TempDir Path tempDir) {
+        Path snapshotPath = tempDir.resolve("models.snapshot");
+        ModelSnapshotWriter.write(new EmptyModelService(), snapshotPath);
+        load(EmptyConfiguration.class, TEST_DATA_ENV, DATA_VERSION, "exomiser.phenotype.model-snapshot-file-name=" + snapshotPath);
+        ModelService modelService = context.getBean(ModelService.class);
+        assertThat(modelService, instanceOf(ModelSnapshotService.class));
+    }
+
+    private static class EmptyModelService implements ModelService {
+
+        @Override
+        public List<GeneModel> getHumanGeneDiseaseModels() {
+            return List.of();
+        }
+
+        @Override
+        public List<GeneModel> getMouseGeneOrthologModels() {
+            return List.of();
+        }
+
+        @Override
+        public List<GeneModel> getFishGeneOrthologModels() {
+            return List.of();
+        }
+    }
+
     @Configuration
     @ImportAutoConfiguration(PrioritiserAutoConfiguration.class)
     protected static class EmptyConfiguration {